@@ -2,6 +2,7 @@ package com.zametech.todoapp.application.service;
 
 import com.zametech.todoapp.domain.model.User;
 import com.zametech.todoapp.domain.repository.UserRepository;
+import com.zametech.todoapp.infrastructure.replica.ReadYourWrites;
 import com.zametech.todoapp.infrastructure.security.JwtService;
 import com.zametech.todoapp.presentation.dto.request.LoginRequest;
 import com.zametech.todoapp.presentation.dto.request.RegisterRequest;
@@ -9,6 +10,7 @@ import com.zametech.todoapp.presentation.dto.response.AuthenticationResponse;
 import com.zametech.todoapp.presentation.dto.response.UserResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -27,6 +29,7 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final ObjectProvider<ReadYourWrites> readYourWrites;
 
     public AuthenticationResponse register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -42,6 +45,8 @@ public class AuthenticationService {
         user.setUpdatedAt(LocalDateTime.now());
 
         User savedUser = userRepository.save(user);
+        // 未認証のリクエストの書き込みは記録されないため、登録したユーザーの直後の読み取りをプライマリで行うよう記録する
+        readYourWrites.ifAvailable(tracker -> tracker.recordWriteAfterCommit(savedUser.getEmail()));
         log.info("New user registered with email: {} and username: {}", savedUser.getEmail(), savedUser.getUsername());
 
         UserDetails userDetails = org.springframework.security.core.userdetails.User.builder()
@@ -0,0 +1,307 @@
+package com.zametech.todoapp.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zametech.todoapp.common.config.IdempotencyProperties;
+import com.zametech.todoapp.common.exception.IdempotencyKeyInUseException;
+import com.zametech.todoapp.common.exception.IdempotencyKeyMismatchException;
+import com.zametech.todoapp.common.exception.InvalidIdempotencyKeyException;
+import com.zametech.todoapp.domain.repository.IdempotencyKeyRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.IdempotencyKeyEntity;
+import com.zametech.todoapp.infrastructure.sharding.PerShard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Idempotency-Key サービス
+ *
+ * <p>同じユーザー・同じキーのリクエストは1回だけ実行し、成功したレスポンスを保存して再送に返す。
+ * キーは実行前にDBへ予約するため、別のインスタンスに届いた再送は実行中なら409になる。
+ * 同じインスタンスに同時に届いた再送は、先に届いたリクエストの完了を待って同じ結果を返す。
+ *
+ * <p>処理とレスポンスの保存は同じトランザクションでコミットする。実行に失敗した場合は何も保存せず
+ * 予約を解放する（修正した再送をそのまま受け付ける）。解放もコミットもされないまま（プロセスの停止など）
+ * リース期間を過ぎた予約は、同じリクエストの再送が引き継いで実行する。止まった側の処理は取り消されているため
+ * 二重には実行されず、引き継がれた後に遅れて完了した側はトークンが一致せず取り消される。
+ * 予約はトランザクションの外で単独でコミットするため、クラスには {@code @Transactional} を付けない。
+ * 操作ごとにコミットする処理（{@link #executeSeparately}）だけは、処理とレスポンスの保存が別のコミットになる。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[\\x21-\\x7E]{1,255}");
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final UserContextService userContextService;
+    private final IdempotencyProperties idempotencyProperties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * このインスタンスで実行中のリクエスト（"ユーザーID:キー" ごと）
+     */
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 現在のユーザーとして、キーごとに1回だけ action を実行する
+     *
+     * @param key       Idempotency-Key ヘッダーの値
+     * @param operation キーを使い回せないよう指紋に含める操作名（"POST /api/v1/todos" など）
+     * @param request   指紋を取るリクエスト本文
+     * @param status    成功時のステータス
+     * @param action    解決済みのユーザーIDを受け取って処理を実行する
+     */
+    public <T> Result<T> execute(String key, String operation, Object request, HttpStatus status,
+                                 Class<T> type, Function<Long, T> action) {
+        return execute(key, operation, request, status, type, true, action);
+    }
+
+    /**
+     * 操作ごとにコミットする処理（{@code atomic: false} の一括処理）を、キーごとに1回だけ実行する
+     *
+     * <p>action はレスポンスの保存と別のトランザクションで実行する。保存前にプロセスが止まった場合、
+     * リース期間を過ぎた再送で action が再実行される。
+     */
+    public <T> Result<T> executeSeparately(String key, String operation, Object request, HttpStatus status,
+                                           Class<T> type, Function<Long, T> action) {
+        return execute(key, operation, request, status, type, false, action);
+    }
+
+    private <T> Result<T> execute(String key, String operation, Object request, HttpStatus status,
+                                  Class<T> type, boolean atomic, Function<Long, T> action) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new InvalidIdempotencyKeyException(key);
+        }
+        Long currentUserId = userContextService.getCurrentUserId();
+        String requestHash = fingerprint(operation, request);
+        String slot = currentUserId + ":" + key;
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(slot, mine);
+        if (running != null) {
+            if (!running.requestHash().equals(requestHash)) {
+                throw new IdempotencyKeyMismatchException(key);
+            }
+            log.debug("Waiting for in-flight request with idempotency key: {}", key);
+            return replay(key, requestHash, await(key, running.response()), type);
+        }
+
+        try {
+            String token = UUID.randomUUID().toString();
+            Optional<StoredResponse> stored = reserve(currentUserId, key, requestHash, token);
+            if (stored.isPresent()) {
+                mine.response().complete(stored.get());
+                return replay(key, requestHash, stored.get(), type);
+            }
+
+            Executed<T> executed;
+            try {
+                executed = run(currentUserId, key, token, requestHash, status, atomic, action);
+            } catch (RuntimeException e) {
+                idempotencyKeyRepository.release(currentUserId, key, token);
+                throw e;
+            }
+            if (!executed.stored()) {
+                idempotencyKeyRepository.release(currentUserId, key, token);
+            }
+            mine.response().complete(executed.response());
+            return new Result<>(executed.body(), executed.response().statusCode(), false);
+        } catch (RuntimeException e) {
+            mine.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(slot, mine);
+        }
+    }
+
+    /**
+     * 期限切れのキーを一定件数ずつ削除する（1回の削除で長くロックしない）
+     */
+    @Scheduled(cron = "${app.idempotency.purge-cron:0 */10 * * * *}")
+    @PerShard
+    public void purgeExpired() {
+        ZonedDateTime now = ZonedDateTime.now();
+        int batchSize = idempotencyProperties.getPurgeBatchSize();
+        int total = 0;
+        int purged;
+        do {
+            purged = idempotencyKeyRepository.purgeExpired(now, batchSize);
+            total += purged;
+        } while (purged == batchSize);
+        log.info("Purged {} idempotency keys expired before {}", total, now);
+    }
+
+    /**
+     * action を実行してレスポンスを保存する（atomic なら1トランザクションで）
+     *
+     * <p>action が例外を投げずにトランザクションを取り消した場合（一括処理の失敗）は何も反映されないため、
+     * レスポンスは保存しない（呼び出し元が予約を解放し、同じキーでの再実行を受け付ける）。
+     */
+    private <T> Executed<T> run(Long userId, String key, String token, String requestHash, HttpStatus status,
+                                boolean atomic, Function<Long, T> action) {
+        if (!atomic) {
+            return store(userId, key, token, requestHash, status, action.apply(userId));
+        }
+        return transactionTemplate.execute(transaction -> {
+            T body = action.apply(userId);
+            if (transaction.isRollbackOnly()) {
+                transaction.setRollbackOnly();
+                return new Executed<>(body, new StoredResponse(requestHash, status.value(), write(body)), false);
+            }
+            return store(userId, key, token, requestHash, status, body);
+        });
+    }
+
+    private <T> Executed<T> store(Long userId, String key, String token, String requestHash, HttpStatus status,
+                                  T body) {
+        StoredResponse response = new StoredResponse(requestHash, status.value(), write(body));
+        if (!idempotencyKeyRepository.complete(userId, key, token, response.statusCode(), response.body())) {
+            // リースが切れて他の再送に引き継がれた（atomic ならこちらの処理は取り消される）
+            throw new IdempotencyKeyInUseException(key);
+        }
+        return new Executed<>(body, response, true);
+    }
+
+    /**
+     * キーを予約する。既に有効なキーがあればその記録を返す
+     * （期限切れなら削除して予約し直し、リースの切れた同じリクエストの予約は引き継ぐ）
+     */
+    private Optional<StoredResponse> reserve(Long userId, String key, String requestHash, String token) {
+        ZonedDateTime now = ZonedDateTime.now();
+        ZonedDateTime expiresAt = now.plus(idempotencyProperties.getTtl());
+        for (int attempt = 0; ; attempt++) {
+            if (idempotencyKeyRepository.reserve(userId, key, requestHash, token, expiresAt)) {
+                return Optional.empty();
+            }
+            Optional<IdempotencyKeyEntity> existing = idempotencyKeyRepository.find(userId, key);
+            if (existing.isPresent() && !existing.get().getExpiresAt().isBefore(now)) {
+                IdempotencyKeyEntity entity = existing.get();
+                if (isAbandoned(entity, requestHash, now)) {
+                    if (!idempotencyKeyRepository.takeOver(userId, key, entity.getReservedAt(), token, expiresAt)) {
+                        // 他の再送が先に引き継いだ
+                        throw new IdempotencyKeyInUseException(key);
+                    }
+                    log.warn("Took over idempotency key reserved at {} with no stored response: {}",
+                        entity.getReservedAt(), key);
+                    return Optional.empty();
+                }
+                return Optional.of(new StoredResponse(
+                    entity.getRequestHash(), entity.getStatusCode(), entity.getResponseBody()));
+            }
+            if (attempt > 0) {
+                // 期限切れの削除と予約を他のリクエストと取り合った
+                throw new IdempotencyKeyInUseException(key);
+            }
+            idempotencyKeyRepository.removeIfExpired(userId, key, now);
+        }
+    }
+
+    private boolean isAbandoned(IdempotencyKeyEntity entity, String requestHash, ZonedDateTime now) {
+        return entity.isPending()
+            && entity.getRequestHash().equals(requestHash)
+            && entity.getReservedAt().isBefore(now.minus(idempotencyProperties.getLeaseTimeout()));
+    }
+
+    private <T> Result<T> replay(String key, String requestHash, StoredResponse stored, Class<T> type) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyKeyMismatchException(key);
+        }
+        if (stored.statusCode() == null) {
+            throw new IdempotencyKeyInUseException(key);
+        }
+        try {
+            return new Result<>(objectMapper.readValue(stored.body(), type), stored.statusCode(), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response is not readable for idempotency key: " + key, e);
+        }
+    }
+
+    private StoredResponse await(String key, CompletableFuture<StoredResponse> response) {
+        try {
+            return response.get(idempotencyProperties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // 先に届いたリクエストの失敗をそのまま返す（予約は解放済みなので再送できる）
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInUseException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInUseException(key);
+        }
+    }
+
+    private String fingerprint(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Failed to fingerprint request", e);
+        }
+    }
+
+    private String write(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to store response", e);
+        }
+    }
+
+    /**
+     * 実行結果（{@code replayed} は保存したレスポンスを返した場合 true）
+     */
+    public record Result<T>(T body, int status, boolean replayed) {
+
+        /**
+         * ステータスと再送ヘッダーを設定したレスポンスビルダー
+         */
+        public ResponseEntity.BodyBuilder toResponse() {
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+            if (replayed) {
+                builder.header(REPLAYED_HEADER, "true");
+            }
+            return builder;
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<StoredResponse> response) {
+    }
+
+    private record Executed<T>(T body, StoredResponse response, boolean stored) {
+    }
+
+    private record StoredResponse(String requestHash, Integer statusCode, String body) {
+    }
+}
@@ -0,0 +1,141 @@
+package com.zametech.todoapp.application.service;
+
+import com.zametech.todoapp.common.config.AnalyticsProperties;
+import com.zametech.todoapp.common.exception.InvalidDateRangeException;
+import com.zametech.todoapp.domain.model.TodoDailyDelta;
+import com.zametech.todoapp.domain.repository.TodoDailyStatsRepository;
+import com.zametech.todoapp.domain.repository.TodoStatusEventRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoDailyStatsEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoStatusEventEntity;
+import com.zametech.todoapp.infrastructure.sharding.PerShard;
+import com.zametech.todoapp.presentation.dto.response.BurndownResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * TODO分析サービス
+ *
+ * <p>ステータス遷移イベント（{@code TodoService} が追記する）を定期ジョブでユーザー・日ごとに集計し、
+ * バーンダウンは集計済みの行だけから返す（イベントの履歴は走査しない）。
+ * 集計は未集計のイベントを取り出して加算し、同じトランザクションで集計済みにするため、
+ * 発生時刻より遅れてコミットされたイベントも取りこぼさず、二重にも加算しない。集計の間隔だけ遅れて反映される。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TodoAnalyticsService {
+
+    private static final int DEFAULT_BURNDOWN_DAYS = 30;
+
+    private final TodoStatusEventRepository todoStatusEventRepository;
+    private final TodoDailyStatsRepository todoDailyStatsRepository;
+    private final UserContextService userContextService;
+    private final AnalyticsProperties analyticsProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 現在のユーザーのバーンダウン取得
+     *
+     * @param from 開始日（含む）。省略時は終了日の29日前
+     * @param to   終了日（含む）。省略時は今日
+     */
+    public BurndownResponse getBurndown(LocalDate from, LocalDate to) {
+        Long currentUserId = userContextService.getCurrentUserId();
+        LocalDate end = to != null ? to : LocalDate.now(analyticsProperties.getZone());
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_BURNDOWN_DAYS - 1);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= analyticsProperties.getMaxBurndownDays()) {
+            throw new InvalidDateRangeException(start, end);
+        }
+        
+        long remaining = todoDailyStatsRepository.sumOpenBalanceBefore(currentUserId, start);
+        Map<LocalDate, TodoDailyStatsEntity> stats = todoDailyStatsRepository.findBetween(currentUserId, start, end)
+            .stream()
+            .collect(Collectors.toMap(TodoDailyStatsEntity::getStatDate, Function.identity()));
+        
+        List<BurndownResponse.Day> days = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            TodoDailyStatsEntity day = stats.get(date);
+            if (day == null) {
+                days.add(new BurndownResponse.Day(date, remaining, 0, 0));
+                continue;
+            }
+            remaining += day.getOpenedCount() - day.getClosedCount();
+            days.add(new BurndownResponse.Day(date, remaining, day.getCreatedCount(), day.getCompletedCount()));
+        }
+        return new BurndownResponse(start, end, days);
+    }
+
+    /**
+     * 未集計のイベントを日次集計に加算する
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.rollup-interval:PT1M}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @PerShard
+    public void rollup() {
+        int batchSize = analyticsProperties.getRollupBatchSize();
+        int total = 0;
+        int rolled;
+        do {
+            rolled = transactionTemplate.execute(status -> rollupBatch(batchSize));
+            total += rolled;
+        } while (rolled == batchSize);
+        log.debug("Rolled up {} todo status events", total);
+    }
+
+    /**
+     * イベントをロックして取り出すため、並行する集計ジョブ（他のノード）は別のイベントを受け持つ
+     */
+    private int rollupBatch(int batchSize) {
+        List<TodoStatusEventEntity> events = todoStatusEventRepository.lockPending(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        
+        ZoneId zone = analyticsProperties.getZone();
+        Map<DailyKey, TodoDailyDelta> deltas = new LinkedHashMap<>();
+        for (TodoStatusEventEntity event : events) {
+            DailyKey key = new DailyKey(event.getUserId(), event.getOccurredAt().withZoneSameInstant(zone).toLocalDate());
+            deltas.computeIfAbsent(key, k -> new TodoDailyDelta()).add(event.getFromStatus(), event.getToStatus());
+        }
+        deltas.forEach((key, delta) -> {
+            // 行がない日は挿入する。並行する集計ジョブに先に挿入された場合は加算し直す
+            if (!todoDailyStatsRepository.addDelta(key.userId(), key.date(), delta)
+                    && !todoDailyStatsRepository.insertIfAbsent(newStats(key, delta))) {
+                todoDailyStatsRepository.addDelta(key.userId(), key.date(), delta);
+            }
+        });
+        
+        todoStatusEventRepository.markRolledUp(events.stream().map(TodoStatusEventEntity::getId).toList());
+        return events.size();
+    }
+
+    private static TodoDailyStatsEntity newStats(DailyKey key, TodoDailyDelta delta) {
+        TodoDailyStatsEntity stats = new TodoDailyStatsEntity();
+        stats.setUserId(key.userId());
+        stats.setStatDate(key.date());
+        stats.setCreatedCount(delta.created());
+        stats.setCompletedCount(delta.completed());
+        stats.setOpenedCount(delta.opened());
+        stats.setClosedCount(delta.closed());
+        return stats;
+    }
+
+    private record DailyKey(Long userId, LocalDate date) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.zametech.todoapp.application.service;
+
+import com.zametech.todoapp.common.config.ArchiveProperties;
+import com.zametech.todoapp.common.exception.InvalidCursorException;
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.Todo;
+import com.zametech.todoapp.domain.repository.TodoArchiveRepository;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoArchiveEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.infrastructure.sharding.PerShard;
+import com.zametech.todoapp.presentation.dto.response.ArchivedTodoResponse;
+import com.zametech.todoapp.presentation.dto.response.CursorPageResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 完了済みTODOのアーカイブサービス
+ *
+ * <p>完了（最終更新）から {@code minAge} が過ぎたDONEのTODOを、一定件数ずつ todos から
+ * 月ごとにパーティション分割した todos_archive へ移す。todos に残るのは現役のTODOと最近の完了分だけになり、
+ * 一覧・絞り込みのインデックスが小さく保たれる。
+ *
+ * <p>todos からは削除として扱い、削除イベントを発行する（集計カウンターの減算・差分同期の墓標・アウトボックス）。
+ * 完了済みのため日次集計は変わらず、ステータス遷移イベントは記録しない。
+ * 子タスクのあるTODOは子が移ってから、繰り返しルールのあるテンプレートは移さない。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TodoArchiveService {
+
+    /** 最初のページ: すべての行より後ろの位置 */
+    private static final ArchiveCursor FIRST_PAGE =
+        new ArchiveCursor(ZonedDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC), Long.MAX_VALUE);
+
+    private final TodoArchiveRepository todoArchiveRepository;
+    private final TodoRepository todoRepository;
+    private final UserContextService userContextService;
+    private final ArchiveProperties archiveProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * アーカイブ済みTODO一覧取得（完了日時の新しい順、キーセットページング）
+     */
+    public CursorPageResponse<ArchivedTodoResponse> getArchivedTodos(String cursor, int limit) {
+        Long currentUserId = userContextService.getCurrentUserId();
+        ArchiveCursor position = cursor != null ? ArchiveCursor.decode(cursor) : FIRST_PAGE;
+
+        // 1件多く読み、次のページがあるかを判定する
+        List<TodoArchiveEntity> archived = todoArchiveRepository.findBeforeCursor(
+            currentUserId, position.completedAt(), position.id(), limit + 1);
+        boolean hasNext = archived.size() > limit;
+        List<TodoArchiveEntity> page = hasNext ? archived.subList(0, limit) : archived;
+
+        String nextCursor = null;
+        if (hasNext) {
+            TodoArchiveEntity last = page.get(page.size() - 1);
+            nextCursor = new ArchiveCursor(last.getCompletedAt(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(page.stream().map(ArchivedTodoResponse::from).toList(), nextCursor);
+    }
+
+    /**
+     * 期限を過ぎた完了済みTODOを、一定件数ずつ別トランザクションでアーカイブへ移す
+     *
+     * <p>処理中の行はロックされ、他のノードのアーカイブジョブからは飛ばされる。
+     */
+    @Scheduled(cron = "${app.archive.cron:0 15 4 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @PerShard
+    public void archiveCompleted() {
+        ZonedDateTime cutoff = ZonedDateTime.now().minus(archiveProperties.getMinAge());
+        int batchSize = archiveProperties.getBatchSize();
+        int total = 0;
+        int archived;
+        do {
+            archived = transactionTemplate.execute(status -> archiveBatch(cutoff, batchSize));
+            total += archived;
+        } while (archived == batchSize);
+        log.info("Archived {} completed todos last updated before {}", total, cutoff);
+    }
+
+    private int archiveBatch(ZonedDateTime cutoff, int batchSize) {
+        List<TodoEntity> todos = todoRepository.lockArchivable(cutoff, batchSize);
+        if (todos.isEmpty()) {
+            return 0;
+        }
+
+        // 削除でエンティティが永続化コンテキストから外れるため、先にスナップショットを取る
+        List<Todo> removed = todos.stream().map(TodoChangedEvent::snapshot).toList();
+        List<Long> ids = removed.stream().map(Todo::getId).toList();
+        List<Long> userIds = removed.stream().map(Todo::getUserId).distinct().toList();
+        todoArchiveRepository.ensurePartitions(
+            removed.stream().map(Todo::getUpdatedAt).min(Comparator.naturalOrder()).orElseThrow(),
+            removed.stream().map(Todo::getUpdatedAt).max(Comparator.naturalOrder()).orElseThrow());
+        todoArchiveRepository.copyFromTodos(userIds, ids, ZonedDateTime.now());
+        todoRepository.deleteAllById(userIds, ids);
+        removed.forEach(snapshot -> eventPublisher.publishEvent(TodoChangedEvent.deleted(snapshot)));
+        return removed.size();
+    }
+
+    /**
+     * ページングカーソル（最後に返した行の完了日時とID）
+     */
+    private record ArchiveCursor(ZonedDateTime completedAt, long id) {
+
+        String encode() {
+            String value = completedAt.toInstant() + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ArchiveCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (parts.length != 2) {
+                    throw new InvalidCursorException(cursor);
+                }
+                return new ArchiveCursor(Instant.parse(parts[0]).atZone(ZoneOffset.UTC), Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                throw new InvalidCursorException(cursor);
+            }
+        }
+    }
+}
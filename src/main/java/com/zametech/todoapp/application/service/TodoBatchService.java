@@ -0,0 +1,231 @@
+package com.zametech.todoapp.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.zametech.todoapp.common.exception.BatchAbortedException;
+import com.zametech.todoapp.common.exception.InvalidBatchOperationException;
+import com.zametech.todoapp.presentation.dto.request.BatchOperationRequest;
+import com.zametech.todoapp.presentation.dto.request.BatchOperationRequest.Type;
+import com.zametech.todoapp.presentation.dto.request.BatchRequest;
+import com.zametech.todoapp.presentation.dto.request.CreateTodoRequest;
+import com.zametech.todoapp.presentation.dto.request.UpdateTodoRequest;
+import com.zametech.todoapp.presentation.dto.response.TodoResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TODO一括処理サービス
+ *
+ * <p>複数の作成・更新・削除を1回のリクエストで順に実行する。ユーザーの解決はバッチ全体で1回だけ行い、
+ * 各操作は解決済みのユーザーとして {@link TodoService} に委譲する（所有者の確認は従来どおり操作ごと）。
+ * トランザクションは実行モードに応じてここで管理するため、クラスには {@code @Transactional} を付けない。
+ * 一括コミットは呼び出し元のトランザクション（Idempotency-Key の記録）があればそれに参加する。
+ *
+ * <p>失敗した操作は例外を結果に入れて返し、エラーレスポンスへの変換はプレゼンテーション層で行う。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TodoBatchService {
+
+    private final TodoService todoService;
+    private final UserContextService userContextService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    /**
+     * 一括処理の実行
+     */
+    public Result execute(BatchRequest request) {
+        return execute(userContextService.getCurrentUserId(), request);
+    }
+
+    /**
+     * 一括処理の実行（解決済みのユーザーとして実行）
+     */
+    public Result execute(Long currentUserId, BatchRequest request) {
+        List<BatchOperationRequest> operations = request.operations();
+        log.debug("Executing batch of {} operations (atomic={}) for user: {}",
+            operations.size(), request.isAtomic(), currentUserId);
+
+        Outcome[] outcomes = request.isAtomic()
+            ? executeAtomically(currentUserId, operations)
+            : executeSeparately(currentUserId, operations);
+        return new Result(request.isAtomic(), Arrays.asList(outcomes));
+    }
+
+    /**
+     * 全操作を1トランザクションで実行する。失敗した操作以外は BATCH_ABORTED を返す
+     */
+    private Outcome[] executeAtomically(Long currentUserId, List<BatchOperationRequest> operations) {
+        Outcome[] results = new Outcome[operations.size()];
+        Map<String, Long> refs = new HashMap<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < operations.size(); i++) {
+                    try {
+                        results[i] = apply(i, currentUserId, operations.get(i), refs);
+                    } catch (RuntimeException e) {
+                        throw new OperationFailed(i, e);
+                    }
+                }
+            });
+        } catch (OperationFailed failed) {
+            for (int i = 0; i < operations.size(); i++) {
+                RuntimeException error = i == failed.index ? failed.error : new BatchAbortedException(failed.index);
+                results[i] = failure(i, operations.get(i), error);
+            }
+        } catch (RuntimeException e) {
+            // コミット時の失敗（楽観ロックの競合など）は全操作の失敗として返す
+            for (int i = 0; i < operations.size(); i++) {
+                results[i] = failure(i, operations.get(i), e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * 操作ごとにコミットし、失敗しても続きを実行する
+     */
+    private Outcome[] executeSeparately(Long currentUserId, List<BatchOperationRequest> operations) {
+        Outcome[] results = new Outcome[operations.size()];
+        Map<String, Long> refs = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            try {
+                results[i] = apply(i, currentUserId, operations.get(i), refs);
+            } catch (RuntimeException e) {
+                results[i] = failure(i, operations.get(i), e);
+            }
+        }
+        return results;
+    }
+
+    private Outcome apply(int index, Long currentUserId, BatchOperationRequest operation,
+                                         Map<String, Long> refs) {
+        return switch (operation.op()) {
+            case CREATE -> {
+                if (operation.ref() != null && refs.containsKey(operation.ref())) {
+                    throw new InvalidBatchOperationException("Duplicate ref: " + operation.ref());
+                }
+                CreateTodoRequest body = readBody(operation, CreateTodoRequest.class, refs);
+                TodoResponse created = todoService.createTodo(currentUserId, body);
+                if (operation.ref() != null) {
+                    refs.put(operation.ref(), created.id());
+                }
+                yield success(index, operation, created);
+            }
+            case UPDATE -> {
+                Long id = resolveId(operation.id(), refs);
+                UpdateTodoRequest body = readBody(operation, UpdateTodoRequest.class, refs);
+                TodoResponse updated = todoService.updateTodo(currentUserId, id, body, operation.version());
+                yield success(index, operation, updated);
+            }
+            case DELETE -> {
+                Long id = resolveId(operation.id(), refs);
+                todoService.deleteTodo(currentUserId, id, operation.version());
+                yield success(index, operation, null);
+            }
+        };
+    }
+
+    /**
+     * 本文を参照解決してリクエストDTOに変換し、個別APIと同じ制約で検証する
+     */
+    private <T> T readBody(BatchOperationRequest operation, Class<T> type, Map<String, Long> refs) {
+        JsonNode body = operation.body();
+        if (body == null || !body.isObject()) {
+            throw new InvalidBatchOperationException("body must be an object");
+        }
+        ObjectNode resolved = ((ObjectNode) body).deepCopy();
+        JsonNode parentId = resolved.get("parentId");
+        if (parentId != null && parentId.isTextual()) {
+            resolved.put("parentId", resolveId(parentId.asText(), refs));
+        }
+
+        T request;
+        try {
+            request = objectMapper.treeToValue(resolved, type);
+        } catch (JsonProcessingException e) {
+            throw new InvalidBatchOperationException("Malformed body: " + e.getOriginalMessage());
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return request;
+    }
+
+    /**
+     * 数値のIDか、前の作成操作の参照（"$ref"）を解決する
+     */
+    private static Long resolveId(String id, Map<String, Long> refs) {
+        if (id == null || id.isBlank()) {
+            throw new InvalidBatchOperationException("id is required");
+        }
+        if (id.startsWith("$")) {
+            Long resolved = refs.get(id.substring(1));
+            if (resolved == null) {
+                throw new InvalidBatchOperationException("Unresolved ref: " + id);
+            }
+            return resolved;
+        }
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new InvalidBatchOperationException("Invalid id: " + id);
+        }
+    }
+
+    private static Outcome success(int index, BatchOperationRequest operation, TodoResponse todo) {
+        return new Outcome(index, operation.op(), operation.ref(), todo, null);
+    }
+
+    private static Outcome failure(int index, BatchOperationRequest operation, RuntimeException e) {
+        return new Outcome(index, operation.op(), operation.ref(), null, e);
+    }
+
+    /**
+     * 一括処理の結果（操作の順）
+     */
+    public record Result(boolean atomic, List<Outcome> outcomes) {
+    }
+
+    /**
+     * 1操作の結果。成功時は {@code todo}（削除時は null）、失敗時は {@code error} を持つ
+     */
+    public record Outcome(int index, Type op, String ref, TodoResponse todo, RuntimeException error) {
+
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+
+    /**
+     * 一括コミット中の操作の失敗（トランザクションを取り消すために投げる）
+     */
+    private static final class OperationFailed extends RuntimeException {
+
+        private final int index;
+        private final RuntimeException error;
+
+        OperationFailed(int index, RuntimeException error) {
+            super(error);
+            this.index = index;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.zametech.todoapp.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zametech.todoapp.common.config.OutboxProperties;
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.repository.TodoOutboxRepository;
+import com.zametech.todoapp.infrastructure.outbox.TodoEventSink;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoOutboxEntity;
+import com.zametech.todoapp.infrastructure.sharding.PerShard;
+import com.zametech.todoapp.presentation.dto.response.TodoEventResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * TODO変更イベントのアウトボックスサービス
+ *
+ * <p>変更イベントは変更と同じトランザクションでアウトボックスに書くため、変更がコミットされれば必ず送られ、
+ * ロールバックされれば送られない。送信は定期ジョブ（リレー）が行い、リクエストの処理時間には含まれない。
+ *
+ * <p>リレーは {@code FOR UPDATE SKIP LOCKED} で未ロックの行だけを取るため、複数のノードが待ち合わせずに分担できる。
+ * 送信に失敗したまとまりはロールバックされ、次回送り直す。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TodoOutboxService {
+
+    private final TodoOutboxRepository todoOutboxRepository;
+    private final TodoEventSink todoEventSink;
+    private final OutboxProperties outboxProperties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * TODOの変更をアウトボックスに書く（変更と同じトランザクションで同期実行、子タスクも1件ずつ届く）
+     */
+    @EventListener
+    @Transactional
+    public void onTodoChanged(TodoChangedEvent event) {
+        TodoEventResponse payload = TodoEventResponse.from(event);
+        todoOutboxRepository.append(new TodoOutboxEntity(
+            event.userId(), event.todoId(), payload.type(), write(payload), ZonedDateTime.now()));
+    }
+
+    /**
+     * 送信待ちがなくなるまで、一定件数ずつ送信して削除する
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay-interval:PT1S}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @PerShard
+    public void relay() {
+        int batchSize = outboxProperties.getBatchSize();
+        int total = 0;
+        int relayed;
+        try {
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch(batchSize));
+                total += relayed;
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            Counter.builder("app.outbox.failures")
+                .description("Outbox batches that failed to publish and were rolled back")
+                .register(meterRegistry)
+                .increment();
+            log.warn("Failed to publish todo events after {} relayed", total, e);
+            return;
+        }
+        if (total > 0) {
+            log.debug("Relayed {} todo events", total);
+        }
+    }
+
+    /**
+     * 取得した行はこのトランザクションが終わるまでロックされ、他のリレーからは飛ばされる
+     */
+    private int relayBatch(int batchSize) {
+        List<TodoOutboxEntity> messages = todoOutboxRepository.lockNext(batchSize);
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        
+        todoEventSink.publish(messages);
+        todoOutboxRepository.deleteAll(messages);
+        
+        ZonedDateTime now = ZonedDateTime.now();
+        Timer lag = Timer.builder("app.outbox.lag")
+            .description("Time from the todo change to publishing its event")
+            .register(meterRegistry);
+        messages.forEach(message -> lag.record(Duration.between(message.getCreatedAt(), now)));
+        Counter.builder("app.outbox.published")
+            .description("Todo events published from the outbox")
+            .register(meterRegistry)
+            .increment(messages.size());
+        return messages.size();
+    }
+
+    private String write(TodoEventResponse payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to write todo event", e);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.zametech.todoapp.application.service;
+
+import com.zametech.todoapp.common.config.RecurrenceProperties;
+import com.zametech.todoapp.common.exception.InvalidDateRangeException;
+import com.zametech.todoapp.common.exception.RecurrenceNotFoundException;
+import com.zametech.todoapp.common.exception.TodoNotFoundException;
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.RecurrenceRule;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoRecurrenceRepository;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.domain.repository.TodoStatusEventRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoRecurrenceEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoStatusEventEntity;
+import com.zametech.todoapp.infrastructure.sharding.PerShard;
+import com.zametech.todoapp.presentation.dto.request.RecurrenceRequest;
+import com.zametech.todoapp.presentation.dto.response.RecurrenceResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 繰り返しTODOサービス
+ *
+ * <p>テンプレートのTODOに繰り返しルールを設定し、今日から {@code horizonDays} 日先までの回を
+ * 通常のTODO（インスタンス）として先に作っておく。以降は生成ジョブが1日1回ルールを延長する。
+ * インスタンスはIDとステータス遷移イベントをまとめて採番・挿入するため、1年分でも数回のバッチで作成される。
+ *
+ * <p>作成済みの位置（{@code materializedThrough}）はインスタンスと同じトランザクションで進めるため、
+ * 途中で落ちても次の実行で続きから作る。同じ日のインスタンスは作成済みのものを飛ばし、
+ * 一意インデックス (template_id, occurrence_date) で二重に作らないことを保証する。
+ * テンプレートを後から編集しても、作成済みのインスタンスは変更しない。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TodoRecurrenceService {
+
+    private final TodoRecurrenceRepository todoRecurrenceRepository;
+    private final TodoRepository todoRepository;
+    private final TodoStatusEventRepository todoStatusEventRepository;
+    private final UserContextService userContextService;
+    private final RecurrenceProperties recurrenceProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 繰り返しルール取得
+     */
+    public RecurrenceResponse getRecurrence(Long todoId) {
+        findOwnedTodo(todoId);
+        return todoRecurrenceRepository.findById(todoId)
+            .map(RecurrenceResponse::from)
+            .orElseThrow(() -> new RecurrenceNotFoundException(todoId));
+    }
+
+    /**
+     * 繰り返しルール設定（作成・置き換え）
+     *
+     * <p>置き換えた場合は開始日から作り直す（新しいルールの回のうち、作成済みの日は飛ばす）。
+     * 古いルールで作成済みのインスタンスは残す。
+     */
+    @Transactional
+    public RecurrenceResponse setRecurrence(Long todoId, RecurrenceRequest request) {
+        log.debug("Setting recurrence for TODO with id: {}", todoId);
+
+        TodoEntity template = findOwnedTodo(todoId);
+        LocalDate today = LocalDate.now();
+        LocalDate startsOn = request.startsOn() != null ? request.startsOn() : today;
+        if (request.endsOn() != null && request.endsOn().isBefore(startsOn)) {
+            throw new InvalidDateRangeException(startsOn, request.endsOn());
+        }
+        RecurrenceRule rule = new RecurrenceRule(request.frequency(), request.interval(),
+            request.weekdays() != null ? Set.copyOf(request.weekdays()) : Set.of(), startsOn, request.endsOn());
+
+        TodoRecurrenceEntity recurrence = todoRecurrenceRepository.lockById(todoId).orElseGet(() -> {
+            TodoRecurrenceEntity created = new TodoRecurrenceEntity();
+            created.setTodoId(todoId);
+            created.setUserId(template.getUserId());
+            return created;
+        });
+        recurrence.setFrequency(rule.frequency());
+        recurrence.setIntervalCount(rule.interval());
+        recurrence.setWeekdays(rule.weekdayMask());
+        recurrence.setStartsOn(rule.startsOn());
+        recurrence.setEndsOn(rule.endsOn());
+        recurrence.setHorizonDays(request.horizonDays() != null
+            ? request.horizonDays() : recurrenceProperties.getDefaultHorizonDays());
+        recurrence.setMaterializedThrough(startsOn.minusDays(1));
+
+        int created = materialize(template, recurrence, today);
+        TodoRecurrenceEntity saved = todoRecurrenceRepository.save(recurrence);
+        log.debug("Created {} instances of TODO {} through {}", created, todoId, saved.getMaterializedThrough());
+
+        return RecurrenceResponse.from(saved);
+    }
+
+    /**
+     * 繰り返しルール削除（作成済みのインスタンスは残す）
+     */
+    @Transactional
+    public void deleteRecurrence(Long todoId) {
+        log.debug("Deleting recurrence for TODO with id: {}", todoId);
+
+        findOwnedTodo(todoId);
+        TodoRecurrenceEntity recurrence = todoRecurrenceRepository.lockById(todoId)
+            .orElseThrow(() -> new RecurrenceNotFoundException(todoId));
+        todoRecurrenceRepository.delete(recurrence);
+    }
+
+    /**
+     * 延長日が来たルールのインスタンスを作る
+     *
+     * <p>処理中のルールはロックされ、他のノードの生成ジョブからは飛ばされる。
+     */
+    @Scheduled(cron = "${app.recurrence.generate-cron:0 5 0 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @PerShard
+    public void generateDue() {
+        LocalDate today = LocalDate.now();
+        int batchSize = recurrenceProperties.getGenerateBatchSize();
+        int total = 0;
+        int generated;
+        do {
+            generated = transactionTemplate.execute(status -> generateBatch(today, batchSize));
+            total += generated;
+        } while (generated == batchSize);
+        log.info("Extended {} recurrences through {}", total, today);
+    }
+
+    private int generateBatch(LocalDate today, int batchSize) {
+        List<TodoRecurrenceEntity> due = todoRecurrenceRepository.lockDue(today, batchSize);
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, TodoEntity> templates = todoRepository.findAllById(
+                due.stream().map(TodoRecurrenceEntity::getTodoId).toList())
+            .stream()
+            .collect(Collectors.toMap(TodoEntity::getId, Function.identity()));
+        for (TodoRecurrenceEntity recurrence : due) {
+            materialize(templates.get(recurrence.getTodoId()), recurrence, today);
+            todoRecurrenceRepository.save(recurrence);
+        }
+        return due.size();
+    }
+
+    /**
+     * 作成済みの位置の翌日（今日より前なら今日）から today + horizonDays までのインスタンスを作り、
+     * 作成済みの位置と次の延長日を進める
+     *
+     * @return 作成したインスタンス数
+     */
+    int materialize(TodoEntity template, TodoRecurrenceEntity recurrence, LocalDate today) {
+        LocalDate next = recurrence.getMaterializedThrough().plusDays(1);
+        LocalDate from = next.isBefore(today) ? today : next;
+        LocalDate through = today.plusDays(recurrence.getHorizonDays());
+        if (recurrence.getEndsOn() != null && recurrence.getEndsOn().isBefore(through)) {
+            through = recurrence.getEndsOn();
+        }
+
+        int created = 0;
+        List<LocalDate> dates = from.isAfter(through) ? List.of() : recurrence.toRule().occurrences(from, through);
+        if (!dates.isEmpty()) {
+            Set<LocalDate> existing = new HashSet<>(todoRepository.findOccurrenceDates(
+                template.getUserId(), template.getId(), dates.get(0), dates.get(dates.size() - 1)));
+            created = createInstances(template, dates.stream().filter(date -> !existing.contains(date)).toList());
+        }
+
+        if (through.isAfter(recurrence.getMaterializedThrough())) {
+            recurrence.setMaterializedThrough(through);
+        }
+        boolean finished = recurrence.getEndsOn() != null
+            && !recurrence.getMaterializedThrough().isBefore(recurrence.getEndsOn());
+        recurrence.setNextRunOn(finished ? null : today.plusDays(1));
+        return created;
+    }
+
+    /**
+     * テンプレートを複製したインスタンスをまとめて挿入し、TodoService の作成と同じ後処理を行う
+     */
+    private int createInstances(TodoEntity template, List<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> changeSeqs = todoRepository.nextChangeSeqs(dates.size());
+        List<TodoEntity> instances = new ArrayList<>(dates.size());
+        for (int i = 0; i < dates.size(); i++) {
+            TodoEntity instance = new TodoEntity(
+                template.getUserId(),
+                template.getTitle(),
+                template.getDescription(),
+                TodoStatus.TODO,
+                template.getPriority(),
+                dates.get(i),
+                template.getParentId()
+            );
+            instance.setTemplateId(template.getId());
+            instance.setOccurrenceDate(dates.get(i));
+            instance.setChangeSeq(changeSeqs.get(i));
+            instances.add(instance);
+        }
+
+        List<TodoEntity> saved = todoRepository.saveAll(instances);
+        todoRepository.flush();
+        ZonedDateTime now = ZonedDateTime.now();
+        todoStatusEventRepository.appendAll(saved.stream()
+            .map(todo -> new TodoStatusEventEntity(todo.getUserId(), todo.getId(), null, todo.getStatus(), now))
+            .toList());
+        saved.forEach(todo -> eventPublisher.publishEvent(TodoChangedEvent.created(todo)));
+        return saved.size();
+    }
+
+    /**
+     * 現在のユーザーのTODOを、ユーザーのパーティションだけを引いて取得する（他のユーザーのTODOは404）
+     */
+    private TodoEntity findOwnedTodo(Long todoId) {
+        Long currentUserId = userContextService.getCurrentUserId();
+        return todoRepository.findByIdAndUserId(todoId, currentUserId)
+            .orElseThrow(() -> new TodoNotFoundException(todoId));
+    }
+}
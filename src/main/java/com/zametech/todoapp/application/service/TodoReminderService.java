@@ -0,0 +1,301 @@
+package com.zametech.todoapp.application.service;
+
+import com.zametech.todoapp.common.config.ReminderProperties;
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.Todo;
+import com.zametech.todoapp.domain.model.TodoDue;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.infrastructure.reminder.HierarchicalTimingWheel;
+import com.zametech.todoapp.infrastructure.reminder.TodoReminder;
+import com.zametech.todoapp.infrastructure.reminder.TodoReminderNotifier;
+import com.zametech.todoapp.infrastructure.sharding.PerShard;
+import com.zametech.todoapp.infrastructure.sharding.ShardContext;
+import com.zametech.todoapp.infrastructure.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TODO期限リマインダーサービス
+ *
+ * <p>期限の {@code daysBefore} 日前の {@code time} に、未完了のTODOのリマインダーを送る。
+ * 近い期間（{@code horizonDays} 日分）の期限だけを、期限・ID順のインデックス（idx_todos_due_date）から
+ * 一定件数ずつ読み込み、メモリ上の階層タイミングホイールに登録する。全件の定期走査はしない。
+ *
+ * <p>このノードで確定した作成・更新・削除はコミット後に登録し直す。他のノードでの変更は、
+ * 送る直前にTODOを読み直して確かめ（完了・削除・期限変更なら送らない）、追加分は定期的な再読み込みで拾う。
+ * リマインダーを送るのは {@code app.reminders.enabled=true} のノードだけ。
+ *
+ * <p>シャーディングが有効なら、読み込み・再読み込み・送信はシャードごとに振り分けて行い、
+ * タイミングホイールと読み込み済みの期間もシャードごとに持つ。
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+@ConditionalOnProperty(prefix = "app.reminders", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TodoReminderService {
+
+    /** シャーディング無効時の状態のキー */
+    private static final String UNSHARDED = "";
+
+    private final TodoRepository todoRepository;
+    private final TodoReminderNotifier todoReminderNotifier;
+    private final ReminderProperties reminderProperties;
+    private final ShardRouter shardRouter;
+    private final Clock clock;
+    private final Map<String, ShardReminders> shards = new ConcurrentHashMap<>();
+    private final Counter delivered;
+    private final Counter skipped;
+    private final Counter failed;
+
+    @Autowired
+    public TodoReminderService(TodoRepository todoRepository, TodoReminderNotifier todoReminderNotifier,
+                               ReminderProperties reminderProperties, ShardRouter shardRouter,
+                               MeterRegistry meterRegistry) {
+        this(todoRepository, todoReminderNotifier, reminderProperties, shardRouter, meterRegistry,
+            Clock.systemDefaultZone());
+    }
+
+    TodoReminderService(TodoRepository todoRepository, TodoReminderNotifier todoReminderNotifier,
+                        ReminderProperties reminderProperties, ShardRouter shardRouter,
+                        MeterRegistry meterRegistry, Clock clock) {
+        this.todoRepository = todoRepository;
+        this.todoReminderNotifier = todoReminderNotifier;
+        this.reminderProperties = reminderProperties;
+        this.shardRouter = shardRouter;
+        this.clock = clock;
+        Gauge.builder("app.reminders.scheduled", this, TodoReminderService::scheduledCount)
+            .description("Reminders waiting in the timing wheel")
+            .register(meterRegistry);
+        this.delivered = Counter.builder("app.reminders.delivered")
+            .description("Reminders handed to the notifier")
+            .register(meterRegistry);
+        this.skipped = Counter.builder("app.reminders.skipped")
+            .description("Reminders dropped because the todo was completed, deleted or rescheduled")
+            .register(meterRegistry);
+        this.failed = Counter.builder("app.reminders.failed")
+            .description("Reminders the notifier failed to deliver")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 読み込み済みの期間の先を読み込み、{@code horizonDays} 日分を保つ
+     */
+    @Scheduled(fixedDelayString = "${app.reminders.load-interval:PT5M}")
+    @PerShard
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void loadAhead() {
+        ShardReminders reminders = boundShard();
+        LocalDate first = firstDueDate();
+        LocalDate before = first.plusDays(reminderProperties.getHorizonDays());
+        LocalDate loaded = reminders.loadedBefore;
+        LocalDate from = loaded == null || loaded.isBefore(first) ? first : loaded;
+        if (!from.isBefore(before)) {
+            return;
+        }
+        int scheduled = load(reminders.wheel, from, before);
+        reminders.loadedBefore = before;
+        log.debug("Loaded {} reminders due from {} before {}", scheduled, from, before);
+    }
+
+    /**
+     * 読み込み済みの期間を読み直す（他のノードで作成・変更されたTODOを拾う）
+     */
+    @Scheduled(fixedDelayString = "${app.reminders.reload-interval:PT1H}",
+            initialDelayString = "${app.reminders.reload-interval:PT1H}")
+    @PerShard
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void reload() {
+        ShardReminders reminders = boundShard();
+        LocalDate loaded = reminders.loadedBefore;
+        if (loaded != null) {
+            int scheduled = load(reminders.wheel, firstDueDate(), loaded);
+            log.debug("Reloaded {} reminders due before {}", scheduled, loaded);
+        }
+    }
+
+    /**
+     * 期限に達したリマインダーを、TODOを読み直して確かめてから送る
+     */
+    @Scheduled(fixedDelayString = "${app.reminders.tick:PT1S}")
+    @PerShard
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void tick() {
+        Map<Long, LocalDate> due = new HashMap<>();
+        HierarchicalTimingWheel wheel = boundShard().wheel;
+        wheel.advance(clock.instant(), (todoId, epochDay) -> due.put(todoId, LocalDate.ofEpochDay(epochDay)));
+        if (due.isEmpty()) {
+            return;
+        }
+        
+        List<Long> ids = new ArrayList<>(due.keySet());
+        int batchSize = reminderProperties.getDeliverBatchSize();
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            List<Long> batch = ids.subList(start, Math.min(start + batchSize, ids.size()));
+            List<TodoReminder> reminders = new ArrayList<>();
+            for (TodoEntity todo : todoRepository.findAllById(batch)) {
+                if (todo.getStatus() != TodoStatus.DONE && todo.getDueDate() != null
+                        && todo.getDueDate().equals(due.get(todo.getId()))) {
+                    reminders.add(new TodoReminder(todo.getId(), todo.getUserId(), todo.getTitle(),
+                        todo.getDueDate(), remindAt(todo.getId(), todo.getDueDate())));
+                }
+            }
+            skipped.increment(batch.size() - reminders.size());
+            deliver(reminders);
+        }
+    }
+
+    /**
+     * コミット済みの変更に合わせて登録し直す（読み込み済みの期間の期限だけ）
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTodoChanged(TodoChangedEvent event) {
+        ShardReminders reminders = shards.get(shardKey(shardRouter.isEnabled()
+            ? shardRouter.shardFor(event.userId())
+            : null));
+        if (reminders == null) {
+            // このシャードはまだ読み込んでいない（読み込み時にDBから拾う）
+            return;
+        }
+        Todo current = event.current();
+        LocalDate loaded = reminders.loadedBefore;
+        if (current == null || current.getStatus() == TodoStatus.DONE || current.getDueDate() == null
+                || loaded == null || !current.getDueDate().isBefore(loaded)) {
+            reminders.wheel.cancel(event.todoId());
+            return;
+        }
+        schedule(reminders.wheel, new TodoDue(current.getId(), current.getDueDate()), clock.instant());
+    }
+
+    /**
+     * 登録中のリマインダー数（全シャードの合計）
+     */
+    public int scheduledCount() {
+        return shards.values().stream().mapToInt(reminders -> reminders.wheel.size()).sum();
+    }
+
+    /**
+     * 振り分け中のシャード（シャーディング無効なら唯一）の状態
+     */
+    private ShardReminders boundShard() {
+        return shards.computeIfAbsent(shardKey(ShardContext.currentShard()), shard -> new ShardReminders(
+            new HierarchicalTimingWheel(reminderProperties.getTick(), clock.instant(),
+                reminderProperties.getLoadBatchSize())));
+    }
+
+    private static String shardKey(String shard) {
+        return shard != null ? shard : UNSHARDED;
+    }
+
+    /**
+     * 期限が [from, before) の未完了TODOを一定件数ずつ読み込んで登録する
+     */
+    private int load(HierarchicalTimingWheel wheel, LocalDate from, LocalDate before) {
+        int batchSize = reminderProperties.getLoadBatchSize();
+        Instant now = clock.instant();
+        LocalDate cursorDate = from.minusDays(1);
+        long cursorId = Long.MAX_VALUE;
+        int scheduled = 0;
+        List<TodoDue> page;
+        do {
+            page = todoRepository.findOpenDueAfter(cursorDate, cursorId, before, batchSize);
+            for (TodoDue todo : page) {
+                if (schedule(wheel, todo, now)) {
+                    scheduled++;
+                }
+            }
+            if (!page.isEmpty()) {
+                TodoDue last = page.get(page.size() - 1);
+                cursorDate = last.dueDate();
+                cursorId = last.id();
+            }
+        } while (page.size() == batchSize);
+        return scheduled;
+    }
+
+    /**
+     * 送る時刻が過ぎていなければ登録し、過ぎていれば取り消す
+     */
+    private boolean schedule(HierarchicalTimingWheel wheel, TodoDue todo, Instant now) {
+        Instant remindAt = remindAt(todo.id(), todo.dueDate()).toInstant();
+        if (!remindAt.isAfter(now)) {
+            wheel.cancel(todo.id());
+            return false;
+        }
+        wheel.schedule(todo.id(), remindAt, (int) todo.dueDate().toEpochDay());
+        return true;
+    }
+
+    private void deliver(List<TodoReminder> reminders) {
+        if (reminders.isEmpty()) {
+            return;
+        }
+        try {
+            todoReminderNotifier.notify(reminders);
+            delivered.increment(reminders.size());
+        } catch (RuntimeException e) {
+            failed.increment(reminders.size());
+            log.warn("Failed to deliver {} reminders", reminders.size(), e);
+        }
+    }
+
+    /**
+     * 期限の daysBefore 日前の time に、TODOごとに spread 内でずらした時刻
+     */
+    private ZonedDateTime remindAt(Long todoId, LocalDate dueDate) {
+        ZonedDateTime base = dueDate.minusDays(reminderProperties.getDaysBefore())
+            .atTime(reminderProperties.getTime())
+            .atZone(clock.getZone());
+        long spreadMillis = reminderProperties.getSpread().toMillis();
+        if (spreadMillis <= 0) {
+            return base;
+        }
+        long mixed = todoId * 0x9E3779B97F4A7C15L;
+        return base.plusNanos(Math.floorMod(mixed ^ (mixed >>> 32), spreadMillis) * 1_000_000L);
+    }
+
+    /**
+     * 今日送るリマインダーの期限日（これより前の期限は送る時刻を過ぎている）
+     */
+    private LocalDate firstDueDate() {
+        return LocalDate.now(clock).plusDays(reminderProperties.getDaysBefore());
+    }
+
+    /**
+     * 1シャード分のタイミングホイールと読み込み済みの期間
+     */
+    private static final class ShardReminders {
+
+        private final HierarchicalTimingWheel wheel;
+
+        /**
+         * 読み込み済みの期限日（この日まで、除く）。未読み込みなら null
+         */
+        private volatile LocalDate loadedBefore;
+
+        private ShardReminders(HierarchicalTimingWheel wheel) {
+            this.wheel = wheel;
+        }
+    }
+}
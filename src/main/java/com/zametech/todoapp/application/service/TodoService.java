@@ -1,24 +1,47 @@
 package com.zametech.todoapp.application.service;
 
+import com.zametech.todoapp.common.exception.InvalidCursorException;
+import com.zametech.todoapp.common.exception.PreconditionFailedException;
 import com.zametech.todoapp.common.exception.TodoNotFoundException;
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.Todo;
+import com.zametech.todoapp.domain.model.TodoFilter;
 import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.model.TodoVersion;
 import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.domain.repository.TodoStatusEventRepository;
 import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoStatusEventEntity;
+import com.zametech.todoapp.infrastructure.search.TitleSuggestionIndex;
+import com.zametech.todoapp.infrastructure.search.TodoTextIndex;
 import com.zametech.todoapp.presentation.dto.request.CreateTodoRequest;
 import com.zametech.todoapp.presentation.dto.request.UpdateTodoRequest;
+import com.zametech.todoapp.presentation.dto.response.CursorPageResponse;
 import com.zametech.todoapp.presentation.dto.response.TodoResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * TODOサービス
+ *
+ * <p>ステータスが変わる作成・更新・削除では、変更と同じトランザクションでステータス遷移イベントを追記する
+ * （日次集計は {@link TodoAnalyticsService} が行う）。
  */
 @Service
 @RequiredArgsConstructor
@@ -26,27 +49,36 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class TodoService {
 
+    /** 期限の下限・上限を省略した場合の値（DATE型で表現できる範囲内） */
+    private static final LocalDate EARLIEST_DUE_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate LATEST_DUE_DATE = LocalDate.of(9999, 12, 31);
+
     private final TodoRepository todoRepository;
     private final UserContextService userContextService;
+    private final TodoTextIndex todoTextIndex;
+    private final TitleSuggestionIndex titleSuggestionIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoStatusEventRepository todoStatusEventRepository;
 
     /**
      * TODO作成
      */
     @Transactional
     public TodoResponse createTodo(CreateTodoRequest request) {
+        return createTodo(userContextService.getCurrentUserId(), request);
+    }
+
+    /**
+     * TODO作成（解決済みのユーザーとして実行、一括処理用）
+     */
+    @Transactional
+    public TodoResponse createTodo(Long currentUserId, CreateTodoRequest request) {
         log.debug("Creating new TODO: {}", request.title());
         
-        Long currentUserId = userContextService.getCurrentUserId();
-        
         // Validate parent task if provided
         if (request.parentId() != null) {
-            TodoEntity parentTodo = todoRepository.findById(request.parentId())
-                .orElseThrow(() -> new TodoNotFoundException(request.parentId()));
-            
             // Ensure parent task belongs to the same user
-            if (!parentTodo.getUserId().equals(currentUserId)) {
-                throw new AccessDeniedException("Access denied to parent TODO with id: " + request.parentId());
-            }
+            findOwned(currentUserId, request.parentId());
         }
         
         TodoEntity todo = new TodoEntity(
@@ -58,9 +90,15 @@ public class TodoService {
             request.dueDate(),
             request.parentId()
         );
+        todo.setChangeSeq(todoRepository.nextChangeSeq());
         
         TodoEntity saved = todoRepository.save(todo);
-        log.info("Created TODO with id: {} for user: {}", saved.getId(), currentUserId);
+        // IDはシーケンスから振るため挿入はフラッシュまで遅れる。作成日時をイベントと応答に含めるためここで挿入する
+        todoRepository.flush();
+        todoStatusEventRepository.appendAll(List.of(
+            statusEvent(currentUserId, saved.getId(), null, saved.getStatus())));
+        eventPublisher.publishEvent(TodoChangedEvent.created(saved));
+        log.debug("Created TODO with id: {} for user: {}", saved.getId(), currentUserId);
         
         return TodoResponse.from(saved);
     }
@@ -71,28 +109,115 @@ public class TodoService {
     public TodoResponse getTodo(Long id) {
         log.debug("Getting TODO with id: {}", id);
         
-        TodoEntity todo = todoRepository.findById(id)
-            .orElseThrow(() -> new TodoNotFoundException(id));
-        
         Long currentUserId = userContextService.getCurrentUserId();
-        if (!todo.getUserId().equals(currentUserId)) {
-            throw new AccessDeniedException("Access denied to TODO with id: " + id);
-        }
+        TodoEntity todo = findOwned(currentUserId, id);
             
         return TodoResponse.from(todo);
     }
 
+    /**
+     * TODOの版情報取得（ID指定、条件付きGET用）
+     */
+    public TodoVersion getTodoVersion(Long id) {
+        Long currentUserId = userContextService.getCurrentUserId();
+        return todoRepository.findVersionByIdAndUserId(id, currentUserId)
+            .orElseThrow(() -> new TodoNotFoundException(id));
+    }
+
     /**
      * TODO一覧取得（ページング）
      */
     public Page<TodoResponse> getTodos(Pageable pageable) {
-        log.debug("Getting TODO list with pageable: {}", pageable);
+        return getTodos(TodoFilter.none(), pageable);
+    }
+
+    /**
+     * TODO一覧取得（絞り込み・ページング）
+     */
+    public Page<TodoResponse> getTodos(TodoFilter filter, Pageable pageable) {
+        log.debug("Getting TODO list with filter: {}, pageable: {}", filter, pageable);
         
         Long currentUserId = userContextService.getCurrentUserId();
-        Page<TodoEntity> todos = todoRepository.findByUserId(currentUserId, pageable);
+        Page<TodoEntity> todos = filter.isEmpty()
+            ? todoRepository.findByUserId(currentUserId, pageable)
+            : todoRepository.findByUserIdAndFilter(currentUserId, filter, pageable);
         return todos.map(TodoResponse::from);
     }
 
+    /**
+     * キーワード検索（タイトル・説明の部分一致、日本語対応）
+     */
+    public List<TodoResponse> searchTodos(String query, int limit) {
+        log.debug("Searching TODOs with query: {}", query);
+        
+        Long currentUserId = userContextService.getCurrentUserId();
+        List<Long> ids = todoTextIndex.search(currentUserId, query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        // インデックスはコミット後に更新されるため、所有者はDBの値で再確認する
+        Map<Long, TodoEntity> todos = todoRepository.findAllById(ids).stream()
+            .filter(todo -> todo.getUserId().equals(currentUserId))
+            .collect(Collectors.toMap(TodoEntity::getId, Function.identity()));
+        return ids.stream()
+            .map(todos::get)
+            .filter(Objects::nonNull)
+            .map(TodoResponse::from)
+            .toList();
+    }
+
+    /**
+     * あいまい検索（タイトルの類似度順、タイプミス許容）
+     */
+    public List<TodoResponse> fuzzySearchTodos(String query, int limit) {
+        log.debug("Fuzzy searching TODOs with query: {}", query);
+        
+        Long currentUserId = userContextService.getCurrentUserId();
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return todoRepository.findByUserIdAndTitleSimilarTo(currentUserId, query.trim(), limit).stream()
+            .map(TodoResponse::from)
+            .toList();
+    }
+
+    /**
+     * タイトルの入力補完候補取得
+     */
+    public List<String> suggestTitles(String prefix, int limit) {
+        Long currentUserId = userContextService.getCurrentUserId();
+        return titleSuggestionIndex.suggest(currentUserId, prefix, limit);
+    }
+
+    /**
+     * 期限付き未完了TODO一覧取得（期限超過・期限間近、カーソルページング）
+     *
+     * @param after  期限の下限（含む）。省略時は下限なし
+     * @param before 期限の上限（含まない）。省略時は上限なし
+     * @param cursor 前ページの {@code nextCursor}
+     */
+    public CursorPageResponse<TodoResponse> getDueTodos(LocalDate after, LocalDate before, String cursor, int limit) {
+        log.debug("Getting due TODOs between {} and {} after cursor: {}", after, before, cursor);
+        
+        Long currentUserId = userContextService.getCurrentUserId();
+        // (due_date, id) > (after, 0) は due_date >= after と同値
+        DueCursor position = cursor != null && !cursor.isBlank()
+            ? DueCursor.decode(cursor)
+            : new DueCursor(after != null ? after : EARLIEST_DUE_DATE, 0L);
+        
+        List<TodoEntity> todos = todoRepository.findOpenDueAfterCursor(
+            currentUserId, position.dueDate(), position.id(), before != null ? before : LATEST_DUE_DATE, limit + 1);
+        boolean hasNext = todos.size() > limit;
+        List<TodoEntity> page = hasNext ? todos.subList(0, limit) : todos;
+        String nextCursor = null;
+        if (hasNext) {
+            TodoEntity last = page.get(page.size() - 1);
+            nextCursor = new DueCursor(last.getDueDate(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(page.stream().map(TodoResponse::from).toList(), nextCursor);
+    }
+
     /**
      * ステータスでTODO一覧取得
      */
@@ -111,25 +236,33 @@ public class TodoService {
      */
     @Transactional
     public TodoResponse updateTodo(Long id, UpdateTodoRequest request) {
+        return updateTodo(id, request, null);
+    }
+
+    /**
+     * TODO更新（楽観ロック）
+     *
+     * @param expectedVersion クライアントが最後に取得したバージョン（null なら無条件）
+     */
+    @Transactional
+    public TodoResponse updateTodo(Long id, UpdateTodoRequest request, Long expectedVersion) {
+        return updateTodo(userContextService.getCurrentUserId(), id, request, expectedVersion);
+    }
+
+    /**
+     * TODO更新（解決済みのユーザーとして実行、一括処理用）
+     */
+    @Transactional
+    public TodoResponse updateTodo(Long currentUserId, Long id, UpdateTodoRequest request, Long expectedVersion) {
         log.debug("Updating TODO with id: {}", id);
         
-        TodoEntity todo = todoRepository.findById(id)
-            .orElseThrow(() -> new TodoNotFoundException(id));
-        
-        Long currentUserId = userContextService.getCurrentUserId();
-        if (!todo.getUserId().equals(currentUserId)) {
-            throw new AccessDeniedException("Access denied to update TODO with id: " + id);
-        }
+        TodoEntity todo = findOwned(currentUserId, id);
+        checkVersion(todo, expectedVersion);
             
         // Validate parent task if provided
         if (request.parentId() != null && !request.parentId().equals(todo.getParentId())) {
-            TodoEntity parentTodo = todoRepository.findById(request.parentId())
-                .orElseThrow(() -> new TodoNotFoundException(request.parentId()));
-            
             // Ensure parent task belongs to the same user
-            if (!parentTodo.getUserId().equals(currentUserId)) {
-                throw new AccessDeniedException("Access denied to parent TODO with id: " + request.parentId());
-            }
+            findOwned(currentUserId, request.parentId());
             
             // Prevent circular dependencies
             if (request.parentId().equals(id)) {
@@ -137,15 +270,26 @@ public class TodoService {
             }
         }
         
+        // 採番のネイティブクエリは自動フラッシュを起こすため、変更前に取る（バージョンが2回進まないように）
+        long changeSeq = todoRepository.nextChangeSeq();
+        Todo previous = TodoChangedEvent.snapshot(todo);
         todo.setTitle(request.title());
         todo.setDescription(request.description());
         todo.setStatus(request.status());
         todo.setPriority(request.priority());
         todo.setDueDate(request.dueDate());
         todo.setParentId(request.parentId());
+        todo.setChangeSeq(changeSeq);
         
+        // UPDATE ... WHERE id = ? AND version = ? で読み取り後の競合を検出し、新しいバージョンを応答に含める
         TodoEntity updated = todoRepository.save(todo);
-        log.info("Updated TODO with id: {} for user: {}", updated.getId(), currentUserId);
+        todoRepository.flush();
+        if (previous.getStatus() != updated.getStatus()) {
+            todoStatusEventRepository.appendAll(List.of(
+                statusEvent(currentUserId, id, previous.getStatus(), updated.getStatus())));
+        }
+        eventPublisher.publishEvent(TodoChangedEvent.updated(previous, updated));
+        log.debug("Updated TODO with id: {} for user: {}", updated.getId(), currentUserId);
         
         return TodoResponse.from(updated);
     }
@@ -155,18 +299,40 @@ public class TodoService {
      */
     @Transactional
     public void deleteTodo(Long id) {
+        deleteTodo(id, null);
+    }
+
+    /**
+     * TODO削除（楽観ロック）
+     *
+     * @param expectedVersion クライアントが最後に取得したバージョン（null なら無条件）
+     */
+    @Transactional
+    public void deleteTodo(Long id, Long expectedVersion) {
+        deleteTodo(userContextService.getCurrentUserId(), id, expectedVersion);
+    }
+
+    /**
+     * TODO削除（解決済みのユーザーとして実行、一括処理用）
+     */
+    @Transactional
+    public void deleteTodo(Long currentUserId, Long id, Long expectedVersion) {
         log.debug("Deleting TODO with id: {}", id);
         
-        TodoEntity todo = todoRepository.findById(id)
-            .orElseThrow(() -> new TodoNotFoundException(id));
+        TodoEntity todo = findOwned(currentUserId, id);
+        checkVersion(todo, expectedVersion);
         
-        Long currentUserId = userContextService.getCurrentUserId();
-        if (!todo.getUserId().equals(currentUserId)) {
-            throw new AccessDeniedException("Access denied to delete TODO with id: " + id);
-        }
-        
-        todoRepository.deleteById(id);
-        log.info("Deleted TODO with id: {} for user: {}", id, currentUserId);
+        // 子タスクはON DELETE CASCADEで一緒に消えるため、削除前にまとめて退避する
+        List<Todo> removed = todoRepository.findSubtree(currentUserId, id).stream()
+            .map(TodoChangedEvent::snapshot)
+            .toList();
+        todoRepository.delete(todo);
+        todoRepository.flush();
+        todoStatusEventRepository.appendAll(removed.stream()
+            .map(snapshot -> statusEvent(currentUserId, snapshot.getId(), snapshot.getStatus(), null))
+            .toList());
+        removed.forEach(snapshot -> eventPublisher.publishEvent(TodoChangedEvent.deleted(snapshot)));
+        log.debug("Deleted TODO with id: {} for user: {}", id, currentUserId);
     }
     
     /**
@@ -176,17 +342,61 @@ public class TodoService {
         log.debug("Getting child tasks for parent id: {}", parentId);
         
         // Verify parent task exists and user has access
-        TodoEntity parentTodo = todoRepository.findById(parentId)
-            .orElseThrow(() -> new TodoNotFoundException(parentId));
-        
         Long currentUserId = userContextService.getCurrentUserId();
-        if (!parentTodo.getUserId().equals(currentUserId)) {
-            throw new AccessDeniedException("Access denied to TODO with id: " + parentId);
-        }
+        findOwned(currentUserId, parentId);
         
-        List<TodoEntity> childTasks = todoRepository.findByParentId(parentId);
+        List<TodoEntity> childTasks = todoRepository.findByParentId(currentUserId, parentId);
         return childTasks.stream()
             .map(TodoResponse::from)
             .toList();
     }
+
+    /**
+     * 現在のユーザーのTODOを、ユーザーのパーティションだけを引いて取得する
+     *
+     * <p>他のユーザーのTODOは存在しないものとして404にする（他のパーティションは読まない）。
+     */
+    private TodoEntity findOwned(Long currentUserId, Long id) {
+        return todoRepository.findByIdAndUserId(id, currentUserId)
+            .orElseThrow(() -> new TodoNotFoundException(id));
+    }
+
+    /**
+     * If-Match のバージョンと現在のバージョンを照合する
+     *
+     * <p>読み取り後に他の更新が割り込んだ場合は、UPDATE/DELETE の version 条件で検出される。
+     */
+    private static void checkVersion(TodoEntity todo, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(todo.getVersion())) {
+            throw new PreconditionFailedException(
+                "TODO " + todo.getId() + " is at version " + todo.getVersion() + ", expected " + expectedVersion);
+        }
+    }
+
+    private static TodoStatusEventEntity statusEvent(Long userId, Long todoId, TodoStatus from, TodoStatus to) {
+        return new TodoStatusEventEntity(userId, todoId, from, to, ZonedDateTime.now());
+    }
+
+    /**
+     * 期限一覧のカーソル（最後に返した行の期限とID）
+     */
+    private record DueCursor(LocalDate dueDate, long id) {
+        
+        String encode() {
+            String value = dueDate + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static DueCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+                if (parts.length != 2) {
+                    throw new InvalidCursorException(cursor);
+                }
+                return new DueCursor(LocalDate.parse(parts[0]), Long.parseLong(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new InvalidCursorException(cursor);
+            }
+        }
+    }
 }
\ No newline at end of file
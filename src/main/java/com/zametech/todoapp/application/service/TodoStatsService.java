@@ -0,0 +1,205 @@
+package com.zametech.todoapp.application.service;
+
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.Todo;
+import com.zametech.todoapp.domain.model.TodoCollectionVersion;
+import com.zametech.todoapp.domain.model.TodoCount;
+import com.zametech.todoapp.domain.model.TodoCounterDelta;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoCounterRepository;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoCounterEntity;
+import com.zametech.todoapp.infrastructure.sharding.PerShard;
+import com.zametech.todoapp.presentation.dto.response.TodoStatsResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TODO統計サービス
+ *
+ * <p>ステータス別・優先度別の件数はユーザーごとのカウンター行から1回の主キー検索で返す。
+ * カウンターはTODOの変更と同じトランザクションで差分を加算し、
+ * ずれが生じた場合は定期ジョブで todos から再集計して補正する。
+ * カウンター行はユーザーの初回書き込みで作成し、並行する初回書き込み同士は
+ * {@code ON CONFLICT DO NOTHING} で一方だけが作成する。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TodoStatsService {
+
+    private static final int RECONCILE_BATCH_SIZE = 500;
+
+    private final TodoCounterRepository todoCounterRepository;
+    private final TodoRepository todoRepository;
+    private final UserContextService userContextService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 現在のユーザーの統計取得
+     *
+     * <p>期限超過・今日期限の件数は日付に依存するためカウンターでは持たず、
+     * 未完了TODOの期限部分インデックスで数える。
+     */
+    public TodoStatsResponse getStats() {
+        Long currentUserId = userContextService.getCurrentUserId();
+        TodoCounterEntity counter = todoCounterRepository.findByUserId(currentUserId)
+            .orElseGet(() -> emptyCounter(currentUserId));
+        
+        Map<TodoStatus, Long> byStatus = new EnumMap<>(TodoStatus.class);
+        byStatus.put(TodoStatus.TODO, (long) counter.getStatusTodo());
+        byStatus.put(TodoStatus.IN_PROGRESS, (long) counter.getStatusInProgress());
+        byStatus.put(TodoStatus.DONE, (long) counter.getStatusDone());
+        
+        Map<TodoPriority, Long> byPriority = new EnumMap<>(TodoPriority.class);
+        byPriority.put(TodoPriority.HIGH, (long) counter.getPriorityHigh());
+        byPriority.put(TodoPriority.MEDIUM, (long) counter.getPriorityMedium());
+        byPriority.put(TodoPriority.LOW, (long) counter.getPriorityLow());
+        
+        long total = byStatus.values().stream().mapToLong(Long::longValue).sum();
+        LocalDate today = LocalDate.now();
+        long overdue = todoRepository.countOpenDueBetween(currentUserId, LocalDate.of(1, 1, 1), today);
+        long dueToday = todoRepository.countOpenDueBetween(currentUserId, today, today.plusDays(1));
+        
+        return new TodoStatsResponse(total, byStatus, byPriority, overdue, dueToday);
+    }
+
+    /**
+     * 現在のユーザーのTODO一覧のバージョン取得（一覧のETag用、主キー検索1回）
+     */
+    public TodoCollectionVersion getCollectionVersion() {
+        Long currentUserId = userContextService.getCurrentUserId();
+        return new TodoCollectionVersion(currentUserId, todoCounterRepository.findCollectionVersion(currentUserId));
+    }
+
+    /**
+     * TODOの変更をカウンターへ反映する（変更と同じトランザクションで同期実行）
+     */
+    @EventListener
+    @Transactional
+    public void onTodoChanged(TodoChangedEvent event) {
+        TodoCounterDelta delta = new TodoCounterDelta();
+        Todo previous = event.previous();
+        Todo current = event.current();
+        if (previous != null) {
+            delta.subtract(previous.getStatus(), previous.getPriority());
+        }
+        if (current != null) {
+            delta.add(current.getStatus(), current.getPriority());
+        }
+        applyDelta(event.userId(), delta);
+    }
+
+    /**
+     * カウンターに差分を加算する（一括処理からも利用する）
+     *
+     * <p>件数が変わらない変更（タイトル編集など）でも一覧のバージョンを進めるため、差分が0でも更新する。
+     */
+    @Transactional
+    public void applyDelta(Long userId, TodoCounterDelta delta) {
+        if (todoCounterRepository.addDelta(userId, delta)) {
+            return;
+        }
+        // 初回書き込み: 変更はフラッシュ済みなので集計結果にすでに含まれる
+        TodoCounterEntity counter = recount(userId, emptyCounter(userId));
+        counter.setCollectionVersion(1);
+        if (!todoCounterRepository.insertIfAbsent(counter)) {
+            // 同じユーザーの初回書き込みが並行して先に行を作った。
+            // その集計にはこのトランザクションの変更が含まれないため、差分として加算する
+            todoCounterRepository.addDelta(userId, delta);
+        }
+    }
+
+    /**
+     * 全ユーザーのカウンターを todos から再集計して補正する
+     */
+    @Scheduled(cron = "${app.stats.reconcile-cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @PerShard
+    public void reconcileAll() {
+        long started = System.currentTimeMillis();
+        Long afterUserId = 0L;
+        int corrected = 0;
+        while (afterUserId != null) {
+            Long from = afterUserId;
+            ReconcileResult result = transactionTemplate.execute(status -> reconcileBatch(from));
+            corrected += result.corrected();
+            afterUserId = result.lastUserId();
+        }
+        log.info("Reconciled todo counters: {} corrected ({} ms)", corrected, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * カウンター行をロックしてから集計するため、並行する差分加算はこのトランザクションの
+     * 完了を待つ。READ COMMITTEDでは集計はロック取得後のスナップショットで行われる。
+     */
+    private ReconcileResult reconcileBatch(Long afterUserId) {
+        List<Long> userIds = todoCounterRepository.lockUserIdsAfter(afterUserId, RECONCILE_BATCH_SIZE);
+        if (userIds.isEmpty()) {
+            return new ReconcileResult(null, 0);
+        }
+        
+        Map<Long, TodoCounterEntity> expected = new HashMap<>();
+        for (TodoCount count : todoCounterRepository.countTodosByUserIdBetween(
+                userIds.get(0), userIds.get(userIds.size() - 1))) {
+            TodoCounterEntity counter = expected.computeIfAbsent(count.userId(), this::emptyCounter);
+            increment(counter, count);
+        }
+        
+        int corrected = 0;
+        for (TodoCounterEntity actual : todoCounterRepository.findAllByUserIds(userIds)) {
+            TodoCounterEntity wanted = expected.getOrDefault(actual.getUserId(), emptyCounter(actual.getUserId()));
+            wanted.setCollectionVersion(actual.getCollectionVersion());
+            if (!wanted.equals(actual)) {
+                log.warn("Todo counter drift for user: {} (was {}, now {})", actual.getUserId(), actual, wanted);
+                todoCounterRepository.save(wanted);
+                corrected++;
+            }
+        }
+        return new ReconcileResult(userIds.get(userIds.size() - 1), corrected);
+    }
+
+    private TodoCounterEntity recount(Long userId, TodoCounterEntity counter) {
+        for (TodoCount count : todoCounterRepository.countTodosByUserIdBetween(userId, userId)) {
+            increment(counter, count);
+        }
+        return counter;
+    }
+
+    private static void increment(TodoCounterEntity counter, TodoCount count) {
+        int n = Math.toIntExact(count.count());
+        switch (count.status()) {
+            case TODO -> counter.setStatusTodo(counter.getStatusTodo() + n);
+            case IN_PROGRESS -> counter.setStatusInProgress(counter.getStatusInProgress() + n);
+            case DONE -> counter.setStatusDone(counter.getStatusDone() + n);
+        }
+        switch (count.priority()) {
+            case HIGH -> counter.setPriorityHigh(counter.getPriorityHigh() + n);
+            case MEDIUM -> counter.setPriorityMedium(counter.getPriorityMedium() + n);
+            case LOW -> counter.setPriorityLow(counter.getPriorityLow() + n);
+        }
+    }
+
+    private TodoCounterEntity emptyCounter(Long userId) {
+        TodoCounterEntity counter = new TodoCounterEntity();
+        counter.setUserId(userId);
+        return counter;
+    }
+
+    private record ReconcileResult(Long lastUserId, int corrected) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.zametech.todoapp.application.service;
+
+import com.zametech.todoapp.common.config.SyncProperties;
+import com.zametech.todoapp.common.exception.InvalidCursorException;
+import com.zametech.todoapp.common.exception.SyncTokenExpiredException;
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.domain.repository.TodoTombstoneRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoTombstoneEntity;
+import com.zametech.todoapp.infrastructure.sharding.PerShard;
+import com.zametech.todoapp.presentation.dto.response.TodoChangesResponse;
+import com.zametech.todoapp.presentation.dto.response.TodoResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * TODO差分同期サービス
+ *
+ * <p>TODOは作成・更新のたびに変更連番（todo_change_seq）を振り直し、削除時は墓標に連番を振って残す。
+ * クライアントは前回の同期トークンより後の変更だけを連番順に受け取る。
+ *
+ * <p>連番は採番順にコミットされるとは限らないため、猶予時間（settle window）内の変更は返しても
+ * トークンはその手前までしか進めない。猶予内の変更は次回も返るので、クライアントはIDで上書きする。
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TodoSyncService {
+
+    private final TodoRepository todoRepository;
+    private final TodoTombstoneRepository todoTombstoneRepository;
+    private final UserContextService userContextService;
+    private final SyncProperties syncProperties;
+
+    /**
+     * 現在のユーザーの、同期トークン以降の変更取得
+     *
+     * @param since 前回の {@code nextToken}。省略時は全件を最初から返す
+     */
+    public TodoChangesResponse getChanges(String since, int limit) {
+        Long currentUserId = userContextService.getCurrentUserId();
+        Instant now = Instant.now();
+        Instant settledBefore = now.minus(syncProperties.getSettleWindow());
+        SyncToken from = since != null && !since.isBlank()
+            ? SyncToken.decode(since)
+            : new SyncToken(0L, settledBefore);
+        if (from.completeAt().isBefore(now.minus(syncProperties.getTombstoneRetention()))) {
+            throw new SyncTokenExpiredException(since);
+        }
+        
+        // 両テーブルから limit + 1 件ずつ連番順に取り、マージする（変更がなければ索引の探索だけで終わる）
+        List<TodoEntity> todos = todoRepository.findChangedAfter(currentUserId, from.changeSeq(), limit + 1);
+        List<TodoTombstoneEntity> tombstones =
+            todoTombstoneRepository.findDeletedAfter(currentUserId, from.changeSeq(), limit + 1);
+        
+        List<TodoResponse> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        long watermark = from.changeSeq();
+        boolean settled = true;
+        int t = 0;
+        int d = 0;
+        while (changed.size() + deleted.size() < limit && (t < todos.size() || d < tombstones.size())) {
+            long changeSeq;
+            Instant changedAt;
+            if (d >= tombstones.size()
+                    || (t < todos.size() && todos.get(t).getChangeSeq() < tombstones.get(d).getChangeSeq())) {
+                TodoEntity todo = todos.get(t++);
+                changed.add(TodoResponse.from(todo));
+                changeSeq = todo.getChangeSeq();
+                changedAt = todo.getUpdatedAt().toInstant();
+            } else {
+                TodoTombstoneEntity tombstone = tombstones.get(d++);
+                deleted.add(tombstone.getTodoId());
+                changeSeq = tombstone.getChangeSeq();
+                changedAt = tombstone.getDeletedAt().toInstant();
+            }
+            settled = settled && changedAt.isBefore(settledBefore);
+            if (settled) {
+                watermark = changeSeq;
+            }
+        }
+        
+        // 猶予内の変更で止まった場合は、続きを急いで取りに来させない
+        boolean hasMore = settled && (t < todos.size() || d < tombstones.size());
+        // 末尾まで返した場合、クライアントは settledBefore 時点までの変更をすべて受け取っている
+        Instant completeAt = hasMore || from.completeAt().isAfter(settledBefore) ? from.completeAt() : settledBefore;
+        return new TodoChangesResponse(changed, deleted, new SyncToken(watermark, completeAt).encode(), hasMore);
+    }
+
+    /**
+     * 削除されたTODOの墓標を残す（削除と同じトランザクションで同期実行、子タスクも1件ずつ届く）
+     */
+    @EventListener
+    @Transactional
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.type() == TodoChangedEvent.Type.DELETED) {
+            todoTombstoneRepository.record(event.todoId(), event.userId());
+        }
+    }
+
+    /**
+     * 保持期間を過ぎた墓標を削除する
+     */
+    @Scheduled(cron = "${app.sync.tombstone-purge-cron:0 45 3 * * *}")
+    @Transactional
+    @PerShard
+    public void purgeTombstones() {
+        ZonedDateTime before = ZonedDateTime.now().minus(syncProperties.getTombstoneRetention());
+        int purged = todoTombstoneRepository.purgeDeletedBefore(before);
+        log.info("Purged {} todo tombstones deleted before {}", purged, before);
+    }
+
+    /**
+     * 同期トークン（受け取り済みの変更連番と、それまでの変更をすべて受け取った時刻）
+     */
+    private record SyncToken(long changeSeq, Instant completeAt) {
+        
+        String encode() {
+            String value = changeSeq + ":" + completeAt.toEpochMilli();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static SyncToken decode(String token) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+                if (parts.length != 2) {
+                    throw new InvalidCursorException(token);
+                }
+                return new SyncToken(Long.parseLong(parts[0]), Instant.ofEpochMilli(Long.parseLong(parts[1])));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                throw new InvalidCursorException(token);
+            }
+        }
+    }
+}
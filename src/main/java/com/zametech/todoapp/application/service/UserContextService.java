@@ -2,6 +2,7 @@ package com.zametech.todoapp.application.service;
 
 import com.zametech.todoapp.domain.model.User;
 import com.zametech.todoapp.domain.repository.UserRepository;
+import com.zametech.todoapp.infrastructure.sharding.ShardContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -33,7 +34,15 @@ public class UserContextService {
                 .orElseThrow(() -> new RuntimeException("User not found: " + email));
     }
 
+    /**
+     * シャードに振り分け済みのリクエストでは、振り分けのときに解決したIDを返す
+     * （ユーザーはディレクトリにあり、振り分け後の接続からは引き直さない）
+     */
     public Long getCurrentUserId() {
+        Long boundUserId = ShardContext.currentUserId();
+        if (boundUserId != null) {
+            return boundUserId;
+        }
         return getCurrentUser().getId();
     }
 
@@ -2,7 +2,6 @@ package com.zametech.todoapp.application.service;
 
 import com.zametech.todoapp.common.exception.TodoNotFoundException;
 import com.zametech.todoapp.domain.model.User;
-import com.zametech.todoapp.domain.repository.TodoRepository;
 import com.zametech.todoapp.domain.repository.UserRepository;
 import com.zametech.todoapp.presentation.dto.request.ChangePasswordRequest;
 import com.zametech.todoapp.presentation.dto.request.UpdateUserRequest;
@@ -19,7 +18,6 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
     
     private final UserRepository userRepository;
-    private final TodoRepository todoRepository;
     private final PasswordEncoder passwordEncoder;
     private final UserContextService userContextService;
     
@@ -97,10 +95,7 @@ public class UserService {
         
         log.info("Deleting user account for userId: {}", userId);
         
-        // Delete all user's todos first (cascade delete)
-        todoRepository.deleteByUserId(userId);
-        
-        // Delete the user
+        // Delete the user (todos are removed by the foreign key cascade, also on the user's shard)
         userRepository.deleteById(userId);
     }
     
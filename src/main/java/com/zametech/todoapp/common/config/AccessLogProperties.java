@@ -0,0 +1,26 @@
+package com.zametech.todoapp.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * アクセスログの設定（出力先のファイルは logback-spring.xml で設定する）
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.access-log")
+@Getter
+@Setter
+public class AccessLogProperties {
+
+    /**
+     * アクセスログを記録するか
+     */
+    private boolean enabled = true;
+
+    /**
+     * 書き出し待ちの上限。溢れた分は捨てて件数だけ数える。
+     */
+    private int bufferSize = 8192;
+}
@@ -0,0 +1,34 @@
+package com.zametech.todoapp.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.ZoneId;
+
+/**
+ * 分析（ステータス遷移の日次集計）の設定
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.analytics")
+@Getter
+@Setter
+public class AnalyticsProperties {
+
+    /**
+     * 日の区切りに使うタイムゾーン。
+     * 導入前のTODOの集計（V16のバックフィル）も同じタイムゾーンで日付を決めているため、変える場合は集計し直す。
+     */
+    private ZoneId zone = ZoneId.of("Asia/Tokyo");
+
+    /**
+     * 1トランザクションで集計するイベント数
+     */
+    private int rollupBatchSize = 1000;
+
+    /**
+     * バーンダウンで一度に取得できる日数
+     */
+    private int maxBurndownDays = 366;
+}
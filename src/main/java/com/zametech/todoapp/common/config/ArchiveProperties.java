@@ -0,0 +1,33 @@
+package com.zametech.todoapp.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 完了済みTODOのアーカイブの設定
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.archive")
+@Getter
+@Setter
+public class ArchiveProperties {
+
+    /**
+     * 完了（最終更新）からこの期間が過ぎたTODOをアーカイブする
+     */
+    private Duration minAge = Duration.ofDays(90);
+
+    /**
+     * アーカイブジョブが1トランザクションで移すTODO数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 月ごとのパーティションを作るか（パーティション分割のないデータベースでは false）
+     */
+    private boolean managePartitions = true;
+}
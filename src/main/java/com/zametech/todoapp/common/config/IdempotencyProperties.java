@@ -0,0 +1,39 @@
+package com.zametech.todoapp.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key の設定
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+
+    /**
+     * キーの有効期間。この間は同じキーの再送に保存したレスポンスを返す。
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * 同じキーで実行中のリクエストの完了を待つ時間。超えたら409を返す（クライアントが再送する）。
+     */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 予約のリース期間。レスポンスを保存しないまま（実行中のプロセスが落ちたなど）これを過ぎた予約は、
+     * 同じリクエストの再送が引き継いで実行し直す。最も長いリクエストの実行時間より十分長くする。
+     */
+    private Duration leaseTimeout = Duration.ofMinutes(2);
+
+    /**
+     * 期限切れのキーを削除するときの1回あたりの件数
+     */
+    private int purgeBatchSize = 1000;
+}
@@ -0,0 +1,26 @@
+package com.zametech.todoapp.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * TODO変更イベントのアウトボックスの設定
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.outbox")
+@Getter
+@Setter
+public class OutboxProperties {
+
+    /**
+     * 1トランザクションで送信するイベント数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 送信先（log: TODO_EVENTS ロガーに1行JSONで出す）
+     */
+    private String sink = "log";
+}
@@ -0,0 +1,53 @@
+package com.zametech.todoapp.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * ユーザーごとのリクエスト制限の設定
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    /**
+     * 制限を有効にするか
+     */
+    private boolean enabled = true;
+
+    /**
+     * ユーザーごとの定常的なリクエスト数（1秒あたり）
+     */
+    private double requestsPerSecond = 20;
+
+    /**
+     * ユーザーごとに連続して受け付けるリクエスト数（バケットの容量）
+     */
+    private int burst = 40;
+
+    /**
+     * 同時に処理するリクエスト数。DB接続プールの大きさに合わせる。
+     */
+    private int concurrency = 10;
+
+    /**
+     * 処理待ちが発生している間、1ユーザーが同時に使える割合（concurrency に対する比率）
+     */
+    private double maxShare = 0.5;
+
+    /**
+     * 処理待ちの最大時間。超えたら503を返す。
+     */
+    private Duration queueTimeout = Duration.ofSeconds(2);
+
+    /**
+     * 満杯に戻ったバケットを破棄する間隔
+     */
+    private Duration evictionInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,26 @@
+package com.zametech.todoapp.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 繰り返しTODO（インスタンスの先行作成）の設定
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.recurrence")
+@Getter
+@Setter
+public class RecurrenceProperties {
+
+    /**
+     * ルールで省略した場合に、何日先までインスタンスを作っておくか
+     */
+    private int defaultHorizonDays = 30;
+
+    /**
+     * 生成ジョブが1トランザクションで延長するルール数
+     */
+    private int generateBatchSize = 100;
+}
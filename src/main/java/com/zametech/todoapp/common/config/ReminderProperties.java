@@ -0,0 +1,64 @@
+package com.zametech.todoapp.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.time.LocalTime;
+
+/**
+ * 期限リマインダーの設定
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.reminders")
+@Getter
+@Setter
+public class ReminderProperties {
+
+    /**
+     * リマインダーを送るノードか（複数ノードでは1台だけ true にする）
+     */
+    private boolean enabled = true;
+
+    /**
+     * 期限の何日前に送るか
+     */
+    private int daysBefore = 1;
+
+    /**
+     * 送る時刻（システムのタイムゾーン）
+     */
+    private LocalTime time = LocalTime.of(9, 0);
+
+    /**
+     * 同じ時刻のリマインダーをTODOごとにずらす幅（通知先へ一度に集中させない）
+     */
+    private Duration spread = Duration.ofMinutes(10);
+
+    /**
+     * タイミングホイールの1目盛り。送る時刻の精度になる
+     */
+    private Duration tick = Duration.ofSeconds(1);
+
+    /**
+     * メモリに読み込む期間（日数）。この先の期限は読み込み間隔ごとに順に読み込む
+     */
+    private int horizonDays = 2;
+
+    /**
+     * 1回のクエリで読み込む件数
+     */
+    private int loadBatchSize = 1000;
+
+    /**
+     * 1回の通知で送る件数
+     */
+    private int deliverBatchSize = 500;
+
+    /**
+     * 送信先（log: TODO_REMINDERS ロガーに1行JSONで出す）
+     */
+    private String notifier = "log";
+}
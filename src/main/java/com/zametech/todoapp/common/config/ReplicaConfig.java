@@ -0,0 +1,83 @@
+package com.zametech.todoapp.common.config;
+
+import com.zametech.todoapp.infrastructure.replica.ReadYourWrites;
+import com.zametech.todoapp.infrastructure.replica.ReplicaLagMonitor;
+import com.zametech.todoapp.infrastructure.replica.ReplicaReadDataSource;
+import com.zametech.todoapp.infrastructure.replica.WriteTrackingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 読み取りレプリカの設定
+ *
+ * <p>接続は最初のSQLまで遅らせ（{@link LazyConnectionDataSourceProxy}）、その時点で読み取り専用の
+ * トランザクションならレプリカ、そうでなければプライマリ（spring.datasource）に接続する。
+ * {@code app.replica.enabled=true} のときだけ有効。シャーディングとは併用できない（どちらも dataSource を定義する）。
+ * レプリカは遅延を測るまで使わないため、定期実行ジョブを止めたノードでは常にプライマリで読む。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.replica", name = "enabled", havingValue = "true")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReplicaProperties replicaProperties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(replicaProperties.getUrl());
+        dataSource.setUsername(replicaProperties.getUsername());
+        dataSource.setPassword(replicaProperties.getPassword());
+        dataSource.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+        dataSource.setConnectionTimeout(replicaProperties.getConnectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicaProperties replicaProperties) {
+        // 測った時点で遅延が max-lag 以下でも、次に測るまでの間に遅延は check-interval だけ伸びうる。
+        // その合計以上プライマリで読めば、自分の書き込みが見える
+        Duration worstLag = replicaProperties.getMaxLag().plus(replicaProperties.getCheckInterval());
+        if (replicaProperties.getStickiness().compareTo(worstLag) < 0) {
+            throw new IllegalStateException(
+                "app.replica.stickiness must not be shorter than app.replica.max-lag + app.replica.check-interval");
+        }
+        return new ReadYourWrites(replicaProperties.getStickiness());
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                               ReplicaProperties replicaProperties, ReadYourWrites readYourWrites,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource, replicaProperties, readYourWrites, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                 ReadYourWrites readYourWrites, ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource =
+            new LazyConnectionDataSourceProxy(new WriteTrackingDataSource(primaryDataSource, readYourWrites));
+        dataSource.setReadOnlyDataSource(new ReplicaReadDataSource(
+            replicaDataSource, primaryDataSource, readYourWrites, replicaLagMonitor, meterRegistry));
+        return dataSource;
+    }
+}
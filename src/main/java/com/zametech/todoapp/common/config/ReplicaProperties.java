@@ -0,0 +1,61 @@
+package com.zametech.todoapp.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 読み取りレプリカの設定
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.replica")
+@Getter
+@Setter
+public class ReplicaProperties {
+
+    /**
+     * 有効にすると、読み取り専用トランザクションをレプリカに送る
+     */
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * レプリカの接続プールの最大接続数
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * レプリカの接続を待つ時間（止まったレプリカで読み取りを待たせずにプライマリへ切り替える）
+     */
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    /**
+     * この遅延を超えたレプリカは使わない（プライマリで読む）
+     */
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    /**
+     * レプリカの遅延を測る間隔
+     */
+    private Duration checkInterval = Duration.ofSeconds(1);
+
+    /**
+     * 書き込みをコミットしたユーザーの読み取りを、この期間プライマリで行う（max-lag + check-interval 以上にする）
+     */
+    private Duration stickiness = Duration.ofSeconds(5);
+
+    /**
+     * レプリカの遅延を秒で返すクエリ
+     */
+    private String lagQuery = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+        + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+        + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+}
@@ -0,0 +1,18 @@
+package com.zametech.todoapp.common.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定期実行ジョブの設定
+ *
+ * <p>{@code app.scheduling.enabled=false} でジョブを止められる（テストプロファイルなど）。
+ * スレッド数（{@code spring.task.scheduling.pool.size}）はジョブ数以上にしておき、
+ * アーカイブや集計のような長いジョブが1秒ごとのジョブを待たせないようにする。
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "app.scheduling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
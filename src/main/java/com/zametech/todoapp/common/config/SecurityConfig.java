@@ -1,6 +1,13 @@
 package com.zametech.todoapp.common.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zametech.todoapp.infrastructure.logging.AccessLogFilter;
+import com.zametech.todoapp.infrastructure.logging.AccessLogWriter;
+import com.zametech.todoapp.infrastructure.ratelimit.FairShareScheduler;
+import com.zametech.todoapp.infrastructure.ratelimit.UserRateLimiter;
 import com.zametech.todoapp.infrastructure.security.JwtAuthenticationFilter;
+import com.zametech.todoapp.infrastructure.security.RateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,6 +39,12 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final UserDetailsService userDetailsService;
+    private final RateLimitProperties rateLimitProperties;
+    private final UserRateLimiter userRateLimiter;
+    private final FairShareScheduler fairShareScheduler;
+    private final ObjectMapper objectMapper;
+    private final AccessLogProperties accessLogProperties;
+    private final AccessLogWriter accessLogWriter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -40,6 +53,8 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authz -> authz
+                // SSEなど非同期リクエストの完了ディスパッチ（認可は最初のディスパッチで済んでいる）
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .requestMatchers("/api/v1/todos/**").authenticated()
                 .requestMatchers("/api/v1/users/**").authenticated()
@@ -47,7 +62,14 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
             )
             .authenticationProvider(authenticationProvider())
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // ユーザーIDを記録するためJWT認証の後、制限で断ったリクエストも記録するためリクエスト制限の前に置く
+            .addFilterAfter(new AccessLogFilter(accessLogWriter, accessLogProperties), JwtAuthenticationFilter.class);
+        if (rateLimitProperties.isEnabled()) {
+            // 認証済みユーザーのIDで制限するため、JWT認証の後に置く
+            http.addFilterAfter(
+                new RateLimitFilter(userRateLimiter, fairShareScheduler, objectMapper), AccessLogFilter.class);
+        }
 
         return http.build();
     }
@@ -75,8 +97,9 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(Arrays.asList("http://localhost:3000"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept"));
-        configuration.setExposedHeaders(Arrays.asList("Authorization"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Accept", "Idempotency-Key",
+            "If-None-Match", "If-Match"));
+        configuration.setExposedHeaders(Arrays.asList("Authorization", "Idempotent-Replayed", "Retry-After", "ETag"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
         
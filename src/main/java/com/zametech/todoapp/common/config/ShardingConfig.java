@@ -0,0 +1,114 @@
+package com.zametech.todoapp.common.config;
+
+import com.zametech.todoapp.application.service.UserContextService;
+import com.zametech.todoapp.infrastructure.sharding.PerShard;
+import com.zametech.todoapp.infrastructure.sharding.PerShardInterceptor;
+import com.zametech.todoapp.infrastructure.sharding.ShardBindingInterceptor;
+import com.zametech.todoapp.infrastructure.sharding.ShardRouter;
+import com.zametech.todoapp.infrastructure.sharding.ShardRoutingDataSource;
+import com.zametech.todoapp.infrastructure.sharding.ShardUserReplicator;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ユーザーIDによるシャーディングの設定
+ *
+ * <p>spring.datasource はディレクトリ（ユーザーと認証情報）になり、TODOなどユーザーごとのデータは
+ * {@code app.sharding.shards} の担当シャードに置く。どのデータベースにも同じマイグレーションを流す。
+ * {@code app.sharding.enabled=true} のときだけ有効。
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.sharding", name = "enabled", havingValue = "true")
+@Slf4j
+public class ShardingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource directoryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(HikariDataSource directoryDataSource,
+                                             ShardingProperties shardingProperties) {
+        Map<String, HikariDataSource> shards = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : shardingProperties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shard.getName());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            shards.put(shard.getName(), dataSource);
+        }
+        return new ShardRoutingDataSource(directoryDataSource, shards);
+    }
+
+    /**
+     * ディレクトリに続けて、各シャードに同じ設定でマイグレーションを流し、既存のユーザーを担当シャードに写す
+     */
+    @Bean
+    public FlywayMigrationStrategy shardFlywayMigrationStrategy(ShardRoutingDataSource dataSource,
+                                                                ShardUserReplicator shardUserReplicator) {
+        return flyway -> {
+            flyway.migrate();
+            dataSource.shardDataSources().forEach((shard, shardDataSource) -> {
+                log.info("Migrating shard {}", shard);
+                Flyway.configure()
+                    .configuration(flyway.getConfiguration())
+                    .dataSource(shardDataSource)
+                    .load()
+                    .migrate();
+            });
+            shardUserReplicator.backfill();
+        };
+    }
+
+    @Bean
+    public ShardBindingInterceptor shardBindingInterceptor(ShardRouter shardRouter,
+                                                           UserContextService userContextService) {
+        return new ShardBindingInterceptor(shardRouter, userContextService);
+    }
+
+    @Bean
+    public WebMvcConfigurer shardBindingConfigurer(ShardBindingInterceptor shardBindingInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(shardBindingInterceptor);
+            }
+        };
+    }
+
+    /**
+     * トランザクションより外側で振り分けるため、最も高い優先度にする
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static DefaultPointcutAdvisor perShardAdvisor(ObjectProvider<ShardRouter> shardRouter) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(PerShard.class), new PerShardInterceptor(shardRouter));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
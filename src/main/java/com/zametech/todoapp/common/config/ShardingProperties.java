@@ -0,0 +1,63 @@
+package com.zametech.todoapp.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ユーザーIDによるシャーディングの設定
+ *
+ * <p>ユーザーIDをハッシュで {@code buckets} 個のバケットに分け、バケットごとに担当のシャードを決める。
+ * シャードを増やすときはバケットの担当を付け替える（バケット数は運用開始後に変えない）。
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.sharding")
+@Getter
+@Setter
+public class ShardingProperties {
+
+    /**
+     * 有効にすると、ユーザーのTODOを担当シャードに置く（無効なら spring.datasource の1台にすべて置く）
+     */
+    private boolean enabled = false;
+
+    /**
+     * ユーザーIDを割り当てるバケット数
+     */
+    private int buckets = 256;
+
+    /**
+     * シャード一覧（担当バケットは全体を重複なく覆うこと）
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * シャード1台の接続先と担当バケット
+     */
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String name;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * 担当するバケット（"0-127" のような両端を含む範囲、または番号）
+         */
+        private List<String> buckets = new ArrayList<>();
+
+        /**
+         * 接続プールの最大接続数
+         */
+        private int maximumPoolSize = 10;
+    }
+}
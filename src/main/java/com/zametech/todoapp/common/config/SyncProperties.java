@@ -0,0 +1,29 @@
+package com.zametech.todoapp.common.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 差分同期の設定
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.sync")
+@Getter
+@Setter
+public class SyncProperties {
+
+    /**
+     * 同期トークンを進める前に待つ時間。
+     * 変更連番は採番順にコミットされるとは限らないため、書き込みトランザクションの最長時間の2倍以上にする。
+     */
+    private Duration settleWindow = Duration.ofSeconds(5);
+
+    /**
+     * 墓標の保持期間。これより古い同期トークンは受け付けない（全件取得からやり直す）。
+     */
+    private Duration tombstoneRetention = Duration.ofDays(30);
+}
@@ -0,0 +1,11 @@
+package com.zametech.todoapp.common.exception;
+
+/**
+ * 一括処理（一括コミット）の別の操作が失敗したため、この操作が取り消された・実行されなかった場合の例外
+ */
+public class BatchAbortedException extends RuntimeException {
+    
+    public BatchAbortedException(int failedIndex) {
+        super("Batch aborted by operation " + failedIndex);
+    }
+}
@@ -0,0 +1,11 @@
+package com.zametech.todoapp.common.exception;
+
+/**
+ * 振り分け済みのシャード以外のデータを操作しようとした場合の例外
+ */
+public class CrossShardOperationException extends RuntimeException {
+    
+    public CrossShardOperationException(String message) {
+        super(message);
+    }
+}
@@ -1,16 +1,22 @@
 package com.zametech.todoapp.common.exception;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.time.ZonedDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,6 +28,24 @@ import java.util.Map;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private final ExceptionHandlerMethodResolver resolver = new ExceptionHandlerMethodResolver(GlobalExceptionHandler.class);
+
+    /**
+     * 例外を、このクラスのハンドラーが返すのと同じエラーレスポンスに変換する（一括処理の操作ごとの結果用）
+     */
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<ErrorResponse> toErrorResponse(Exception e) {
+        Method method = resolver.resolveMethodByThrowable(e);
+        if (method == null) {
+            return handleGeneralException(e);
+        }
+        try {
+            return (ResponseEntity<ErrorResponse>) method.invoke(this, e);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            return handleGeneralException(e);
+        }
+    }
+
     /**
      * TODOが見つからない場合
      */
@@ -38,6 +62,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * 繰り返しルールが設定されていない場合
+     */
+    @ExceptionHandler(RecurrenceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleRecurrenceNotFoundException(RecurrenceNotFoundException e) {
+        log.warn("Recurrence not found: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "RECURRENCE_NOT_FOUND",
+            e.getMessage(),
+            ZonedDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+    }
+
     /**
      * バリデーションエラー
      */
@@ -62,6 +102,28 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * バリデーションエラー（一括処理の操作本文など、メソッド引数以外の検証）
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolationException(ConstraintViolationException e) {
+        log.warn("Validation error: {}", e.getMessage());
+        
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<?> violation : e.getConstraintViolations()) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "VALIDATION_ERROR",
+            "入力値が不正です",
+            errors,
+            ZonedDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * パスパラメータの型変換エラー
      */
@@ -81,6 +143,180 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    /**
+     * 楽観ロックの競合（If-Match の不一致、または更新の割り込み）
+     */
+    @ExceptionHandler({PreconditionFailedException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(RuntimeException e) {
+        log.warn("Precondition failed: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "PRECONDITION_FAILED",
+            "TODOは他の操作で更新されています。最新の内容を取得してから再度実行してください",
+            ZonedDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    /**
+     * サポートされていないソート条件
+     */
+    @ExceptionHandler(InvalidSortException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSortException(InvalidSortException e) {
+        log.warn("Invalid sort: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "INVALID_SORT",
+            "指定されたソート条件はサポートされていません",
+            ZonedDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * ページングカーソルの不正
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(InvalidCursorException e) {
+        log.warn("Invalid cursor: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "INVALID_CURSOR",
+            "カーソルが不正です",
+            ZonedDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * 期間の指定の不正
+     */
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDateRangeException(InvalidDateRangeException e) {
+        log.warn("Invalid date range: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "INVALID_DATE_RANGE",
+            "期間の指定が不正です",
+            ZonedDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * 墓標の保持期間を過ぎた同期トークン
+     */
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleSyncTokenExpiredException(SyncTokenExpiredException e) {
+        log.warn("Sync token expired: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "SYNC_TOKEN_EXPIRED",
+            "同期トークンの有効期限が切れています。全件を取得し直してください",
+            ZonedDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.GONE).body(errorResponse);
+    }
+
+    /**
+     * 一括処理の操作の不正（本文の形式、ID・参照の指定）
+     */
+    @ExceptionHandler(InvalidBatchOperationException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidBatchOperationException(InvalidBatchOperationException e) {
+        log.warn("Invalid batch operation: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "INVALID_BATCH_OPERATION",
+            e.getMessage(),
+            ZonedDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * 一括コミットの別の操作の失敗による取り消し
+     */
+    @ExceptionHandler(BatchAbortedException.class)
+    public ResponseEntity<ErrorResponse> handleBatchAbortedException(BatchAbortedException e) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            "BATCH_ABORTED",
+            "一括処理の別の操作が失敗したため、この操作は取り消されました",
+            ZonedDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.FAILED_DEPENDENCY).body(errorResponse);
+    }
+
+    /**
+     * Idempotency-Keyの形式不正
+     */
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidIdempotencyKeyException(InvalidIdempotencyKeyException e) {
+        log.warn("Invalid idempotency key: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "INVALID_IDEMPOTENCY_KEY",
+            "Idempotency-Keyは1〜255文字の印字可能なASCII文字で指定してください",
+            ZonedDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * 同じIdempotency-Keyのリクエストが実行中
+     */
+    @ExceptionHandler(IdempotencyKeyInUseException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInUseException(IdempotencyKeyInUseException e) {
+        log.warn("Idempotency key in use: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "IDEMPOTENCY_KEY_IN_USE",
+            "同じIdempotency-Keyのリクエストを処理中です。しばらくしてから再送してください",
+            ZonedDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Idempotency-Keyの別リクエストへの使い回し
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException e) {
+        log.warn("Idempotency key mismatch: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "IDEMPOTENCY_KEY_MISMATCH",
+            "このIdempotency-Keyは別のリクエストに使われています",
+            ZonedDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+
+    /**
+     * 振り分け済みのシャードをまたぐ操作
+     */
+    @ExceptionHandler(CrossShardOperationException.class)
+    public ResponseEntity<ErrorResponse> handleCrossShardOperationException(CrossShardOperationException e) {
+        log.error("Cross-shard operation rejected: {}", e.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            "CROSS_SHARD_OPERATION",
+            "複数のシャードにまたがる操作はできません",
+            ZonedDateTime.now()
+        );
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     /**
      * 認証失敗（パスワード間違いなど）
      */
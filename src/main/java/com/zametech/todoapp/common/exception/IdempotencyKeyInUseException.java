@@ -0,0 +1,11 @@
+package com.zametech.todoapp.common.exception;
+
+/**
+ * 同じIdempotency-Keyのリクエストが実行中の場合の例外
+ */
+public class IdempotencyKeyInUseException extends RuntimeException {
+    
+    public IdempotencyKeyInUseException(String key) {
+        super("Idempotency-Key is in use: " + key);
+    }
+}
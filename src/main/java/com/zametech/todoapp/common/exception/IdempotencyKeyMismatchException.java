@@ -0,0 +1,11 @@
+package com.zametech.todoapp.common.exception;
+
+/**
+ * 同じIdempotency-Keyが異なるリクエストに使われた場合の例外
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    
+    public IdempotencyKeyMismatchException(String key) {
+        super("Idempotency-Key was used for a different request: " + key);
+    }
+}
@@ -0,0 +1,11 @@
+package com.zametech.todoapp.common.exception;
+
+/**
+ * 一括処理の操作が不正な場合の例外（本文の形式、ID・参照の指定など）
+ */
+public class InvalidBatchOperationException extends RuntimeException {
+    
+    public InvalidBatchOperationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.zametech.todoapp.common.exception;
+
+import java.time.LocalDate;
+
+/**
+ * 期間の指定が不正な場合の例外
+ */
+public class InvalidDateRangeException extends RuntimeException {
+    
+    public InvalidDateRangeException(LocalDate from, LocalDate to) {
+        super("Invalid date range: " + from + " to " + to);
+    }
+}
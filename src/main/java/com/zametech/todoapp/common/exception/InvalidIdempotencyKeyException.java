@@ -0,0 +1,11 @@
+package com.zametech.todoapp.common.exception;
+
+/**
+ * Idempotency-Keyの形式が不正な場合の例外
+ */
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    
+    public InvalidIdempotencyKeyException(String key) {
+        super("Invalid Idempotency-Key: " + key);
+    }
+}
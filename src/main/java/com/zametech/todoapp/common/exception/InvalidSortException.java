@@ -0,0 +1,11 @@
+package com.zametech.todoapp.common.exception;
+
+/**
+ * サポートされていないソート条件が指定された場合の例外
+ */
+public class InvalidSortException extends RuntimeException {
+    
+    public InvalidSortException(String sort) {
+        super("Unsupported sort: " + sort);
+    }
+}
@@ -0,0 +1,11 @@
+package com.zametech.todoapp.common.exception;
+
+/**
+ * TODOに繰り返しルールが設定されていない場合の例外
+ */
+public class RecurrenceNotFoundException extends RuntimeException {
+    
+    public RecurrenceNotFoundException(Long todoId) {
+        super("Recurrence not found for TODO with id: " + todoId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.zametech.todoapp.common.exception;
+
+/**
+ * 同期トークンが墓標の保持期間より古い場合の例外
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+    
+    public SyncTokenExpiredException(String token) {
+        super("Sync token expired: " + token);
+    }
+}
@@ -0,0 +1,57 @@
+package com.zametech.todoapp.domain.event;
+
+import com.zametech.todoapp.domain.model.Todo;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+
+/**
+ * TODO変更イベント
+ *
+ * <p>{@code TodoService} の作成・更新・削除ごとに発行される。
+ * {@code previous} / {@code current} は変更前後のスナップショットで、
+ * 作成時は {@code previous}、削除時は {@code current} が null になる。
+ */
+public record TodoChangedEvent(
+    Type type,
+    Long userId,
+    Long todoId,
+    Todo previous,
+    Todo current
+) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TodoChangedEvent created(TodoEntity entity) {
+        return new TodoChangedEvent(Type.CREATED, entity.getUserId(), entity.getId(), null, snapshot(entity));
+    }
+
+    public static TodoChangedEvent updated(Todo previous, TodoEntity entity) {
+        return new TodoChangedEvent(Type.UPDATED, entity.getUserId(), entity.getId(), previous, snapshot(entity));
+    }
+
+    public static TodoChangedEvent deleted(Todo previous) {
+        return new TodoChangedEvent(Type.DELETED, previous.getUserId(), previous.getId(), previous, null);
+    }
+
+    /**
+     * Entityの現在値をスナップショットとして複製する
+     */
+    public static Todo snapshot(TodoEntity entity) {
+        return new Todo(
+            entity.getId(),
+            entity.getTitle(),
+            entity.getDescription(),
+            entity.getStatus(),
+            entity.getPriority(),
+            entity.getDueDate(),
+            entity.getUserId(),
+            entity.getParentId(),
+            entity.getCreatedAt(),
+            entity.getUpdatedAt(),
+            entity.getVersion()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package com.zametech.todoapp.domain.model;
+
+/**
+ * 繰り返しの単位
+ */
+public enum RecurrenceFrequency {
+    /** 毎日（interval 日ごと） */
+    DAILY,
+    /** 毎週（interval 週ごとの指定曜日） */
+    WEEKLY,
+    /** 毎月（interval か月ごとの開始日と同じ日。その月にない日は月末） */
+    MONTHLY
+}
@@ -0,0 +1,99 @@
+package com.zametech.todoapp.domain.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 繰り返しルール
+ *
+ * @param frequency 繰り返しの単位
+ * @param interval  何単位ごとか（1以上）
+ * @param weekdays  曜日（WEEKLY のみ。省略時は開始日の曜日）
+ * @param startsOn  開始日（最初の回の基準日）
+ * @param endsOn    終了日（含む）。null なら無期限
+ */
+public record RecurrenceRule(RecurrenceFrequency frequency, int interval, Set<DayOfWeek> weekdays,
+                             LocalDate startsOn, LocalDate endsOn) {
+
+    public RecurrenceRule {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Recurrence interval must be positive: " + interval);
+        }
+        if (frequency != RecurrenceFrequency.WEEKLY) {
+            weekdays = Set.of();
+        } else if (weekdays == null || weekdays.isEmpty()) {
+            weekdays = Set.of(startsOn.getDayOfWeek());
+        } else {
+            weekdays = Set.copyOf(weekdays);
+        }
+    }
+
+    /**
+     * [from, through] に含まれる回の日付を昇順で返す（開始日より前・終了日より後は含まない）
+     */
+    public List<LocalDate> occurrences(LocalDate from, LocalDate through) {
+        LocalDate start = from.isBefore(startsOn) ? startsOn : from;
+        LocalDate end = endsOn != null && endsOn.isBefore(through) ? endsOn : through;
+        List<LocalDate> dates = new ArrayList<>();
+        switch (frequency) {
+            case DAILY -> {
+                long offset = Math.ceilDiv(ChronoUnit.DAYS.between(startsOn, start), interval) * (long) interval;
+                for (LocalDate date = startsOn.plusDays(offset); !date.isAfter(end); date = date.plusDays(interval)) {
+                    dates.add(date);
+                }
+            }
+            case WEEKLY -> {
+                LocalDate firstWeek = startsOn.with(DayOfWeek.MONDAY);
+                for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                    long weeks = ChronoUnit.WEEKS.between(firstWeek, date.with(DayOfWeek.MONDAY));
+                    if (weeks % interval == 0 && weekdays.contains(date.getDayOfWeek())) {
+                        dates.add(date);
+                    }
+                }
+            }
+            case MONTHLY -> {
+                YearMonth firstMonth = YearMonth.from(startsOn);
+                long offset = Math.ceilDiv(ChronoUnit.MONTHS.between(firstMonth, YearMonth.from(start)), interval)
+                    * (long) interval;
+                for (YearMonth month = firstMonth.plusMonths(offset); !month.atDay(1).isAfter(end);
+                     month = month.plusMonths(interval)) {
+                    LocalDate date = month.atDay(Math.min(startsOn.getDayOfMonth(), month.lengthOfMonth()));
+                    if (!date.isBefore(start) && !date.isAfter(end)) {
+                        dates.add(date);
+                    }
+                }
+            }
+        }
+        return dates;
+    }
+
+    /**
+     * 曜日のビット表現（月曜 = bit 0 … 日曜 = bit 6、todo_recurrences.weekdays）
+     */
+    public int weekdayMask() {
+        int mask = 0;
+        for (DayOfWeek day : weekdays) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+
+    /**
+     * ビット表現から曜日を復元する
+     */
+    public static Set<DayOfWeek> weekdaysOf(int mask) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((mask & (1 << (day.getValue() - 1))) != 0) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+}
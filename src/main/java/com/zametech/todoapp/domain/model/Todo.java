@@ -22,4 +22,5 @@ public class Todo {
     private Long parentId;  // Parent task ID for hierarchical structure
     private ZonedDateTime createdAt;
     private ZonedDateTime updatedAt;
+    private Long version;  // Optimistic locking version (ETag)
 }
\ No newline at end of file
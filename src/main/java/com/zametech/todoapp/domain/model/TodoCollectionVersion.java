@@ -0,0 +1,10 @@
+package com.zametech.todoapp.domain.model;
+
+/**
+ * ユーザーのTODO一覧の版情報（TODOが変更されるたびに version が増える）
+ *
+ * @param userId  ユーザーID
+ * @param version 一覧のバージョン
+ */
+public record TodoCollectionVersion(Long userId, long version) {
+}
@@ -0,0 +1,11 @@
+package com.zametech.todoapp.domain.model;
+
+/**
+ * ユーザー・ステータス・優先度ごとのTODO件数（集計結果）
+ */
+public record TodoCount(
+    Long userId,
+    TodoStatus status,
+    TodoPriority priority,
+    long count
+) {}
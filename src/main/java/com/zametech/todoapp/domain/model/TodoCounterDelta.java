@@ -0,0 +1,52 @@
+package com.zametech.todoapp.domain.model;
+
+/**
+ * TODOカウンターの増減量
+ *
+ * <p>ステータス別・優先度別の件数の差分を集計し、1回のUPDATEで反映するために使う。
+ */
+public class TodoCounterDelta {
+
+    private final int[] byStatus = new int[TodoStatus.values().length];
+    private final int[] byPriority = new int[TodoPriority.values().length];
+
+    /**
+     * TODOが1件増えた
+     */
+    public TodoCounterDelta add(TodoStatus status, TodoPriority priority) {
+        byStatus[status.ordinal()]++;
+        byPriority[priority.ordinal()]++;
+        return this;
+    }
+
+    /**
+     * TODOが1件減った
+     */
+    public TodoCounterDelta subtract(TodoStatus status, TodoPriority priority) {
+        byStatus[status.ordinal()]--;
+        byPriority[priority.ordinal()]--;
+        return this;
+    }
+
+    public int status(TodoStatus status) {
+        return byStatus[status.ordinal()];
+    }
+
+    public int priority(TodoPriority priority) {
+        return byPriority[priority.ordinal()];
+    }
+
+    public boolean isZero() {
+        for (int value : byStatus) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        for (int value : byPriority) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package com.zametech.todoapp.domain.model;
+
+/**
+ * 日次集計の増加量
+ *
+ * <p>ステータス遷移イベントをユーザー・日ごとにまとめ、1回のUPDATEで日次集計へ加算するために使う。
+ */
+public class TodoDailyDelta {
+
+    private int created;
+    private int completed;
+    private int opened;
+    private int closed;
+
+    /**
+     * ステータス遷移を1件加える（作成時は from、削除時は to が null）
+     */
+    public TodoDailyDelta add(TodoStatus from, TodoStatus to) {
+        boolean wasOpen = from != null && from != TodoStatus.DONE;
+        boolean isOpen = to != null && to != TodoStatus.DONE;
+        if (from == null) {
+            created++;
+        }
+        if (to == TodoStatus.DONE && from != TodoStatus.DONE) {
+            completed++;
+        }
+        if (isOpen && !wasOpen) {
+            opened++;
+        } else if (wasOpen && !isOpen) {
+            closed++;
+        }
+        return this;
+    }
+
+    public int created() {
+        return created;
+    }
+
+    public int completed() {
+        return completed;
+    }
+
+    public int opened() {
+        return opened;
+    }
+
+    public int closed() {
+        return closed;
+    }
+}
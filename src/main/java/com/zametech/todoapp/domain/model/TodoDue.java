@@ -0,0 +1,12 @@
+package com.zametech.todoapp.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * 未完了TODOの期限（リマインダーの読み込み用に、本体を読まずに取得する）
+ *
+ * @param id      TODO ID
+ * @param dueDate 期限日
+ */
+public record TodoDue(Long id, LocalDate dueDate) {
+}
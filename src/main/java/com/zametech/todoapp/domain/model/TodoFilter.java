@@ -0,0 +1,41 @@
+package com.zametech.todoapp.domain.model;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * TODO一覧の絞り込み条件
+ *
+ * <p>各条件はnull（または空集合）なら適用しない。指定された条件はすべてAND結合する。
+ *
+ * @param statuses   ステータスのいずれか
+ * @param priorities 優先度のいずれか
+ * @param dueAfter   期限の下限（含む）
+ * @param dueBefore  期限の上限（含まない）
+ * @param parentId   親タスクID
+ * @param rootOnly   true なら親を持たないTODOのみ、false なら子タスクのみ
+ * @param text       タイトルの部分一致（大文字小文字を区別しない）
+ */
+public record TodoFilter(
+    Set<TodoStatus> statuses,
+    Set<TodoPriority> priorities,
+    LocalDate dueAfter,
+    LocalDate dueBefore,
+    Long parentId,
+    Boolean rootOnly,
+    String text
+) {
+    public static TodoFilter none() {
+        return new TodoFilter(null, null, null, null, null, null, null);
+    }
+
+    public boolean isEmpty() {
+        return (statuses == null || statuses.isEmpty())
+            && (priorities == null || priorities.isEmpty())
+            && dueAfter == null
+            && dueBefore == null
+            && parentId == null
+            && rootOnly == null
+            && (text == null || text.isBlank());
+    }
+}
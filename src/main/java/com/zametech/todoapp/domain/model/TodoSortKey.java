@@ -0,0 +1,41 @@
+package com.zametech.todoapp.domain.model;
+
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * TODO一覧で指定できるソートキー
+ *
+ * <p>各キーは (user_id, キー, id) の複合インデックスで処理できる並び順に対応する。
+ * 同値の行の順序を一意にするため、同じ方向の id を必ず第2キーにする。
+ */
+public enum TodoSortKey {
+    /** 作成日時 */
+    CREATED_AT("createdAt"),
+    /** 期限日 */
+    DUE_DATE("dueDate"),
+    /** 優先度（昇順で高い順） */
+    PRIORITY("priority");
+
+    private final String property;
+
+    TodoSortKey(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort toSort(Sort.Direction direction) {
+        return Sort.by(new Sort.Order(direction, property), new Sort.Order(direction, "id"));
+    }
+
+    public static Optional<TodoSortKey> fromProperty(String property) {
+        return Arrays.stream(values())
+            .filter(key -> key.property.equals(property))
+            .findFirst();
+    }
+}
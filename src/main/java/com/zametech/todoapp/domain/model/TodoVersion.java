@@ -0,0 +1,11 @@
+package com.zametech.todoapp.domain.model;
+
+/**
+ * TODOの版情報（条件付きGETの判定用に、本体を読まずに取得する）
+ *
+ * @param id      TODO ID
+ * @param userId  所有者ユーザーID
+ * @param version 楽観ロックのバージョン
+ */
+public record TodoVersion(Long id, Long userId, Long version) {
+}
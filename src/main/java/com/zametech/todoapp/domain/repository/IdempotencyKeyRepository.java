@@ -0,0 +1,60 @@
+package com.zametech.todoapp.domain.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.IdempotencyKeyEntity;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key リポジトリインターフェース
+ */
+public interface IdempotencyKeyRepository {
+    
+    /**
+     * キーを実行中として予約する
+     *
+     * @param token 予約したリクエストのトークン（レスポンスの保存と解放で照合する）
+     * @return 予約できた場合 true（既に同じキーがある場合 false）
+     */
+    boolean reserve(Long userId, String key, String requestHash, String token, ZonedDateTime expiresAt);
+    
+    /**
+     * ユーザーとキーで検索する
+     */
+    Optional<IdempotencyKeyEntity> find(Long userId, String key);
+    
+    /**
+     * 予約中のキーに成功したレスポンスを保存する（呼び出し元のトランザクションに参加する）
+     *
+     * @return 保存できた場合 true（予約が他のリクエストに引き継がれていた場合 false）
+     */
+    boolean complete(Long userId, String key, String token, int statusCode, String responseBody);
+    
+    /**
+     * リースの切れた予約を引き継ぐ
+     *
+     * @param reservedAt 読み取った予約時刻（その後に他のリクエストが引き継いでいれば失敗する）
+     * @param token      引き継いだリクエストのトークン
+     * @return 引き継げた場合 true
+     */
+    boolean takeOver(Long userId, String key, ZonedDateTime reservedAt, String token, ZonedDateTime expiresAt);
+    
+    /**
+     * 予約中のキーを解放する（トークンが一致する予約だけ）
+     */
+    void release(Long userId, String key, String token);
+    
+    /**
+     * 期限切れならキーを削除する
+     *
+     * @return 削除した場合 true
+     */
+    boolean removeIfExpired(Long userId, String key, ZonedDateTime now);
+    
+    /**
+     * 期限切れのキーを最大 limit 件削除する
+     *
+     * @return 削除した件数
+     */
+    int purgeExpired(ZonedDateTime now, int limit);
+}
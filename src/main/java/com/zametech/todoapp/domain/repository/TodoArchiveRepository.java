@@ -0,0 +1,31 @@
+package com.zametech.todoapp.domain.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoArchiveEntity;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * アーカイブ済みTODOリポジトリインターフェース
+ */
+public interface TodoArchiveRepository {
+
+    /**
+     * 指定したTODOをアーカイブへ複製する（持ち主のユーザーIDでパーティションを絞る。todos からの削除は呼び出し側で行う）
+     *
+     * @return 複製した件数
+     */
+    int copyFromTodos(Collection<Long> userIds, Collection<Long> todoIds, ZonedDateTime archivedAt);
+
+    /**
+     * 完了日時が [from, to] のTODOを入れるパーティションを用意する
+     */
+    void ensurePartitions(ZonedDateTime from, ZonedDateTime to);
+
+    /**
+     * ユーザーのアーカイブ済みTODOのうち、(完了日時, ID) が (cursorCompletedAt, cursorId) より前のものを
+     * 新しい順に最大 limit 件検索する
+     */
+    List<TodoArchiveEntity> findBeforeCursor(Long userId, ZonedDateTime cursorCompletedAt, Long cursorId, int limit);
+}
@@ -0,0 +1,58 @@
+package com.zametech.todoapp.domain.repository;
+
+import com.zametech.todoapp.domain.model.TodoCount;
+import com.zametech.todoapp.domain.model.TodoCounterDelta;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoCounterEntity;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * TODOカウンターリポジトリインターフェース
+ */
+public interface TodoCounterRepository {
+    
+    /**
+     * ユーザーのカウンターを取得する
+     */
+    Optional<TodoCounterEntity> findByUserId(Long userId);
+    
+    /**
+     * 複数ユーザーのカウンターを取得する
+     */
+    List<TodoCounterEntity> findAllByUserIds(List<Long> userIds);
+    
+    /**
+     * ユーザーのTODO一覧のバージョンを取得する（カウンター行がなければ0）
+     */
+    long findCollectionVersion(Long userId);
+    
+    /**
+     * カウンターに差分を加算し、一覧のバージョンを1増やす
+     *
+     * @return カウンター行が存在しなかった場合は false
+     */
+    boolean addDelta(Long userId, TodoCounterDelta delta);
+    
+    /**
+     * カウンター行を作成する
+     *
+     * @return 同じユーザーの行が既にあった場合は false（並行する作成は先にコミットした側が勝つ）
+     */
+    boolean insertIfAbsent(TodoCounterEntity counter);
+    
+    /**
+     * カウンターを保存する
+     */
+    TodoCounterEntity save(TodoCounterEntity counter);
+    
+    /**
+     * user_id の昇順で afterUserId より後のカウンター行を最大 limit 件ロックする
+     */
+    List<Long> lockUserIdsAfter(Long afterUserId, int limit);
+    
+    /**
+     * ユーザーIDの範囲でTODO件数をユーザー・ステータス・優先度ごとに集計する
+     */
+    List<TodoCount> countTodosByUserIdBetween(Long fromUserId, Long toUserId);
+}
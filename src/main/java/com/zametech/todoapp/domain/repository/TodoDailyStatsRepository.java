@@ -0,0 +1,37 @@
+package com.zametech.todoapp.domain.repository;
+
+import com.zametech.todoapp.domain.model.TodoDailyDelta;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoDailyStatsEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * TODO日次集計リポジトリインターフェース
+ */
+public interface TodoDailyStatsRepository {
+
+    /**
+     * ユーザーの指定日の集計に増加量を加算する
+     *
+     * @return 集計行が存在しなかった場合は false
+     */
+    boolean addDelta(Long userId, LocalDate date, TodoDailyDelta delta);
+
+    /**
+     * 集計行がなければ挿入する
+     *
+     * @return 同じユーザー・日の行が既にあり挿入しなかった場合は false
+     */
+    boolean insertIfAbsent(TodoDailyStatsEntity stats);
+
+    /**
+     * ユーザーの指定日より前の未完了件数の増減の合計（その前日の終わりの未完了件数）
+     */
+    long sumOpenBalanceBefore(Long userId, LocalDate date);
+
+    /**
+     * ユーザーの期間内（両端を含む）の集計を日付順に検索する
+     */
+    List<TodoDailyStatsEntity> findBetween(Long userId, LocalDate from, LocalDate to);
+}
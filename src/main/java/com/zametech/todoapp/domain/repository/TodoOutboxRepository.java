@@ -0,0 +1,26 @@
+package com.zametech.todoapp.domain.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoOutboxEntity;
+
+import java.util.List;
+
+/**
+ * TODO変更イベントのアウトボックスリポジトリインターフェース
+ */
+public interface TodoOutboxRepository {
+
+    /**
+     * 送信待ちのイベントを追記する
+     */
+    void append(TodoOutboxEntity message);
+
+    /**
+     * 他のトランザクションがロックしていない送信待ちを、ID順に最大 limit 件ロックして取得する
+     */
+    List<TodoOutboxEntity> lockNext(int limit);
+
+    /**
+     * 送信済みのイベントを削除する
+     */
+    void deleteAll(List<TodoOutboxEntity> messages);
+}
@@ -0,0 +1,32 @@
+package com.zametech.todoapp.domain.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoRecurrenceEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * TODO繰り返しルールリポジトリインターフェース
+ */
+public interface TodoRecurrenceRepository {
+
+    /**
+     * テンプレートのTODO IDでルールを取得する
+     */
+    Optional<TodoRecurrenceEntity> findById(Long todoId);
+
+    /**
+     * ルールをロックして取得する（生成ジョブと同時に変更しない）
+     */
+    Optional<TodoRecurrenceEntity> lockById(Long todoId);
+
+    /**
+     * 延長日が today 以前で、他のトランザクションがロックしていないルールを最大 limit 件ロックして取得する
+     */
+    List<TodoRecurrenceEntity> lockDue(LocalDate today, int limit);
+
+    TodoRecurrenceEntity save(TodoRecurrenceEntity recurrence);
+
+    void delete(TodoRecurrenceEntity recurrence);
+}
@@ -1,12 +1,16 @@
 package com.zametech.todoapp.domain.repository;
 
-import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoDue;
+import com.zametech.todoapp.domain.model.TodoFilter;
 import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.model.TodoVersion;
 import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,57 +25,123 @@ public interface TodoRepository {
     TodoEntity save(TodoEntity todo);
     
     /**
-     * IDでTODOを検索する
+     * TODOをまとめて保存する（新規は1回のバッチで挿入する）
      */
-    Optional<TodoEntity> findById(Long id);
+    List<TodoEntity> saveAll(List<TodoEntity> todos);
     
     /**
-     * すべてのTODOを取得する（ページング）
+     * 保留中の変更をDBへ反映する（バージョンの更新・競合検出をこの時点で行う）
      */
-    Page<TodoEntity> findAll(Pageable pageable);
+    void flush();
     
     /**
-     * ステータスでTODOを検索する
+     * ユーザーIDとIDでTODOを検索する（ユーザーのパーティションだけを引く）
      */
-    List<TodoEntity> findByStatus(TodoStatus status);
+    Optional<TodoEntity> findByIdAndUserId(Long id, Long userId);
     
     /**
-     * 優先度でTODOを検索する
+     * ユーザーIDとIDでTODOの版情報のみを取得する（ユーザーのパーティションだけを引く）
      */
-    List<TodoEntity> findByPriority(TodoPriority priority);
+    Optional<TodoVersion> findVersionByIdAndUserId(Long id, Long userId);
     
     /**
-     * 期限が指定日以前のTODOを検索する
+     * IDの集合でTODOを検索する
      */
-    List<TodoEntity> findByDueDateBefore(LocalDate date);
+    List<TodoEntity> findAllById(Collection<Long> ids);
     
     /**
-     * TODOを削除する
+     * TODOを削除する（子タスクは ON DELETE CASCADE で一緒に消える）
      */
-    void deleteById(Long id);
+    void delete(TodoEntity todo);
     
     /**
-     * IDでTODOが存在するか確認する
+     * ユーザーIDでTODOを検索する（ページング）
      */
-    boolean existsById(Long id);
+    Page<TodoEntity> findByUserId(Long userId, Pageable pageable);
     
     /**
-     * ユーザーIDでTODOを検索する（ページング）
+     * ユーザーIDと絞り込み条件でTODOを検索する（ページング）
      */
-    Page<TodoEntity> findByUserId(Long userId, Pageable pageable);
+    Page<TodoEntity> findByUserIdAndFilter(Long userId, TodoFilter filter, Pageable pageable);
+    
+    /**
+     * ユーザーIDですべてのTODOを検索する
+     */
+    List<TodoEntity> findAllByUserId(Long userId);
+    
+    /**
+     * ユーザーの未完了TODOのうち、期限が (cursorDate, cursorId) より後かつ before より前のものを
+     * 期限・ID順に最大 limit 件検索する
+     */
+    List<TodoEntity> findOpenDueAfterCursor(Long userId, LocalDate cursorDate, Long cursorId,
+                                            LocalDate before, int limit);
+    
+    /**
+     * 全ユーザーの未完了TODOのうち、期限が (cursorDate, cursorId) より後かつ before より前のものの
+     * 期限を期限・ID順に最大 limit 件検索する
+     */
+    List<TodoDue> findOpenDueAfter(LocalDate cursorDate, Long cursorId, LocalDate before, int limit);
+    
+    /**
+     * ユーザーの未完了TODOのうち期限が [from, before) のものを数える
+     */
+    long countOpenDueBetween(Long userId, LocalDate from, LocalDate before);
+    
+    /**
+     * タイトルが類似するユーザーのTODOを類似度の高い順に検索する
+     */
+    List<TodoEntity> findByUserIdAndTitleSimilarTo(Long userId, String term, int limit);
     
     /**
      * ユーザーIDとステータスでTODOを検索する
      */
     List<TodoEntity> findByUserIdAndStatus(Long userId, TodoStatus status);
     
+    /**
+     * 差分同期用の変更連番を採番する（todo_change_seq）
+     */
+    long nextChangeSeq();
+    
+    /**
+     * 差分同期用の変更連番を count 個まとめて採番する（昇順）
+     */
+    List<Long> nextChangeSeqs(int count);
+    
+    /**
+     * ユーザーのテンプレートから作成済みのインスタンスのうち、日付が [from, through] のものの日付を検索する
+     */
+    List<LocalDate> findOccurrenceDates(Long userId, Long templateId, LocalDate from, LocalDate through);
+    
+    /**
+     * 最終更新が cutoff より前のDONEのTODOのうち、子タスクと繰り返しルールのないものを
+     * 更新日時順に最大 limit 件ロックして取得する（他のトランザクションがロック中の行は飛ばす）
+     */
+    List<TodoEntity> lockArchivable(ZonedDateTime cutoff, int limit);
+    
+    /**
+     * IDを指定してTODOをまとめて削除する（持ち主のユーザーIDでパーティションを絞る）
+     *
+     * @return 削除した件数
+     */
+    int deleteAllById(Collection<Long> userIds, Collection<Long> ids);
+    
+    /**
+     * ユーザーのTODOのうち変更連番が changeSeq より大きいものを連番順に最大 limit 件検索する
+     */
+    List<TodoEntity> findChangedAfter(Long userId, long changeSeq, int limit);
+    
     /**
      * ユーザーIDですべてのTODOを削除する
      */
     void deleteByUserId(Long userId);
     
     /**
-     * 親タスクIDで子タスクを検索する
+     * ユーザーの親タスクIDで子タスクを検索する
+     */
+    List<TodoEntity> findByParentId(Long userId, Long parentId);
+    
+    /**
+     * ユーザーのTODOとその子孫をすべて検索する（1回の問い合わせ）
      */
-    List<TodoEntity> findByParentId(Long parentId);
+    List<TodoEntity> findSubtree(Long userId, Long rootId);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.zametech.todoapp.domain.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoStatusEventEntity;
+
+import java.util.List;
+
+/**
+ * TODOステータス遷移イベントリポジトリインターフェース
+ */
+public interface TodoStatusEventRepository {
+
+    /**
+     * イベントを追記する（複数件は1回のバッチで挿入する）
+     */
+    void appendAll(List<TodoStatusEventEntity> events);
+
+    /**
+     * 未集計のイベントをID順に最大 limit 件ロックして取得する（他のトランザクションがロック中のイベントは飛ばす）
+     */
+    List<TodoStatusEventEntity> lockPending(int limit);
+
+    /**
+     * イベントを集計済みにする
+     */
+    void markRolledUp(List<Long> ids);
+}
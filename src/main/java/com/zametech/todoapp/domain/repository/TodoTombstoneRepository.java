@@ -0,0 +1,29 @@
+package com.zametech.todoapp.domain.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoTombstoneEntity;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * TODO墓標リポジトリインターフェース
+ */
+public interface TodoTombstoneRepository {
+    
+    /**
+     * 削除したTODOの墓標を変更連番を採番して追加する
+     */
+    void record(Long todoId, Long userId);
+    
+    /**
+     * ユーザーの墓標のうち変更連番が changeSeq より大きいものを連番順に最大 limit 件検索する
+     */
+    List<TodoTombstoneEntity> findDeletedAfter(Long userId, long changeSeq, int limit);
+    
+    /**
+     * 削除日時が before より前の墓標を削除する
+     *
+     * @return 削除した件数
+     */
+    int purgeDeletedBefore(ZonedDateTime before);
+}
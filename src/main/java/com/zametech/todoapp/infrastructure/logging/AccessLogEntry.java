@@ -0,0 +1,16 @@
+package com.zametech.todoapp.infrastructure.logging;
+
+/**
+ * アクセスログの1件（リクエストのスレッドでは値を詰めるだけにし、整形は書き出しスレッドで行う）
+ *
+ * @param userId 認証済みユーザーのID（未認証なら null）
+ */
+public record AccessLogEntry(
+    long timestamp,
+    String method,
+    String path,
+    int status,
+    long durationNanos,
+    Long userId
+) {
+}
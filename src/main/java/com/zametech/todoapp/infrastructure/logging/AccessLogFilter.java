@@ -0,0 +1,62 @@
+package com.zametech.todoapp.infrastructure.logging;
+
+import com.zametech.todoapp.common.config.AccessLogProperties;
+import com.zametech.todoapp.infrastructure.security.AuthenticatedUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * アクセスログフィルター（JwtAuthenticationFilter の後、RateLimitFilter の前に置く）
+ *
+ * <p>メソッド・パス（クエリ文字列は含めない）・ステータス・処理時間・ユーザーIDを {@link AccessLogWriter} に渡す。
+ * RateLimitFilter と同じく、Beanにせず SecurityConfig で組み立てる。
+ */
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLogWriter accessLogWriter;
+    private final AccessLogProperties accessLogProperties;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (!accessLogProperties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            accessLogWriter.write(new AccessLogEntry(
+                System.currentTimeMillis(),
+                request.getMethod(),
+                request.getRequestURI(),
+                failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                System.nanoTime() - start,
+                currentUserId()));
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,203 @@
+package com.zametech.todoapp.infrastructure.logging;
+
+import com.zametech.todoapp.common.config.AccessLogProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * アクセスログの非同期書き出し
+ *
+ * <p>リクエストのスレッドは固定長のリングバッファ（{@link ArrayBlockingQueue}）に1件入れるだけで、待たない。
+ * 満杯なら捨てて件数を数え（{@code app.access_log.dropped}）、書き出しスレッドがまとめて取り出して
+ * 1行のJSONに整形し、{@code ACCESS_LOG} ロガーに出す。書き出せなかった件は数えて（{@code app.access_log.failed}）次へ進む。
+ *
+ * <p>停止時は新しい件を待つのをやめ、残りを書き出してから終える（一定時間で諦める）。
+ */
+@Component
+@Slf4j
+public class AccessLogWriter {
+
+    private static final int DRAIN_BATCH = 256;
+    private static final long POLL_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final BlockingQueue<AccessLogEntry> buffer;
+    private final Logger output;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+    private long reportedDrops;
+    private long reportedFailures;
+    private Exception lastFailure;
+
+    @Autowired
+    public AccessLogWriter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this(properties.getBufferSize(), LoggerFactory.getLogger("ACCESS_LOG"));
+        FunctionCounter.builder("app.access_log.dropped", dropped, LongAdder::sum)
+            .description("Access log entries dropped because the buffer was full")
+            .register(meterRegistry);
+        FunctionCounter.builder("app.access_log.failed", failed, LongAdder::sum)
+            .description("Access log entries that could not be written")
+            .register(meterRegistry);
+        Gauge.builder("app.access_log.pending", buffer, BlockingQueue::size)
+            .description("Access log entries waiting to be written")
+            .register(meterRegistry);
+    }
+
+    AccessLogWriter(int bufferSize, Logger output) {
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.output = output;
+        this.writer = Thread.ofPlatform().name("access-log-writer").daemon().start(this::drain);
+    }
+
+    /**
+     * 1件追加する（満杯なら捨てる）
+     */
+    public void write(AccessLogEntry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * 捨てた件数
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 書き出せなかった件数
+     */
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * 書き出し待ちの件数
+     */
+    public int pendingCount() {
+        return buffer.size();
+    }
+
+    /**
+     * 新しい件を待つのをやめ、書き出しスレッドが残りを書き出し終えるまで待つ
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        if (writer.isAlive()) {
+            log.warn("Access log writer did not finish within {} ms; {} entries left unwritten",
+                SHUTDOWN_TIMEOUT_MILLIS, buffer.size());
+        }
+    }
+
+    private void drain() {
+        List<AccessLogEntry> batch = new ArrayList<>(DRAIN_BATCH);
+        StringBuilder line = new StringBuilder(256);
+        while (running || !buffer.isEmpty()) {
+            try {
+                AccessLogEntry first = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    buffer.drainTo(batch, DRAIN_BATCH - 1);
+                }
+            } catch (InterruptedException e) {
+                // 停止は running で伝えるため、割り込みでは止まらない
+                continue;
+            }
+            if (output.isInfoEnabled()) {
+                for (AccessLogEntry entry : batch) {
+                    writeLine(entry, line);
+                }
+            }
+            batch.clear();
+            reportDrops();
+            reportFailures();
+        }
+    }
+
+    /**
+     * 1件書き出す（失敗しても数えるだけで、残りの書き出しは続ける）
+     */
+    private void writeLine(AccessLogEntry entry, StringBuilder line) {
+        try {
+            line.setLength(0);
+            output.info(format(entry, line).toString());
+        } catch (Exception e) {
+            failed.increment();
+            lastFailure = e;
+        }
+    }
+
+    private void reportDrops() {
+        long total = dropped.sum();
+        if (total > reportedDrops) {
+            log.warn("Dropped {} access log entries (buffer full)", total - reportedDrops);
+            reportedDrops = total;
+        }
+    }
+
+    private void reportFailures() {
+        long total = failed.sum();
+        if (total > reportedFailures) {
+            log.warn("Failed to write {} access log entries", total - reportedFailures, lastFailure);
+            reportedFailures = total;
+            lastFailure = null;
+        }
+    }
+
+    /**
+     * 1行のJSONに整形する
+     */
+    static StringBuilder format(AccessLogEntry entry, StringBuilder line) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(entry.durationNanos());
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(entry.timestamp()))
+            .append("\",\"method\":\"").append(entry.method())
+            .append("\",\"path\":\"");
+        appendEscaped(line, entry.path());
+        line.append("\",\"status\":").append(entry.status())
+            .append(",\"durationMs\":").append(micros / 1000).append('.');
+        long fraction = micros % 1000;
+        if (fraction < 100) {
+            line.append('0');
+        }
+        if (fraction < 10) {
+            line.append('0');
+        }
+        line.append(fraction)
+            .append(",\"userId\":").append(entry.userId())
+            .append('}');
+        return line;
+    }
+
+    private static void appendEscaped(StringBuilder line, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.zametech.todoapp.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * DEBUGログの間引き（logback-spring.xml で設定する）
+ *
+ * <p>{@code loggerPrefix} 配下のDEBUGログを {@code sampleRate} の割合だけ通す。
+ * メッセージの整形より前に判定するため、捨てるログは引数の文字列化も行われない。
+ */
+public class DebugSamplingTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "com.zametech.todoapp";
+    private double sampleRate = 1.0;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        if (level != Level.DEBUG || sampleRate >= 1.0 || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextDouble() < sampleRate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+}
@@ -0,0 +1,52 @@
+package com.zametech.todoapp.infrastructure.outbox;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoOutboxEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * TODO変更イベントをログに出す送信先（ローカル用の既定）
+ *
+ * <p>{@code TODO_EVENTS} ロガーに1件1行のJSONで出す（logback-spring.xml でファイルに書く）。
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "log", matchIfMissing = true)
+public class LogTodoEventSink implements TodoEventSink {
+
+    private final Logger output;
+
+    public LogTodoEventSink() {
+        this(LoggerFactory.getLogger("TODO_EVENTS"));
+    }
+
+    LogTodoEventSink(Logger output) {
+        this.output = output;
+    }
+
+    @Override
+    public void publish(List<TodoOutboxEntity> messages) {
+        StringBuilder line = new StringBuilder(256);
+        for (TodoOutboxEntity message : messages) {
+            line.setLength(0);
+            format(message, line);
+            output.info(line.toString());
+        }
+    }
+
+    /**
+     * {"id":…,"userId":…,"todoId":…,"type":"…","createdAt":"…","event":…} の形に整形する
+     */
+    static void format(TodoOutboxEntity message, StringBuilder out) {
+        out.append("{\"id\":").append(message.getId())
+            .append(",\"userId\":").append(message.getUserId())
+            .append(",\"todoId\":").append(message.getTodoId())
+            .append(",\"type\":\"").append(message.getEventType())
+            .append("\",\"createdAt\":\"").append(message.getCreatedAt().toOffsetDateTime())
+            .append("\",\"event\":").append(message.getPayload())
+            .append('}');
+    }
+}
@@ -0,0 +1,17 @@
+package com.zametech.todoapp.infrastructure.outbox;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoOutboxEntity;
+
+import java.util.List;
+
+/**
+ * TODO変更イベントの送信先
+ *
+ * <p>リレーはID順に取り出したイベントをまとめて渡し、戻ったら送信済みとして削除する。
+ * 例外を投げた場合は1件も削除せず、次回すべて送り直す（少なくとも1回の配信）。
+ * 複数のノードが別々のまとまりを並行して送るため、消費側はTODOごとの {@code version} で新旧を判断する。
+ */
+public interface TodoEventSink {
+
+    void publish(List<TodoOutboxEntity> messages);
+}
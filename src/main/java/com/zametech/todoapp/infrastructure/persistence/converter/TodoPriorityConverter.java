@@ -0,0 +1,33 @@
+package com.zametech.todoapp.infrastructure.persistence.converter;
+
+import com.zametech.todoapp.domain.model.TodoPriority;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * TODO優先度と smallint コードの変換
+ *
+ * <p>コードには {@link TodoPriority#getOrder()} をそのまま使う（1=HIGH, 2=MEDIUM, 3=LOW）。
+ * 昇順に並べると優先度の高い順になる。
+ */
+@Converter
+public class TodoPriorityConverter implements AttributeConverter<TodoPriority, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TodoPriority priority) {
+        return priority == null ? null : (short) priority.getOrder();
+    }
+
+    @Override
+    public TodoPriority convertToEntityAttribute(Short code) {
+        if (code == null) {
+            return null;
+        }
+        for (TodoPriority priority : TodoPriority.values()) {
+            if (priority.getOrder() == code) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Unknown todo priority code: " + code);
+    }
+}
@@ -0,0 +1,39 @@
+package com.zametech.todoapp.infrastructure.persistence.converter;
+
+import com.zametech.todoapp.domain.model.TodoStatus;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * TODOステータスと smallint コードの変換
+ *
+ * <p>0=TODO, 1=IN_PROGRESS, 2=DONE。コードはDBのCHECK制約・部分インデックスと一致させること。
+ */
+@Converter
+public class TodoStatusConverter implements AttributeConverter<TodoStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(TodoStatus status) {
+        if (status == null) {
+            return null;
+        }
+        return switch (status) {
+            case TODO -> 0;
+            case IN_PROGRESS -> 1;
+            case DONE -> 2;
+        };
+    }
+
+    @Override
+    public TodoStatus convertToEntityAttribute(Short code) {
+        if (code == null) {
+            return null;
+        }
+        return switch (code) {
+            case 0 -> TodoStatus.TODO;
+            case 1 -> TodoStatus.IN_PROGRESS;
+            case 2 -> TodoStatus.DONE;
+            default -> throw new IllegalArgumentException("Unknown todo status code: " + code);
+        };
+    }
+}
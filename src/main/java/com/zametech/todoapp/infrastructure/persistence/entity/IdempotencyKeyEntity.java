@@ -0,0 +1,64 @@
+package com.zametech.todoapp.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Idempotency-Key の記録（ユーザーとキーごとのリクエストの指紋と保存したレスポンス）
+ *
+ * <p>最初のリクエストの実行前に {@code statusCode} なしで予約し、成功したらレスポンスを書き込む。
+ * 書き込みはネイティブクエリで行うため、エンティティは読み取りに使う。期限を過ぎたものは定期ジョブで削除する。
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Data
+@NoArgsConstructor
+public class IdempotencyKeyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idem_key", nullable = false)
+    private String idemKey;
+
+    @Column(name = "request_hash", nullable = false)
+    private String requestHash;
+
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    @Column(name = "response_body")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+
+    @Column(name = "reserved_at", nullable = false)
+    private ZonedDateTime reservedAt;
+
+    /** 予約中のリクエストが持つトークン（引き継がれると変わる） */
+    @Column(name = "reservation_token")
+    private String reservationToken;
+
+    @Column(name = "expires_at", nullable = false)
+    private ZonedDateTime expiresAt;
+
+    /**
+     * 最初のリクエストが実行中か
+     */
+    public boolean isPending() {
+        return statusCode == null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.zametech.todoapp.infrastructure.persistence.entity;
+
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.infrastructure.persistence.converter.TodoPriorityConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+/**
+ * アーカイブ済みTODO（完了から一定期間が過ぎ、todos から移したもの）
+ *
+ * <p>テーブルは完了日時の月ごとにパーティション分割されている（主キーは (id, completed_at)）。
+ * 書き込みは todos からの INSERT ... SELECT で行うため、エンティティは読み取りに使う。
+ */
+@Entity
+@Table(name = "todos_archive")
+@Data
+@NoArgsConstructor
+public class TodoArchiveEntity {
+
+    /** 元のTODO ID */
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 255)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Convert(converter = TodoPriorityConverter.class)
+    @Column(nullable = false)
+    private TodoPriority priority;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+
+    /** 完了日時（アーカイブ時点の todos.updated_at） */
+    @Column(name = "completed_at", nullable = false)
+    private ZonedDateTime completedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private ZonedDateTime archivedAt;
+}
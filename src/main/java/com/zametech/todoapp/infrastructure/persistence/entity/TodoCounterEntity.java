@@ -0,0 +1,51 @@
+package com.zametech.todoapp.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * ユーザーごとのTODO件数カウンター
+ *
+ * <p>TODOの作成・更新・削除と同じトランザクションで増減させる。
+ * 値の更新はネイティブクエリで差分を加算するため、エンティティは主に読み取りに使う。
+ *
+ * <p>{@code collectionVersion} はそのユーザーのTODOが変更されるたびに1増える（一覧のETag用）。
+ * 件数ではないため、再集計時の比較対象からは外す。
+ */
+@Entity
+@Table(name = "todo_counters")
+@Data
+@NoArgsConstructor
+public class TodoCounterEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "status_todo", nullable = false)
+    private int statusTodo;
+
+    @Column(name = "status_in_progress", nullable = false)
+    private int statusInProgress;
+
+    @Column(name = "status_done", nullable = false)
+    private int statusDone;
+
+    @Column(name = "priority_high", nullable = false)
+    private int priorityHigh;
+
+    @Column(name = "priority_medium", nullable = false)
+    private int priorityMedium;
+
+    @Column(name = "priority_low", nullable = false)
+    private int priorityLow;
+
+    @EqualsAndHashCode.Exclude
+    @Column(name = "collection_version", nullable = false)
+    private long collectionVersion;
+}
@@ -0,0 +1,56 @@
+package com.zametech.todoapp.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * ユーザーごと・日ごとのステータス遷移の集計（バーンダウン用）
+ *
+ * <p>ステータス遷移イベントを定期ジョブでまとめて加算する。{@code opened} / {@code closed} は
+ * 未完了のTODOが増えた・減った件数（作成・完了の取り消し / 完了・未完了のまま削除）で、
+ * 指定日までの {@code opened - closed} の合計がその日の終わりの未完了件数になる。
+ * 値の加算はネイティブクエリで行うため、エンティティは主に読み取りと初回の挿入に使う。
+ */
+@Entity
+@Table(name = "todo_daily_stats")
+@IdClass(TodoDailyStatsEntity.Key.class)
+@Data
+@NoArgsConstructor
+public class TodoDailyStatsEntity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    @Column(name = "created_count", nullable = false)
+    private int createdCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private int completedCount;
+
+    @Column(name = "opened_count", nullable = false)
+    private int openedCount;
+
+    @Column(name = "closed_count", nullable = false)
+    private int closedCount;
+
+    @Data
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long userId;
+        private LocalDate statDate;
+    }
+}
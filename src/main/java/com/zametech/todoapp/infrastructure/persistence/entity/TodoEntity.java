@@ -2,8 +2,11 @@ package com.zametech.todoapp.infrastructure.persistence.entity;
 
 import com.zametech.todoapp.domain.model.TodoPriority;
 import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.infrastructure.persistence.converter.TodoPriorityConverter;
+import com.zametech.todoapp.infrastructure.persistence.converter.TodoStatusConverter;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -12,15 +15,23 @@ import java.util.Objects;
 
 /**
  * TODOエンティティ
+ *
+ * <p>IDはまとめて採番するシーケンスから振るため、繰り返しのインスタンスなど同じトランザクションの複数件は
+ * 1回のバッチで挿入される（IDENTITYではHibernateが挿入をバッチにできない）。
+ *
+ * <p>テーブルは user_id のハッシュでパーティション分割されている。{@code userId} をパーティションキーにして、
+ * 更新・削除の WHERE に user_id を含め、対象のパーティションだけに絞る。
  */
 @Entity
 @Table(name = "todos")
 public class TodoEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todos_id")
+    @SequenceGenerator(name = "todos_id", sequenceName = "todos_id_seq", allocationSize = 50)
     private Long id;
 
+    @PartitionKey
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
@@ -30,12 +41,12 @@ public class TodoEntity {
     @Column(columnDefinition = "TEXT")
     private String description;
 
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false, length = 20)
+    @Convert(converter = TodoStatusConverter.class)
+    @Column(nullable = false)
     private TodoStatus status = TodoStatus.TODO;
 
-    @Enumerated(EnumType.STRING)
-    @Column(nullable = false, length = 10)
+    @Convert(converter = TodoPriorityConverter.class)
+    @Column(nullable = false)
     private TodoPriority priority = TodoPriority.MEDIUM;
 
     @Column(name = "due_date")
@@ -51,6 +62,14 @@ public class TodoEntity {
     @OneToMany(mappedBy = "parent", cascade = CascadeType.ALL, orphanRemoval = true)
     private java.util.List<TodoEntity> children = new java.util.ArrayList<>();
 
+    /** 繰り返しのインスタンスの場合、生成元のテンプレートのTODO ID */
+    @Column(name = "template_id")
+    private Long templateId;
+
+    /** 繰り返しのインスタンスの場合、生成元のルール上の日付 */
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private ZonedDateTime createdAt;
@@ -59,6 +78,14 @@ public class TodoEntity {
     @Column(name = "updated_at", nullable = false)
     private ZonedDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /** 差分同期用の変更連番（作成・更新のたびに todo_change_seq から採番） */
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
     // コンストラクタ
     public TodoEntity() {
     }
@@ -152,6 +179,22 @@ public class TodoEntity {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     public Long getParentId() {
         return parentId;
     }
@@ -160,6 +203,22 @@ public class TodoEntity {
         this.parentId = parentId;
     }
 
+    public Long getTemplateId() {
+        return templateId;
+    }
+
+    public void setTemplateId(Long templateId) {
+        this.templateId = templateId;
+    }
+
+    public LocalDate getOccurrenceDate() {
+        return occurrenceDate;
+    }
+
+    public void setOccurrenceDate(LocalDate occurrenceDate) {
+        this.occurrenceDate = occurrenceDate;
+    }
+
     public TodoEntity getParent() {
         return parent;
     }
@@ -200,6 +259,8 @@ public class TodoEntity {
                 ", parentId=" + parentId +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", version=" + version +
+                ", changeSeq=" + changeSeq +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.zametech.todoapp.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * TODO変更イベントの送信待ち（トランザクショナル・アウトボックス）
+ *
+ * <p>TODOの変更と同じトランザクションで追記し、リレーが送信先へ送ってから削除する。
+ * {@code payload} は送信するJSON（{@code TodoEventResponse} と同じ形）。
+ */
+@Entity
+@Table(name = "todo_outbox")
+@Data
+@NoArgsConstructor
+public class TodoOutboxEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_outbox_id")
+    @SequenceGenerator(name = "todo_outbox_id", sequenceName = "todo_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "todo_id", nullable = false)
+    private Long todoId;
+
+    @Column(name = "event_type", nullable = false, length = 16)
+    private String eventType;
+
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private ZonedDateTime createdAt;
+
+    public TodoOutboxEntity(Long userId, Long todoId, String eventType, String payload, ZonedDateTime createdAt) {
+        this.userId = userId;
+        this.todoId = todoId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+}
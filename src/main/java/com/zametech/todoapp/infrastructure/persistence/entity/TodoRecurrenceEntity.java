@@ -0,0 +1,77 @@
+package com.zametech.todoapp.infrastructure.persistence.entity;
+
+import com.zametech.todoapp.domain.model.RecurrenceFrequency;
+import com.zametech.todoapp.domain.model.RecurrenceRule;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+/**
+ * テンプレートのTODOの繰り返しルール
+ *
+ * <p>{@code materializedThrough} までのインスタンスは作成済み（再開位置）。
+ * 生成ジョブは {@code nextRunOn} が来たルールを延長し、終了日まで作り終えたら {@code nextRunOn} を null にする。
+ */
+@Entity
+@Table(name = "todo_recurrences")
+@Data
+@NoArgsConstructor
+public class TodoRecurrenceEntity {
+
+    /** テンプレートのTODO ID */
+    @Id
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "interval_count", nullable = false)
+    private Integer intervalCount;
+
+    /** 曜日のビット表現（{@link RecurrenceRule#weekdayMask()}） */
+    @Column(nullable = false)
+    private Integer weekdays;
+
+    @Column(name = "starts_on", nullable = false)
+    private LocalDate startsOn;
+
+    @Column(name = "ends_on")
+    private LocalDate endsOn;
+
+    /** 何日先までインスタンスを作っておくか */
+    @Column(name = "horizon_days", nullable = false)
+    private Integer horizonDays;
+
+    @Column(name = "materialized_through", nullable = false)
+    private LocalDate materializedThrough;
+
+    @Column(name = "next_run_on")
+    private LocalDate nextRunOn;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private ZonedDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private ZonedDateTime updatedAt;
+
+    public RecurrenceRule toRule() {
+        return new RecurrenceRule(frequency, intervalCount, RecurrenceRule.weekdaysOf(weekdays), startsOn, endsOn);
+    }
+}
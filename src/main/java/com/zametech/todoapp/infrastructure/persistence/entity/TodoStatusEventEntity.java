@@ -0,0 +1,65 @@
+package com.zametech.todoapp.infrastructure.persistence.entity;
+
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.infrastructure.persistence.converter.TodoStatusConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * TODOのステータス遷移イベント（追記のみ）
+ *
+ * <p>作成時は {@code fromStatus}、削除時は {@code toStatus} が null。
+ * IDはまとめて採番するシーケンスから振るため、同じトランザクションの複数件は1回のバッチで挿入される
+ * （IDENTITYではHibernateが挿入をバッチにできない）。TODOが削除されても履歴として残す。
+ * 日次集計へ加算したイベントは {@code rolledUp} を立てる。
+ */
+@Entity
+@Table(name = "todo_status_events")
+@Data
+@NoArgsConstructor
+public class TodoStatusEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "todo_status_events_id")
+    @SequenceGenerator(name = "todo_status_events_id", sequenceName = "todo_status_events_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "todo_id", nullable = false)
+    private Long todoId;
+
+    @Convert(converter = TodoStatusConverter.class)
+    @Column(name = "from_status")
+    private TodoStatus fromStatus;
+
+    @Convert(converter = TodoStatusConverter.class)
+    @Column(name = "to_status")
+    private TodoStatus toStatus;
+
+    @Column(name = "occurred_at", nullable = false)
+    private ZonedDateTime occurredAt;
+
+    @Column(name = "rolled_up", nullable = false)
+    private boolean rolledUp;
+
+    public TodoStatusEventEntity(Long userId, Long todoId, TodoStatus fromStatus, TodoStatus toStatus,
+                                 ZonedDateTime occurredAt) {
+        this.userId = userId;
+        this.todoId = todoId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.occurredAt = occurredAt;
+    }
+}
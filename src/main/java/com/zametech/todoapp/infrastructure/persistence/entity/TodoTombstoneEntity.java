@@ -0,0 +1,37 @@
+package com.zametech.todoapp.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+
+/**
+ * 削除済みTODOの墓標（差分同期で削除を伝えるために残す）
+ *
+ * <p>TODOの削除と同じトランザクションで、子タスクを含む削除行ごとに1件作る。
+ * 書き込みは変更連番の採番を含むネイティブクエリで行うため、エンティティは読み取りに使う。
+ * 保持期間を過ぎたものは定期ジョブで削除する。
+ */
+@Entity
+@Table(name = "todo_tombstones")
+@Data
+@NoArgsConstructor
+public class TodoTombstoneEntity {
+
+    @Id
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "change_seq", nullable = false)
+    private Long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private ZonedDateTime deletedAt;
+}
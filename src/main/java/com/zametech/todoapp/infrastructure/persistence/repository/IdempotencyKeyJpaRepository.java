@@ -0,0 +1,101 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key JpaRepository
+ *
+ * <p>予約は他のインスタンスから見えるよう、呼び出し元にトランザクションがなければその場でコミットする。
+ */
+@Repository
+public interface IdempotencyKeyJpaRepository extends JpaRepository<IdempotencyKeyEntity, Long> {
+
+    /**
+     * キーを予約する（既にあれば何もせず0件）
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_keys "
+            + "(user_id, idem_key, request_hash, created_at, reserved_at, reservation_token, expires_at) "
+            + "VALUES (:userId, :idemKey, :requestHash, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, :token, :expiresAt) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("idemKey") String idemKey,
+                       @Param("requestHash") String requestHash,
+                       @Param("token") String token,
+                       @Param("expiresAt") ZonedDateTime expiresAt);
+
+    /**
+     * ユーザーとキーで検索する（uk_idempotency_keys_user_key）
+     */
+    Optional<IdempotencyKeyEntity> findByUserIdAndIdemKey(Long userId, String idemKey);
+
+    /**
+     * 予約中のキーにレスポンスを書き込む（トークンが一致する予約だけ）
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE IdempotencyKeyEntity k SET k.statusCode = :statusCode, k.responseBody = :responseBody "
+            + "WHERE k.userId = :userId AND k.idemKey = :idemKey AND k.statusCode IS NULL "
+            + "AND k.reservationToken = :token")
+    int complete(@Param("userId") Long userId,
+                 @Param("idemKey") String idemKey,
+                 @Param("token") String token,
+                 @Param("statusCode") int statusCode,
+                 @Param("responseBody") String responseBody);
+
+    /**
+     * 予約中のキーを引き継ぐ（読み取った予約時刻のままの場合だけ更新する）
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE idempotency_keys "
+            + "SET reserved_at = CURRENT_TIMESTAMP, reservation_token = :token, expires_at = :expiresAt "
+            + "WHERE user_id = :userId AND idem_key = :idemKey AND status_code IS NULL "
+            + "AND reserved_at = :reservedAt", nativeQuery = true)
+    int takeOver(@Param("userId") Long userId,
+                 @Param("idemKey") String idemKey,
+                 @Param("reservedAt") ZonedDateTime reservedAt,
+                 @Param("token") String token,
+                 @Param("expiresAt") ZonedDateTime expiresAt);
+
+    /**
+     * 予約中のキーを削除する（実行に失敗した場合、同じキーで再実行できるようにする。トークンが一致する予約だけ）
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKeyEntity k "
+            + "WHERE k.userId = :userId AND k.idemKey = :idemKey AND k.statusCode IS NULL "
+            + "AND k.reservationToken = :token")
+    int deletePending(@Param("userId") Long userId, @Param("idemKey") String idemKey, @Param("token") String token);
+
+    /**
+     * 期限切れならキーを削除する（uk_idempotency_keys_user_key）
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyKeyEntity k "
+            + "WHERE k.userId = :userId AND k.idemKey = :idemKey AND k.expiresAt < :now")
+    int deleteIfExpired(@Param("userId") Long userId,
+                        @Param("idemKey") String idemKey,
+                        @Param("now") ZonedDateTime now);
+
+    /**
+     * 期限切れのキーを期限の古い順に最大 limit 件削除する（idx_idempotency_keys_expires_at）
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM idempotency_keys WHERE id IN ("
+            + "SELECT id FROM idempotency_keys WHERE expires_at < :now ORDER BY expires_at LIMIT :limit)",
+            nativeQuery = true)
+    int deleteExpired(@Param("now") ZonedDateTime now, @Param("limit") int limit);
+}
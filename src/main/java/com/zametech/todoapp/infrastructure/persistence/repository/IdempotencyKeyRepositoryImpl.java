@@ -0,0 +1,55 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.domain.repository.IdempotencyKeyRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.IdempotencyKeyEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key リポジトリ実装
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepositoryImpl implements IdempotencyKeyRepository {
+
+    private final IdempotencyKeyJpaRepository idempotencyKeyJpaRepository;
+
+    @Override
+    public boolean reserve(Long userId, String key, String requestHash, String token, ZonedDateTime expiresAt) {
+        return idempotencyKeyJpaRepository.insertIfAbsent(userId, key, requestHash, token, expiresAt) > 0;
+    }
+
+    @Override
+    public Optional<IdempotencyKeyEntity> find(Long userId, String key) {
+        return idempotencyKeyJpaRepository.findByUserIdAndIdemKey(userId, key);
+    }
+
+    @Override
+    public boolean complete(Long userId, String key, String token, int statusCode, String responseBody) {
+        return idempotencyKeyJpaRepository.complete(userId, key, token, statusCode, responseBody) > 0;
+    }
+
+    @Override
+    public boolean takeOver(Long userId, String key, ZonedDateTime reservedAt, String token,
+                            ZonedDateTime expiresAt) {
+        return idempotencyKeyJpaRepository.takeOver(userId, key, reservedAt, token, expiresAt) > 0;
+    }
+
+    @Override
+    public void release(Long userId, String key, String token) {
+        idempotencyKeyJpaRepository.deletePending(userId, key, token);
+    }
+
+    @Override
+    public boolean removeIfExpired(Long userId, String key, ZonedDateTime now) {
+        return idempotencyKeyJpaRepository.deleteIfExpired(userId, key, now) > 0;
+    }
+
+    @Override
+    public int purgeExpired(ZonedDateTime now, int limit) {
+        return idempotencyKeyJpaRepository.deleteExpired(now, limit);
+    }
+}
@@ -0,0 +1,55 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoArchiveEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * アーカイブ済みTODO JpaRepository
+ */
+@Repository
+public interface TodoArchiveJpaRepository extends JpaRepository<TodoArchiveEntity, Long> {
+
+    /**
+     * TODOを1文でアーカイブへ複製する（完了日時は updated_at、行は完了月のパーティションへ振り分けられる）
+     *
+     * <p>id は全体で一意だが、user_id も条件に含めて読む todos のパーティションを絞る。
+     */
+    @Modifying
+    @Query(value = "INSERT INTO todos_archive (id, user_id, title, description, priority, due_date, parent_id, "
+            + "created_at, completed_at, archived_at) "
+            + "SELECT id, user_id, title, description, priority, due_date, parent_id, "
+            + "created_at, updated_at, :archivedAt FROM todos WHERE user_id IN (:userIds) AND id IN (:ids)",
+            nativeQuery = true)
+    int copyFromTodos(@Param("userIds") Collection<Long> userIds,
+                      @Param("ids") Collection<Long> ids,
+                      @Param("archivedAt") ZonedDateTime archivedAt);
+
+    /**
+     * [from, to] を含む月のパーティションのうち、ないものを作る
+     *
+     * @return 作成したパーティション数
+     */
+    @Query(value = "SELECT ensure_todos_archive_partitions(:from, :to)", nativeQuery = true)
+    int ensurePartitions(@Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
+
+    /**
+     * ユーザーのアーカイブ済みTODOを完了日時の新しい順にキーセットページングで検索する
+     * （idx_todos_archive_user_completed）
+     */
+    @Query("SELECT a FROM TodoArchiveEntity a WHERE a.userId = :userId "
+            + "AND (a.completedAt, a.id) < (:cursorCompletedAt, :cursorId) "
+            + "ORDER BY a.completedAt DESC, a.id DESC")
+    List<TodoArchiveEntity> findBeforeCursor(@Param("userId") Long userId,
+                                             @Param("cursorCompletedAt") ZonedDateTime cursorCompletedAt,
+                                             @Param("cursorId") Long cursorId,
+                                             Limit limit);
+}
@@ -0,0 +1,41 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.common.config.ArchiveProperties;
+import com.zametech.todoapp.domain.repository.TodoArchiveRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoArchiveEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * アーカイブ済みTODOリポジトリ実装
+ */
+@Repository
+@RequiredArgsConstructor
+public class TodoArchiveRepositoryImpl implements TodoArchiveRepository {
+
+    private final TodoArchiveJpaRepository todoArchiveJpaRepository;
+    private final ArchiveProperties archiveProperties;
+
+    @Override
+    public int copyFromTodos(Collection<Long> userIds, Collection<Long> todoIds, ZonedDateTime archivedAt) {
+        return todoArchiveJpaRepository.copyFromTodos(userIds, todoIds, archivedAt);
+    }
+
+    @Override
+    public void ensurePartitions(ZonedDateTime from, ZonedDateTime to) {
+        if (archiveProperties.isManagePartitions()) {
+            todoArchiveJpaRepository.ensurePartitions(from, to);
+        }
+    }
+
+    @Override
+    public List<TodoArchiveEntity> findBeforeCursor(Long userId, ZonedDateTime cursorCompletedAt, Long cursorId,
+                                                    int limit) {
+        return todoArchiveJpaRepository.findBeforeCursor(userId, cursorCompletedAt, cursorId, Limit.of(limit));
+    }
+}
@@ -0,0 +1,80 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.domain.model.TodoCount;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoCounterEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * TODOカウンター JpaRepository
+ */
+@Repository
+public interface TodoCounterJpaRepository extends JpaRepository<TodoCounterEntity, Long> {
+
+    /**
+     * カウンターに差分を加算し、一覧のバージョンを1増やす（行がなければ0件更新）
+     */
+    @Modifying
+    @Query(value = "UPDATE todo_counters SET "
+            + "status_todo = status_todo + :statusTodo, "
+            + "status_in_progress = status_in_progress + :statusInProgress, "
+            + "status_done = status_done + :statusDone, "
+            + "priority_high = priority_high + :priorityHigh, "
+            + "priority_medium = priority_medium + :priorityMedium, "
+            + "priority_low = priority_low + :priorityLow, "
+            + "collection_version = collection_version + 1 "
+            + "WHERE user_id = :userId", nativeQuery = true)
+    int addDelta(@Param("userId") Long userId,
+                 @Param("statusTodo") int statusTodo,
+                 @Param("statusInProgress") int statusInProgress,
+                 @Param("statusDone") int statusDone,
+                 @Param("priorityHigh") int priorityHigh,
+                 @Param("priorityMedium") int priorityMedium,
+                 @Param("priorityLow") int priorityLow);
+
+    /**
+     * カウンター行を作成する（既にあれば何もせず0件）
+     */
+    @Modifying
+    @Query(value = "INSERT INTO todo_counters (user_id, status_todo, status_in_progress, status_done, "
+            + "priority_high, priority_medium, priority_low, collection_version) "
+            + "VALUES (:userId, :statusTodo, :statusInProgress, :statusDone, "
+            + ":priorityHigh, :priorityMedium, :priorityLow, :collectionVersion) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("statusTodo") int statusTodo,
+                       @Param("statusInProgress") int statusInProgress,
+                       @Param("statusDone") int statusDone,
+                       @Param("priorityHigh") int priorityHigh,
+                       @Param("priorityMedium") int priorityMedium,
+                       @Param("priorityLow") int priorityLow,
+                       @Param("collectionVersion") long collectionVersion);
+
+    /**
+     * 一覧のバージョンを取得する（主キー検索）
+     */
+    @Query("SELECT c.collectionVersion FROM TodoCounterEntity c WHERE c.userId = :userId")
+    Optional<Long> findCollectionVersion(@Param("userId") Long userId);
+
+    /**
+     * user_id の昇順で afterUserId より後のカウンター行をロックして取得する
+     */
+    @Query(value = "SELECT user_id FROM todo_counters WHERE user_id > :afterUserId "
+            + "ORDER BY user_id LIMIT :limit FOR UPDATE", nativeQuery = true)
+    List<Long> lockUserIdsAfter(@Param("afterUserId") Long afterUserId, @Param("limit") int limit);
+
+    /**
+     * ユーザーIDの範囲でTODO件数を集計する（1回のGROUP BY）
+     */
+    @Query("SELECT new com.zametech.todoapp.domain.model.TodoCount(t.userId, t.status, t.priority, COUNT(t)) "
+            + "FROM TodoEntity t WHERE t.userId BETWEEN :fromUserId AND :toUserId "
+            + "GROUP BY t.userId, t.status, t.priority")
+    List<TodoCount> countTodosByUserIdBetween(@Param("fromUserId") Long fromUserId,
+                                              @Param("toUserId") Long toUserId);
+}
@@ -0,0 +1,82 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.domain.model.TodoCount;
+import com.zametech.todoapp.domain.model.TodoCounterDelta;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoCounterRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoCounterEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * TODOカウンターリポジトリ実装
+ */
+@Repository
+@RequiredArgsConstructor
+public class TodoCounterRepositoryImpl implements TodoCounterRepository {
+
+    private final TodoCounterJpaRepository todoCounterJpaRepository;
+
+    @Override
+    public Optional<TodoCounterEntity> findByUserId(Long userId) {
+        return todoCounterJpaRepository.findById(userId);
+    }
+
+    @Override
+    public List<TodoCounterEntity> findAllByUserIds(List<Long> userIds) {
+        return todoCounterJpaRepository.findAllById(userIds);
+    }
+
+    @Override
+    public long findCollectionVersion(Long userId) {
+        return todoCounterJpaRepository.findCollectionVersion(userId).orElse(0L);
+    }
+
+    @Override
+    public boolean addDelta(Long userId, TodoCounterDelta delta) {
+        int updated = todoCounterJpaRepository.addDelta(
+            userId,
+            delta.status(TodoStatus.TODO),
+            delta.status(TodoStatus.IN_PROGRESS),
+            delta.status(TodoStatus.DONE),
+            delta.priority(TodoPriority.HIGH),
+            delta.priority(TodoPriority.MEDIUM),
+            delta.priority(TodoPriority.LOW)
+        );
+        return updated > 0;
+    }
+
+    @Override
+    public boolean insertIfAbsent(TodoCounterEntity counter) {
+        int inserted = todoCounterJpaRepository.insertIfAbsent(
+            counter.getUserId(),
+            counter.getStatusTodo(),
+            counter.getStatusInProgress(),
+            counter.getStatusDone(),
+            counter.getPriorityHigh(),
+            counter.getPriorityMedium(),
+            counter.getPriorityLow(),
+            counter.getCollectionVersion()
+        );
+        return inserted > 0;
+    }
+
+    @Override
+    public TodoCounterEntity save(TodoCounterEntity counter) {
+        return todoCounterJpaRepository.save(counter);
+    }
+
+    @Override
+    public List<Long> lockUserIdsAfter(Long afterUserId, int limit) {
+        return todoCounterJpaRepository.lockUserIdsAfter(afterUserId, limit);
+    }
+
+    @Override
+    public List<TodoCount> countTodosByUserIdBetween(Long fromUserId, Long toUserId) {
+        return todoCounterJpaRepository.countTodosByUserIdBetween(fromUserId, toUserId);
+    }
+}
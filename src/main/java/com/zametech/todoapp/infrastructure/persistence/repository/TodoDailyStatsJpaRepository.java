@@ -0,0 +1,63 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoDailyStatsEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * TODO日次集計 JpaRepository
+ */
+@Repository
+public interface TodoDailyStatsJpaRepository extends JpaRepository<TodoDailyStatsEntity, TodoDailyStatsEntity.Key> {
+
+    /**
+     * 集計に増加量を加算する（行がなければ0件更新）
+     */
+    @Modifying
+    @Query(value = "UPDATE todo_daily_stats SET "
+            + "created_count = created_count + :created, "
+            + "completed_count = completed_count + :completed, "
+            + "opened_count = opened_count + :opened, "
+            + "closed_count = closed_count + :closed "
+            + "WHERE user_id = :userId AND stat_date = :date", nativeQuery = true)
+    int addDelta(@Param("userId") Long userId,
+                 @Param("date") LocalDate date,
+                 @Param("created") int created,
+                 @Param("completed") int completed,
+                 @Param("opened") int opened,
+                 @Param("closed") int closed);
+
+    /**
+     * 集計行を挿入する（同じユーザー・日の行があれば何もせず0件）
+     */
+    @Modifying
+    @Query(value = "INSERT INTO todo_daily_stats "
+            + "(user_id, stat_date, created_count, completed_count, opened_count, closed_count) "
+            + "VALUES (:userId, :date, :created, :completed, :opened, :closed) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId,
+                       @Param("date") LocalDate date,
+                       @Param("created") int created,
+                       @Param("completed") int completed,
+                       @Param("opened") int opened,
+                       @Param("closed") int closed);
+
+    /**
+     * 指定日より前の未完了件数の増減の合計（主キーの範囲走査）
+     */
+    @Query("SELECT COALESCE(SUM(s.openedCount - s.closedCount), 0) FROM TodoDailyStatsEntity s "
+            + "WHERE s.userId = :userId AND s.statDate < :date")
+    long sumOpenBalanceBefore(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    /**
+     * 期間内の集計を日付順に検索する（主キーの範囲走査）
+     */
+    List<TodoDailyStatsEntity> findByUserIdAndStatDateBetweenOrderByStatDateAsc(Long userId, LocalDate from,
+                                                                               LocalDate to);
+}
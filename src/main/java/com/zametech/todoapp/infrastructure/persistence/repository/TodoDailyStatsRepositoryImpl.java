@@ -0,0 +1,44 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.domain.model.TodoDailyDelta;
+import com.zametech.todoapp.domain.repository.TodoDailyStatsRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoDailyStatsEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * TODO日次集計リポジトリ実装
+ */
+@Repository
+@RequiredArgsConstructor
+public class TodoDailyStatsRepositoryImpl implements TodoDailyStatsRepository {
+
+    private final TodoDailyStatsJpaRepository todoDailyStatsJpaRepository;
+
+    @Override
+    public boolean addDelta(Long userId, LocalDate date, TodoDailyDelta delta) {
+        int updated = todoDailyStatsJpaRepository.addDelta(
+            userId, date, delta.created(), delta.completed(), delta.opened(), delta.closed());
+        return updated > 0;
+    }
+
+    @Override
+    public boolean insertIfAbsent(TodoDailyStatsEntity stats) {
+        int inserted = todoDailyStatsJpaRepository.insertIfAbsent(stats.getUserId(), stats.getStatDate(),
+            stats.getCreatedCount(), stats.getCompletedCount(), stats.getOpenedCount(), stats.getClosedCount());
+        return inserted > 0;
+    }
+
+    @Override
+    public long sumOpenBalanceBefore(Long userId, LocalDate date) {
+        return todoDailyStatsJpaRepository.sumOpenBalanceBefore(userId, date);
+    }
+
+    @Override
+    public List<TodoDailyStatsEntity> findBetween(Long userId, LocalDate from, LocalDate to) {
+        return todoDailyStatsJpaRepository.findByUserIdAndStatDateBetweenOrderByStatDateAsc(userId, from, to);
+    }
+}
@@ -1,45 +1,102 @@
 package com.zametech.todoapp.infrastructure.persistence.repository;
 
-import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoDue;
 import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.model.TodoVersion;
 import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * TODO JpaRepository
  */
 @Repository
-public interface TodoJpaRepository extends JpaRepository<TodoEntity, Long> {
+public interface TodoJpaRepository extends JpaRepository<TodoEntity, Long>, JpaSpecificationExecutor<TodoEntity> {
     
     /**
-     * ステータスでTODOを検索する
+     * ユーザーIDとIDでTODOの版情報のみを取得する（user_id でパーティションを絞った主キー検索、エンティティは読み込まない）
      */
-    List<TodoEntity> findByStatusOrderByCreatedAtDesc(TodoStatus status);
+    @Query("SELECT new com.zametech.todoapp.domain.model.TodoVersion(t.id, t.userId, t.version) "
+            + "FROM TodoEntity t WHERE t.id = :id AND t.userId = :userId")
+    Optional<TodoVersion> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
     
     /**
-     * 優先度でTODOを検索する
+     * ユーザーIDとIDでTODOを検索する（user_id でパーティションを絞った主キー検索）
      */
-    List<TodoEntity> findByPriorityOrderByCreatedAtDesc(TodoPriority priority);
+    Optional<TodoEntity> findByIdAndUserId(Long id, Long userId);
     
     /**
-     * 期限が指定日以前のTODOを検索する
+     * ユーザーの未完了TODOを期限順にキーセットページングで検索する
+     *
+     * <p>部分インデックス idx_todos_user_open_due の述語と一致させるため、
+     * DONEはパラメータではなくリテラルで書く（汎用プランでもインデックスが使われる）。
+     * リテラルはコンバーター経由で {@code status <> 2} として出力される。
      */
-    @Query("SELECT t FROM TodoEntity t WHERE t.dueDate <= :date AND t.status != :doneStatus ORDER BY t.dueDate ASC")
-    List<TodoEntity> findByDueDateBeforeAndNotDone(@Param("date") LocalDate date, 
-                                                    @Param("doneStatus") TodoStatus doneStatus);
+    @Query("SELECT t FROM TodoEntity t WHERE t.userId = :userId "
+            + "AND t.status <> com.zametech.todoapp.domain.model.TodoStatus.DONE "
+            + "AND (t.dueDate, t.id) > (:cursorDate, :cursorId) AND t.dueDate < :before "
+            + "ORDER BY t.dueDate ASC, t.id ASC")
+    List<TodoEntity> findOpenDueAfterCursor(@Param("userId") Long userId,
+                                            @Param("cursorDate") LocalDate cursorDate,
+                                            @Param("cursorId") Long cursorId,
+                                            @Param("before") LocalDate before,
+                                            Limit limit);
     
     /**
-     * タイトルに部分一致するTODOを検索する
+     * 全ユーザーの未完了TODOの期限をキーセットページングで検索する（部分インデックス idx_todos_due_date）
+     *
+     * <p>リマインダーの読み込み用。期限とIDだけを返すため、インデックスのみのスキャンで済む。
      */
-    List<TodoEntity> findByTitleContainingIgnoreCaseOrderByCreatedAtDesc(String keyword);
+    @Query("SELECT new com.zametech.todoapp.domain.model.TodoDue(t.id, t.dueDate) FROM TodoEntity t "
+            + "WHERE t.status <> com.zametech.todoapp.domain.model.TodoStatus.DONE "
+            + "AND (t.dueDate, t.id) > (:cursorDate, :cursorId) AND t.dueDate < :before "
+            + "ORDER BY t.dueDate ASC, t.id ASC")
+    List<TodoDue> findOpenDueAfter(@Param("cursorDate") LocalDate cursorDate,
+                                   @Param("cursorId") Long cursorId,
+                                   @Param("before") LocalDate before,
+                                   Limit limit);
+    
+    /**
+     * ユーザーの未完了TODOのうち期限が [from, before) のものを数える（idx_todos_user_open_due）
+     */
+    @Query("SELECT COUNT(t) FROM TodoEntity t WHERE t.userId = :userId "
+            + "AND t.status <> com.zametech.todoapp.domain.model.TodoStatus.DONE "
+            + "AND t.dueDate >= :from AND t.dueDate < :before")
+    long countOpenDueBetween(@Param("userId") Long userId,
+                             @Param("from") LocalDate from,
+                             @Param("before") LocalDate before);
+    
+    /**
+     * タイトルが類似するユーザーのTODOを類似度順に検索する（pg_trgm の % 演算子、GINインデックス利用）
+     */
+    @Query(value = "SELECT * FROM todos WHERE user_id = :userId AND title % :term "
+            + "ORDER BY similarity(title, :term) DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<TodoEntity> findByUserIdAndTitleSimilar(@Param("userId") Long userId,
+                                                 @Param("term") String term,
+                                                 @Param("limit") int limit);
+    
+    /**
+     * タイトルが類似するユーザーのTODOを類似度順に検索する（similarity() としきい値、H2互換）
+     */
+    @Query(value = "SELECT * FROM todos WHERE user_id = :userId AND similarity(title, :term) >= :threshold "
+            + "ORDER BY similarity(title, :term) DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<TodoEntity> findByUserIdAndTitleSimilarAbove(@Param("userId") Long userId,
+                                                      @Param("term") String term,
+                                                      @Param("threshold") double threshold,
+                                                      @Param("limit") int limit);
     
     /**
      * ユーザーIDでTODOを検索する
@@ -52,9 +109,60 @@ public interface TodoJpaRepository extends JpaRepository<TodoEntity, Long> {
     List<TodoEntity> findByUserIdAndStatusOrderByCreatedAtDesc(Long userId, TodoStatus status);
     
     /**
-     * ユーザーIDでTODOを検索する（ページング）
+     * ユーザーIDでTODOを検索する（ページング、並び順は Pageable のソートに従う）
+     */
+    Page<TodoEntity> findByUserId(Long userId, Pageable pageable);
+    
+    /**
+     * 差分同期用の変更連番を採番する
+     */
+    @Query(value = "SELECT nextval('todo_change_seq')", nativeQuery = true)
+    long nextChangeSeq();
+    
+    /**
+     * 差分同期用の変更連番を count 個まとめて採番する（1往復）
      */
-    Page<TodoEntity> findByUserIdOrderByCreatedAtDesc(Long userId, Pageable pageable);
+    @Query(value = "WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < :count) "
+            + "SELECT nextval('todo_change_seq') FROM n", nativeQuery = true)
+    List<Long> nextChangeSeqs(@Param("count") int count);
+    
+    /**
+     * テンプレートから作成済みのインスタンスの日付を検索する（ユーザーのパーティションの uq_todos_template_occurrence）
+     */
+    @Query("SELECT t.occurrenceDate FROM TodoEntity t WHERE t.userId = :userId AND t.templateId = :templateId "
+            + "AND t.occurrenceDate BETWEEN :from AND :through")
+    List<LocalDate> findOccurrenceDates(@Param("userId") Long userId,
+                                        @Param("templateId") Long templateId,
+                                        @Param("from") LocalDate from,
+                                        @Param("through") LocalDate through);
+    
+    /**
+     * 最終更新が cutoff より前のDONEのTODOのうち、子タスクも繰り返しルールもなく、
+     * 他のトランザクションがロックしていないものを更新日時順に最大 limit 件ロックして取得する
+     * （部分インデックス idx_todos_done_updated）
+     *
+     * <p>子タスクのあるTODOは ON DELETE CASCADE で子ごと消えるため対象外とし、子が先に移ってから移す。
+     * 子は親と同じユーザーのため、子の検索は親のユーザーのパーティションに絞る。
+     */
+    @Query(value = "SELECT * FROM todos t WHERE t.status = 2 AND t.updated_at < :cutoff "
+            + "AND NOT EXISTS (SELECT 1 FROM todos c WHERE c.user_id = t.user_id AND c.parent_id = t.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM todo_recurrences r WHERE r.todo_id = t.id) "
+            + "ORDER BY t.updated_at, t.id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TodoEntity> lockArchivable(@Param("cutoff") ZonedDateTime cutoff, @Param("limit") int limit);
+    
+    /**
+     * IDを指定してTODOを1文で削除する（読み込み済みのエンティティは永続化コンテキストから外す）
+     *
+     * <p>id は全体で一意だが、持ち主の user_id も条件に含めて削除するパーティションを絞る。
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM TodoEntity t WHERE t.userId IN :userIds AND t.id IN :ids")
+    int deleteByUserIdInAndIdIn(@Param("userIds") Collection<Long> userIds, @Param("ids") Collection<Long> ids);
+    
+    /**
+     * 変更連番より後に作成・更新されたユーザーのTODOを連番順に検索する（idx_todos_user_change_seq）
+     */
+    List<TodoEntity> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, Long changeSeq, Limit limit);
     
     /**
      * ユーザーIDですべてのTODOを削除する
@@ -62,7 +170,17 @@ public interface TodoJpaRepository extends JpaRepository<TodoEntity, Long> {
     void deleteByUserId(Long userId);
     
     /**
-     * 親タスクIDで子タスクを検索する
+     * 親タスクIDで子タスクを検索する（子は親と同じユーザーのため、user_id でパーティションを絞る）
+     */
+    List<TodoEntity> findByUserIdAndParentIdOrderByCreatedAtDesc(Long userId, Long parentId);
+    
+    /**
+     * ユーザーのTODOとその子孫を再帰CTEで1回で検索する（子は親と同じユーザーのため、各段を user_id で絞る）
      */
-    List<TodoEntity> findByParentIdOrderByCreatedAtDesc(Long parentId);
+    @Query(value = "WITH RECURSIVE subtree(id) AS ("
+            + "SELECT id FROM todos WHERE user_id = :userId AND id = :rootId "
+            + "UNION ALL "
+            + "SELECT c.id FROM todos c JOIN subtree s ON c.parent_id = s.id WHERE c.user_id = :userId) "
+            + "SELECT t.* FROM todos t JOIN subtree s ON t.id = s.id WHERE t.user_id = :userId", nativeQuery = true)
+    List<TodoEntity> findSubtree(@Param("userId") Long userId, @Param("rootId") Long rootId);
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * TODO変更イベントのアウトボックス JpaRepository
+ */
+@Repository
+public interface TodoOutboxJpaRepository extends JpaRepository<TodoOutboxEntity, Long> {
+
+    /**
+     * ID順に最大 limit 件をロックして取得する。他のリレーがロック中の行は待たずに飛ばす（主キー）
+     */
+    @Query(value = "SELECT * FROM todo_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<TodoOutboxEntity> lockNext(@Param("limit") int limit);
+}
@@ -0,0 +1,35 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.domain.repository.TodoOutboxRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoOutboxEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * TODO変更イベントのアウトボックスリポジトリ実装
+ */
+@Repository
+@RequiredArgsConstructor
+public class TodoOutboxRepositoryImpl implements TodoOutboxRepository {
+
+    private final TodoOutboxJpaRepository todoOutboxJpaRepository;
+
+    @Override
+    public void append(TodoOutboxEntity message) {
+        todoOutboxJpaRepository.save(message);
+    }
+
+    @Override
+    public List<TodoOutboxEntity> lockNext(int limit) {
+        return todoOutboxJpaRepository.lockNext(limit);
+    }
+
+    @Override
+    public void deleteAll(List<TodoOutboxEntity> messages) {
+        if (!messages.isEmpty()) {
+            todoOutboxJpaRepository.deleteAllInBatch(messages);
+        }
+    }
+}
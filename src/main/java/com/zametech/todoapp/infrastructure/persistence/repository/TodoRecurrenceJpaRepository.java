@@ -0,0 +1,35 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoRecurrenceEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * TODO繰り返しルール JpaRepository
+ */
+@Repository
+public interface TodoRecurrenceJpaRepository extends JpaRepository<TodoRecurrenceEntity, Long> {
+
+    /**
+     * ルールをロックして取得する（SELECT ... FOR UPDATE）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM TodoRecurrenceEntity r WHERE r.todoId = :todoId")
+    Optional<TodoRecurrenceEntity> lockById(@Param("todoId") Long todoId);
+
+    /**
+     * 延長日が来た、他のトランザクションがロックしていないルールを延長日順に最大 limit 件ロックして取得する
+     * （idx_todo_recurrences_next_run_on）
+     */
+    @Query(value = "SELECT * FROM todo_recurrences WHERE next_run_on <= :today "
+            + "ORDER BY next_run_on, todo_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TodoRecurrenceEntity> lockDue(@Param("today") LocalDate today, @Param("limit") int limit);
+}
@@ -0,0 +1,45 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.domain.repository.TodoRecurrenceRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoRecurrenceEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * TODO繰り返しルールリポジトリ実装
+ */
+@Repository
+@RequiredArgsConstructor
+public class TodoRecurrenceRepositoryImpl implements TodoRecurrenceRepository {
+
+    private final TodoRecurrenceJpaRepository todoRecurrenceJpaRepository;
+
+    @Override
+    public Optional<TodoRecurrenceEntity> findById(Long todoId) {
+        return todoRecurrenceJpaRepository.findById(todoId);
+    }
+
+    @Override
+    public Optional<TodoRecurrenceEntity> lockById(Long todoId) {
+        return todoRecurrenceJpaRepository.lockById(todoId);
+    }
+
+    @Override
+    public List<TodoRecurrenceEntity> lockDue(LocalDate today, int limit) {
+        return todoRecurrenceJpaRepository.lockDue(today, limit);
+    }
+
+    @Override
+    public TodoRecurrenceEntity save(TodoRecurrenceEntity recurrence) {
+        return todoRecurrenceJpaRepository.save(recurrence);
+    }
+
+    @Override
+    public void delete(TodoRecurrenceEntity recurrence) {
+        todoRecurrenceJpaRepository.delete(recurrence);
+    }
+}
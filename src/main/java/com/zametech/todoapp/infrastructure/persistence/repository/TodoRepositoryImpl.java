@@ -1,84 +1,184 @@
 package com.zametech.todoapp.infrastructure.persistence.repository;
 
-import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoDue;
+import com.zametech.todoapp.domain.model.TodoFilter;
 import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.model.TodoVersion;
 import com.zametech.todoapp.domain.repository.TodoRepository;
 import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.infrastructure.search.SearchProperties;
+import com.zametech.todoapp.infrastructure.sharding.ShardRouter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * TODOリポジトリ実装
+ *
+ * <p>シャーディングが有効なら、ユーザーを指定する操作は振り分け済みのシャードがそのユーザーの担当であることを確かめる
+ * （IDだけの操作は振り分け済みのシャードの中で行う）。
  */
 @Repository
 @RequiredArgsConstructor
 public class TodoRepositoryImpl implements TodoRepository {
 
     private final TodoJpaRepository todoJpaRepository;
+    private final SearchProperties searchProperties;
+    private final ShardRouter shardRouter;
 
     @Override
     public TodoEntity save(TodoEntity todo) {
+        shardRouter.checkLocal(todo.getUserId());
         return todoJpaRepository.save(todo);
     }
 
     @Override
-    public Optional<TodoEntity> findById(Long id) {
-        return todoJpaRepository.findById(id);
+    public List<TodoEntity> saveAll(List<TodoEntity> todos) {
+        todos.forEach(todo -> shardRouter.checkLocal(todo.getUserId()));
+        return todoJpaRepository.saveAll(todos);
     }
 
     @Override
-    public Page<TodoEntity> findAll(Pageable pageable) {
-        return todoJpaRepository.findAll(pageable);
+    public void flush() {
+        todoJpaRepository.flush();
     }
 
     @Override
-    public List<TodoEntity> findByStatus(TodoStatus status) {
-        return todoJpaRepository.findByStatusOrderByCreatedAtDesc(status);
+    public Optional<TodoEntity> findByIdAndUserId(Long id, Long userId) {
+        shardRouter.checkLocal(userId);
+        return todoJpaRepository.findByIdAndUserId(id, userId);
     }
 
     @Override
-    public List<TodoEntity> findByPriority(TodoPriority priority) {
-        return todoJpaRepository.findByPriorityOrderByCreatedAtDesc(priority);
+    public Optional<TodoVersion> findVersionByIdAndUserId(Long id, Long userId) {
+        shardRouter.checkLocal(userId);
+        return todoJpaRepository.findVersionByIdAndUserId(id, userId);
     }
 
     @Override
-    public List<TodoEntity> findByDueDateBefore(LocalDate date) {
-        return todoJpaRepository.findByDueDateBeforeAndNotDone(date, TodoStatus.DONE);
+    public List<TodoEntity> findAllById(Collection<Long> ids) {
+        shardRouter.checkBound();
+        return todoJpaRepository.findAllById(ids);
     }
 
     @Override
-    public void deleteById(Long id) {
-        todoJpaRepository.deleteById(id);
+    public void delete(TodoEntity todo) {
+        shardRouter.checkLocal(todo.getUserId());
+        todoJpaRepository.delete(todo);
     }
 
     @Override
-    public boolean existsById(Long id) {
-        return todoJpaRepository.existsById(id);
+    public Page<TodoEntity> findByUserId(Long userId, Pageable pageable) {
+        shardRouter.checkLocal(userId);
+        return todoJpaRepository.findByUserId(userId, pageable);
     }
 
     @Override
-    public Page<TodoEntity> findByUserId(Long userId, Pageable pageable) {
-        return todoJpaRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+    public Page<TodoEntity> findByUserIdAndFilter(Long userId, TodoFilter filter, Pageable pageable) {
+        shardRouter.checkLocal(userId);
+        return todoJpaRepository.findAll(TodoSpecifications.matching(userId, filter), pageable);
+    }
+
+    @Override
+    public List<TodoEntity> findAllByUserId(Long userId) {
+        shardRouter.checkLocal(userId);
+        return todoJpaRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    }
+
+    @Override
+    public List<TodoEntity> findOpenDueAfterCursor(Long userId, LocalDate cursorDate, Long cursorId,
+                                                   LocalDate before, int limit) {
+        shardRouter.checkLocal(userId);
+        return todoJpaRepository.findOpenDueAfterCursor(userId, cursorDate, cursorId, before, Limit.of(limit));
+    }
+
+    @Override
+    public List<TodoDue> findOpenDueAfter(LocalDate cursorDate, Long cursorId, LocalDate before, int limit) {
+        shardRouter.checkBound();
+        return todoJpaRepository.findOpenDueAfter(cursorDate, cursorId, before, Limit.of(limit));
+    }
+
+    @Override
+    public long countOpenDueBetween(Long userId, LocalDate from, LocalDate before) {
+        shardRouter.checkLocal(userId);
+        return todoJpaRepository.countOpenDueBetween(userId, from, before);
+    }
+
+    @Override
+    public List<TodoEntity> findByUserIdAndTitleSimilarTo(Long userId, String term, int limit) {
+        shardRouter.checkLocal(userId);
+        if (searchProperties.isTrigramOperator()) {
+            return todoJpaRepository.findByUserIdAndTitleSimilar(userId, term, limit);
+        }
+        return todoJpaRepository.findByUserIdAndTitleSimilarAbove(
+            userId, term, searchProperties.getSimilarityThreshold(), limit);
     }
 
     @Override
     public List<TodoEntity> findByUserIdAndStatus(Long userId, TodoStatus status) {
+        shardRouter.checkLocal(userId);
         return todoJpaRepository.findByUserIdAndStatusOrderByCreatedAtDesc(userId, status);
     }
+
+    @Override
+    public long nextChangeSeq() {
+        return todoJpaRepository.nextChangeSeq();
+    }
+
+    @Override
+    public List<Long> nextChangeSeqs(int count) {
+        if (count == 0) {
+            return List.of();
+        }
+        return todoJpaRepository.nextChangeSeqs(count).stream().sorted().toList();
+    }
+
+    @Override
+    public List<LocalDate> findOccurrenceDates(Long userId, Long templateId, LocalDate from, LocalDate through) {
+        shardRouter.checkLocal(userId);
+        return todoJpaRepository.findOccurrenceDates(userId, templateId, from, through);
+    }
+
+    @Override
+    public List<TodoEntity> lockArchivable(ZonedDateTime cutoff, int limit) {
+        return todoJpaRepository.lockArchivable(cutoff, limit);
+    }
+
+    @Override
+    public int deleteAllById(Collection<Long> userIds, Collection<Long> ids) {
+        return todoJpaRepository.deleteByUserIdInAndIdIn(userIds, ids);
+    }
+
+    @Override
+    public List<TodoEntity> findChangedAfter(Long userId, long changeSeq, int limit) {
+        shardRouter.checkLocal(userId);
+        return todoJpaRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(
+            userId, changeSeq, Limit.of(limit));
+    }
     
     @Override
     public void deleteByUserId(Long userId) {
+        shardRouter.checkLocal(userId);
         todoJpaRepository.deleteByUserId(userId);
     }
     
     @Override
-    public List<TodoEntity> findByParentId(Long parentId) {
-        return todoJpaRepository.findByParentIdOrderByCreatedAtDesc(parentId);
+    public List<TodoEntity> findByParentId(Long userId, Long parentId) {
+        shardRouter.checkLocal(userId);
+        return todoJpaRepository.findByUserIdAndParentIdOrderByCreatedAtDesc(userId, parentId);
+    }
+    
+    @Override
+    public List<TodoEntity> findSubtree(Long userId, Long rootId) {
+        shardRouter.checkLocal(userId);
+        return todoJpaRepository.findSubtree(userId, rootId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.domain.model.TodoFilter;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import jakarta.persistence.criteria.Predicate;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TODO検索条件の Specification
+ *
+ * <p>絞り込み条件を1本のSQLにまとめる。先頭は必ず user_id の等価条件にして、
+ * (user_id, ...) 複合インデックスの範囲走査になるようにする。
+ */
+final class TodoSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TodoSpecifications() {
+    }
+
+    static Specification<TodoEntity> matching(Long userId, TodoFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("userId"), userId));
+            
+            if (filter.statuses() != null && !filter.statuses().isEmpty()) {
+                predicates.add(root.get("status").in(filter.statuses()));
+            }
+            if (filter.priorities() != null && !filter.priorities().isEmpty()) {
+                predicates.add(root.get("priority").in(filter.priorities()));
+            }
+            if (filter.dueAfter() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), filter.dueAfter()));
+            }
+            if (filter.dueBefore() != null) {
+                predicates.add(cb.lessThan(root.get("dueDate"), filter.dueBefore()));
+            }
+            if (filter.parentId() != null) {
+                predicates.add(cb.equal(root.get("parentId"), filter.parentId()));
+            }
+            if (filter.rootOnly() != null) {
+                predicates.add(filter.rootOnly()
+                    ? cb.isNull(root.get("parentId"))
+                    : cb.isNotNull(root.get("parentId")));
+            }
+            if (filter.text() != null && !filter.text().isBlank()) {
+                // PostgreSQLでは ILIKE になり、タイトルのtrigram GINインデックスが使える
+                HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+                predicates.add(hcb.ilike(root.get("title"), "%" + escapeLike(filter.text()) + "%", LIKE_ESCAPE));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static String escapeLike(String text) {
+        return text
+            .replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,32 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoStatusEventEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * TODOステータス遷移イベント JpaRepository
+ */
+@Repository
+public interface TodoStatusEventJpaRepository extends JpaRepository<TodoStatusEventEntity, Long> {
+
+    /**
+     * 未集計のイベントをID順に最大 limit 件ロックして取得する。他の集計ジョブがロック中の行は待たずに飛ばす
+     * （idx_todo_status_events_pending）
+     */
+    @Query(value = "SELECT * FROM todo_status_events WHERE NOT rolled_up "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<TodoStatusEventEntity> lockPending(@Param("limit") int limit);
+
+    /**
+     * イベントを集計済みにする（主キー）
+     */
+    @Modifying
+    @Query("UPDATE TodoStatusEventEntity e SET e.rolledUp = true WHERE e.id IN :ids")
+    int markRolledUp(@Param("ids") List<Long> ids);
+}
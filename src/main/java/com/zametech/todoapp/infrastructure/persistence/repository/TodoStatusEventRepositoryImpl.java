@@ -0,0 +1,37 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.domain.repository.TodoStatusEventRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoStatusEventEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * TODOステータス遷移イベントリポジトリ実装
+ */
+@Repository
+@RequiredArgsConstructor
+public class TodoStatusEventRepositoryImpl implements TodoStatusEventRepository {
+
+    private final TodoStatusEventJpaRepository todoStatusEventJpaRepository;
+
+    @Override
+    public void appendAll(List<TodoStatusEventEntity> events) {
+        if (!events.isEmpty()) {
+            todoStatusEventJpaRepository.saveAll(events);
+        }
+    }
+
+    @Override
+    public List<TodoStatusEventEntity> lockPending(int limit) {
+        return todoStatusEventJpaRepository.lockPending(limit);
+    }
+
+    @Override
+    public void markRolledUp(List<Long> ids) {
+        if (!ids.isEmpty()) {
+            todoStatusEventJpaRepository.markRolledUp(ids);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoTombstoneEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * TODO墓標 JpaRepository
+ */
+@Repository
+public interface TodoTombstoneJpaRepository extends JpaRepository<TodoTombstoneEntity, Long> {
+
+    /**
+     * 変更連番を採番して墓標を追加する
+     */
+    @Modifying
+    @Query(value = "INSERT INTO todo_tombstones (todo_id, user_id, change_seq, deleted_at) "
+            + "VALUES (:todoId, :userId, nextval('todo_change_seq'), CURRENT_TIMESTAMP)", nativeQuery = true)
+    int insert(@Param("todoId") Long todoId, @Param("userId") Long userId);
+
+    /**
+     * 変更連番より後に削除されたユーザーのTODOの墓標を連番順に検索する（idx_todo_tombstones_user_change_seq）
+     */
+    List<TodoTombstoneEntity> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, Long changeSeq,
+                                                                                     Limit limit);
+
+    /**
+     * 削除日時が before より前の墓標を削除する（idx_todo_tombstones_deleted_at）
+     */
+    @Modifying
+    @Query("DELETE FROM TodoTombstoneEntity t WHERE t.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") ZonedDateTime before);
+}
@@ -0,0 +1,36 @@
+package com.zametech.todoapp.infrastructure.persistence.repository;
+
+import com.zametech.todoapp.domain.repository.TodoTombstoneRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoTombstoneEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * TODO墓標リポジトリ実装
+ */
+@Repository
+@RequiredArgsConstructor
+public class TodoTombstoneRepositoryImpl implements TodoTombstoneRepository {
+
+    private final TodoTombstoneJpaRepository todoTombstoneJpaRepository;
+
+    @Override
+    public void record(Long todoId, Long userId) {
+        todoTombstoneJpaRepository.insert(todoId, userId);
+    }
+
+    @Override
+    public List<TodoTombstoneEntity> findDeletedAfter(Long userId, long changeSeq, int limit) {
+        return todoTombstoneJpaRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(
+            userId, changeSeq, Limit.of(limit));
+    }
+
+    @Override
+    public int purgeDeletedBefore(ZonedDateTime before) {
+        return todoTombstoneJpaRepository.deleteByDeletedAtBefore(before);
+    }
+}
@@ -3,6 +3,7 @@ package com.zametech.todoapp.infrastructure.persistence.repository;
 import com.zametech.todoapp.domain.model.User;
 import com.zametech.todoapp.domain.repository.UserRepository;
 import com.zametech.todoapp.infrastructure.persistence.entity.UserEntity;
+import com.zametech.todoapp.infrastructure.sharding.ShardUserReplicator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
@@ -13,16 +14,28 @@ import java.util.Optional;
 public class UserRepositoryImpl implements UserRepository {
 
     private final UserJpaRepository userJpaRepository;
+    private final ShardUserReplicator shardUserReplicator;
 
     @Override
     public Optional<User> findByEmail(String email) {
         return userJpaRepository.findByEmail(email).map(this::toModel);
     }
 
+    /**
+     * 保存したユーザーは担当シャードにも写す（新規登録で写せなければ登録を取り消す）
+     */
     @Override
     public User save(User user) {
         UserEntity entity = toEntity(user);
         UserEntity savedEntity = userJpaRepository.save(entity);
+        try {
+            shardUserReplicator.replicate(savedEntity);
+        } catch (RuntimeException e) {
+            if (user.getId() == null) {
+                userJpaRepository.deleteById(savedEntity.getId());
+            }
+            throw e;
+        }
         return toModel(savedEntity);
     }
 
@@ -41,9 +54,13 @@ public class UserRepositoryImpl implements UserRepository {
         return userJpaRepository.existsByUsername(username);
     }
 
+    /**
+     * ディレクトリから消し、コミットされてから担当シャードのユーザー（とそのデータ）を消す
+     */
     @Override
     public void deleteById(Long id) {
         userJpaRepository.deleteById(id);
+        shardUserReplicator.removeAfterCommit(id);
     }
 
     @Override
@@ -0,0 +1,154 @@
+package com.zametech.todoapp.infrastructure.ratelimit;
+
+import com.zametech.todoapp.common.config.RateLimitProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 同時処理数の公平な割り当て
+ *
+ * <p>処理中のリクエストが同時処理数（DB接続プールの大きさ）未満なら、待たずにすぐ処理する。
+ * 埋まっている間に届いたリクエストは待ち行列に入り、空きが出るたびに処理中の件数が最も少ないユーザーの
+ * 一番古いリクエストから割り当てる（全ユーザー同じ重みの重み付き公平キューイング）。
+ * 待ちが発生している間は、1ユーザーの処理中の件数を同時処理数の一定割合までに抑える。
+ */
+@Component
+public class FairShareScheduler {
+
+    private final int capacity;
+    private final int maxPerUser;
+    private final long queueTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Integer> inFlightByUser = new HashMap<>();
+    private final List<Waiter> waiters = new ArrayList<>();
+    private int inFlight;
+
+    @Autowired
+    public FairShareScheduler(RateLimitProperties properties) {
+        this(properties.getConcurrency(), properties.getMaxShare(), properties.getQueueTimeout());
+    }
+
+    FairShareScheduler(int capacity, double maxShare, Duration queueTimeout) {
+        this.capacity = Math.max(1, capacity);
+        this.maxPerUser = Math.max(1, (int) Math.floor(this.capacity * maxShare));
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+    }
+
+    /**
+     * 処理枠を1つ取得する（空きがなければ割り当てを待つ）
+     *
+     * @return 取得できた場合 true、待ち時間を超えた場合 false
+     */
+    public boolean acquire(Long userId) throws InterruptedException {
+        lock.lock();
+        try {
+            if (waiters.isEmpty() && inFlight < capacity) {
+                admit(userId);
+                return true;
+            }
+            Waiter waiter = new Waiter(userId, lock.newCondition());
+            waiters.add(waiter);
+            dispatch();
+            long remaining = queueTimeoutNanos;
+            try {
+                while (!waiter.admitted) {
+                    if (remaining <= 0) {
+                        waiters.remove(waiter);
+                        return false;
+                    }
+                    remaining = waiter.ready.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                if (waiter.admitted) {
+                    releaseLocked(userId);
+                } else {
+                    waiters.remove(waiter);
+                }
+                throw e;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 処理枠を返し、待っているリクエストに割り当てる
+     */
+    public void release(Long userId) {
+        lock.lock();
+        try {
+            releaseLocked(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 処理中の件数
+     */
+    public int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseLocked(Long userId) {
+        inFlight--;
+        inFlightByUser.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+        dispatch();
+    }
+
+    private void admit(Long userId) {
+        inFlight++;
+        inFlightByUser.merge(userId, 1, Integer::sum);
+    }
+
+    /**
+     * 空いている枠を、処理中の件数が少ないユーザーの古いリクエストから割り当てる
+     */
+    private void dispatch() {
+        while (inFlight < capacity) {
+            Waiter next = null;
+            int nextCount = maxPerUser;
+            for (Waiter waiter : waiters) {
+                int count = inFlightByUser.getOrDefault(waiter.userId, 0);
+                if (count < nextCount) {
+                    next = waiter;
+                    nextCount = count;
+                }
+            }
+            if (next == null) {
+                return;
+            }
+            waiters.remove(next);
+            admit(next.userId);
+            next.admitted = true;
+            next.ready.signal();
+        }
+    }
+
+    private static final class Waiter {
+
+        private final Long userId;
+        private final Condition ready;
+        private boolean admitted;
+
+        Waiter(Long userId, Condition ready) {
+            this.userId = userId;
+            this.ready = ready;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.zametech.todoapp.infrastructure.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ロックを使わないトークンバケット
+ *
+ * <p>トークン数の代わりに「バケットが満杯に戻る理論上の時刻」を1つの {@link AtomicLong} で持ち、
+ * CASで進める（GCRA）。1回の取得は読み出しとCASだけで済み、競合してもやり直すだけでブロックしない。
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param ratePerSecond 1秒あたりに補充するトークン数
+     * @param burst         バケットの容量
+     * @param nowNanos      現在時刻（満杯の状態で始める）
+     */
+    TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        this.emissionIntervalNanos = Math.max(1L, Math.round(1_000_000_000L / ratePerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(1, burst) - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * トークンを1つ取得する
+     *
+     * @return 取得できた場合 0、できなかった場合は次のトークンまでの待ち時間（ナノ秒）
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long start = Math.max(current, nowNanos);
+            long wait = start - burstToleranceNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 満杯に戻っているか（破棄しても新しいバケットと区別できない）
+     */
+    boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+}
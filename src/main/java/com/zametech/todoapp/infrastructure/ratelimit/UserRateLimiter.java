@@ -0,0 +1,45 @@
+package com.zametech.todoapp.infrastructure.ratelimit;
+
+import com.zametech.todoapp.common.config.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ユーザーIDごとのトークンバケットによるリクエスト数の制限
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserRateLimiter {
+
+    private final RateLimitProperties rateLimitProperties;
+    private final Map<Long, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * ユーザーのトークンを1つ取得する
+     *
+     * @return 取得できた場合 0、できなかった場合は次のトークンまでの待ち時間（ナノ秒）
+     */
+    public long tryAcquire(Long userId) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(userId, id -> new TokenBucket(
+            rateLimitProperties.getRequestsPerSecond(), rateLimitProperties.getBurst(), now));
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * 満杯に戻ったバケットを破棄する（次のリクエストで満杯のバケットを作り直すのと同じ）
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:PT1M}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        log.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+    }
+}
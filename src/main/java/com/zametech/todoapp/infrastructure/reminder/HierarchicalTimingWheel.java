@@ -0,0 +1,292 @@
+package com.zametech.todoapp.infrastructure.reminder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * 階層タイミングホイール
+ *
+ * <p>64スロットのホイールを4段重ね、tick 単位の期限を持つタイマーを O(1) で登録・取消する。
+ * 上の段のタイマーは、時刻がそのスロットに達したときに下の段へ移す（カスケード）。
+ * 1段目は1tick、4段目は 64^3 tick ごとのスロットで、64^4 tick より先の期限は4段目で待たせる。
+ *
+ * <p>数百万件を保持できるよう、タイマーはオブジェクトにせずプリミティブ配列に持つ（1件あたり数十バイト）。
+ * キーごとに1件で、同じキーを登録し直すと置き換える。各操作は短時間のロックで行う。
+ */
+public class HierarchicalTimingWheel {
+
+    private static final int LEVEL_BITS = 6;
+    private static final int SLOTS = 1 << LEVEL_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY = (1L << (LEVEL_BITS * LEVELS)) - 1;
+    private static final int NONE = -1;
+
+    private final long tickMillis;
+    private final long originMillis;
+    private final int[] heads = new int[LEVELS * SLOTS];
+    private long currentTick;
+
+    // タイマー（添字で参照し、空きは next でつないで再利用する）
+    private long[] keys;
+    private long[] expiries;
+    private int[] tags;
+    private int[] next;
+    private int[] prev;
+    private int[] buckets;
+    private int allocated;
+    private int freeHead = NONE;
+    private int size;
+
+    // キー → タイマーの添字（線形探索のオープンアドレス法）
+    private long[] indexKeys;
+    private int[] indexTimers;
+    private int indexMask;
+
+    public HierarchicalTimingWheel(Duration tick, Instant start, int initialCapacity) {
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.originMillis = start.toEpochMilli();
+        int capacity = Math.max(16, initialCapacity);
+        this.keys = new long[capacity];
+        this.expiries = new long[capacity];
+        this.tags = new int[capacity];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        this.buckets = new int[capacity];
+        Arrays.fill(heads, NONE);
+        resizeIndex(Integer.highestOneBit(capacity) * 4);
+    }
+
+    /**
+     * 期限に達したタイマーを受け取る（ロック中に呼ばれるため、重い処理や例外を投げる処理をしない）
+     */
+    @FunctionalInterface
+    public interface Expired {
+
+        void accept(long key, int tag);
+    }
+
+    /**
+     * キーのタイマーを登録する（既にあれば置き換える）
+     *
+     * @param deadline 期限（tick 単位に切り上げる。過ぎていれば次の tick で期限切れにする）
+     * @param tag      期限切れのときに一緒に返す値
+     */
+    public synchronized void schedule(long key, Instant deadline, int tag) {
+        long expiry = Math.max(currentTick + 1, Math.ceilDiv(deadline.toEpochMilli() - originMillis, tickMillis));
+        int timer = find(key);
+        if (timer == NONE) {
+            timer = allocate();
+            keys[timer] = key;
+            putIndex(key, timer);
+            size++;
+        } else {
+            unlink(timer);
+        }
+        expiries[timer] = expiry;
+        tags[timer] = tag;
+        link(timer);
+    }
+
+    /**
+     * キーのタイマーを取り消す
+     *
+     * @return 登録されていた場合 true
+     */
+    public synchronized boolean cancel(long key) {
+        int timer = find(key);
+        if (timer == NONE) {
+            return false;
+        }
+        unlink(timer);
+        release(timer);
+        return true;
+    }
+
+    /**
+     * 指定時刻まで進め、期限に達したタイマーを取り除いて渡す
+     */
+    public synchronized void advance(Instant now, Expired expired) {
+        long target = Math.floorDiv(now.toEpochMilli() - originMillis, tickMillis);
+        if (size == 0) {
+            currentTick = Math.max(currentTick, target);
+            return;
+        }
+        while (currentTick < target) {
+            currentTick++;
+            // 上の段から順に、このtickで始まるスロットを下の段へ移す
+            for (int level = LEVELS - 1; level > 0; level--) {
+                int shift = LEVEL_BITS * level;
+                if ((currentTick & ((1L << shift) - 1)) == 0) {
+                    cascade(level * SLOTS + (int) ((currentTick >>> shift) & SLOT_MASK));
+                }
+            }
+            int bucket = (int) (currentTick & SLOT_MASK);
+            int timer = heads[bucket];
+            heads[bucket] = NONE;
+            while (timer != NONE) {
+                int following = next[timer];
+                long key = keys[timer];
+                int tag = tags[timer];
+                release(timer);
+                expired.accept(key, tag);
+                timer = following;
+            }
+        }
+    }
+
+    /**
+     * 登録中のタイマー数
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    private void cascade(int bucket) {
+        int timer = heads[bucket];
+        heads[bucket] = NONE;
+        while (timer != NONE) {
+            int following = next[timer];
+            link(timer);
+            timer = following;
+        }
+    }
+
+    /**
+     * 期限までの tick 数から段を決め、その段で期限を含むスロットにつなぐ
+     */
+    private void link(int timer) {
+        long delay = Math.min(Math.max(expiries[timer] - currentTick, 0), MAX_DELAY);
+        int level = 0;
+        while (delay >= 1L << (LEVEL_BITS * (level + 1))) {
+            level++;
+        }
+        int bucket = level * SLOTS + (int) (((currentTick + delay) >>> (LEVEL_BITS * level)) & SLOT_MASK);
+        int head = heads[bucket];
+        prev[timer] = NONE;
+        next[timer] = head;
+        if (head != NONE) {
+            prev[head] = timer;
+        }
+        heads[bucket] = timer;
+        buckets[timer] = bucket;
+    }
+
+    private void unlink(int timer) {
+        int before = prev[timer];
+        int after = next[timer];
+        if (before == NONE) {
+            heads[buckets[timer]] = after;
+        } else {
+            next[before] = after;
+        }
+        if (after != NONE) {
+            prev[after] = before;
+        }
+    }
+
+    private int allocate() {
+        if (freeHead != NONE) {
+            int timer = freeHead;
+            freeHead = next[timer];
+            return timer;
+        }
+        if (allocated == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            expiries = Arrays.copyOf(expiries, capacity);
+            tags = Arrays.copyOf(tags, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            buckets = Arrays.copyOf(buckets, capacity);
+        }
+        return allocated++;
+    }
+
+    /**
+     * リストから外したタイマーを索引から消し、空きにする
+     */
+    private void release(int timer) {
+        removeIndex(keys[timer]);
+        next[timer] = freeHead;
+        freeHead = timer;
+        size--;
+    }
+
+    private int find(long key) {
+        int slot = hash(key) & indexMask;
+        while (indexTimers[slot] != NONE) {
+            if (indexKeys[slot] == key) {
+                return indexTimers[slot];
+            }
+            slot = (slot + 1) & indexMask;
+        }
+        return NONE;
+    }
+
+    private void putIndex(long key, int timer) {
+        if ((size + 1) * 2 > indexTimers.length) {
+            resizeIndex(indexTimers.length * 2);
+        }
+        int slot = hash(key) & indexMask;
+        while (indexTimers[slot] != NONE) {
+            slot = (slot + 1) & indexMask;
+        }
+        indexKeys[slot] = key;
+        indexTimers[slot] = timer;
+    }
+
+    /**
+     * 削除した位置へ後続の要素を詰め直す（墓標を残さない）
+     */
+    private void removeIndex(long key) {
+        int slot = hash(key) & indexMask;
+        while (indexKeys[slot] != key || indexTimers[slot] == NONE) {
+            slot = (slot + 1) & indexMask;
+        }
+        indexTimers[slot] = NONE;
+        int hole = slot;
+        while (true) {
+            slot = (slot + 1) & indexMask;
+            if (indexTimers[slot] == NONE) {
+                return;
+            }
+            int home = hash(indexKeys[slot]) & indexMask;
+            boolean movable = hole <= slot ? home <= hole || home > slot : home <= hole && home > slot;
+            if (movable) {
+                indexKeys[hole] = indexKeys[slot];
+                indexTimers[hole] = indexTimers[slot];
+                indexTimers[slot] = NONE;
+                hole = slot;
+            }
+        }
+    }
+
+    private void resizeIndex(int capacity) {
+        long[] oldKeys = indexKeys;
+        int[] oldTimers = indexTimers;
+        indexKeys = new long[capacity];
+        indexTimers = new int[capacity];
+        indexMask = capacity - 1;
+        Arrays.fill(indexTimers, NONE);
+        if (oldTimers == null) {
+            return;
+        }
+        for (int i = 0; i < oldTimers.length; i++) {
+            if (oldTimers[i] != NONE) {
+                int slot = hash(oldKeys[i]) & indexMask;
+                while (indexTimers[slot] != NONE) {
+                    slot = (slot + 1) & indexMask;
+                }
+                indexKeys[slot] = oldKeys[i];
+                indexTimers[slot] = oldTimers[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,45 @@
+package com.zametech.todoapp.infrastructure.reminder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * リマインダーをログに出す送信先（ローカル用の既定）
+ *
+ * <p>{@code TODO_REMINDERS} ロガーに1件1行のJSONで出す（logback-spring.xml でファイルに書く）。
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.reminders", name = "notifier", havingValue = "log", matchIfMissing = true)
+public class LogTodoReminderNotifier implements TodoReminderNotifier {
+
+    private final ObjectMapper objectMapper;
+    private final Logger output;
+
+    @Autowired
+    public LogTodoReminderNotifier(ObjectMapper objectMapper) {
+        this(objectMapper, LoggerFactory.getLogger("TODO_REMINDERS"));
+    }
+
+    LogTodoReminderNotifier(ObjectMapper objectMapper, Logger output) {
+        this.objectMapper = objectMapper;
+        this.output = output;
+    }
+
+    @Override
+    public void notify(List<TodoReminder> reminders) {
+        for (TodoReminder reminder : reminders) {
+            try {
+                output.info(objectMapper.writeValueAsString(reminder));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to write reminder for todo: " + reminder.todoId(), e);
+            }
+        }
+    }
+}
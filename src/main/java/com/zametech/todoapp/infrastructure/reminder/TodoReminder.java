@@ -0,0 +1,18 @@
+package com.zametech.todoapp.infrastructure.reminder;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+/**
+ * 送信するリマインダー
+ *
+ * @param remindAt 予定していた送信時刻
+ */
+public record TodoReminder(
+    Long todoId,
+    Long userId,
+    String title,
+    LocalDate dueDate,
+    ZonedDateTime remindAt
+) {
+}
@@ -0,0 +1,13 @@
+package com.zametech.todoapp.infrastructure.reminder;
+
+import java.util.List;
+
+/**
+ * リマインダーの送信先
+ *
+ * <p>期限に達したリマインダーがまとめて渡される。失敗しても送り直さない（次の機会はない）。
+ */
+public interface TodoReminderNotifier {
+
+    void notify(List<TodoReminder> reminders);
+}
@@ -0,0 +1,87 @@
+package com.zametech.todoapp.infrastructure.replica;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ユーザーごとの最後の書き込みのコミット時刻
+ *
+ * <p>書き込みから {@code stickiness} の間はそのユーザーの読み取りをプライマリで行い、
+ * レプリカの遅延で自分の書き込みが見えなくなるのを防ぐ。ユーザーは認証済みのプリンシパル名で区別する
+ * （接続を選ぶ時点でデータベースを引かずに決められる）。
+ *
+ * <p>記録はノードごとのメモリにしかないため、ロードバランサーの後ろで別のノードに届いた読み取りには効かない
+ * （自分の書き込みが見えることはノード内でしか保証しない）。
+ */
+public class ReadYourWrites {
+
+    private final Duration stickiness;
+    private final Clock clock;
+    private final Map<String, Instant> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(Duration stickiness) {
+        this(stickiness, Clock.systemUTC());
+    }
+
+    ReadYourWrites(Duration stickiness, Clock clock) {
+        this.stickiness = stickiness;
+        this.clock = clock;
+    }
+
+    public void recordWrite(String user) {
+        lastWrites.put(user, clock.instant());
+    }
+
+    /**
+     * 現在のトランザクションのコミット時に書き込みを記録する（トランザクションの外なら今記録する）
+     */
+    public void recordWriteAfterCommit(String user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordWrite(user);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(user);
+            }
+        });
+    }
+
+    /**
+     * 書き込みから stickiness が過ぎていなければ true
+     */
+    public boolean isSticky(String user) {
+        Instant lastWrite = lastWrites.get(user);
+        return lastWrite != null && clock.instant().isBefore(lastWrite.plus(stickiness));
+    }
+
+    /**
+     * stickiness が過ぎた記録を捨てる
+     */
+    public void evictExpired() {
+        Instant expired = clock.instant().minus(stickiness);
+        lastWrites.values().removeIf(lastWrite -> !lastWrite.isAfter(expired));
+    }
+
+    /**
+     * 現在のスレッドの認証済みユーザーのプリンシパル名。未認証なら null
+     */
+    static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,83 @@
+package com.zametech.todoapp.infrastructure.replica;
+
+import com.zametech.todoapp.common.config.ReplicaProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * レプリカの遅延を定期的に測り、使えるかを判断する
+ *
+ * <p>遅延が {@code max-lag} 以下のときだけ使える。測れなかった場合と、最初に測るまでは使わない。
+ * 読み取りでレプリカに接続できなかった場合も、次に測るまで使わない。
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate replica;
+    private final ReplicaProperties replicaProperties;
+    private final ReadYourWrites readYourWrites;
+    private final Counter failures;
+    private volatile boolean healthy;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(DataSource replica, ReplicaProperties replicaProperties,
+                             ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.replicaProperties = replicaProperties;
+        this.readYourWrites = readYourWrites;
+        Gauge.builder("app.replica.lag", this, monitor -> monitor.lagSeconds)
+            .description("Replication lag of the read replica at the last check")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("app.replica.healthy", this, monitor -> monitor.healthy ? 1 : 0)
+            .description("Whether read-only transactions are sent to the replica")
+            .register(meterRegistry);
+        this.failures = Counter.builder("app.replica.check.failures")
+            .description("Replica lag checks that could not reach the replica")
+            .register(meterRegistry);
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * 遅延を測り直す（期限切れの書き込み記録もここで捨てる）
+     */
+    @Scheduled(fixedDelayString = "${app.replica.check-interval:PT1S}")
+    public void check() {
+        readYourWrites.evictExpired();
+        Double lag;
+        try {
+            lag = replica.queryForObject(replicaProperties.getLagQuery(), Double.class);
+        } catch (RuntimeException e) {
+            failures.increment();
+            markUnhealthy(e);
+            return;
+        }
+        lagSeconds = lag != null ? lag : 0;
+        boolean withinLimit = lagSeconds * 1000 <= replicaProperties.getMaxLag().toMillis();
+        if (withinLimit != healthy) {
+            log.info("Replica {} (lag {} s)", withinLimit ? "is back in use" : "lags behind, reading from primary",
+                lagSeconds);
+        }
+        healthy = withinLimit;
+    }
+
+    /**
+     * 次に測るまでレプリカを使わない
+     */
+    void markUnhealthy(Exception cause) {
+        if (healthy) {
+            log.warn("Replica is unreachable, reading from primary", cause);
+        }
+        healthy = false;
+        lagSeconds = Double.NaN;
+    }
+}
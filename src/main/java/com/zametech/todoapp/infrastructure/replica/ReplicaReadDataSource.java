@@ -0,0 +1,84 @@
+package com.zametech.todoapp.infrastructure.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 読み取り専用トランザクションの接続先
+ *
+ * <p>レプリカに接続する。ただし、レプリカが使えないとき（遅延・接続失敗）と、
+ * 現在のユーザーが直前に書き込んだとき（{@link ReadYourWrites}）はプライマリに接続する。
+ */
+public class ReplicaReadDataSource extends AbstractDataSource {
+
+    private final DataSource replica;
+    private final DataSource primary;
+    private final ReadYourWrites readYourWrites;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter replicaReads;
+    private final Counter unhealthyReads;
+    private final Counter recentWriteReads;
+
+    public ReplicaReadDataSource(DataSource replica, DataSource primary, ReadYourWrites readYourWrites,
+                                 ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.primary = primary;
+        this.readYourWrites = readYourWrites;
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.replicaReads = reads(meterRegistry, "replica", "read_only");
+        this.unhealthyReads = reads(meterRegistry, "primary", "replica_unhealthy");
+        this.recentWriteReads = reads(meterRegistry, "primary", "recent_write");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(Connector connector) throws SQLException {
+        if (!replicaLagMonitor.isHealthy()) {
+            unhealthyReads.increment();
+            return connector.connect(primary);
+        }
+        String user = ReadYourWrites.currentUser();
+        if (user != null && readYourWrites.isSticky(user)) {
+            recentWriteReads.increment();
+            return connector.connect(primary);
+        }
+        try {
+            Connection connection = connector.connect(replica);
+            replicaReads.increment();
+            return connection;
+        } catch (SQLException e) {
+            replicaLagMonitor.markUnhealthy(e);
+            unhealthyReads.increment();
+            return connector.connect(primary);
+        }
+    }
+
+    /**
+     * 接続の取り方（プールの認証情報か、指定の認証情報か）
+     */
+    @FunctionalInterface
+    private interface Connector {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static Counter reads(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("app.replica.reads")
+            .description("Read-only transactions by the database they were sent to")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
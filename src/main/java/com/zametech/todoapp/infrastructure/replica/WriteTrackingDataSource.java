@@ -0,0 +1,49 @@
+package com.zametech.todoapp.infrastructure.replica;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * プライマリへの書き込みを、コミット時にユーザーの書き込みとして記録する
+ *
+ * <p>トランザクションの外で取った接続は書き込みに使うものとして、取った時点で記録する。
+ * 未認証のリクエスト（ユーザー登録）の書き込みはここでは記録できないため、呼び出し側で記録する。
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private final ReadYourWrites readYourWrites;
+
+    public WriteTrackingDataSource(DataSource primary, ReadYourWrites readYourWrites) {
+        super(primary);
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        track();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        track();
+        return connection;
+    }
+
+    private void track() {
+        String user = ReadYourWrites.currentUser();
+        if (user == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.recordWriteAfterCommit(user);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 日本語向けの文字bigramトークナイザー
+ *
+ * <p>分かち書きを行わず、NFKC正規化・小文字化したテキストを
+ * 連続する2文字単位のキーに分解する。1文字の検索語にも対応するため、
+ * 各文字はunigramキーとしても出力する。キーは2つのUTF-16コード単位を
+ * 1つのintに詰めたもので、unigramは下位16bitが0になる。
+ */
+public final class BigramTokenizer {
+
+    private BigramTokenizer() {
+    }
+
+    /**
+     * 全角英数字・半角カナなどを揃え、大文字小文字を区別しない形にする
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 正規化済みテキストの索引キー（unigram + bigram、重複なし・昇順）
+     */
+    public static int[] indexKeys(String normalized) {
+        int[] keys = new int[normalized.length() * 2];
+        int count = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            keys[count++] = unigram(c);
+            if (i + 1 < normalized.length() && !Character.isWhitespace(normalized.charAt(i + 1))) {
+                keys[count++] = bigram(c, normalized.charAt(i + 1));
+            }
+        }
+        return distinct(keys, count);
+    }
+
+    /**
+     * 正規化済みの検索語（空白を含まない）を照合するためのキー
+     *
+     * <p>2文字以上ならbigramのみ、1文字ならunigramを返す。
+     */
+    public static int[] queryKeys(String term) {
+        if (term.length() == 1) {
+            return new int[] {unigram(term.charAt(0))};
+        }
+        int[] keys = new int[term.length() - 1];
+        for (int i = 0; i + 1 < term.length(); i++) {
+            keys[i] = bigram(term.charAt(i), term.charAt(i + 1));
+        }
+        return distinct(keys, keys.length);
+    }
+
+    static int unigram(char c) {
+        return c << 16;
+    }
+
+    static int bigram(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    private static int[] distinct(int[] keys, int count) {
+        if (count == 0) {
+            return new int[0];
+        }
+        Arrays.sort(keys, 0, count);
+        int unique = 1;
+        for (int i = 1; i < count; i++) {
+            if (keys[i] != keys[unique - 1]) {
+                keys[unique++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, unique);
+    }
+}
@@ -0,0 +1,89 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import java.util.Arrays;
+
+/**
+ * 昇順に並んだ文書番号の転置リスト
+ *
+ * <p>ボクシングを避けるため {@code int[]} をそのまま保持する。
+ * 文書番号は作成順に払い出されるため、追加はほぼ末尾への追記になる。
+ */
+final class IntPostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] docs = new int[INITIAL_CAPACITY];
+    private int size;
+
+    void add(int doc) {
+        if (size > 0 && docs[size - 1] < doc) {
+            append(doc);
+            return;
+        }
+        int pos = Arrays.binarySearch(docs, 0, size, doc);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(docs, insertAt, docs, insertAt + 1, size - insertAt);
+        docs[insertAt] = doc;
+        size++;
+    }
+
+    void remove(int doc) {
+        int pos = Arrays.binarySearch(docs, 0, size, doc);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(docs, pos + 1, docs, pos, size - pos - 1);
+        size--;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(docs, size);
+    }
+
+    /**
+     * 昇順配列同士の積集合をとる
+     */
+    static int[] intersect(int[] left, IntPostingList right) {
+        int[] result = new int[Math.min(left.length, right.size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.size) {
+            int a = left[i];
+            int b = right.docs[j];
+            if (a == b) {
+                result[count++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void append(int doc) {
+        ensureCapacity(size + 1);
+        docs[size++] = doc;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > docs.length) {
+            docs = Arrays.copyOf(docs, Math.max(required, docs.length + (docs.length >> 1)));
+        }
+    }
+}
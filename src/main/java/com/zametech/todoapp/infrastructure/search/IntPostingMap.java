@@ -0,0 +1,114 @@
+package com.zametech.todoapp.infrastructure.search;
+
+/**
+ * 索引キー（int）から転置リストへの対応表
+ *
+ * <p>キーをボクシングしないよう、線形探索のオープンアドレス法で {@code int[]} に直接持つ。
+ * 削除では後続の要素を詰め直すため、墓標は残らない。
+ */
+final class IntPostingMap {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private IntPostingList[] values = new IntPostingList[INITIAL_CAPACITY];
+    private int size;
+
+    IntPostingList get(int key) {
+        int slot = find(key);
+        return slot < 0 ? null : values[slot];
+    }
+
+    /**
+     * キーの転置リストを返す。なければ空のリストを作って登録する
+     */
+    IntPostingList getOrCreate(int key) {
+        int slot = find(key);
+        if (slot >= 0) {
+            return values[slot];
+        }
+        if ((size + 1) * 4 > keys.length * 3) {
+            grow();
+        }
+        IntPostingList list = new IntPostingList();
+        insert(key, list);
+        return list;
+    }
+
+    void remove(int key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return;
+        }
+        int mask = keys.length - 1;
+        values[slot] = null;
+        size--;
+        // 削除した位置へ、本来もっと手前に入るべき後続の要素を移す
+        int hole = slot;
+        for (int i = (slot + 1) & mask; values[i] != null; i = (i + 1) & mask) {
+            int home = mix(keys[i]) & mask;
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                values[i] = null;
+                hole = i;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    void clear() {
+        keys = new int[INITIAL_CAPACITY];
+        values = new IntPostingList[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(int key, IntPostingList list) {
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        while (values[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = list;
+        size++;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        IntPostingList[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new IntPostingList[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * bigramキーは上位16bitに1文字目が入るため、下位ビットへ散らしてから剰余をとる
+     */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
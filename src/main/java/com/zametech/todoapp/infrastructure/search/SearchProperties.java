@@ -0,0 +1,37 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 検索機能の設定
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.search")
+@Getter
+@Setter
+public class SearchProperties {
+
+    /**
+     * あいまい検索でpg_trgmの % 演算子（GINインデックス利用）を使うか。
+     * falseの場合は similarity() 関数としきい値で絞り込む（H2向け）。
+     */
+    private boolean trigramOperator = true;
+
+    /**
+     * similarity() で絞り込む場合のしきい値（pg_trgm.similarity_threshold の既定値と同じ）
+     */
+    private double similarityThreshold = 0.3;
+
+    /**
+     * 入力補完辞書の推定メモリ量の上限（全ユーザー合計、バイト）
+     */
+    private long suggestMaxBytes = 64L * 1024 * 1024;
+
+    /**
+     * 全文検索インデックスの推定メモリ量の上限（全ユーザー合計、バイト）
+     */
+    private long textIndexMaxBytes = 256L * 1024 * 1024;
+}
@@ -0,0 +1,72 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 入力補完用のタイトル辞書キャッシュ
+ *
+ * <p>ユーザーごとの {@link TitleSuggestions} を初回照会時に読み込み、
+ * コミット済みの変更イベントで更新する（読み込み中の変更は読み込み後に適用する）。
+ * 推定メモリ量の合計が上限を超えたら最も長く使われていないユーザーから破棄する。
+ */
+@Component
+@Slf4j
+public class TitleSuggestionIndex {
+
+    private final TodoRepository todoRepository;
+    private final UserIndexCache<TitleSuggestions> entries;
+
+    public TitleSuggestionIndex(TodoRepository todoRepository, SearchProperties searchProperties) {
+        this.todoRepository = todoRepository;
+        this.entries = new UserIndexCache<>(
+            searchProperties::getSuggestMaxBytes, TitleSuggestions::estimatedBytes, TitleSuggestionIndex::apply);
+    }
+
+    /**
+     * 接頭辞に一致するタイトル候補を返す
+     */
+    public List<String> suggest(Long userId, String prefix, int limit) {
+        return entries.get(userId, this::load).suggest(prefix, limit);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTodoChanged(TodoChangedEvent event) {
+        entries.apply(event);
+    }
+
+    /**
+     * ユーザーの辞書を破棄する（次回照会時に再読み込み）
+     */
+    public void evict(Long userId) {
+        entries.evict(userId);
+    }
+
+    long totalBytes() {
+        return entries.totalBytes();
+    }
+
+    private TitleSuggestions load(Long userId) {
+        TitleSuggestions loaded = new TitleSuggestions();
+        for (TodoEntity todo : todoRepository.findAllByUserId(userId)) {
+            loaded.put(todo.getId(), todo.getTitle());
+        }
+        log.debug("Loaded title suggestions for user: {}", userId);
+        return loaded;
+    }
+
+    private static void apply(TitleSuggestions suggestions, TodoChangedEvent event) {
+        if (event.type() == TodoChangedEvent.Type.DELETED) {
+            suggestions.remove(event.todoId());
+        } else {
+            suggestions.put(event.todoId(), event.current().getTitle());
+        }
+    }
+}
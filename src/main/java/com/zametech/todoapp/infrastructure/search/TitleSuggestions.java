@@ -0,0 +1,181 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 1ユーザー分のタイトル前方一致辞書
+ *
+ * <p>タイトル全体と、空白で区切られた各語から始まる部分をキーとして
+ * ソート済み配列に並べ、二分探索で前方一致の範囲を求める。
+ * 書き込みでは増減したタイトルのキーだけを配列へ挿入・削除するため、照会時に作り直すことはない。
+ */
+final class TitleSuggestions {
+
+    /** 短い接頭辞で候補が膨らんだ場合に走査するキー数の上限 */
+    private static final int MAX_SCANNED_KEYS = 2_000;
+
+    private final Map<Long, String> titleByTodoId = new HashMap<>();
+    private final Map<String, Title> titles = new HashMap<>();
+
+    private String[] keys = new String[16];
+    private Title[] keyTitle = new Title[16];
+    private int keyCount;
+    private long estimatedBytes = 64;
+
+    synchronized void put(long todoId, String title) {
+        String previous = titleByTodoId.put(todoId, title);
+        if (previous != null) {
+            if (previous.equals(title)) {
+                return;
+            }
+            release(previous, todoId);
+        } else {
+            estimatedBytes += 48;
+        }
+        Title entry = titles.get(title);
+        if (entry == null) {
+            entry = new Title(title);
+            titles.put(title, entry);
+            estimatedBytes += 40 + title.length() * 2L + 32;
+            for (String key : keysOf(title)) {
+                insertKey(key, entry);
+            }
+        }
+        entry.count++;
+        entry.latestId = Math.max(entry.latestId, todoId);
+    }
+
+    synchronized void remove(long todoId) {
+        String previous = titleByTodoId.remove(todoId);
+        if (previous != null) {
+            estimatedBytes -= 48;
+            release(previous, todoId);
+        }
+    }
+
+    /**
+     * 接頭辞に一致するタイトルを、同じタイトルのTODO数・新しさの順で返す
+     */
+    synchronized List<String> suggest(String prefix, int limit) {
+        String normalized = BigramTokenizer.normalize(prefix).strip();
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        int from = lowerBound(normalized);
+        Set<Title> seen = new HashSet<>();
+        List<Title> matched = new ArrayList<>();
+        for (int i = from; i < keyCount && i - from < MAX_SCANNED_KEYS && keys[i].startsWith(normalized); i++) {
+            Title title = keyTitle[i];
+            if (seen.add(title)) {
+                matched.add(title);
+            }
+        }
+        matched.sort((a, b) -> a.count != b.count
+            ? Integer.compare(b.count, a.count)
+            : Long.compare(b.latestId, a.latestId));
+        return matched.stream()
+            .limit(limit)
+            .map(title -> title.text)
+            .toList();
+    }
+
+    synchronized long estimatedBytes() {
+        return estimatedBytes + keys.length * 8L;
+    }
+
+    /**
+     * タイトルからTODOを1件外し、最後の1件ならキーも削除する
+     */
+    private void release(String text, long todoId) {
+        Title entry = titles.get(text);
+        entry.count--;
+        if (entry.count == 0) {
+            titles.remove(text);
+            estimatedBytes -= 40 + text.length() * 2L + 32;
+            for (String key : keysOf(text)) {
+                removeKey(key, entry);
+            }
+        } else if (entry.latestId == todoId) {
+            // 最新のTODOが外れた場合だけ、残りから最新のIDを求め直す
+            entry.latestId = titleByTodoId.entrySet().stream()
+                .filter(e -> e.getValue().equals(text))
+                .mapToLong(Map.Entry::getKey)
+                .max()
+                .orElse(0L);
+        }
+    }
+
+    private void insertKey(String key, Title title) {
+        if (keyCount == keys.length) {
+            int capacity = keyCount + (keyCount >> 1);
+            keys = Arrays.copyOf(keys, capacity);
+            keyTitle = Arrays.copyOf(keyTitle, capacity);
+        }
+        int at = lowerBound(key);
+        System.arraycopy(keys, at, keys, at + 1, keyCount - at);
+        System.arraycopy(keyTitle, at, keyTitle, at + 1, keyCount - at);
+        keys[at] = key;
+        keyTitle[at] = title;
+        keyCount++;
+        estimatedBytes += 40 + key.length() * 2L + 8;
+    }
+
+    private void removeKey(String key, Title title) {
+        for (int i = lowerBound(key); i < keyCount && keys[i].equals(key); i++) {
+            if (keyTitle[i] == title) {
+                System.arraycopy(keys, i + 1, keys, i, keyCount - i - 1);
+                System.arraycopy(keyTitle, i + 1, keyTitle, i, keyCount - i - 1);
+                keyCount--;
+                keys[keyCount] = null;
+                keyTitle[keyCount] = null;
+                estimatedBytes -= 40 + key.length() * 2L + 8;
+                return;
+            }
+        }
+    }
+
+    /**
+     * タイトル全体と、空白に続く各語から始まる部分（正規化済み）
+     */
+    private static List<String> keysOf(String title) {
+        String normalized = BigramTokenizer.normalize(title).strip();
+        List<String> result = new ArrayList<>();
+        for (int start = 0; start < normalized.length(); start++) {
+            boolean wordStart = start == 0 || Character.isWhitespace(normalized.charAt(start - 1));
+            if (wordStart && !Character.isWhitespace(normalized.charAt(start))) {
+                result.add(normalized.substring(start));
+            }
+        }
+        return result;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keyCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class Title {
+        private final String text;
+        private int count;
+        private long latestId;
+
+        private Title(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.Todo;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * ユーザー単位のTODO全文検索インデックス
+ *
+ * <p>PostgreSQLの既定パーサーは日本語を分かち書きできないため、
+ * タイトルと説明をbigramでプロセス内に索引する。インデックスは初回検索時に
+ * ユーザーのTODOから構築し、以降はコミット済みの変更イベントで差分更新する。
+ * 推定メモリ量の合計が上限を超えたら、最も長く使われていないユーザーから破棄する。
+ */
+@Component
+@Slf4j
+public class TodoTextIndex {
+
+    private final TodoRepository todoRepository;
+    private final UserIndexCache<UserTextIndex> indexes;
+
+    public TodoTextIndex(TodoRepository todoRepository, SearchProperties searchProperties) {
+        this.todoRepository = todoRepository;
+        this.indexes = new UserIndexCache<>(
+            searchProperties::getTextIndexMaxBytes, UserTextIndex::estimatedBytes, TodoTextIndex::apply);
+    }
+
+    /**
+     * 検索語をすべて含むTODOのIDを新しい順に返す
+     */
+    public List<Long> search(Long userId, String query, int limit) {
+        return indexes.get(userId, this::build).search(query, limit);
+    }
+
+    /**
+     * コミット済みの変更を構築済みインデックスへ反映する
+     *
+     * <p>未構築のユーザーは次回検索時にまとめて読み込むため何もしない。
+     * 構築中のユーザーの変更は、構築後に適用する。
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTodoChanged(TodoChangedEvent event) {
+        indexes.apply(event);
+    }
+
+    /**
+     * ユーザーのインデックスを破棄する（次回検索時に再構築）
+     */
+    public void evict(Long userId) {
+        indexes.evict(userId);
+    }
+
+    long totalBytes() {
+        return indexes.totalBytes();
+    }
+
+    private UserTextIndex build(Long userId) {
+        long started = System.nanoTime();
+        List<TodoEntity> todos = todoRepository.findAllByUserId(userId);
+        UserTextIndex index = new UserTextIndex();
+        todos.stream()
+            .sorted(Comparator.comparing(TodoEntity::getId))
+            .forEach(todo -> index.put(todo.getId(), text(todo.getTitle(), todo.getDescription())));
+        log.debug("Built text index for user: {} ({} todos, {} ms)",
+            userId, index.documentCount(), (System.nanoTime() - started) / 1_000_000);
+        return index;
+    }
+
+    private static void apply(UserTextIndex index, TodoChangedEvent event) {
+        if (event.type() == TodoChangedEvent.Type.DELETED) {
+            index.remove(event.todoId());
+        } else {
+            index.put(event.todoId(), text(event.current()));
+        }
+    }
+
+    private static String text(Todo todo) {
+        return text(todo.getTitle(), todo.getDescription());
+    }
+
+    private static String text(String title, String description) {
+        return description == null ? title : title + "\n" + description;
+    }
+}
@@ -0,0 +1,163 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * ユーザー単位の索引を、推定メモリ量の合計に上限をつけて保持するLRUキャッシュ
+ *
+ * <p>未読み込みのユーザーには先に枠を置いてからDBを読む。読み込み中にコミットされた変更イベントは
+ * 枠にためておき、読み込んだ索引へ順に適用してから公開するため取りこぼさない。
+ * DBの読み込みと索引の更新はキャッシュのロックの外で行い、他のユーザーを待たせない。
+ *
+ * @param <V> ユーザー1人分の索引
+ */
+final class UserIndexCache<V> {
+
+    private final LongSupplier maxBytes;
+    private final ToLongFunction<V> sizer;
+    private final BiConsumer<V, TodoChangedEvent> applier;
+
+    private final LinkedHashMap<Long, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * @param maxBytes 推定メモリ量の上限（設定変更を反映するため毎回読む）
+     * @param sizer    索引の推定メモリ量
+     * @param applier  変更イベントを索引へ反映する処理
+     */
+    UserIndexCache(LongSupplier maxBytes, ToLongFunction<V> sizer, BiConsumer<V, TodoChangedEvent> applier) {
+        this.maxBytes = maxBytes;
+        this.sizer = sizer;
+        this.applier = applier;
+    }
+
+    /**
+     * ユーザーの索引を返す。未読み込みなら loader で読み込む（同じユーザーの同時読み込みは1回にまとめる）
+     */
+    V get(Long userId, Function<Long, V> loader) {
+        Entry<V> entry;
+        boolean owner = false;
+        synchronized (this) {
+            entry = entries.get(userId);
+            if (entry == null) {
+                entry = new Entry<>();
+                entries.put(userId, entry);
+                owner = true;
+            }
+        }
+        if (!owner) {
+            return await(entry);
+        }
+
+        V value;
+        try {
+            value = loader.apply(userId);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                entries.remove(userId, entry);
+            }
+            entry.loaded.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            // 読み込み中にためた変更を適用してから公開する
+            entry.pending.forEach(event -> applier.accept(value, event));
+            entry.pending = null;
+            entry.value = value;
+        }
+        entry.loaded.complete(value);
+        resize(userId, value);
+        return value;
+    }
+
+    /**
+     * コミット済みの変更を読み込み済み（または読み込み中）のユーザーの索引へ反映する
+     */
+    void apply(TodoChangedEvent event) {
+        V value;
+        synchronized (this) {
+            Entry<V> entry = entries.get(event.userId());
+            if (entry == null) {
+                return;
+            }
+            if (entry.value == null) {
+                entry.pending.add(event);
+                return;
+            }
+            value = entry.value;
+        }
+        applier.accept(value, event);
+        resize(event.userId(), value);
+    }
+
+    /**
+     * ユーザーの索引を破棄する（次回参照時に再読み込み）
+     */
+    synchronized void evict(Long userId) {
+        Entry<V> removed = entries.remove(userId);
+        if (removed != null) {
+            totalBytes -= removed.bytes;
+        }
+    }
+
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private V await(Entry<V> entry) {
+        try {
+            return entry.loaded.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void resize(Long userId, V value) {
+        long bytes = sizer.applyAsLong(value);
+        synchronized (this) {
+            Entry<V> entry = entries.get(userId);
+            if (entry == null || entry.value != value) {
+                return;
+            }
+            totalBytes += bytes - entry.bytes;
+            entry.bytes = bytes;
+            evictOverBudget(userId);
+        }
+    }
+
+    private void evictOverBudget(Long currentUserId) {
+        long budget = maxBytes.getAsLong();
+        Iterator<Map.Entry<Long, Entry<V>>> it = entries.entrySet().iterator();
+        while (totalBytes > budget && it.hasNext()) {
+            Map.Entry<Long, Entry<V>> eldest = it.next();
+            // 使用中のユーザーと読み込み中の枠は残す
+            if (eldest.getKey().equals(currentUserId) || eldest.getValue().value == null) {
+                continue;
+            }
+            totalBytes -= eldest.getValue().bytes;
+            it.remove();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final CompletableFuture<V> loaded = new CompletableFuture<>();
+        private List<TodoChangedEvent> pending = new ArrayList<>();
+        private V value;
+        private long bytes;
+    }
+}
@@ -0,0 +1,221 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 1ユーザー分のbigram転置インデックス
+ *
+ * <p>TODO IDを内部の連番（文書番号）に置き換え、転置リストは
+ * {@link IntPostingList} で保持する。bigramの積集合は候補の絞り込みにすぎないため、
+ * 最後に正規化済みテキストへの部分一致で確定させる。
+ *
+ * <p>削除した文書の番号は空きのまま残し、空きが半分を超えたら生きている文書を
+ * 作成順のまま詰め直して転置リストを作り直す。
+ */
+final class UserTextIndex {
+
+    private static final int COMPACT_MIN_DOCS = 64;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IntPostingMap postings = new IntPostingMap();
+    private final Map<Long, Integer> docByTodoId = new HashMap<>();
+    private long[] todoIdByDoc = new long[16];
+    private String[] textByDoc = new String[16];
+    private int nextDoc;
+    private long postingEntries;
+    private long textChars;
+
+    /**
+     * 文書を追加または置き換える
+     */
+    void put(long todoId, String text) {
+        String normalized = BigramTokenizer.normalize(text);
+        lock.writeLock().lock();
+        try {
+            Integer existing = docByTodoId.get(todoId);
+            int doc;
+            if (existing != null) {
+                doc = existing;
+                unindex(doc);
+            } else {
+                doc = allocate(todoId);
+            }
+            index(doc, normalized);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long todoId) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docByTodoId.remove(todoId);
+            if (doc != null) {
+                unindex(doc);
+                if (nextDoc >= COMPACT_MIN_DOCS && docByTodoId.size() * 2 < nextDoc) {
+                    compact();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 空白区切りの各語をすべて部分文字列として含むTODOのIDを新しい順に返す
+     */
+    List<Long> search(String query, int limit) {
+        String[] terms = BigramTokenizer.normalize(query).trim().split("\\s+");
+        if (terms.length == 0 || terms[0].isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int[] candidates = null;
+            for (String term : terms) {
+                candidates = match(term, candidates);
+                if (candidates.length == 0) {
+                    return List.of();
+                }
+            }
+            List<Long> result = new ArrayList<>(Math.min(limit, candidates.length));
+            for (int i = candidates.length - 1; i >= 0 && result.size() < limit; i--) {
+                int doc = candidates[i];
+                if (containsAll(textByDoc[doc], terms)) {
+                    result.add(todoIdByDoc[doc]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int documentCount() {
+        lock.readLock().lock();
+        try {
+            return docByTodoId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 推定メモリ量（バイト）。キャッシュの上限判定に使う概算
+     */
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return 128
+                + todoIdByDoc.length * 12L
+                + docByTodoId.size() * (64L + 40)
+                + textChars * 2
+                + postings.capacity() * 8L
+                + postings.size() * 48L
+                + postingEntries * 6;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] match(String term, int[] candidates) {
+        int[] keys = BigramTokenizer.queryKeys(term);
+        IntPostingList[] lists = new IntPostingList[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            lists[i] = postings.get(keys[i]);
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        // 短いリストから順に積集合をとる
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+        int[] result = candidates;
+        for (IntPostingList list : lists) {
+            result = result == null ? list.toArray() : IntPostingList.intersect(result, list);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static boolean containsAll(String text, String[] terms) {
+        if (text == null) {
+            return false;
+        }
+        for (String term : terms) {
+            if (!text.contains(term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int allocate(long todoId) {
+        int doc = nextDoc++;
+        if (doc == todoIdByDoc.length) {
+            int capacity = doc + (doc >> 1);
+            todoIdByDoc = Arrays.copyOf(todoIdByDoc, capacity);
+            textByDoc = Arrays.copyOf(textByDoc, capacity);
+        }
+        todoIdByDoc[doc] = todoId;
+        docByTodoId.put(todoId, doc);
+        return doc;
+    }
+
+    private void index(int doc, String normalized) {
+        textByDoc[doc] = normalized;
+        textChars += normalized.length();
+        for (int key : BigramTokenizer.indexKeys(normalized)) {
+            postings.getOrCreate(key).add(doc);
+            postingEntries++;
+        }
+    }
+
+    private void unindex(int doc) {
+        String previous = textByDoc[doc];
+        if (previous == null) {
+            return;
+        }
+        for (int key : BigramTokenizer.indexKeys(previous)) {
+            IntPostingList list = postings.get(key);
+            if (list != null) {
+                list.remove(doc);
+                postingEntries--;
+                if (list.isEmpty()) {
+                    postings.remove(key);
+                }
+            }
+        }
+        textByDoc[doc] = null;
+        textChars -= previous.length();
+    }
+
+    /**
+     * 生きている文書を作成順のまま0から詰め直し、転置リストを作り直す
+     */
+    private void compact() {
+        long[] oldTodoIds = todoIdByDoc;
+        String[] oldTexts = textByDoc;
+        int oldNext = nextDoc;
+        int capacity = Math.max(16, docByTodoId.size() + (docByTodoId.size() >> 1));
+        todoIdByDoc = new long[capacity];
+        textByDoc = new String[capacity];
+        nextDoc = 0;
+        postings.clear();
+        postingEntries = 0;
+        textChars = 0;
+        docByTodoId.clear();
+        for (int doc = 0; doc < oldNext; doc++) {
+            if (oldTexts[doc] != null) {
+                index(allocate(oldTodoIds[doc]), oldTexts[doc]);
+            }
+        }
+    }
+}
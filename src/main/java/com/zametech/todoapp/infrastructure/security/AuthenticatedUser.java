@@ -0,0 +1,22 @@
+package com.zametech.todoapp.infrastructure.security;
+
+import lombok.Getter;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.List;
+
+/**
+ * 認証済みユーザー（ユーザーIDを持つ UserDetails）
+ *
+ * <p>JWT認証で読み込んだユーザーのIDを保持し、リクエスト制限などで再検索せずに使えるようにする。
+ */
+@Getter
+public class AuthenticatedUser extends User {
+
+    private final Long id;
+
+    public AuthenticatedUser(Long id, String email, String password, boolean enabled) {
+        super(email, password, enabled, true, true, true, List.of());
+        this.id = id;
+    }
+}
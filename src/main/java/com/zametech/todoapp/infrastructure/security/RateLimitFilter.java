@@ -0,0 +1,98 @@
+package com.zametech.todoapp.infrastructure.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zametech.todoapp.common.exception.GlobalExceptionHandler.ErrorResponse;
+import com.zametech.todoapp.infrastructure.ratelimit.FairShareScheduler;
+import com.zametech.todoapp.infrastructure.ratelimit.UserRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 認証済みユーザーごとのリクエスト制限フィルター（JwtAuthenticationFilter の後に置く）
+ *
+ * <p>トークンバケットでリクエスト数を制限し（超えたら429）、同時処理数を公平に割り当てる（待ちきれなければ503）。
+ * 未認証のリクエストは制限せずに通し、認可で401にする。
+ * サーブレットフィルターとして二重に登録されないよう、Beanにせず SecurityConfig で組み立てる。
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final UserRateLimiter userRateLimiter;
+    private final FairShareScheduler fairShareScheduler;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Long userId = currentUserId();
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = userRateLimiter.tryAcquire(userId);
+        if (waitNanos > 0) {
+            log.warn("Rate limit exceeded for user: {}", userId);
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, "RATE_LIMITED",
+                "リクエストが多すぎます。しばらくしてから再試行してください",
+                Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+            return;
+        }
+
+        boolean admitted;
+        try {
+            admitted = fairShareScheduler.acquire(userId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            log.warn("Request queue timed out for user: {}", userId);
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, "SERVER_BUSY",
+                "混雑しています。しばらくしてから再試行してください", 1);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            fairShareScheduler.release(userId);
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String code, String message,
+                        long retryAfterSeconds) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(code, message, ZonedDateTime.now()));
+    }
+}
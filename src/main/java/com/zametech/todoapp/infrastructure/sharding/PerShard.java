@@ -0,0 +1,19 @@
+package com.zametech.todoapp.infrastructure.sharding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 全ユーザーを対象にする定期ジョブ。シャーディングが有効なら、シャードごとに振り分けて1回ずつ実行する
+ *
+ * <p>トランザクションより外側で振り分けるため、1回の実行（トランザクション）が複数のシャードにまたがることはない。
+ * 戻り値は捨てるため、void のメソッドに付ける。
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PerShard {
+}
@@ -0,0 +1,45 @@
+package com.zametech.todoapp.infrastructure.sharding;
+
+import com.zametech.todoapp.common.exception.CrossShardOperationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * {@link PerShard} のメソッドを、シャードごとに振り分けて実行する
+ *
+ * <p>1台のシャードで失敗しても、残りのシャードの実行は続ける。振り分け済みのスレッドからは呼べない。
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class PerShardInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<ShardRouter> shardRouter;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ShardRouter router = shardRouter.getObject();
+        if (!router.isEnabled() || !(invocation instanceof ProxyMethodInvocation proxyInvocation)) {
+            return invocation.proceed();
+        }
+        if (ShardContext.currentShard() != null) {
+            throw new CrossShardOperationException(invocation.getMethod().getName()
+                + " runs on every shard and cannot be called while bound to shard " + ShardContext.currentShard());
+        }
+
+        for (String shard : router.shardNames()) {
+            ShardContext.bind(shard, null);
+            try {
+                proxyInvocation.invocableClone().proceed();
+            } catch (Throwable e) {
+                log.warn("{} failed on shard {}", invocation.getMethod().getName(), shard, e);
+            } finally {
+                ShardContext.clear();
+            }
+        }
+        return null;
+    }
+}
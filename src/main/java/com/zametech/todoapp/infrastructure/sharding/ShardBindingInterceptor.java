@@ -0,0 +1,53 @@
+package com.zametech.todoapp.infrastructure.sharding;
+
+import com.zametech.todoapp.application.service.UserContextService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * {@link UserSharded} のコントローラーへのリクエストを、認証済みユーザーの担当シャードに振り分ける
+ *
+ * <p>ユーザーIDはまだ振り分けていない（ディレクトリに接続する）うちに {@link UserContextService} で解決する。
+ * 振り分けはリクエストの完了時（非同期リクエストではスレッドを手放すとき）に解除する。
+ */
+@RequiredArgsConstructor
+public class ShardBindingInterceptor implements AsyncHandlerInterceptor {
+
+    private final ShardRouter shardRouter;
+    private final UserContextService userContextService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method
+                && method.getBeanType().isAnnotationPresent(UserSharded.class)
+                && isAuthenticated()) {
+            Long userId = userContextService.getCurrentUserId();
+            ShardContext.bind(shardRouter.shardFor(userId), userId);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ShardContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ShardContext.clear();
+    }
+
+    private static boolean isAuthenticated() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+            && authentication.getPrincipal() instanceof UserDetails;
+    }
+}
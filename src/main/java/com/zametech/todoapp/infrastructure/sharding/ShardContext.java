@@ -0,0 +1,57 @@
+package com.zametech.todoapp.infrastructure.sharding;
+
+import com.zametech.todoapp.common.exception.CrossShardOperationException;
+
+/**
+ * 現在のスレッドが振り分けられたシャード
+ *
+ * <p>接続はトランザクションの開始時に取得されるため、トランザクションより前に振り分ける。
+ * 振り分けたまま別のシャードに振り分け直すことはできない（シャードをまたぐトランザクションを作らない）。
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Binding> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    /**
+     * 振り分け先のシャード。振り分けていなければ null（ディレクトリに接続する）
+     */
+    public static String currentShard() {
+        Binding binding = CURRENT.get();
+        return binding != null ? binding.shard() : null;
+    }
+
+    /**
+     * 振り分けたユーザーのID。ユーザーを決めずに振り分けた場合（定期ジョブ）は null
+     */
+    public static Long currentUserId() {
+        Binding binding = CURRENT.get();
+        return binding != null ? binding.userId() : null;
+    }
+
+    /**
+     * シャードに振り分ける（同じシャードへの振り分け直しは何もしない）
+     *
+     * @throws CrossShardOperationException 別のシャードに振り分け済みの場合
+     */
+    public static void bind(String shard, Long userId) {
+        Binding current = CURRENT.get();
+        if (current != null) {
+            if (!current.shard().equals(shard)) {
+                throw new CrossShardOperationException(
+                    "Already bound to shard " + current.shard() + ", cannot switch to " + shard);
+            }
+            return;
+        }
+        CURRENT.set(new Binding(shard, userId));
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    private record Binding(String shard, Long userId) {
+    }
+}
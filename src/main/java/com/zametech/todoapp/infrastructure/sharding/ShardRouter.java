@@ -0,0 +1,127 @@
+package com.zametech.todoapp.infrastructure.sharding;
+
+import com.zametech.todoapp.common.config.ShardingProperties;
+import com.zametech.todoapp.common.exception.CrossShardOperationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ユーザーIDから担当シャードを決める
+ *
+ * <p>連番のユーザーIDが偏らないよう、IDを混ぜてからバケットに分ける。
+ * 設定の読み込み時に、すべてのバケットにちょうど1台のシャードが割り当てられていることを確かめる。
+ */
+@Component
+public class ShardRouter {
+
+    private final boolean enabled;
+    private final List<String> shardNames;
+    private final String[] bucketOwners;
+
+    public ShardRouter(ShardingProperties properties) {
+        this.enabled = properties.isEnabled();
+        if (!enabled) {
+            this.shardNames = List.of();
+            this.bucketOwners = new String[0];
+            return;
+        }
+
+        if (properties.getBuckets() <= 0) {
+            throw new IllegalStateException("app.sharding.buckets must be positive");
+        }
+        List<String> names = new ArrayList<>();
+        String[] owners = new String[properties.getBuckets()];
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            if (shard.getName() == null || names.contains(shard.getName())) {
+                throw new IllegalStateException("Shard names must be present and unique: " + shard.getName());
+            }
+            names.add(shard.getName());
+            for (String range : shard.getBuckets()) {
+                assign(owners, shard.getName(), range);
+            }
+        }
+        for (int bucket = 0; bucket < owners.length; bucket++) {
+            if (owners[bucket] == null) {
+                throw new IllegalStateException("Bucket " + bucket + " is not assigned to any shard");
+            }
+        }
+        this.shardNames = List.copyOf(names);
+        this.bucketOwners = owners;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 設定順のシャード名
+     */
+    public List<String> shardNames() {
+        return shardNames;
+    }
+
+    /**
+     * ユーザーの担当シャード
+     */
+    public String shardFor(Long userId) {
+        return bucketOwners[bucketOf(userId, bucketOwners.length)];
+    }
+
+    /**
+     * 振り分け済みのシャードがこのユーザーの担当であることを確かめる（シャーディング無効なら何もしない）
+     *
+     * @throws CrossShardOperationException 振り分けていない、または別のシャードに振り分け済みの場合
+     */
+    public void checkLocal(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        String bound = ShardContext.currentShard();
+        String owner = shardFor(userId);
+        if (!owner.equals(bound)) {
+            throw new CrossShardOperationException(bound == null
+                ? "No shard bound for user " + userId + " (owned by " + owner + ")"
+                : "User " + userId + " is owned by " + owner + ", not the bound shard " + bound);
+        }
+    }
+
+    /**
+     * シャードに振り分け済みであることを確かめる（ユーザーを決めない全件のクエリ用。シャーディング無効なら何もしない）
+     *
+     * @throws CrossShardOperationException 振り分けていない場合（ディレクトリにはTODOがない）
+     */
+    public void checkBound() {
+        if (enabled && ShardContext.currentShard() == null) {
+            throw new CrossShardOperationException("No shard bound for a query across users");
+        }
+    }
+
+    static int bucketOf(long userId, int buckets) {
+        long mixed = userId * 0x9E3779B97F4A7C15L;
+        return Math.floorMod(mixed ^ (mixed >>> 32), buckets);
+    }
+
+    private static void assign(String[] owners, String shard, String range) {
+        String[] bounds = range.trim().split("-", 2);
+        int from;
+        int to;
+        try {
+            from = Integer.parseInt(bounds[0].trim());
+            to = bounds.length == 2 ? Integer.parseInt(bounds[1].trim()) : from;
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Invalid bucket range for shard " + shard + ": " + range, e);
+        }
+        if (from < 0 || to >= owners.length || from > to) {
+            throw new IllegalStateException("Bucket range out of bounds for shard " + shard + ": " + range);
+        }
+        for (int bucket = from; bucket <= to; bucket++) {
+            if (owners[bucket] != null) {
+                throw new IllegalStateException(
+                    "Bucket " + bucket + " is assigned to both " + owners[bucket] + " and " + shard);
+            }
+            owners[bucket] = shard;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.zametech.todoapp.infrastructure.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 振り分け済みのシャードに接続するデータソース
+ *
+ * <p>振り分けていなければディレクトリ（spring.datasource。ユーザーと認証情報を置く）に接続する。
+ * 知らないシャード名ではディレクトリに逃がさず失敗する。
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final Map<String, HikariDataSource> shards;
+
+    public ShardRoutingDataSource(DataSource directory, Map<String, HikariDataSource> shards) {
+        this.shards = new LinkedHashMap<>(shards);
+        setDefaultTargetDataSource(directory);
+        setTargetDataSources(new HashMap<>(shards));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    /**
+     * シャードのデータソース（振り分けを通さずに直接使う）
+     */
+    public DataSource shardDataSource(String shard) {
+        DataSource dataSource = shards.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        return dataSource;
+    }
+
+    /**
+     * 設定順のシャードのデータソース
+     */
+    public Map<String, ? extends DataSource> shardDataSources() {
+        return shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.currentShard();
+    }
+
+    @Override
+    public void destroy() {
+        shards.values().forEach(HikariDataSource::close);
+    }
+}
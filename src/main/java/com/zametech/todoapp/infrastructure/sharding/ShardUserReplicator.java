@@ -0,0 +1,155 @@
+package com.zametech.todoapp.infrastructure.sharding;
+
+import com.zametech.todoapp.infrastructure.persistence.entity.UserEntity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ディレクトリのユーザーを担当シャードに写す
+ *
+ * <p>シャード上のTODOなどは users への外部キーを持つため、担当シャードにも同じIDのユーザー行を置く。
+ * 写しは振り分けを通さずシャードに直接書く（ディレクトリのトランザクションには参加しない）。
+ * ユーザー行を消すと、外部キーのカスケードでシャード上のそのユーザーのデータもすべて消える。
+ * シャーディングが無効なら何もしない。
+ *
+ * <p>シャーディングを有効にする前から居るユーザーは、起動時に {@link #backfill()} で写す。
+ * ただしディレクトリに残ったTODOをシャードへ移す手段はないため、TODOがある環境では有効にできない。
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShardUserReplicator {
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final ShardRouter shardRouter;
+    private final ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource;
+
+    /**
+     * 担当シャードのユーザー行を作成・更新する
+     */
+    public void replicate(UserEntity user) {
+        if (!shardRouter.isEnabled()) {
+            return;
+        }
+        JdbcTemplate shard = shardOf(user.getId());
+        int updated = shard.update(
+            "UPDATE users SET email = ?, password = ?, username = ?, enabled = ?, created_at = ?, updated_at = ? "
+                + "WHERE id = ?",
+            user.getEmail(), user.getPassword(), user.getUsername(), user.isEnabled(),
+            user.getCreatedAt(), user.getUpdatedAt(), user.getId());
+        if (updated == 0) {
+            shard.update(
+                "INSERT INTO users (id, email, password, username, enabled, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                user.getId(), user.getEmail(), user.getPassword(), user.getUsername(), user.isEnabled(),
+                user.getCreatedAt(), user.getUpdatedAt());
+        }
+    }
+
+    /**
+     * ディレクトリのユーザーのうち、担当シャードにまだ居ないユーザーを写す（起動時、マイグレーションの後）
+     *
+     * @throws IllegalStateException ディレクトリにTODOが残っている場合（シャーディング前のデータがある）
+     */
+    public void backfill() {
+        if (!shardRouter.isEnabled()) {
+            return;
+        }
+        // 振り分けていない接続はディレクトリに向く
+        JdbcTemplate directory = new JdbcTemplate(shardRoutingDataSource.getObject());
+        Boolean hasTodos = directory.queryForObject(
+            "SELECT EXISTS (SELECT 1 FROM todos) OR EXISTS (SELECT 1 FROM todos_archive)", Boolean.class);
+        if (Boolean.TRUE.equals(hasTodos)) {
+            throw new IllegalStateException("The directory database still holds todos; sharding can only be enabled "
+                + "on an installation without todos (move them to their shards first)");
+        }
+
+        // 件数では比べない（シャードに孤立した行があると、居ないユーザーが隠れる）。担当シャードのIDの集合と突き合わせる
+        Map<String, Set<Long>> shardUserIds = new HashMap<>();
+        for (String shard : shardRouter.shardNames()) {
+            shardUserIds.put(shard, new HashSet<>(shardOf(shard).queryForList("SELECT id FROM users", Long.class)));
+        }
+
+        Map<String, List<Object[]>> byShard = new LinkedHashMap<>();
+        directory.query("SELECT id, email, password, username, enabled, created_at, updated_at FROM users",
+            (RowCallbackHandler) rs -> {
+                long id = rs.getLong("id");
+                String shard = shardRouter.shardFor(id);
+                if (shardUserIds.get(shard).contains(id)) {
+                    return;
+                }
+                byShard.computeIfAbsent(shard, s -> new ArrayList<>())
+                    .add(new Object[] {id, rs.getString("email"), rs.getString("password"),
+                        rs.getString("username"), rs.getBoolean("enabled"),
+                        rs.getTimestamp("created_at"), rs.getTimestamp("updated_at")});
+            });
+        byShard.forEach((shard, users) -> {
+            int[][] inserted = shardOf(shard).batchUpdate(
+                "INSERT INTO users (id, email, password, username, enabled, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING",
+                users, BACKFILL_BATCH_SIZE, (ps, user) -> {
+                    for (int i = 0; i < user.length; i++) {
+                        ps.setObject(i + 1, user[i]);
+                    }
+                });
+            long count = Arrays.stream(inserted).flatMapToInt(Arrays::stream).filter(n -> n > 0).count();
+            log.info("Backfilled {} users to shard {}", count, shard);
+        });
+    }
+
+    /**
+     * ディレクトリのトランザクションがコミットされてから、担当シャードのユーザー行（とそのユーザーのデータ）を削除する
+     *
+     * <p>ディレクトリの削除がロールバックされればシャードのデータは残る。コミット後の削除に失敗しても
+     * 参照されないデータがシャードに残るだけなので、ログに残して呼び出し元は失敗させない。
+     */
+    public void removeAfterCommit(Long userId) {
+        if (!shardRouter.isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remove(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    remove(userId);
+                } catch (RuntimeException e) {
+                    log.error("Failed to remove deleted user {} from shard {}; their rows are left orphaned",
+                        userId, shardRouter.shardFor(userId), e);
+                }
+            }
+        });
+    }
+
+    private void remove(Long userId) {
+        shardOf(userId).update("DELETE FROM users WHERE id = ?", userId);
+        log.info("Removed user {} from shard {}", userId, shardRouter.shardFor(userId));
+    }
+
+    private JdbcTemplate shardOf(Long userId) {
+        return shardOf(shardRouter.shardFor(userId));
+    }
+
+    private JdbcTemplate shardOf(String shard) {
+        return new JdbcTemplate(shardRoutingDataSource.getObject().shardDataSource(shard));
+    }
+}
@@ -0,0 +1,18 @@
+package com.zametech.todoapp.infrastructure.sharding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 認証済みユーザーのデータだけを扱うコントローラー。リクエストをそのユーザーの担当シャードに振り分ける
+ *
+ * <p>付けていないコントローラー（認証・ユーザー管理）はディレクトリに接続する。
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UserSharded {
+}
@@ -12,6 +12,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZoneOffset;
 
 @RestController
 @RequestMapping("/api/v1/auth")
@@ -38,8 +41,12 @@ public class AuthenticationController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<UserResponse> getCurrentUser() {
+    public ResponseEntity<UserResponse> getCurrentUser(WebRequest request) {
         User currentUser = userContextService.getCurrentUser();
+        String etag = ETags.of("user", currentUser.getId(), currentUser.getUpdatedAt().toInstant(ZoneOffset.UTC));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         
         UserResponse userResponse = new UserResponse(
                 currentUser.getId(),
@@ -49,6 +56,6 @@ public class AuthenticationController {
                 currentUser.getUpdatedAt()
         );
         
-        return ResponseEntity.ok(userResponse);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(userResponse);
     }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.zametech.todoapp.presentation.controller;
+
+import com.zametech.todoapp.application.service.IdempotencyService;
+import com.zametech.todoapp.application.service.TodoBatchService;
+import com.zametech.todoapp.common.exception.GlobalExceptionHandler;
+import com.zametech.todoapp.common.exception.GlobalExceptionHandler.ErrorResponse;
+import com.zametech.todoapp.infrastructure.sharding.UserSharded;
+import com.zametech.todoapp.presentation.dto.request.BatchRequest;
+import com.zametech.todoapp.presentation.dto.response.BatchOperationResponse;
+import com.zametech.todoapp.presentation.dto.response.BatchResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 一括処理コントローラー
+ */
+@RestController
+@UserSharded
+@RequestMapping("/api/v1/batch")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class BatchController {
+
+    private final TodoBatchService todoBatchService;
+    private final IdempotencyService idempotencyService;
+    private final GlobalExceptionHandler exceptionHandler;
+
+    /**
+     * TODOの作成・更新・削除の一括実行
+     *
+     * <p>個々の操作の成否は結果の {@code status} で返すため、バッチ自体は常に200を返す。
+     * Idempotency-Key を指定した場合、同じキーの再送には保存した結果を返す（操作は再実行しない）。
+     */
+    @PostMapping
+    public ResponseEntity<BatchResponse> executeBatch(
+            @Valid @RequestBody BatchRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(toResponse(todoBatchService.execute(request)));
+        }
+        // atomic: false は操作ごとにコミットするため、結果の記録と同じトランザクションに入れられない
+        IdempotencyService.Result<BatchResponse> result = request.isAtomic()
+            ? idempotencyService.execute(idempotencyKey, "POST /api/v1/batch", request, HttpStatus.OK,
+                BatchResponse.class, userId -> toResponse(todoBatchService.execute(userId, request)))
+            : idempotencyService.executeSeparately(idempotencyKey, "POST /api/v1/batch", request, HttpStatus.OK,
+                BatchResponse.class, userId -> toResponse(todoBatchService.execute(userId, request)));
+        return result.toResponse().body(result.body());
+    }
+
+    private BatchResponse toResponse(TodoBatchService.Result result) {
+        return new BatchResponse(result.atomic(), result.outcomes().stream().map(this::toResponse).toList());
+    }
+
+    /**
+     * 操作の結果を、同じ操作を個別のAPIで実行した場合のステータスとエラーレスポンスに変換する
+     */
+    private BatchOperationResponse toResponse(TodoBatchService.Outcome outcome) {
+        if (outcome.succeeded()) {
+            HttpStatus status = switch (outcome.op()) {
+                case CREATE -> HttpStatus.CREATED;
+                case UPDATE -> HttpStatus.OK;
+                case DELETE -> HttpStatus.NO_CONTENT;
+            };
+            return new BatchOperationResponse(outcome.index(), status.value(), outcome.ref(), outcome.todo(), null);
+        }
+        ResponseEntity<ErrorResponse> error = exceptionHandler.toErrorResponse(outcome.error());
+        return new BatchOperationResponse(
+            outcome.index(), error.getStatusCode().value(), outcome.ref(), null, error.getBody());
+    }
+}
@@ -0,0 +1,60 @@
+package com.zametech.todoapp.presentation.controller;
+
+import com.zametech.todoapp.common.exception.PreconditionFailedException;
+import org.springframework.http.CacheControl;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 条件付きGET用のETag生成
+ *
+ * <p>ETagは版情報だけから作るため、本体を読み込み・シリアライズする前に 304 を判定できる。
+ * 更新系では同じETagを If-Match で受け取り、楽観ロックのバージョンとして使う。
+ */
+final class ETags {
+
+    /**
+     * キャッシュは許可するが、利用前に毎回 If-None-Match で再検証させる
+     */
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    /**
+     * 更新日時から単一リソースのETagを作る
+     */
+    static String of(String kind, long id, Instant updatedAt) {
+        return of(kind, id, ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt));
+    }
+
+    /**
+     * 単調増加するバージョン番号からETagを作る
+     */
+    static String of(String kind, long id, long version) {
+        return "\"" + kind + "-" + id + "-" + Long.toHexString(version) + "\"";
+    }
+
+    /**
+     * If-Match ヘッダーから期待するバージョンを取り出す
+     *
+     * @return ヘッダーなし、または {@code *} の場合は null（無条件）
+     * @throws PreconditionFailedException このリソースのETagとして解釈できない場合
+     */
+    static Long parseVersion(String ifMatch, String kind, long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + kind + "-" + id + "-";
+        String tag = ifMatch.trim();
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+            throw new PreconditionFailedException("If-Match does not match " + kind + " " + id + ": " + ifMatch);
+        }
+        try {
+            return Long.parseUnsignedLong(tag.substring(prefix.length(), tag.length() - 1), 16);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("Malformed If-Match: " + ifMatch);
+        }
+    }
+}
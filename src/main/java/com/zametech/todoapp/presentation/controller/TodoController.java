@@ -1,72 +1,226 @@
 package com.zametech.todoapp.presentation.controller;
 
+import com.zametech.todoapp.application.service.IdempotencyService;
+import com.zametech.todoapp.application.service.TodoAnalyticsService;
+import com.zametech.todoapp.application.service.TodoArchiveService;
+import com.zametech.todoapp.application.service.TodoRecurrenceService;
 import com.zametech.todoapp.application.service.TodoService;
+import com.zametech.todoapp.application.service.TodoStatsService;
+import com.zametech.todoapp.application.service.TodoSyncService;
+import com.zametech.todoapp.common.exception.InvalidSortException;
+import com.zametech.todoapp.domain.model.TodoCollectionVersion;
+import com.zametech.todoapp.domain.model.TodoSortKey;
 import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.model.TodoVersion;
+import com.zametech.todoapp.infrastructure.sharding.UserSharded;
 import com.zametech.todoapp.presentation.dto.request.CreateTodoRequest;
+import com.zametech.todoapp.presentation.dto.request.RecurrenceRequest;
+import com.zametech.todoapp.presentation.dto.request.TodoFilterRequest;
 import com.zametech.todoapp.presentation.dto.request.UpdateTodoRequest;
+import com.zametech.todoapp.presentation.dto.response.ArchivedTodoResponse;
+import com.zametech.todoapp.presentation.dto.response.BurndownResponse;
+import com.zametech.todoapp.presentation.dto.response.CursorPageResponse;
+import com.zametech.todoapp.presentation.dto.response.RecurrenceResponse;
+import com.zametech.todoapp.presentation.dto.response.TodoChangesResponse;
 import com.zametech.todoapp.presentation.dto.response.TodoResponse;
+import com.zametech.todoapp.presentation.dto.response.TodoStatsResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
  * TODO REST APIコントローラー
  */
 @RestController
+@UserSharded
 @RequestMapping("/api/v1/todos")
 @RequiredArgsConstructor
-@Slf4j
 @CrossOrigin(origins = "http://localhost:3000")
 public class TodoController {
 
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int MAX_SUGGEST_LIMIT = 20;
+    private static final int MAX_DUE_LIMIT = 200;
+    private static final int MAX_CHANGES_LIMIT = 500;
+    private static final int MAX_ARCHIVE_LIMIT = 200;
+
     private final TodoService todoService;
+    private final TodoStatsService todoStatsService;
+    private final TodoSyncService todoSyncService;
+    private final TodoAnalyticsService todoAnalyticsService;
+    private final TodoRecurrenceService todoRecurrenceService;
+    private final TodoArchiveService todoArchiveService;
+    private final IdempotencyService idempotencyService;
 
     /**
      * TODO作成
+     *
+     * <p>Idempotency-Key を指定した場合、同じキーの再送には最初に作成したTODOを返す（重複して作成しない）。
      */
     @PostMapping
-    public ResponseEntity<TodoResponse> createTodo(@Valid @RequestBody CreateTodoRequest request) {
-        log.info("POST /api/v1/todos - Creating new TODO");
-        TodoResponse response = todoService.createTodo(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<TodoResponse> createTodo(
+            @Valid @RequestBody CreateTodoRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            TodoResponse response = todoService.createTodo(request);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ETags.of("todo", response.id(), response.version()))
+                .body(response);
+        }
+        IdempotencyService.Result<TodoResponse> result = idempotencyService.execute(
+            idempotencyKey, "POST /api/v1/todos", request, HttpStatus.CREATED, TodoResponse.class,
+            userId -> todoService.createTodo(userId, request));
+        return result.toResponse()
+            .eTag(ETags.of("todo", result.body().id(), result.body().version()))
+            .body(result.body());
     }
 
     /**
      * TODO取得（ID指定）
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TodoResponse> getTodo(@PathVariable Long id) {
-        log.info("GET /api/v1/todos/{} - Getting TODO", id);
+    public ResponseEntity<TodoResponse> getTodo(@PathVariable Long id, WebRequest request) {
+        TodoVersion version = todoService.getTodoVersion(id);
+        String etag = ETags.of("todo", version.id(), version.version());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         TodoResponse response = todoService.getTodo(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(response);
     }
 
     /**
-     * TODO一覧取得（ページング）
+     * TODO一覧取得（絞り込み・ページング）
      */
     @GetMapping
     public ResponseEntity<Page<TodoResponse>> getTodos(
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
-        log.info("GET /api/v1/todos - Getting TODO list");
-        Page<TodoResponse> response = todoService.getTodos(pageable);
+            @Valid TodoFilterRequest filter,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest request) {
+        Pageable indexed = toIndexedPageable(pageable);
+        TodoCollectionVersion version = todoStatsService.getCollectionVersion();
+        String etag = ETags.of("todos", version.userId(), version.version());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        Page<TodoResponse> response = todoService.getTodos(filter.toFilter(), indexed);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(response);
+    }
+
+    /**
+     * ソート指定をホワイトリストで検証し、インデックスで処理できる並び順に置き換える
+     */
+    private static Pageable toIndexedPageable(Pageable pageable) {
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() != 1) {
+            throw new InvalidSortException(pageable.getSort().toString());
+        }
+        Sort.Order order = orders.get(0);
+        TodoSortKey key = TodoSortKey.fromProperty(order.getProperty())
+            .orElseThrow(() -> new InvalidSortException(order.toString()));
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), key.toSort(order.getDirection()));
+    }
+
+    /**
+     * キーワード検索
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<TodoResponse>> searchTodos(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(defaultValue = "50") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        List<TodoResponse> response = fuzzy
+            ? todoService.fuzzySearchTodos(query, boundedLimit)
+            : todoService.searchTodos(query, boundedLimit);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * タイトルの入力補完
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestTitles(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<String> response = todoService.suggestTitles(prefix, Math.max(1, Math.min(limit, MAX_SUGGEST_LIMIT)));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 期限付き未完了TODO一覧取得（期限超過・期限間近）
+     */
+    @GetMapping("/due")
+    public ResponseEntity<CursorPageResponse<TodoResponse>> getDueTodos(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate after,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPageResponse<TodoResponse> response =
+            todoService.getDueTodos(after, before, cursor, Math.max(1, Math.min(limit, MAX_DUE_LIMIT)));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * アーカイブ済みTODO一覧取得（完了日時の新しい順）
+     */
+    @GetMapping("/archive")
+    public ResponseEntity<CursorPageResponse<ArchivedTodoResponse>> getArchivedTodos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPageResponse<ArchivedTodoResponse> response =
+            todoArchiveService.getArchivedTodos(cursor, Math.max(1, Math.min(limit, MAX_ARCHIVE_LIMIT)));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 差分同期（同期トークン以降に作成・更新・削除されたTODO）
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TodoChangesResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit) {
+        TodoChangesResponse response =
+            todoSyncService.getChanges(since, Math.max(1, Math.min(limit, MAX_CHANGES_LIMIT)));
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * TODO統計取得
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<TodoStatsResponse> getStats() {
+        return ResponseEntity.ok(todoStatsService.getStats());
+    }
+
+    /**
+     * バーンダウン取得（日ごとの未完了件数、集計済みの値）
+     */
+    @GetMapping("/analytics/burndown")
+    public ResponseEntity<BurndownResponse> getBurndown(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(todoAnalyticsService.getBurndown(from, to));
+    }
+
     /**
      * ステータスでTODO一覧取得
      */
     @GetMapping("/status/{status}")
     public ResponseEntity<List<TodoResponse>> getTodosByStatus(@PathVariable TodoStatus status) {
-        log.info("GET /api/v1/todos/status/{} - Getting TODOs by status", status);
         List<TodoResponse> response = todoService.getTodosByStatus(status);
         return ResponseEntity.ok(response);
     }
@@ -77,19 +231,23 @@ public class TodoController {
     @PutMapping("/{id}")
     public ResponseEntity<TodoResponse> updateTodo(
             @PathVariable Long id,
-            @Valid @RequestBody UpdateTodoRequest request) {
-        log.info("PUT /api/v1/todos/{} - Updating TODO", id);
-        TodoResponse response = todoService.updateTodo(id, request);
-        return ResponseEntity.ok(response);
+            @Valid @RequestBody UpdateTodoRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.parseVersion(ifMatch, "todo", id);
+        TodoResponse response = todoService.updateTodo(id, request, expectedVersion);
+        return ResponseEntity.ok()
+            .eTag(ETags.of("todo", response.id(), response.version()))
+            .body(response);
     }
 
     /**
      * TODO削除
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTodo(@PathVariable Long id) {
-        log.info("DELETE /api/v1/todos/{} - Deleting TODO", id);
-        todoService.deleteTodo(id);
+    public ResponseEntity<Void> deleteTodo(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        todoService.deleteTodo(id, ETags.parseVersion(ifMatch, "todo", id));
         return ResponseEntity.noContent().build();
     }
     
@@ -98,8 +256,34 @@ public class TodoController {
      */
     @GetMapping("/{parentId}/children")
     public ResponseEntity<List<TodoResponse>> getChildTasks(@PathVariable Long parentId) {
-        log.info("GET /api/v1/todos/{}/children - Getting child tasks", parentId);
         List<TodoResponse> response = todoService.getChildTasks(parentId);
         return ResponseEntity.ok(response);
     }
+    
+    /**
+     * 繰り返しルール取得
+     */
+    @GetMapping("/{id}/recurrence")
+    public ResponseEntity<RecurrenceResponse> getRecurrence(@PathVariable Long id) {
+        return ResponseEntity.ok(todoRecurrenceService.getRecurrence(id));
+    }
+    
+    /**
+     * 繰り返しルール設定（先の分のインスタンスをまとめて作成する）
+     */
+    @PutMapping("/{id}/recurrence")
+    public ResponseEntity<RecurrenceResponse> setRecurrence(
+            @PathVariable Long id,
+            @Valid @RequestBody RecurrenceRequest request) {
+        return ResponseEntity.ok(todoRecurrenceService.setRecurrence(id, request));
+    }
+    
+    /**
+     * 繰り返しルール削除（作成済みのインスタンスは残す）
+     */
+    @DeleteMapping("/{id}/recurrence")
+    public ResponseEntity<Void> deleteRecurrence(@PathVariable Long id) {
+        todoRecurrenceService.deleteRecurrence(id);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
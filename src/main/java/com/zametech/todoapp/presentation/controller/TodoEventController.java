@@ -0,0 +1,34 @@
+package com.zametech.todoapp.presentation.controller;
+
+import com.zametech.todoapp.application.service.UserContextService;
+import com.zametech.todoapp.presentation.stream.TodoEventStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * TODO変更イベントのSSEコントローラー
+ */
+@RestController
+@RequestMapping("/api/v1/todos/events")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class TodoEventController {
+
+    private final TodoEventStream todoEventStream;
+    private final UserContextService userContextService;
+
+    /**
+     * 現在のユーザーのTODO変更イベントを購読する
+     *
+     * <p>ハンドラーはすぐに戻り、接続は非同期リクエストとして保持される（待機中はスレッドを使わない）。
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents() {
+        return todoEventStream.subscribe(userContextService.getCurrentUserId());
+    }
+}
@@ -0,0 +1,32 @@
+package com.zametech.todoapp.presentation.dto.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * 一括処理の1操作
+ *
+ * <p>{@code id} と本文の {@code parentId} には、前の作成操作の {@code ref} を {@code "$ref"} の形で指定できる。
+ * {@code version} は If-Match と同じ楽観ロック用のバージョン（省略時は無条件）。
+ */
+public record BatchOperationRequest(
+    @NotNull(message = "操作の種類は必須です")
+    Type op,
+    
+    @Pattern(regexp = "[A-Za-z0-9_-]{1,64}", message = "refは英数字・_・-の64文字以内で指定してください")
+    String ref,
+    
+    String id,
+    
+    Long version,
+    
+    JsonNode body
+) {
+
+    public enum Type {
+        CREATE,
+        UPDATE,
+        DELETE
+    }
+}
@@ -0,0 +1,25 @@
+package com.zametech.todoapp.presentation.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 一括処理リクエスト
+ *
+ * <p>{@code atomic} が true（省略時）の場合は全操作を1トランザクションで実行し、1つでも失敗したらすべて取り消す。
+ * false の場合は操作ごとにコミットし、失敗した操作があっても続きを実行する。
+ */
+public record BatchRequest(
+    @NotEmpty(message = "操作は1件以上指定してください")
+    @Size(max = 100, message = "操作は100件以内で指定してください")
+    List<@Valid BatchOperationRequest> operations,
+    
+    Boolean atomic
+) {
+    public boolean isAtomic() {
+        return atomic == null || atomic;
+    }
+}
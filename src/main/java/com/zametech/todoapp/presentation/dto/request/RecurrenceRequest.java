@@ -0,0 +1,39 @@
+package com.zametech.todoapp.presentation.dto.request;
+
+import com.zametech.todoapp.domain.model.RecurrenceFrequency;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 繰り返しルール設定リクエスト
+ */
+public record RecurrenceRequest(
+    @NotNull(message = "繰り返しの単位は必須です")
+    RecurrenceFrequency frequency,
+    
+    @Min(value = 1, message = "間隔は1以上で入力してください")
+    @Max(value = 365, message = "間隔は365以下で入力してください")
+    Integer interval,
+    
+    List<DayOfWeek> weekdays,
+    
+    LocalDate startsOn,
+    
+    LocalDate endsOn,
+    
+    @Min(value = 1, message = "作成しておく日数は1以上で入力してください")
+    @Max(value = 366, message = "作成しておく日数は366以下で入力してください")
+    Integer horizonDays
+) {
+    public RecurrenceRequest {
+        // デフォルト値の設定
+        if (interval == null) {
+            interval = 1;
+        }
+    }
+}
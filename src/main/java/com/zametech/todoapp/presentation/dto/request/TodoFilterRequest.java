@@ -0,0 +1,52 @@
+package com.zametech.todoapp.presentation.dto.request;
+
+import com.zametech.todoapp.domain.model.TodoFilter;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * TODO一覧の絞り込みクエリパラメータ
+ *
+ * <p>{@code status} / {@code priority} は繰り返し指定またはカンマ区切りで複数指定できる。
+ */
+public record TodoFilterRequest(
+    List<TodoStatus> status,
+    
+    List<TodoPriority> priority,
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate dueAfter,
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate dueBefore,
+    
+    Long parentId,
+    
+    Boolean root,
+    
+    @Size(max = 255, message = "検索語は255文字以内で入力してください")
+    String q
+) {
+    public TodoFilter toFilter() {
+        return new TodoFilter(
+            toSet(status),
+            toSet(priority),
+            dueAfter,
+            dueBefore,
+            parentId,
+            root,
+            q == null || q.isBlank() ? null : q.trim()
+        );
+    }
+
+    private static <E extends Enum<E>> Set<E> toSet(List<E> values) {
+        return values == null || values.isEmpty() ? null : EnumSet.copyOf(values);
+    }
+}
@@ -0,0 +1,39 @@
+package com.zametech.todoapp.presentation.dto.response;
+
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoArchiveEntity;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+/**
+ * アーカイブ済みTODOレスポンス（ステータスは常にDONE）
+ */
+public record ArchivedTodoResponse(
+    Long id,
+    String title,
+    String description,
+    TodoPriority priority,
+    LocalDate dueDate,
+    Long parentId,
+    ZonedDateTime createdAt,
+    ZonedDateTime completedAt,
+    ZonedDateTime archivedAt
+) {
+    /**
+     * Entityから生成
+     */
+    public static ArchivedTodoResponse from(TodoArchiveEntity entity) {
+        return new ArchivedTodoResponse(
+            entity.getId(),
+            entity.getTitle(),
+            entity.getDescription(),
+            entity.getPriority(),
+            entity.getDueDate(),
+            entity.getParentId(),
+            entity.getCreatedAt(),
+            entity.getCompletedAt(),
+            entity.getArchivedAt()
+        );
+    }
+}
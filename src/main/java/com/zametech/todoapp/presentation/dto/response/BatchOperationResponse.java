@@ -0,0 +1,17 @@
+package com.zametech.todoapp.presentation.dto.response;
+
+import com.zametech.todoapp.common.exception.GlobalExceptionHandler.ErrorResponse;
+
+/**
+ * 一括処理の1操作の結果
+ *
+ * <p>{@code status} は同じ操作を個別のAPIで実行した場合のHTTPステータス。
+ * 成功時は {@code todo}（削除時は null）、失敗時は {@code error} を返す。
+ */
+public record BatchOperationResponse(
+    int index,
+    int status,
+    String ref,
+    TodoResponse todo,
+    ErrorResponse error
+) {}
@@ -0,0 +1,11 @@
+package com.zametech.todoapp.presentation.dto.response;
+
+import java.util.List;
+
+/**
+ * 一括処理のレスポンス（操作の順に結果を返す）
+ */
+public record BatchResponse(
+    boolean atomic,
+    List<BatchOperationResponse> results
+) {}
@@ -0,0 +1,24 @@
+package com.zametech.todoapp.presentation.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * バーンダウンのレスポンス
+ *
+ * <p>{@code days} は期間内の毎日1件（変更がない日も含む）。{@code remaining} はその日の終わりの未完了件数、
+ * {@code created} / {@code completed} はその日に作成・完了した件数。
+ */
+public record BurndownResponse(
+    LocalDate from,
+    LocalDate to,
+    List<Day> days
+) {
+
+    public record Day(
+        LocalDate date,
+        long remaining,
+        int created,
+        int completed
+    ) {}
+}
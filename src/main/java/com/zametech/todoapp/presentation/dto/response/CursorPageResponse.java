@@ -0,0 +1,13 @@
+package com.zametech.todoapp.presentation.dto.response;
+
+import java.util.List;
+
+/**
+ * カーソルページングのレスポンス
+ *
+ * <p>{@code nextCursor} が null の場合は最終ページ。
+ */
+public record CursorPageResponse<T>(
+    List<T> content,
+    String nextCursor
+) {}
@@ -0,0 +1,41 @@
+package com.zametech.todoapp.presentation.dto.response;
+
+import com.zametech.todoapp.domain.model.RecurrenceFrequency;
+import com.zametech.todoapp.domain.model.RecurrenceRule;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoRecurrenceEntity;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 繰り返しルールレスポンス
+ *
+ * <p>{@code materializedThrough} はインスタンスを作成済みの最後の日。
+ */
+public record RecurrenceResponse(
+    Long todoId,
+    RecurrenceFrequency frequency,
+    int interval,
+    List<DayOfWeek> weekdays,
+    LocalDate startsOn,
+    LocalDate endsOn,
+    int horizonDays,
+    LocalDate materializedThrough
+) {
+    /**
+     * Entityから生成
+     */
+    public static RecurrenceResponse from(TodoRecurrenceEntity entity) {
+        return new RecurrenceResponse(
+            entity.getTodoId(),
+            entity.getFrequency(),
+            entity.getIntervalCount(),
+            RecurrenceRule.weekdaysOf(entity.getWeekdays()).stream().sorted().toList(),
+            entity.getStartsOn(),
+            entity.getEndsOn(),
+            entity.getHorizonDays(),
+            entity.getMaterializedThrough()
+        );
+    }
+}
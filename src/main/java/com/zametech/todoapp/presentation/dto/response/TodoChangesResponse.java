@@ -0,0 +1,16 @@
+package com.zametech.todoapp.presentation.dto.response;
+
+import java.util.List;
+
+/**
+ * 差分同期のレスポンス
+ *
+ * <p>{@code changed} は作成・更新されたTODOの現在値、{@code deleted} は削除されたTODOのID。
+ * 次回は {@code nextToken} を {@code since} に渡す。{@code hasMore} が true の間は続けて取得する。
+ */
+public record TodoChangesResponse(
+    List<TodoResponse> changed,
+    List<Long> deleted,
+    String nextToken,
+    boolean hasMore
+) {}
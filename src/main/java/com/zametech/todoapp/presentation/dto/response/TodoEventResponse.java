@@ -0,0 +1,27 @@
+package com.zametech.todoapp.presentation.dto.response;
+
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+
+import java.util.Locale;
+
+/**
+ * SSEで配信するTODO変更イベント
+ *
+ * <p>{@code type} は created / updated / deleted。{@code todo} は変更後の値で、削除時は null。
+ */
+public record TodoEventResponse(
+    String type,
+    Long todoId,
+    TodoResponse todo
+) {
+    /**
+     * 変更イベントから生成
+     */
+    public static TodoEventResponse from(TodoChangedEvent event) {
+        return new TodoEventResponse(
+            event.type().name().toLowerCase(Locale.ROOT),
+            event.todoId(),
+            event.current() != null ? TodoResponse.from(event.current()) : null
+        );
+    }
+}
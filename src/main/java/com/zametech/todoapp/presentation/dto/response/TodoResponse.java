@@ -1,5 +1,6 @@
 package com.zametech.todoapp.presentation.dto.response;
 
+import com.zametech.todoapp.domain.model.Todo;
 import com.zametech.todoapp.domain.model.TodoPriority;
 import com.zametech.todoapp.domain.model.TodoStatus;
 import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
@@ -19,7 +20,8 @@ public record TodoResponse(
     LocalDate dueDate,
     Long parentId,
     ZonedDateTime createdAt,
-    ZonedDateTime updatedAt
+    ZonedDateTime updatedAt,
+    Long version
 ) {
     /**
      * Entityから生成
@@ -34,7 +36,26 @@ public record TodoResponse(
             entity.getDueDate(),
             entity.getParentId(),
             entity.getCreatedAt(),
-            entity.getUpdatedAt()
+            entity.getUpdatedAt(),
+            entity.getVersion()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * ドメインモデル（変更イベントのスナップショットなど）から生成
+     */
+    public static TodoResponse from(Todo todo) {
+        return new TodoResponse(
+            todo.getId(),
+            todo.getTitle(),
+            todo.getDescription(),
+            todo.getStatus(),
+            todo.getPriority(),
+            todo.getDueDate(),
+            todo.getParentId(),
+            todo.getCreatedAt(),
+            todo.getUpdatedAt(),
+            todo.getVersion()
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package com.zametech.todoapp.presentation.dto.response;
+
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+
+import java.util.Map;
+
+/**
+ * TODO統計レスポンス
+ */
+public record TodoStatsResponse(
+    long total,
+    Map<TodoStatus, Long> byStatus,
+    Map<TodoPriority, Long> byPriority,
+    long overdue,
+    long dueToday
+) {}
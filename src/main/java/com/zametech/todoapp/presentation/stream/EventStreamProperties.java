@@ -0,0 +1,38 @@
+package com.zametech.todoapp.presentation.stream;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * TODO変更イベントのSSE配信の設定
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.events")
+@Getter
+@Setter
+public class EventStreamProperties {
+
+    /**
+     * 接続ごとの送信待ちイベント数の上限。溢れた接続は遅いクライアントとして切断する。
+     */
+    private int bufferSize = 64;
+
+    /**
+     * ハートビート（SSEコメント）の送信間隔。ISO-8601形式（@Scheduled の間隔にも使う）。
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * 1回の送信がこれ以上終わらない接続は、送信待ちが溢れる前でも切断する
+     */
+    private Duration stallTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 接続の最大継続時間。過ぎたら閉じ、クライアント（EventSource）に再接続させる。
+     */
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+}
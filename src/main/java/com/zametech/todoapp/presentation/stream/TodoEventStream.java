@@ -0,0 +1,141 @@
+package com.zametech.todoapp.presentation.stream;
+
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.presentation.dto.response.TodoEventResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ユーザーごとのTODO変更イベントのSSE配信
+ *
+ * <p>コミット済みの変更イベントを、そのユーザーの接続ごとの有界バッファへ積む。
+ * 書き込みは仮想スレッドで行うため、コミットしたリクエストのスレッドは遅いクライアントを待たない。
+ * バッファが溢れた接続と、1回の送信が止まったままの接続は切断する
+ * （クライアントは再接続し、差分同期 {@code /api/v1/todos/changes} で取りこぼしを回収する）。
+ */
+@Component
+@Slf4j
+public class TodoEventStream {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final EventStreamProperties properties;
+    private final Executor sender;
+    private final Map<Long, Set<TodoEventSubscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TodoEventStream(EventStreamProperties properties) {
+        this(properties, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    TodoEventStream(EventStreamProperties properties, Executor sender) {
+        this.properties = properties;
+        this.sender = sender;
+    }
+
+    /**
+     * ユーザーの接続を登録し、SSEのレスポンスを返す
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(properties.getConnectionTimeout().toMillis());
+        TodoEventSubscriber subscriber = new TodoEventSubscriber(userId, emitter, properties.getBufferSize(), sender);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.compute(userId, (id, targets) -> {
+            Set<TodoEventSubscriber> updated = targets != null ? targets : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        // 最初のコメントでレスポンスヘッダーを確定させる
+        subscriber.offer(HEARTBEAT);
+        log.debug("Opened todo event stream for user: {}", userId);
+        return emitter;
+    }
+
+    /**
+     * コミット済みの変更をそのユーザーの全接続へ配信する
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTodoChanged(TodoChangedEvent event) {
+        Set<TodoEventSubscriber> targets = subscribers.get(event.userId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> message = SseEmitter.event()
+            .name(event.type().name().toLowerCase(Locale.ROOT))
+            .data(TodoEventResponse.from(event), MediaType.APPLICATION_JSON)
+            .build();
+        for (TodoEventSubscriber subscriber : targets) {
+            if (!subscriber.offer(message)) {
+                evict(subscriber, "buffer full");
+            }
+        }
+    }
+
+    /**
+     * 全接続にハートビートを送り、止まった接続を切断する
+     */
+    @Scheduled(fixedRateString = "${app.events.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        long stallMillis = properties.getStallTimeout().toMillis();
+        for (Set<TodoEventSubscriber> targets : subscribers.values()) {
+            for (TodoEventSubscriber subscriber : targets) {
+                if (subscriber.isClosed()) {
+                    remove(subscriber);
+                } else if (subscriber.isStalled(now, stallMillis)) {
+                    evict(subscriber, "send stalled");
+                } else if (!subscriber.offer(HEARTBEAT)) {
+                    evict(subscriber, "buffer full");
+                }
+            }
+        }
+    }
+
+    /**
+     * ユーザーの接続数
+     */
+    public int connectionCount(Long userId) {
+        Set<TodoEventSubscriber> targets = subscribers.get(userId);
+        return targets == null ? 0 : targets.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(targets -> targets.forEach(TodoEventSubscriber::close));
+        subscribers.clear();
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void evict(TodoEventSubscriber subscriber, String reason) {
+        log.warn("Evicting slow todo event stream for user: {} ({})", subscriber.userId(), reason);
+        remove(subscriber);
+        subscriber.close();
+    }
+
+    private void remove(TodoEventSubscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId(), (userId, targets) -> {
+            targets.remove(subscriber);
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+}
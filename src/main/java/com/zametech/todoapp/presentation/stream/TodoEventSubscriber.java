@@ -0,0 +1,110 @@
+package com.zametech.todoapp.presentation.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SSE接続1本分の送信待ちバッファ
+ *
+ * <p>イベントは有界キューに積むだけで、実際の書き込みは送信用スレッド（仮想スレッド）で行う。
+ * 書き込み中でなければスレッドは使わないため、待機中の接続はソケット以外の資源を持たない。
+ * 送信中の接続は1本だけ送信タスクを持ち、キューが空になったら終了する。
+ */
+final class TodoEventSubscriber {
+
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Set<DataWithMediaType>> buffer;
+    private final Executor sender;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile boolean closed;
+    private volatile long sendStartedAt;
+
+    TodoEventSubscriber(Long userId, SseEmitter emitter, int bufferSize, Executor sender) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * イベントを送信待ちに積む
+     *
+     * @return バッファが溢れた場合は false（呼び出し側で切断する）
+     */
+    boolean offer(Set<DataWithMediaType> message) {
+        if (closed) {
+            return true;
+        }
+        if (!buffer.offer(message)) {
+            return false;
+        }
+        if (sending.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+        return true;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 1回の送信が stallMillis 以上終わっていないか
+     */
+    boolean isStalled(long now, long stallMillis) {
+        long started = sendStartedAt;
+        return started != 0 && now - started > stallMillis;
+    }
+
+    /**
+     * 送信を止めて接続を閉じる（切断済みなら何もしない）
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffer.clear();
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // すでに完了済み
+        }
+    }
+
+    private void drain() {
+        try {
+            do {
+                Set<DataWithMediaType> message;
+                while (!closed && (message = buffer.poll()) != null) {
+                    sendStartedAt = System.currentTimeMillis();
+                    emitter.send(message);
+                    sendStartedAt = 0;
+                }
+                sending.set(false);
+                // 終了直前に積まれたイベントは、ここで送信権を取り直して送る
+            } while (!closed && !buffer.isEmpty() && sending.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // 切断済みのクライアント。送信権は握ったままにして以降の送信を止める
+            closed = true;
+            buffer.clear();
+            sendStartedAt = 0;
+        }
+    }
+}
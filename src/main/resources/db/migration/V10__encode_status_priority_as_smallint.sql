@@ -0,0 +1,38 @@
+-- Store status / priority as compact smallint codes instead of varchar enum names.
+--   status:   0=TODO, 1=IN_PROGRESS, 2=DONE
+--   priority: 1=HIGH, 2=MEDIUM, 3=LOW (TodoPriority.order, so ascending means highest first)
+-- Codes must match TodoStatusConverter / TodoPriorityConverter.
+
+-- The partial index predicate references the old text value
+DROP INDEX IF EXISTS idx_todos_user_open_due;
+
+ALTER TABLE todos DROP CONSTRAINT IF EXISTS chk_status;
+ALTER TABLE todos DROP CONSTRAINT IF EXISTS chk_priority;
+
+ALTER TABLE todos
+    ALTER COLUMN status DROP DEFAULT,
+    ALTER COLUMN priority DROP DEFAULT;
+
+ALTER TABLE todos
+    ALTER COLUMN status TYPE SMALLINT USING CASE status
+        WHEN 'TODO' THEN 0
+        WHEN 'IN_PROGRESS' THEN 1
+        WHEN 'DONE' THEN 2
+    END,
+    ALTER COLUMN priority TYPE SMALLINT USING CASE priority
+        WHEN 'HIGH' THEN 1
+        WHEN 'MEDIUM' THEN 2
+        WHEN 'LOW' THEN 3
+    END;
+
+ALTER TABLE todos
+    ALTER COLUMN status SET DEFAULT 0,
+    ALTER COLUMN priority SET DEFAULT 2;
+
+ALTER TABLE todos ADD CONSTRAINT chk_status CHECK (status IN (0, 1, 2));
+ALTER TABLE todos ADD CONSTRAINT chk_priority CHECK (priority IN (1, 2, 3));
+
+CREATE INDEX idx_todos_user_open_due ON todos (user_id, due_date, id) WHERE status <> 2;
+
+-- Priority sort (priority, id) is now a plain index range scan
+CREATE INDEX idx_todos_user_priority_id ON todos (user_id, priority, id);
@@ -0,0 +1,15 @@
+-- Align indexes with the queries the repositories actually run
+-- (verified by RepositoryQueryPlanIntegrationTest).
+
+-- Child lookup orders by created_at; serve the order from the index instead of sorting
+CREATE INDEX idx_todos_parent_created ON todos (parent_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_todos_parent_id;
+
+-- No query filters on status / due_date without user_id; the user-scoped composites cover them
+DROP INDEX IF EXISTS idx_todos_status;
+DROP INDEX IF EXISTS idx_todos_due_date;
+
+-- Duplicates the unique constraint index on users.email
+DROP INDEX IF EXISTS idx_users_email;
+-- No query filters on enabled alone
+DROP INDEX IF EXISTS idx_users_enabled;
@@ -0,0 +1,18 @@
+-- Idempotency-Key store: request fingerprint and the stored response per (user, key).
+-- status_code IS NULL while the first request is still executing.
+CREATE TABLE idempotency_keys (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    idem_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    status_code INTEGER,
+    response_body TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_idempotency_keys_user_key UNIQUE (user_id, idem_key)
+);
+
+ALTER TABLE idempotency_keys ADD CONSTRAINT fk_idempotency_keys_user_id
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
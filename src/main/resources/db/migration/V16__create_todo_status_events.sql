@@ -0,0 +1,45 @@
+-- Append-only log of todo status transitions (from_status NULL = created, to_status NULL = deleted)
+-- Ids come from a pooled sequence so that the application can batch inserts
+CREATE SEQUENCE todo_status_events_id_seq INCREMENT BY 50;
+
+CREATE TABLE todo_status_events (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    todo_id BIGINT NOT NULL,
+    from_status SMALLINT CHECK (from_status BETWEEN 0 AND 2),
+    to_status SMALLINT CHECK (to_status BETWEEN 0 AND 2),
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    rolled_up BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+ALTER TABLE todo_status_events ADD CONSTRAINT fk_todo_status_events_user_id
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+-- Rollup claims events not yet folded into todo_daily_stats (in id order) and marks them rolled up.
+-- Only the pending events are indexed, so the index stays small however long the history grows.
+CREATE INDEX idx_todo_status_events_pending ON todo_status_events(id) WHERE NOT rolled_up;
+
+-- Per-user daily aggregates rolled up from todo_status_events (burndown)
+CREATE TABLE todo_daily_stats (
+    user_id BIGINT NOT NULL,
+    stat_date DATE NOT NULL,
+    created_count INTEGER NOT NULL DEFAULT 0,
+    completed_count INTEGER NOT NULL DEFAULT 0,
+    opened_count INTEGER NOT NULL DEFAULT 0,
+    closed_count INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, stat_date)
+);
+
+ALTER TABLE todo_daily_stats ADD CONSTRAINT fk_todo_daily_stats_user_id
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+-- Backfill from existing todos (completion date approximated by updated_at).
+-- Days are taken in the same zone as the rollup (app.analytics.zone), not the session time zone.
+INSERT INTO todo_daily_stats (user_id, stat_date, created_count, completed_count, opened_count, closed_count)
+SELECT user_id, stat_date, SUM(created), SUM(completed), SUM(created), SUM(completed)
+FROM (
+    SELECT user_id, CAST(created_at AT TIME ZONE 'Asia/Tokyo' AS DATE) AS stat_date, 1 AS created, 0 AS completed FROM todos
+    UNION ALL
+    SELECT user_id, CAST(updated_at AT TIME ZONE 'Asia/Tokyo' AS DATE), 0, 1 FROM todos WHERE status = 2
+) t
+GROUP BY user_id, stat_date;
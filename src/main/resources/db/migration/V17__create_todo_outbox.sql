@@ -0,0 +1,15 @@
+-- Transactional outbox: todo change events written with the change, drained by the relay
+-- Ids come from a pooled sequence so that the application can batch inserts
+CREATE SEQUENCE todo_outbox_id_seq INCREMENT BY 50;
+
+CREATE TABLE todo_outbox (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    todo_id BIGINT NOT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- No foreign key: events for deleted users are still published
+-- The relay takes the lowest ids with FOR UPDATE SKIP LOCKED (primary key index)
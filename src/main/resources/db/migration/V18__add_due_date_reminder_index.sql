@@ -0,0 +1,3 @@
+-- Reminder loader pages through open todos of all users in (due_date, id) order.
+-- Only open todos are indexed; the query selects id and due_date only (index-only scan).
+CREATE INDEX idx_todos_due_date ON todos (due_date, id) WHERE status <> 2;
@@ -0,0 +1,37 @@
+-- Recurring todos: a rule on a template todo, instances materialized ahead as ordinary todos
+-- Todo ids now come from a pooled sequence so that the application can batch instance inserts
+ALTER SEQUENCE todos_id_seq INCREMENT BY 50;
+
+ALTER TABLE todos ADD COLUMN template_id BIGINT;
+ALTER TABLE todos ADD COLUMN occurrence_date DATE;
+
+-- Instances outlive their template (they become ordinary todos)
+ALTER TABLE todos ADD CONSTRAINT fk_todos_template_id
+    FOREIGN KEY (template_id) REFERENCES todos(id) ON DELETE SET NULL;
+
+-- One instance per template and date: makes materialization idempotent
+CREATE UNIQUE INDEX uq_todos_template_occurrence ON todos (template_id, occurrence_date);
+
+CREATE TABLE todo_recurrences (
+    todo_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    frequency VARCHAR(16) NOT NULL CHECK (frequency IN ('DAILY', 'WEEKLY', 'MONTHLY')),
+    interval_count INTEGER NOT NULL CHECK (interval_count >= 1),
+    weekdays INTEGER NOT NULL DEFAULT 0, -- bit 0 = Monday ... bit 6 = Sunday (WEEKLY only)
+    starts_on DATE NOT NULL,
+    ends_on DATE,
+    horizon_days INTEGER NOT NULL CHECK (horizon_days >= 1),
+    materialized_through DATE NOT NULL, -- watermark: instances exist up to this date
+    next_run_on DATE, -- NULL once materialized through ends_on
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE todo_recurrences ADD CONSTRAINT fk_todo_recurrences_todo_id
+    FOREIGN KEY (todo_id) REFERENCES todos(id) ON DELETE CASCADE;
+
+ALTER TABLE todo_recurrences ADD CONSTRAINT fk_todo_recurrences_user_id
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+-- The generator picks rules due to be extended in next_run_on order
+CREATE INDEX idx_todo_recurrences_next_run_on ON todo_recurrences (next_run_on, todo_id);
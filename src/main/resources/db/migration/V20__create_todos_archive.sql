@@ -0,0 +1,47 @@
+-- Cold storage for completed todos moved out of the hot table by the archiver.
+-- Range-partitioned by month of completion; partitions are created on demand by
+-- ensure_todos_archive_partitions() before each batch is copied.
+CREATE TABLE todos_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    priority SMALLINT NOT NULL,
+    due_date DATE,
+    parent_id BIGINT, -- plain value: the parent may still be in todos or archived later
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE NOT NULL, -- todos.updated_at at archive time
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id, completed_at)
+) PARTITION BY RANGE (completed_at);
+
+ALTER TABLE todos_archive ADD CONSTRAINT fk_todos_archive_user_id
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+-- Archive listing pages through a user's items, newest completion first (merge of per-partition index scans)
+CREATE INDEX idx_todos_archive_user_completed ON todos_archive (user_id, completed_at DESC, id DESC);
+
+-- The archiver picks DONE todos in completion order; only DONE rows are indexed
+CREATE INDEX idx_todos_done_updated ON todos (updated_at, id) WHERE status = 2;
+
+-- Creates the missing monthly partitions (UTC months) covering [from_ts, to_ts]
+CREATE FUNCTION ensure_todos_archive_partitions(from_ts TIMESTAMP WITH TIME ZONE, to_ts TIMESTAMP WITH TIME ZONE)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month', from_ts AT TIME ZONE 'UTC');
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('todos_archive_partitions'));
+    WHILE month_start <= to_ts AT TIME ZONE 'UTC' LOOP
+        partition_name := 'todos_archive_' || to_char(month_start, 'YYYYMM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF todos_archive FOR VALUES FROM (%L) TO (%L)',
+                partition_name, month_start AT TIME ZONE 'UTC', (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+            created := created + 1;
+        END IF;
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
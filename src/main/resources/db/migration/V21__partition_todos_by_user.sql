@@ -0,0 +1,92 @@
+-- Convert todos into a table hash-partitioned by user_id (16 partitions todos_p0 .. todos_p15).
+-- Every list, filter and sync query is user-scoped, so it is pruned to one partition; vacuum and
+-- index maintenance work on partitions 1/16 the size of the old heap.
+--
+-- A partitioned table's primary key and the unique keys referenced by foreign keys must contain the
+-- partition key, so todos is keyed by (id, user_id) and the self references (parent, template) and
+-- todo_recurrences reference (id, user_id). A child always belongs to its parent's user (TodoService
+-- checks it), so the cascades behave exactly as before and are now pruned to the user's partition.
+--
+-- Runs as one transaction holding an exclusive lock on todos for the copy; on large installations
+-- schedule it in a maintenance window. Indexes and keys are built after the copy, per partition.
+
+-- Cross-user links cannot be created through the API; clear any legacy ones so the composite keys validate
+UPDATE todos c SET parent_id = NULL FROM todos p WHERE c.parent_id = p.id AND p.user_id <> c.user_id;
+UPDATE todos c SET template_id = NULL FROM todos p WHERE c.template_id = p.id AND p.user_id <> c.user_id;
+
+ALTER TABLE todo_recurrences DROP CONSTRAINT fk_todo_recurrences_todo_id;
+
+-- The id sequence is owned by the old table's column; keep it when the old table is dropped
+ALTER SEQUENCE todos_id_seq OWNED BY NONE;
+
+CREATE TABLE todos_partitioned (
+    id BIGINT NOT NULL DEFAULT nextval('todos_id_seq'),
+    user_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    status SMALLINT NOT NULL DEFAULT 0,
+    priority SMALLINT NOT NULL DEFAULT 2,
+    due_date DATE,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    parent_id BIGINT,
+    version BIGINT NOT NULL DEFAULT 0,
+    change_seq BIGINT NOT NULL DEFAULT nextval('todo_change_seq'),
+    template_id BIGINT,
+    occurrence_date DATE,
+    CONSTRAINT chk_status CHECK (status IN (0, 1, 2)),
+    CONSTRAINT chk_priority CHECK (priority IN (1, 2, 3))
+) PARTITION BY HASH (user_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE todos_p%s PARTITION OF todos_partitioned '
+            'FOR VALUES WITH (MODULUS 16, REMAINDER %s)', i, i);
+    END LOOP;
+END $$;
+
+INSERT INTO todos_partitioned (id, user_id, title, description, status, priority, due_date, created_at,
+                               updated_at, parent_id, version, change_seq, template_id, occurrence_date)
+SELECT id, user_id, title, description, status, priority, due_date, created_at,
+       updated_at, parent_id, version, change_seq, template_id, occurrence_date
+FROM todos;
+
+DROP TABLE todos;
+ALTER TABLE todos_partitioned RENAME TO todos;
+ALTER SEQUENCE todos_id_seq OWNED BY todos.id;
+
+ALTER TABLE todos ADD PRIMARY KEY (id, user_id);
+
+CREATE INDEX idx_todos_user_created ON todos (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_todos_user_status_created ON todos (user_id, status, created_at DESC, id DESC);
+CREATE INDEX idx_todos_user_priority_created ON todos (user_id, priority, created_at DESC, id DESC);
+CREATE INDEX idx_todos_user_due ON todos (user_id, due_date, id);
+CREATE INDEX idx_todos_user_priority_id ON todos (user_id, priority, id);
+CREATE INDEX idx_todos_user_root_created ON todos (user_id, created_at DESC, id DESC) WHERE parent_id IS NULL;
+CREATE INDEX idx_todos_parent_created ON todos (parent_id, created_at DESC, id DESC);
+CREATE INDEX idx_todos_title_trgm ON todos USING gin (title gin_trgm_ops);
+CREATE INDEX idx_todos_user_open_due ON todos (user_id, due_date, id) WHERE status <> 2;
+CREATE INDEX idx_todos_user_change_seq ON todos (user_id, change_seq);
+CREATE INDEX idx_todos_due_date ON todos (due_date, id) WHERE status <> 2;
+CREATE INDEX idx_todos_done_updated ON todos (updated_at, id) WHERE status = 2;
+-- Instances share their template's user, so adding user_id keeps one instance per template and date
+CREATE UNIQUE INDEX uq_todos_template_occurrence ON todos (template_id, occurrence_date, user_id);
+
+ALTER TABLE todos ADD CONSTRAINT fk_todos_user_id
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+ALTER TABLE todos ADD CONSTRAINT fk_todo_parent
+    FOREIGN KEY (parent_id, user_id) REFERENCES todos (id, user_id) ON DELETE CASCADE;
+
+-- Only template_id is cleared when the template goes away (user_id stays)
+ALTER TABLE todos ADD CONSTRAINT fk_todos_template_id
+    FOREIGN KEY (template_id, user_id) REFERENCES todos (id, user_id) ON DELETE SET NULL (template_id);
+
+ALTER TABLE todo_recurrences ADD CONSTRAINT fk_todo_recurrences_todo_id
+    FOREIGN KEY (todo_id, user_id) REFERENCES todos (id, user_id) ON DELETE CASCADE;
+
+CREATE TRIGGER update_todos_updated_at BEFORE UPDATE
+    ON todos FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+ANALYZE todos;
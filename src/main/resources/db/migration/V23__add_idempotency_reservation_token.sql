@@ -0,0 +1,4 @@
+-- Random token of the request currently holding a pending reservation. The response is stored
+-- (and a failed reservation released) only while the token still matches, so a request whose
+-- reservation was taken over after the lease cannot overwrite or delete the new holder's row.
+ALTER TABLE idempotency_keys ADD COLUMN reservation_token VARCHAR(36);
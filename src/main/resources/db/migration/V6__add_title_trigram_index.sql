@@ -0,0 +1,4 @@
+-- Trigram index for typo-tolerant title search (similarity operator %)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_todos_title_trgm ON todos USING gin (title gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- Partial index for per-user overdue / due-soon lookups.
+-- Only open todos are indexed, and (due_date, id) doubles as the keyset cursor order.
+CREATE INDEX idx_todos_user_open_due ON todos (user_id, due_date, id) WHERE status <> 'DONE';
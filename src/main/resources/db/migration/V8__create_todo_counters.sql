@@ -0,0 +1,27 @@
+-- Per-user todo counters maintained incrementally by the application
+CREATE TABLE todo_counters (
+    user_id BIGINT PRIMARY KEY,
+    status_todo INTEGER NOT NULL DEFAULT 0,
+    status_in_progress INTEGER NOT NULL DEFAULT 0,
+    status_done INTEGER NOT NULL DEFAULT 0,
+    priority_high INTEGER NOT NULL DEFAULT 0,
+    priority_medium INTEGER NOT NULL DEFAULT 0,
+    priority_low INTEGER NOT NULL DEFAULT 0
+);
+
+ALTER TABLE todo_counters ADD CONSTRAINT fk_todo_counters_user_id
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+-- Backfill from existing todos
+INSERT INTO todo_counters (user_id, status_todo, status_in_progress, status_done,
+                           priority_high, priority_medium, priority_low)
+SELECT u.id,
+       COUNT(t.id) FILTER (WHERE t.status = 'TODO'),
+       COUNT(t.id) FILTER (WHERE t.status = 'IN_PROGRESS'),
+       COUNT(t.id) FILTER (WHERE t.status = 'DONE'),
+       COUNT(t.id) FILTER (WHERE t.priority = 'HIGH'),
+       COUNT(t.id) FILTER (WHERE t.priority = 'MEDIUM'),
+       COUNT(t.id) FILTER (WHERE t.priority = 'LOW')
+FROM users u
+LEFT JOIN todos t ON t.user_id = u.id
+GROUP BY u.id;
@@ -0,0 +1,12 @@
+-- Composite indexes for filtered todo listing.
+-- Every list query starts with user_id = ?, so each index leads with user_id and
+-- ends with the default list order (created_at DESC, id DESC) to avoid a sort step.
+CREATE INDEX idx_todos_user_created ON todos (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_todos_user_status_created ON todos (user_id, status, created_at DESC, id DESC);
+CREATE INDEX idx_todos_user_priority_created ON todos (user_id, priority, created_at DESC, id DESC);
+CREATE INDEX idx_todos_user_due ON todos (user_id, due_date, id);
+CREATE INDEX idx_todos_user_root_created ON todos (user_id, created_at DESC, id DESC) WHERE parent_id IS NULL;
+
+-- Superseded by the composite indexes above (same leading columns)
+DROP INDEX IF EXISTS idx_todos_user_id;
+DROP INDEX IF EXISTS idx_todos_user_status;
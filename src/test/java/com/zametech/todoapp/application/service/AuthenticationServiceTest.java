@@ -2,6 +2,7 @@ package com.zametech.todoapp.application.service;
 
 import com.zametech.todoapp.domain.model.User;
 import com.zametech.todoapp.domain.repository.UserRepository;
+import com.zametech.todoapp.infrastructure.replica.ReadYourWrites;
 import com.zametech.todoapp.infrastructure.security.JwtService;
 import com.zametech.todoapp.presentation.dto.request.LoginRequest;
 import com.zametech.todoapp.presentation.dto.request.RegisterRequest;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,7 +21,9 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,6 +46,8 @@ class AuthenticationServiceTest {
     @Mock
     private AuthenticationManager authenticationManager;
 
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5));
+
     private AuthenticationService authenticationService;
 
     @BeforeEach
@@ -50,7 +56,9 @@ class AuthenticationServiceTest {
                 userRepository,
                 passwordEncoder,
                 jwtService,
-                authenticationManager
+                authenticationManager,
+                new StaticListableBeanFactory(Map.<String, Object>of("readYourWrites", readYourWrites))
+                        .getBeanProvider(ReadYourWrites.class)
         );
     }
 
@@ -91,6 +99,8 @@ class AuthenticationServiceTest {
         verify(userRepository).save(any(User.class));
         verify(jwtService).generateToken(any(UserDetails.class));
         verify(jwtService).generateRefreshToken(any(UserDetails.class));
+        // 登録は未認証のリクエストのため、登録したメールアドレスで書き込みを記録する
+        assertTrue(readYourWrites.isSticky("test@example.com"));
     }
 
     @Test
@@ -0,0 +1,315 @@
+package com.zametech.todoapp.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zametech.todoapp.common.config.IdempotencyProperties;
+import com.zametech.todoapp.common.exception.IdempotencyKeyInUseException;
+import com.zametech.todoapp.common.exception.IdempotencyKeyMismatchException;
+import com.zametech.todoapp.common.exception.InvalidIdempotencyKeyException;
+import com.zametech.todoapp.common.exception.TodoNotFoundException;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.IdempotencyKeyRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.IdempotencyKeyEntity;
+import com.zametech.todoapp.presentation.dto.request.CreateTodoRequest;
+import com.zametech.todoapp.presentation.dto.response.TodoResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final String KEY = "3f2c9a7e-key";
+    private static final String OPERATION = "POST /api/v1/todos";
+    private static final CreateTodoRequest REQUEST =
+        new CreateTodoRequest("Buy milk", null, TodoPriority.MEDIUM, null, null);
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Mock
+    private UserContextService userContextService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(idempotencyKeyRepository, userContextService,
+                new IdempotencyProperties(), objectMapper, new TransactionTemplate(transactionManager));
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        lenient().when(idempotencyKeyRepository.complete(eq(USER_ID), eq(KEY), anyString(), anyInt(), anyString()))
+            .thenReturn(true);
+    }
+
+    @Test
+    void execute_FirstRequest_RunsActionAndStoresResponse() throws Exception {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(idempotencyKeyRepository.reserve(eq(USER_ID), eq(KEY), anyString(), anyString(), any())).thenReturn(true);
+
+        IdempotencyService.Result<TodoResponse> result = execute(userId -> todo(10L));
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.status()).isEqualTo(201);
+        assertThat(result.body().id()).isEqualTo(10L);
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        InOrder inOrder = inOrder(idempotencyKeyRepository, transactionManager);
+        inOrder.verify(idempotencyKeyRepository).reserve(eq(USER_ID), eq(KEY), anyString(), token.capture(), any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(idempotencyKeyRepository).complete(eq(USER_ID), eq(KEY), eq(token.getValue()), eq(201),
+            stored.capture());
+        inOrder.verify(transactionManager).commit(transaction);
+        assertThat(objectMapper.readValue(stored.getValue(), TodoResponse.class).id()).isEqualTo(10L);
+    }
+
+    @Test
+    void execute_RetryWithSameRequest_ReplaysStoredResponse() throws Exception {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(idempotencyKeyRepository.reserve(eq(USER_ID), eq(KEY), anyString(), anyString(), any())).thenReturn(true, false);
+        execute(userId -> todo(10L));
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyKeyRepository).reserve(eq(USER_ID), eq(KEY), hash.capture(), anyString(), any());
+        when(idempotencyKeyRepository.find(USER_ID, KEY))
+            .thenReturn(Optional.of(stored(hash.getValue(), 201, objectMapper.writeValueAsString(todo(10L)))));
+
+        AtomicInteger calls = new AtomicInteger();
+        IdempotencyService.Result<TodoResponse> result = execute(userId -> {
+            calls.incrementAndGet();
+            return todo(11L);
+        });
+
+        assertThat(result.replayed()).isTrue();
+        assertThat(result.status()).isEqualTo(201);
+        assertThat(result.body().id()).isEqualTo(10L);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void execute_KeyUsedForDifferentRequest_ThrowsMismatch() {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(idempotencyKeyRepository.reserve(eq(USER_ID), eq(KEY), anyString(), anyString(), any())).thenReturn(false);
+        when(idempotencyKeyRepository.find(USER_ID, KEY)).thenReturn(Optional.of(stored("other", 201, "{}")));
+
+        assertThatThrownBy(() -> execute(userId -> todo(10L)))
+            .isInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    @Test
+    void execute_KeyPendingOnAnotherInstance_ThrowsInUse() throws Exception {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(idempotencyKeyRepository.reserve(eq(USER_ID), eq(KEY), anyString(), anyString(), any())).thenReturn(true, false);
+        execute(userId -> todo(10L));
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyKeyRepository).reserve(eq(USER_ID), eq(KEY), hash.capture(), anyString(), any());
+        when(idempotencyKeyRepository.find(USER_ID, KEY)).thenReturn(Optional.of(stored(hash.getValue(), null, null)));
+
+        assertThatThrownBy(() -> execute(userId -> todo(11L)))
+            .isInstanceOf(IdempotencyKeyInUseException.class);
+    }
+
+    @Test
+    void execute_PendingPastLease_IsTakenOverAndRun() throws Exception {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(idempotencyKeyRepository.reserve(eq(USER_ID), eq(KEY), anyString(), anyString(), any())).thenReturn(true, false);
+        execute(userId -> todo(10L));
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyKeyRepository).reserve(eq(USER_ID), eq(KEY), hash.capture(), anyString(), any());
+        IdempotencyKeyEntity abandoned = stored(hash.getValue(), null, null);
+        abandoned.setReservedAt(ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(10));
+        when(idempotencyKeyRepository.find(USER_ID, KEY)).thenReturn(Optional.of(abandoned));
+        when(idempotencyKeyRepository.takeOver(eq(USER_ID), eq(KEY), eq(abandoned.getReservedAt()), anyString(), any()))
+            .thenReturn(true);
+
+        IdempotencyService.Result<TodoResponse> result = execute(userId -> todo(11L));
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.body().id()).isEqualTo(11L);
+        verify(idempotencyKeyRepository).complete(eq(USER_ID), eq(KEY), anyString(), eq(201), contains("\"id\":11"));
+    }
+
+    @Test
+    void execute_ExpiredKey_IsRemovedAndReserved() {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(idempotencyKeyRepository.reserve(eq(USER_ID), eq(KEY), anyString(), anyString(), any())).thenReturn(false, true);
+        IdempotencyKeyEntity expired = stored("old", 201, "{}");
+        expired.setExpiresAt(ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+        when(idempotencyKeyRepository.find(USER_ID, KEY)).thenReturn(Optional.of(expired));
+
+        IdempotencyService.Result<TodoResponse> result = execute(userId -> todo(10L));
+
+        assertThat(result.replayed()).isFalse();
+        verify(idempotencyKeyRepository).removeIfExpired(eq(USER_ID), eq(KEY), any());
+    }
+
+    @Test
+    void execute_ActionFails_ReleasesKey() {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(idempotencyKeyRepository.reserve(eq(USER_ID), eq(KEY), anyString(), anyString(), any())).thenReturn(true);
+
+        assertThatThrownBy(() -> execute(userId -> {
+            throw new TodoNotFoundException(5L);
+        })).isInstanceOf(TodoNotFoundException.class);
+
+        verify(idempotencyKeyRepository).release(eq(USER_ID), eq(KEY), anyString());
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), any(), anyInt(), any());
+        verify(transactionManager).rollback(transaction);
+    }
+
+    @Test
+    void execute_ReservationTakenOverBeforeCompletion_RollsBackAndThrowsInUse() {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(idempotencyKeyRepository.reserve(eq(USER_ID), eq(KEY), anyString(), anyString(), any())).thenReturn(true);
+        when(idempotencyKeyRepository.complete(eq(USER_ID), eq(KEY), anyString(), eq(201), anyString()))
+            .thenReturn(false);
+
+        assertThatThrownBy(() -> execute(userId -> todo(10L)))
+            .isInstanceOf(IdempotencyKeyInUseException.class);
+
+        verify(transactionManager).rollback(transaction);
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void execute_ActionRollsBackWithoutThrowing_ReturnsResponseWithoutStoring() {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(idempotencyKeyRepository.reserve(eq(USER_ID), eq(KEY), anyString(), anyString(), any())).thenReturn(true);
+
+        // 一括処理の失敗（操作が例外を結果に入れてトランザクションを取り消した）
+        IdempotencyService.Result<TodoResponse> result = execute(userId -> {
+            transaction.setRollbackOnly();
+            return todo(10L);
+        });
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(result.body().id()).isEqualTo(10L);
+        verify(idempotencyKeyRepository, never()).complete(any(), any(), any(), anyInt(), any());
+        verify(idempotencyKeyRepository).release(eq(USER_ID), eq(KEY), anyString());
+    }
+
+    @Test
+    void executeSeparately_StoresResponseOutsideTheActionsTransactions() {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(idempotencyKeyRepository.reserve(eq(USER_ID), eq(KEY), anyString(), anyString(), any())).thenReturn(true);
+
+        IdempotencyService.Result<TodoResponse> result = idempotencyService.executeSeparately(
+            KEY, OPERATION, REQUEST, HttpStatus.CREATED, TodoResponse.class, userId -> todo(10L));
+
+        assertThat(result.replayed()).isFalse();
+        verify(idempotencyKeyRepository).complete(eq(USER_ID), eq(KEY), anyString(), eq(201), contains("\"id\":10"));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void execute_ConcurrentRequestsWithSameKey_RunActionOnce() throws Exception {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        // 2件目が1件目の完了後に届いた場合でも、DBの記録から再送として返る
+        AtomicReference<String> hash = new AtomicReference<>();
+        AtomicReference<String> body = new AtomicReference<>();
+        when(idempotencyKeyRepository.reserve(eq(USER_ID), eq(KEY), anyString(), anyString(), any()))
+            .thenAnswer(invocation -> hash.compareAndSet(null, invocation.getArgument(2)));
+        when(idempotencyKeyRepository.complete(eq(USER_ID), eq(KEY), anyString(), eq(201), anyString()))
+            .thenAnswer(invocation -> {
+                body.set(invocation.getArgument(4));
+                return true;
+            });
+        lenient().when(idempotencyKeyRepository.find(USER_ID, KEY))
+            .thenAnswer(invocation -> Optional.of(stored(hash.get(), 201, body.get())));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Function<Long, TodoResponse> action = userId -> {
+            calls.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return todo(10L);
+        };
+
+        CompletableFuture<IdempotencyService.Result<TodoResponse>> first =
+            CompletableFuture.supplyAsync(() -> execute(action));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<IdempotencyService.Result<TodoResponse>> second =
+            CompletableFuture.supplyAsync(() -> execute(action));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+        assertThat(second.get(5, TimeUnit.SECONDS).replayed()).isTrue();
+        assertThat(second.get().body().id()).isEqualTo(10L);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void execute_InvalidKey_ThrowsInvalidKey() {
+        assertThatThrownBy(() -> idempotencyService.execute("has space", OPERATION, REQUEST, HttpStatus.CREATED,
+                TodoResponse.class, userId -> todo(10L)))
+            .isInstanceOf(InvalidIdempotencyKeyException.class);
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    void purgeExpired_DeletesInBatchesUntilDone() {
+        when(idempotencyKeyRepository.purgeExpired(any(), eq(1000))).thenReturn(1000, 1000, 12);
+
+        idempotencyService.purgeExpired();
+
+        verify(idempotencyKeyRepository, times(3)).purgeExpired(any(), eq(1000));
+    }
+
+    private IdempotencyService.Result<TodoResponse> execute(Function<Long, TodoResponse> action) {
+        return idempotencyService.execute(KEY, OPERATION, REQUEST, HttpStatus.CREATED, TodoResponse.class, action);
+    }
+
+    private static IdempotencyKeyEntity stored(String requestHash, Integer statusCode, String body) {
+        IdempotencyKeyEntity entity = new IdempotencyKeyEntity();
+        entity.setUserId(USER_ID);
+        entity.setIdemKey(KEY);
+        entity.setRequestHash(requestHash);
+        entity.setStatusCode(statusCode);
+        entity.setResponseBody(body);
+        entity.setReservedAt(ZonedDateTime.now(ZoneOffset.UTC));
+        entity.setExpiresAt(ZonedDateTime.now(ZoneOffset.UTC).plusHours(1));
+        return entity;
+    }
+
+    private static TodoResponse todo(Long id) {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        return new TodoResponse(id, "Buy milk", null, TodoStatus.TODO, TodoPriority.MEDIUM, null, null, now, now, 0L);
+    }
+}
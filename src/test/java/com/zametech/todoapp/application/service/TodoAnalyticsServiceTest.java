@@ -0,0 +1,185 @@
+package com.zametech.todoapp.application.service;
+
+import com.zametech.todoapp.common.config.AnalyticsProperties;
+import com.zametech.todoapp.common.exception.InvalidDateRangeException;
+import com.zametech.todoapp.domain.model.TodoDailyDelta;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoDailyStatsRepository;
+import com.zametech.todoapp.domain.repository.TodoStatusEventRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoDailyStatsEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoStatusEventEntity;
+import com.zametech.todoapp.presentation.dto.response.BurndownResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoAnalyticsServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long OTHER_USER_ID = 2L;
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 1);
+
+    @Mock
+    private TodoStatusEventRepository todoStatusEventRepository;
+
+    @Mock
+    private TodoDailyStatsRepository todoDailyStatsRepository;
+
+    @Mock
+    private UserContextService userContextService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TodoAnalyticsService todoAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        todoAnalyticsService = new TodoAnalyticsService(
+                todoStatusEventRepository,
+                todoDailyStatsRepository,
+                userContextService,
+                new AnalyticsProperties(),
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void getBurndown_AccumulatesRemainingAndFillsEmptyDays() {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(todoDailyStatsRepository.sumOpenBalanceBefore(USER_ID, DAY)).thenReturn(5L);
+        when(todoDailyStatsRepository.findBetween(USER_ID, DAY, DAY.plusDays(3))).thenReturn(List.of(
+            stats(DAY, 2, 1, 2, 1),
+            stats(DAY.plusDays(2), 0, 3, 0, 3)));
+
+        BurndownResponse response = todoAnalyticsService.getBurndown(DAY, DAY.plusDays(3));
+
+        assertThat(response.days()).extracting(BurndownResponse.Day::date)
+            .containsExactly(DAY, DAY.plusDays(1), DAY.plusDays(2), DAY.plusDays(3));
+        assertThat(response.days()).extracting(BurndownResponse.Day::remaining).containsExactly(6L, 6L, 3L, 3L);
+        assertThat(response.days()).extracting(BurndownResponse.Day::completed).containsExactly(1, 0, 3, 0);
+        verifyNoInteractions(todoStatusEventRepository);
+    }
+
+    @Test
+    void getBurndown_InvalidRange_Throws() {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+
+        assertThatThrownBy(() -> todoAnalyticsService.getBurndown(DAY, DAY.minusDays(1)))
+            .isInstanceOf(InvalidDateRangeException.class);
+        assertThatThrownBy(() -> todoAnalyticsService.getBurndown(DAY, DAY.plusYears(2)))
+            .isInstanceOf(InvalidDateRangeException.class);
+        verifyNoInteractions(todoDailyStatsRepository);
+    }
+
+    @Test
+    void rollup_AddsDeltasPerUserAndDayAndMarksEventsRolledUp() {
+        SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        ZonedDateTime at = DAY.atTime(10, 0).atZone(ZoneId.of("Asia/Tokyo"));
+        List<TodoStatusEventEntity> events = List.of(
+            event(11L, USER_ID, null, TodoStatus.TODO, at),
+            event(12L, USER_ID, TodoStatus.TODO, TodoStatus.DONE, at.plusMinutes(1)),
+            event(13L, OTHER_USER_ID, TodoStatus.IN_PROGRESS, null, at.plusMinutes(2)));
+        when(todoStatusEventRepository.lockPending(1000)).thenReturn(events);
+        when(todoDailyStatsRepository.addDelta(eq(USER_ID), eq(DAY), any())).thenReturn(true);
+        when(todoDailyStatsRepository.addDelta(eq(OTHER_USER_ID), eq(DAY), any())).thenReturn(false);
+        when(todoDailyStatsRepository.insertIfAbsent(any())).thenReturn(true);
+
+        todoAnalyticsService.rollup();
+
+        ArgumentCaptor<TodoDailyDelta> delta = ArgumentCaptor.forClass(TodoDailyDelta.class);
+        verify(todoDailyStatsRepository).addDelta(eq(USER_ID), eq(DAY), delta.capture());
+        assertThat(delta.getValue().created()).isEqualTo(1);
+        assertThat(delta.getValue().completed()).isEqualTo(1);
+        assertThat(delta.getValue().opened()).isEqualTo(1);
+        assertThat(delta.getValue().closed()).isEqualTo(1);
+
+        ArgumentCaptor<TodoDailyStatsEntity> inserted = ArgumentCaptor.forClass(TodoDailyStatsEntity.class);
+        verify(todoDailyStatsRepository).insertIfAbsent(inserted.capture());
+        assertThat(inserted.getValue().getUserId()).isEqualTo(OTHER_USER_ID);
+        assertThat(inserted.getValue().getClosedCount()).isEqualTo(1);
+        assertThat(inserted.getValue().getCreatedCount()).isZero();
+        verify(todoDailyStatsRepository, times(1)).addDelta(eq(OTHER_USER_ID), eq(DAY), any());
+
+        verify(todoStatusEventRepository).markRolledUp(List.of(11L, 12L, 13L));
+        verify(transactionManager).commit(transaction);
+    }
+
+    @Test
+    void rollup_UsesConfiguredZoneForDay() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // 日本時間では3/2の午前1時、UTCではまだ3/1
+        ZonedDateTime at = DAY.atTime(16, 0).atZone(ZoneOffset.UTC);
+        when(todoStatusEventRepository.lockPending(1000))
+            .thenReturn(List.of(event(11L, USER_ID, null, TodoStatus.TODO, at)));
+        when(todoDailyStatsRepository.addDelta(eq(USER_ID), any(), any())).thenReturn(true);
+
+        todoAnalyticsService.rollup();
+
+        verify(todoDailyStatsRepository).addDelta(eq(USER_ID), eq(DAY.plusDays(1)), any());
+    }
+
+    @Test
+    void rollup_ConcurrentInsertOfSameDay_AddsDeltaToExistingRow() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ZonedDateTime at = DAY.atTime(10, 0).atZone(ZoneId.of("Asia/Tokyo"));
+        when(todoStatusEventRepository.lockPending(1000))
+            .thenReturn(List.of(event(11L, USER_ID, null, TodoStatus.TODO, at)));
+        when(todoDailyStatsRepository.addDelta(eq(USER_ID), eq(DAY), any())).thenReturn(false, true);
+        when(todoDailyStatsRepository.insertIfAbsent(any())).thenReturn(false);
+
+        todoAnalyticsService.rollup();
+
+        verify(todoDailyStatsRepository, times(2)).addDelta(eq(USER_ID), eq(DAY), any());
+        verify(todoStatusEventRepository).markRolledUp(List.of(11L));
+    }
+
+    @Test
+    void rollup_NoPendingEvents_DoesNothing() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(todoStatusEventRepository.lockPending(anyInt())).thenReturn(List.of());
+
+        todoAnalyticsService.rollup();
+
+        verify(todoDailyStatsRepository, never()).addDelta(any(), any(), any());
+        verify(todoStatusEventRepository, never()).markRolledUp(any());
+    }
+
+    private static TodoStatusEventEntity event(Long id, Long userId, TodoStatus from, TodoStatus to,
+                                               ZonedDateTime occurredAt) {
+        TodoStatusEventEntity event = new TodoStatusEventEntity(userId, 100L + id, from, to, occurredAt);
+        event.setId(id);
+        return event;
+    }
+
+    private static TodoDailyStatsEntity stats(LocalDate date, int opened, int closed, int created, int completed) {
+        TodoDailyStatsEntity stats = new TodoDailyStatsEntity();
+        stats.setUserId(USER_ID);
+        stats.setStatDate(date);
+        stats.setOpenedCount(opened);
+        stats.setClosedCount(closed);
+        stats.setCreatedCount(created);
+        stats.setCompletedCount(completed);
+        return stats;
+    }
+}
@@ -0,0 +1,161 @@
+package com.zametech.todoapp.application.service;
+
+import com.zametech.todoapp.common.config.ArchiveProperties;
+import com.zametech.todoapp.common.exception.InvalidCursorException;
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoArchiveRepository;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoArchiveEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.presentation.dto.response.ArchivedTodoResponse;
+import com.zametech.todoapp.presentation.dto.response.CursorPageResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoArchiveServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final ZonedDateTime COMPLETED_AT = ZonedDateTime.now().minusDays(200).truncatedTo(ChronoUnit.MICROS);
+
+    @Mock
+    private TodoArchiveRepository todoArchiveRepository;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private UserContextService userContextService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ArchiveProperties archiveProperties = new ArchiveProperties();
+
+    private TodoArchiveService todoArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        todoArchiveService = new TodoArchiveService(
+                todoArchiveRepository,
+                todoRepository,
+                userContextService,
+                archiveProperties,
+                eventPublisher,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void archiveCompleted_MovesBatchesUntilShortAndPublishesDeletes() {
+        archiveProperties.setBatchSize(2);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        TodoEntity oldest = doneTodo(1L, COMPLETED_AT);
+        TodoEntity newer = doneTodo(2L, COMPLETED_AT.plusMonths(2));
+        TodoEntity last = doneTodo(3L, COMPLETED_AT.plusMonths(3));
+        when(todoRepository.lockArchivable(any(), eq(2)))
+            .thenReturn(List.of(oldest, newer))
+            .thenReturn(List.of(last));
+
+        todoArchiveService.archiveCompleted();
+
+        ArgumentCaptor<ZonedDateTime> cutoff = ArgumentCaptor.forClass(ZonedDateTime.class);
+        verify(todoRepository, times(2)).lockArchivable(cutoff.capture(), anyInt());
+        assertThat(cutoff.getValue()).isBefore(ZonedDateTime.now().minusDays(89));
+        verify(todoArchiveRepository).ensurePartitions(COMPLETED_AT, COMPLETED_AT.plusMonths(2));
+        verify(todoArchiveRepository).copyFromTodos(eq(List.of(USER_ID)), eq(List.of(1L, 2L)), any());
+        verify(todoRepository).deleteAllById(List.of(USER_ID), List.of(1L, 2L));
+        verify(todoRepository).deleteAllById(List.of(USER_ID), List.of(3L));
+        ArgumentCaptor<TodoChangedEvent> events = ArgumentCaptor.forClass(TodoChangedEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertThat(events.getAllValues()).allSatisfy(event -> {
+            assertThat(event.type()).isEqualTo(TodoChangedEvent.Type.DELETED);
+            assertThat(event.previous().getStatus()).isEqualTo(TodoStatus.DONE);
+        });
+    }
+
+    @Test
+    void archiveCompleted_NothingOldEnough_DoesNotTouchArchive() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(todoRepository.lockArchivable(any(), anyInt())).thenReturn(List.of());
+
+        todoArchiveService.archiveCompleted();
+
+        verifyNoInteractions(todoArchiveRepository, eventPublisher);
+        verify(todoRepository, never()).deleteAllById(any(), any());
+    }
+
+    @Test
+    void getArchivedTodos_MoreThanLimit_ReturnsCursorToNextPage() {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(todoArchiveRepository.findBeforeCursor(eq(USER_ID), any(), eq(Long.MAX_VALUE), eq(3)))
+            .thenReturn(List.of(archived(9L, COMPLETED_AT.plusDays(2)), archived(8L, COMPLETED_AT.plusDays(1)),
+                archived(7L, COMPLETED_AT)));
+
+        CursorPageResponse<ArchivedTodoResponse> first = todoArchiveService.getArchivedTodos(null, 2);
+
+        assertThat(first.content()).extracting(ArchivedTodoResponse::id).containsExactly(9L, 8L);
+        assertThat(first.nextCursor()).isNotNull();
+
+        when(todoArchiveRepository.findBeforeCursor(eq(USER_ID), any(), eq(8L), eq(3)))
+            .thenReturn(List.of(archived(7L, COMPLETED_AT)));
+
+        CursorPageResponse<ArchivedTodoResponse> second = todoArchiveService.getArchivedTodos(first.nextCursor(), 2);
+
+        ArgumentCaptor<ZonedDateTime> position = ArgumentCaptor.forClass(ZonedDateTime.class);
+        verify(todoArchiveRepository).findBeforeCursor(eq(USER_ID), position.capture(), eq(8L), eq(3));
+        assertThat(position.getValue().toInstant()).isEqualTo(COMPLETED_AT.plusDays(1).toInstant());
+        assertThat(second.content()).extracting(ArchivedTodoResponse::id).containsExactly(7L);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void getArchivedTodos_MalformedCursor_ThrowsInvalidCursor() {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+
+        assertThatThrownBy(() -> todoArchiveService.getArchivedTodos("bm90LWEtY3Vyc29y", 10))
+            .isInstanceOf(InvalidCursorException.class);
+        verify(todoArchiveRepository, never()).findBeforeCursor(anyLong(), any(), anyLong(), anyInt());
+    }
+
+    private static TodoEntity doneTodo(Long id, ZonedDateTime updatedAt) {
+        TodoEntity todo = new TodoEntity(USER_ID, "Done " + id, null, TodoStatus.DONE, TodoPriority.MEDIUM, null);
+        todo.setId(id);
+        todo.setUpdatedAt(updatedAt);
+        return todo;
+    }
+
+    private static TodoArchiveEntity archived(Long id, ZonedDateTime completedAt) {
+        TodoArchiveEntity archived = new TodoArchiveEntity();
+        archived.setId(id);
+        archived.setUserId(USER_ID);
+        archived.setTitle("Done " + id);
+        archived.setPriority(TodoPriority.MEDIUM);
+        archived.setCompletedAt(completedAt);
+        return archived;
+    }
+}
@@ -0,0 +1,165 @@
+package com.zametech.todoapp.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.zametech.todoapp.application.service.TodoBatchService.Outcome;
+import com.zametech.todoapp.application.service.TodoBatchService.Result;
+import com.zametech.todoapp.common.exception.BatchAbortedException;
+import com.zametech.todoapp.common.exception.InvalidBatchOperationException;
+import com.zametech.todoapp.common.exception.TodoNotFoundException;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.presentation.dto.request.BatchOperationRequest;
+import com.zametech.todoapp.presentation.dto.request.BatchOperationRequest.Type;
+import com.zametech.todoapp.presentation.dto.request.BatchRequest;
+import com.zametech.todoapp.presentation.dto.request.CreateTodoRequest;
+import com.zametech.todoapp.presentation.dto.request.UpdateTodoRequest;
+import com.zametech.todoapp.presentation.dto.response.TodoResponse;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoBatchServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private TodoService todoService;
+
+    @Mock
+    private UserContextService userContextService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private TodoBatchService todoBatchService;
+
+    @BeforeEach
+    void setUp() {
+        todoBatchService = new TodoBatchService(
+                todoService,
+                userContextService,
+                new TransactionTemplate(transactionManager),
+                objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+    }
+
+    @Test
+    void execute_ResolvesRefsFromEarlierCreates() {
+        SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        when(todoService.createTodo(eq(USER_ID), any(CreateTodoRequest.class)))
+            .thenReturn(todo(10L, "Parent"), todo(11L, "Child"));
+        when(todoService.updateTodo(eq(USER_ID), eq(10L), any(UpdateTodoRequest.class), eq(3L)))
+            .thenReturn(todo(10L, "Parent edited"));
+
+        Result result = todoBatchService.execute(new BatchRequest(List.of(
+            operation(Type.CREATE, "p", null, null, body().put("title", "Parent")),
+            operation(Type.CREATE, "c", null, null, body().put("title", "Child").put("parentId", "$p")),
+            operation(Type.UPDATE, null, "$p", 3L, body().put("title", "Parent edited").put("status", "IN_PROGRESS").put("priority", "HIGH")),
+            operation(Type.DELETE, null, "$c", null, null)
+        ), null));
+
+        assertThat(result.atomic()).isTrue();
+        assertThat(result.outcomes()).allMatch(Outcome::succeeded);
+        assertThat(result.outcomes()).extracting(Outcome::op)
+            .containsExactly(Type.CREATE, Type.CREATE, Type.UPDATE, Type.DELETE);
+        assertThat(result.outcomes().get(0).ref()).isEqualTo("p");
+        assertThat(result.outcomes().get(2).todo().title()).isEqualTo("Parent edited");
+
+        ArgumentCaptor<CreateTodoRequest> created = ArgumentCaptor.forClass(CreateTodoRequest.class);
+        verify(todoService, times(2)).createTodo(eq(USER_ID), created.capture());
+        assertThat(created.getAllValues().get(1).parentId()).isEqualTo(10L);
+        verify(todoService).deleteTodo(USER_ID, 11L, null);
+        verify(userContextService, times(1)).getCurrentUserId();
+        verify(transactionManager).commit(transaction);
+    }
+
+    @Test
+    void execute_Atomic_FailureRollsBackAndAbortsOtherOperations() {
+        SimpleTransactionStatus transaction = new SimpleTransactionStatus();
+        when(transactionManager.getTransaction(any())).thenReturn(transaction);
+        when(todoService.createTodo(eq(USER_ID), any(CreateTodoRequest.class))).thenReturn(todo(10L, "Created"));
+        doThrow(new TodoNotFoundException(99L)).when(todoService).deleteTodo(USER_ID, 99L, null);
+
+        Result result = todoBatchService.execute(new BatchRequest(List.of(
+            operation(Type.CREATE, null, null, null, body().put("title", "Created")),
+            operation(Type.DELETE, null, "99", null, null),
+            operation(Type.DELETE, null, "5", null, null)
+        ), true));
+
+        assertThat(result.outcomes()).extracting(Outcome::error)
+            .hasExactlyElementsOfTypes(BatchAbortedException.class, TodoNotFoundException.class,
+                BatchAbortedException.class);
+        assertThat(result.outcomes().get(0).todo()).isNull();
+        verify(todoService, never()).deleteTodo(USER_ID, 5L, null);
+        verify(transactionManager).rollback(transaction);
+        verify(transactionManager, never()).commit(any());
+    }
+
+    @Test
+    void execute_NotAtomic_ContinuesAfterFailure() {
+        doThrow(new TodoNotFoundException(99L)).when(todoService).deleteTodo(USER_ID, 99L, null);
+        when(todoService.createTodo(eq(USER_ID), any(CreateTodoRequest.class))).thenReturn(todo(10L, "Created"));
+
+        Result result = todoBatchService.execute(new BatchRequest(List.of(
+            operation(Type.DELETE, null, "99", null, null),
+            operation(Type.CREATE, null, null, null, body().put("title", "Created"))
+        ), false));
+
+        assertThat(result.atomic()).isFalse();
+        assertThat(result.outcomes().get(0).error()).isInstanceOf(TodoNotFoundException.class);
+        assertThat(result.outcomes().get(1).succeeded()).isTrue();
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void execute_InvalidBodyOrRef_FailsWithValidationErrors() {
+        Result result = todoBatchService.execute(new BatchRequest(List.of(
+            operation(Type.CREATE, null, null, null, body().put("title", "")),
+            operation(Type.UPDATE, null, "$missing", null, body().put("title", "Edited")),
+            operation(Type.CREATE, null, null, null, body().put("title", "Bad").put("parentId", "abc"))
+        ), false));
+
+        assertThat(result.outcomes()).extracting(Outcome::error)
+            .hasExactlyElementsOfTypes(ConstraintViolationException.class, InvalidBatchOperationException.class,
+                InvalidBatchOperationException.class);
+        verify(todoService, never()).createTodo(anyLong(), any(CreateTodoRequest.class));
+        verify(todoService, never()).updateTodo(anyLong(), anyLong(), any(UpdateTodoRequest.class), isNull());
+    }
+
+    private ObjectNode body() {
+        return objectMapper.createObjectNode();
+    }
+
+    private static BatchOperationRequest operation(Type op, String ref, String id, Long version, ObjectNode body) {
+        return new BatchOperationRequest(op, ref, id, version, body);
+    }
+
+    private static TodoResponse todo(Long id, String title) {
+        ZonedDateTime now = ZonedDateTime.now();
+        return new TodoResponse(id, title, null, TodoStatus.TODO, TodoPriority.MEDIUM, null, null, now, now, 0L);
+    }
+}
@@ -0,0 +1,129 @@
+package com.zametech.todoapp.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zametech.todoapp.common.config.OutboxProperties;
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.Todo;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoOutboxRepository;
+import com.zametech.todoapp.infrastructure.outbox.TodoEventSink;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoOutboxEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoOutboxServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private TodoOutboxRepository todoOutboxRepository;
+
+    @Mock
+    private TodoEventSink todoEventSink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TodoOutboxService todoOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        todoOutboxService = new TodoOutboxService(
+                todoOutboxRepository,
+                todoEventSink,
+                properties,
+                objectMapper,
+                meterRegistry,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void onTodoChanged_AppendsEventPayload() throws Exception {
+        Todo previous = todo(TodoStatus.TODO);
+        Todo current = todo(TodoStatus.DONE);
+
+        todoOutboxService.onTodoChanged(new TodoChangedEvent(
+            TodoChangedEvent.Type.UPDATED, USER_ID, 10L, previous, current));
+
+        ArgumentCaptor<TodoOutboxEntity> captor = ArgumentCaptor.forClass(TodoOutboxEntity.class);
+        verify(todoOutboxRepository).append(captor.capture());
+        TodoOutboxEntity message = captor.getValue();
+        assertThat(message.getUserId()).isEqualTo(USER_ID);
+        assertThat(message.getTodoId()).isEqualTo(10L);
+        assertThat(message.getEventType()).isEqualTo("updated");
+        JsonNode payload = objectMapper.readTree(message.getPayload());
+        assertThat(payload.get("todoId").asLong()).isEqualTo(10L);
+        assertThat(payload.get("todo").get("status").asText()).isEqualTo("DONE");
+    }
+
+    @Test
+    void relay_PublishesAndDeletesInBatchesUntilDrained() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        List<TodoOutboxEntity> first = messages(1, 2);
+        List<TodoOutboxEntity> second = messages(3);
+        when(todoOutboxRepository.lockNext(2)).thenReturn(first, second);
+
+        todoOutboxService.relay();
+
+        verify(todoEventSink).publish(first);
+        verify(todoEventSink).publish(second);
+        verify(todoOutboxRepository).deleteAll(first);
+        verify(todoOutboxRepository).deleteAll(second);
+        assertThat(meterRegistry.counter("app.outbox.published").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.timer("app.outbox.lag").count()).isEqualTo(3);
+    }
+
+    @Test
+    void relay_SinkFails_KeepsMessagesAndCountsFailure() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        List<TodoOutboxEntity> batch = messages(1, 2);
+        when(todoOutboxRepository.lockNext(2)).thenReturn(batch);
+        doThrow(new IllegalStateException("sink unavailable")).when(todoEventSink).publish(batch);
+
+        todoOutboxService.relay();
+
+        verify(todoOutboxRepository, never()).deleteAll(any());
+        verify(transactionManager).rollback(any());
+        assertThat(meterRegistry.counter("app.outbox.failures").count()).isEqualTo(1.0);
+    }
+
+    private static List<TodoOutboxEntity> messages(long... ids) {
+        ZonedDateTime createdAt = ZonedDateTime.now(ZoneOffset.UTC).minusSeconds(1);
+        return LongStream.of(ids).mapToObj(id -> {
+            TodoOutboxEntity message = new TodoOutboxEntity(USER_ID, 100L + id, "created", "{}", createdAt);
+            message.setId(id);
+            return message;
+        }).toList();
+    }
+
+    private static Todo todo(TodoStatus status) {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        return new Todo(10L, "Buy milk", null, status, TodoPriority.MEDIUM, null, USER_ID, null, now, now, 1L);
+    }
+}
@@ -1,31 +1,41 @@
 package com.zametech.todoapp.application.service;
 
+import com.zametech.todoapp.common.exception.InvalidCursorException;
+import com.zametech.todoapp.common.exception.PreconditionFailedException;
 import com.zametech.todoapp.common.exception.TodoNotFoundException;
+import com.zametech.todoapp.domain.model.TodoFilter;
 import com.zametech.todoapp.domain.model.TodoPriority;
 import com.zametech.todoapp.domain.model.TodoStatus;
 import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.domain.repository.TodoStatusEventRepository;
 import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.infrastructure.search.TitleSuggestionIndex;
+import com.zametech.todoapp.infrastructure.search.TodoTextIndex;
 import com.zametech.todoapp.presentation.dto.request.CreateTodoRequest;
 import com.zametech.todoapp.presentation.dto.request.UpdateTodoRequest;
+import com.zametech.todoapp.presentation.dto.response.CursorPageResponse;
 import com.zametech.todoapp.presentation.dto.response.TodoResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.access.AccessDeniedException;
 
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,11 +47,24 @@ class TodoOwnershipServiceTest {
     @Mock
     private UserContextService userContextService;
 
+    @Mock
+    private TodoTextIndex todoTextIndex;
+
+    @Mock
+    private TitleSuggestionIndex titleSuggestionIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TodoStatusEventRepository todoStatusEventRepository;
+
     private TodoService todoService;
 
     @BeforeEach
     void setUp() {
-        todoService = new TodoService(todoRepository, userContextService);
+        todoService = new TodoService(todoRepository, userContextService, todoTextIndex, titleSuggestionIndex,
+                eventPublisher, todoStatusEventRepository);
     }
 
     @Test
@@ -94,19 +117,19 @@ class TodoOwnershipServiceTest {
         );
         todo.setId(todoId);
 
-        when(todoRepository.findById(todoId)).thenReturn(Optional.of(todo));
+        when(todoRepository.findByIdAndUserId(todoId, currentUserId)).thenReturn(Optional.of(todo));
         when(userContextService.getCurrentUserId()).thenReturn(currentUserId);
 
         TodoResponse response = todoService.getTodo(todoId);
 
         assertNotNull(response);
         assertEquals("Test Todo", response.title());
-        verify(todoRepository).findById(todoId);
+        verify(todoRepository).findByIdAndUserId(todoId, currentUserId);
         verify(userContextService).getCurrentUserId();
     }
 
     @Test
-    void shouldThrowAccessDeniedExceptionWhenUserIsNotOwner() {
+    void shouldThrowNotFoundExceptionWhenUserIsNotOwner() {
         Long todoId = 1L;
         Long todoOwnerId = 1L;
         Long currentUserId = 2L;
@@ -121,14 +144,14 @@ class TodoOwnershipServiceTest {
         );
         todo.setId(todoId);
 
-        when(todoRepository.findById(todoId)).thenReturn(Optional.of(todo));
+        when(todoRepository.findByIdAndUserId(todoId, currentUserId)).thenReturn(Optional.empty());
         when(userContextService.getCurrentUserId()).thenReturn(currentUserId);
 
-        assertThrows(AccessDeniedException.class, () -> {
+        assertThrows(TodoNotFoundException.class, () -> {
             todoService.getTodo(todoId);
         });
 
-        verify(todoRepository).findById(todoId);
+        verify(todoRepository).findByIdAndUserId(todoId, currentUserId);
         verify(userContextService).getCurrentUserId();
     }
 
@@ -172,6 +195,34 @@ class TodoOwnershipServiceTest {
         verify(todoRepository).findByUserId(currentUserId, pageable);
     }
 
+    @Test
+    void shouldGetFilteredTodosOnlyForCurrentUser() {
+        Long currentUserId = 1L;
+        Pageable pageable = PageRequest.of(0, 10);
+        TodoFilter filter = new TodoFilter(Set.of(TodoStatus.TODO), null, null, null, null, true, "report");
+
+        TodoEntity todo = new TodoEntity(
+                currentUserId,
+                "Weekly report",
+                null,
+                TodoStatus.TODO,
+                TodoPriority.MEDIUM,
+                null
+        );
+        todo.setId(1L);
+
+        when(userContextService.getCurrentUserId()).thenReturn(currentUserId);
+        when(todoRepository.findByUserIdAndFilter(currentUserId, filter, pageable))
+                .thenReturn(new PageImpl<>(List.of(todo), pageable, 1));
+
+        Page<TodoResponse> response = todoService.getTodos(filter, pageable);
+
+        assertEquals(1, response.getContent().size());
+        assertEquals("Weekly report", response.getContent().get(0).title());
+        verify(todoRepository).findByUserIdAndFilter(currentUserId, filter, pageable);
+        verify(todoRepository, never()).findByUserId(any(), any(Pageable.class));
+    }
+
     @Test
     void shouldGetTodosByStatusOnlyForCurrentUser() {
         Long currentUserId = 1L;
@@ -223,20 +274,23 @@ class TodoOwnershipServiceTest {
                 null
         );
 
-        when(todoRepository.findById(todoId)).thenReturn(Optional.of(existingTodo));
+        when(todoRepository.findByIdAndUserId(todoId, currentUserId)).thenReturn(Optional.of(existingTodo));
         when(userContextService.getCurrentUserId()).thenReturn(currentUserId);
         when(todoRepository.save(any(TodoEntity.class))).thenReturn(existingTodo);
 
         TodoResponse response = todoService.updateTodo(todoId, request);
 
         assertNotNull(response);
-        verify(todoRepository).findById(todoId);
+        verify(todoRepository).findByIdAndUserId(todoId, currentUserId);
         verify(userContextService).getCurrentUserId();
         verify(todoRepository).save(any(TodoEntity.class));
+        verify(todoStatusEventRepository).appendAll(argThat(events -> events.size() == 1
+                && events.get(0).getFromStatus() == TodoStatus.TODO
+                && events.get(0).getToStatus() == TodoStatus.DONE));
     }
 
     @Test
-    void shouldThrowAccessDeniedExceptionWhenUpdatingTodoUserIsNotOwner() {
+    void shouldThrowNotFoundExceptionWhenUpdatingTodoUserIsNotOwner() {
         Long todoId = 1L;
         Long todoOwnerId = 1L;
         Long currentUserId = 2L;
@@ -260,18 +314,77 @@ class TodoOwnershipServiceTest {
                 null
         );
 
-        when(todoRepository.findById(todoId)).thenReturn(Optional.of(existingTodo));
+        when(todoRepository.findByIdAndUserId(todoId, currentUserId)).thenReturn(Optional.empty());
         when(userContextService.getCurrentUserId()).thenReturn(currentUserId);
 
-        assertThrows(AccessDeniedException.class, () -> {
+        assertThrows(TodoNotFoundException.class, () -> {
             todoService.updateTodo(todoId, request);
         });
 
-        verify(todoRepository).findById(todoId);
+        verify(todoRepository).findByIdAndUserId(todoId, currentUserId);
         verify(userContextService).getCurrentUserId();
         verify(todoRepository, never()).save(any(TodoEntity.class));
     }
 
+    @Test
+    void shouldRejectUpdateWhenExpectedVersionIsStale() {
+        Long todoId = 1L;
+        Long currentUserId = 1L;
+
+        TodoEntity existingTodo = new TodoEntity(
+                currentUserId,
+                "Title",
+                null,
+                TodoStatus.TODO,
+                TodoPriority.LOW,
+                null
+        );
+        existingTodo.setId(todoId);
+        existingTodo.setVersion(3L);
+
+        UpdateTodoRequest request = new UpdateTodoRequest(
+                "Edited on another device",
+                null,
+                TodoStatus.TODO,
+                TodoPriority.LOW,
+                null,
+                null
+        );
+
+        when(todoRepository.findByIdAndUserId(todoId, currentUserId)).thenReturn(Optional.of(existingTodo));
+        when(userContextService.getCurrentUserId()).thenReturn(currentUserId);
+
+        assertThrows(PreconditionFailedException.class, () -> todoService.updateTodo(todoId, request, 2L));
+
+        assertEquals("Title", existingTodo.getTitle());
+        verify(todoRepository, never()).save(any(TodoEntity.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void shouldRejectDeleteWhenExpectedVersionIsStale() {
+        Long todoId = 1L;
+        Long currentUserId = 1L;
+
+        TodoEntity existingTodo = new TodoEntity(
+                currentUserId,
+                "Title",
+                null,
+                TodoStatus.TODO,
+                TodoPriority.LOW,
+                null
+        );
+        existingTodo.setId(todoId);
+        existingTodo.setVersion(3L);
+
+        when(todoRepository.findByIdAndUserId(todoId, currentUserId)).thenReturn(Optional.of(existingTodo));
+        when(userContextService.getCurrentUserId()).thenReturn(currentUserId);
+
+        assertThrows(PreconditionFailedException.class, () -> todoService.deleteTodo(todoId, 2L));
+
+        verify(todoRepository, never()).delete(any(TodoEntity.class));
+    }
+
     @Test
     void shouldDeleteTodoWhenUserIsOwner() {
         Long todoId = 1L;
@@ -287,18 +400,23 @@ class TodoOwnershipServiceTest {
         );
         existingTodo.setId(todoId);
 
-        when(todoRepository.findById(todoId)).thenReturn(Optional.of(existingTodo));
+        when(todoRepository.findByIdAndUserId(todoId, currentUserId)).thenReturn(Optional.of(existingTodo));
+        when(todoRepository.findSubtree(currentUserId, todoId)).thenReturn(List.of(existingTodo));
         when(userContextService.getCurrentUserId()).thenReturn(currentUserId);
 
         todoService.deleteTodo(todoId);
 
-        verify(todoRepository).findById(todoId);
+        verify(todoRepository).findByIdAndUserId(todoId, currentUserId);
         verify(userContextService).getCurrentUserId();
-        verify(todoRepository).deleteById(todoId);
+        verify(todoRepository).delete(existingTodo);
+        verify(todoStatusEventRepository).appendAll(argThat(events -> events.size() == 1
+                && events.get(0).getTodoId().equals(todoId)
+                && events.get(0).getFromStatus() == TodoStatus.TODO
+                && events.get(0).getToStatus() == null));
     }
 
     @Test
-    void shouldThrowAccessDeniedExceptionWhenDeletingTodoUserIsNotOwner() {
+    void shouldThrowNotFoundExceptionWhenDeletingTodoUserIsNotOwner() {
         Long todoId = 1L;
         Long todoOwnerId = 1L;
         Long currentUserId = 2L;
@@ -313,15 +431,55 @@ class TodoOwnershipServiceTest {
         );
         existingTodo.setId(todoId);
 
-        when(todoRepository.findById(todoId)).thenReturn(Optional.of(existingTodo));
+        when(todoRepository.findByIdAndUserId(todoId, currentUserId)).thenReturn(Optional.empty());
         when(userContextService.getCurrentUserId()).thenReturn(currentUserId);
 
-        assertThrows(AccessDeniedException.class, () -> {
+        assertThrows(TodoNotFoundException.class, () -> {
             todoService.deleteTodo(todoId);
         });
 
-        verify(todoRepository).findById(todoId);
+        verify(todoRepository).findByIdAndUserId(todoId, currentUserId);
         verify(userContextService).getCurrentUserId();
-        verify(todoRepository, never()).deleteById(todoId);
+        verify(todoRepository, never()).delete(any(TodoEntity.class));
+    }
+
+    @Test
+    void shouldGetDueTodosForCurrentUserWithNextCursor() {
+        Long currentUserId = 1L;
+        LocalDate today = LocalDate.now();
+
+        TodoEntity todo1 = new TodoEntity(currentUserId, "Due 1", null, TodoStatus.TODO, TodoPriority.HIGH, today.minusDays(2));
+        todo1.setId(1L);
+        TodoEntity todo2 = new TodoEntity(currentUserId, "Due 2", null, TodoStatus.IN_PROGRESS, TodoPriority.LOW, today.minusDays(1));
+        todo2.setId(2L);
+
+        when(userContextService.getCurrentUserId()).thenReturn(currentUserId);
+        when(todoRepository.findOpenDueAfterCursor(currentUserId, LocalDate.of(1, 1, 1), 0L, today, 2))
+                .thenReturn(List.of(todo1, todo2));
+
+        CursorPageResponse<TodoResponse> page = todoService.getDueTodos(null, today, null, 1);
+
+        assertEquals(1, page.content().size());
+        assertEquals("Due 1", page.content().get(0).title());
+        assertNotNull(page.nextCursor());
+
+        when(todoRepository.findOpenDueAfterCursor(currentUserId, today.minusDays(2), 1L, today, 2))
+                .thenReturn(List.of(todo2));
+
+        CursorPageResponse<TodoResponse> next = todoService.getDueTodos(null, today, page.nextCursor(), 1);
+
+        assertEquals("Due 2", next.content().get(0).title());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void shouldRejectMalformedDueCursor() {
+        when(userContextService.getCurrentUserId()).thenReturn(1L);
+
+        assertThrows(InvalidCursorException.class, () -> {
+            todoService.getDueTodos(null, null, "not-a-cursor", 10);
+        });
+
+        verify(todoRepository, never()).findOpenDueAfterCursor(any(), any(), any(), any(), anyInt());
     }
 }
\ No newline at end of file
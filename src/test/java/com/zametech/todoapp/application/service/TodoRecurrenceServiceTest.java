@@ -0,0 +1,235 @@
+package com.zametech.todoapp.application.service;
+
+import com.zametech.todoapp.common.config.RecurrenceProperties;
+import com.zametech.todoapp.common.exception.TodoNotFoundException;
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.RecurrenceFrequency;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoRecurrenceRepository;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.domain.repository.TodoStatusEventRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoRecurrenceEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoStatusEventEntity;
+import com.zametech.todoapp.presentation.dto.request.RecurrenceRequest;
+import com.zametech.todoapp.presentation.dto.response.RecurrenceResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoRecurrenceServiceTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long TEMPLATE_ID = 10L;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private TodoRecurrenceRepository todoRecurrenceRepository;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private TodoStatusEventRepository todoStatusEventRepository;
+
+    @Mock
+    private UserContextService userContextService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final RecurrenceProperties recurrenceProperties = new RecurrenceProperties();
+
+    private TodoRecurrenceService todoRecurrenceService;
+
+    @BeforeEach
+    void setUp() {
+        todoRecurrenceService = new TodoRecurrenceService(
+                todoRecurrenceRepository,
+                todoRepository,
+                todoStatusEventRepository,
+                userContextService,
+                recurrenceProperties,
+                eventPublisher,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void setRecurrence_OneYearHorizon_InsertsInstancesInOneBatch() {
+        TodoEntity template = template();
+        when(todoRepository.findByIdAndUserId(TEMPLATE_ID, USER_ID)).thenReturn(Optional.of(template));
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(todoRecurrenceRepository.lockById(TEMPLATE_ID)).thenReturn(Optional.empty());
+        stubInstanceInserts();
+        when(todoRecurrenceRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RecurrenceResponse response = todoRecurrenceService.setRecurrence(TEMPLATE_ID,
+            new RecurrenceRequest(RecurrenceFrequency.DAILY, 1, null, TODAY, null, 365));
+
+        ArgumentCaptor<List<TodoEntity>> instances = listCaptor();
+        verify(todoRepository).saveAll(instances.capture());
+        assertThat(instances.getValue()).hasSize(366);
+        assertThat(instances.getValue().get(0).getOccurrenceDate()).isEqualTo(TODAY);
+        assertThat(instances.getValue().get(365).getDueDate()).isEqualTo(TODAY.plusDays(365));
+        assertThat(instances.getValue()).allSatisfy(instance -> {
+            assertThat(instance.getTemplateId()).isEqualTo(TEMPLATE_ID);
+            assertThat(instance.getTitle()).isEqualTo("Standup");
+            assertThat(instance.getStatus()).isEqualTo(TodoStatus.TODO);
+        });
+        verify(todoRepository, times(1)).nextChangeSeqs(366);
+        verify(todoRepository, never()).save(any());
+        ArgumentCaptor<List<TodoStatusEventEntity>> events = listCaptor();
+        verify(todoStatusEventRepository, times(1)).appendAll(events.capture());
+        assertThat(events.getValue()).hasSize(366);
+        verify(eventPublisher, times(366)).publishEvent(any(TodoChangedEvent.class));
+        assertThat(response.materializedThrough()).isEqualTo(TODAY.plusDays(365));
+    }
+
+    @Test
+    void setRecurrence_ReplacedRule_SkipsExistingInstances() {
+        TodoEntity template = template();
+        when(todoRepository.findByIdAndUserId(TEMPLATE_ID, USER_ID)).thenReturn(Optional.of(template));
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        TodoRecurrenceEntity existing = recurrence(30, TODAY.plusDays(30));
+        when(todoRecurrenceRepository.lockById(TEMPLATE_ID)).thenReturn(Optional.of(existing));
+        when(todoRepository.findOccurrenceDates(USER_ID, TEMPLATE_ID, TODAY, TODAY.plusDays(4)))
+            .thenReturn(List.of(TODAY, TODAY.plusDays(2)));
+        stubInstanceInserts();
+        when(todoRecurrenceRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        todoRecurrenceService.setRecurrence(TEMPLATE_ID,
+            new RecurrenceRequest(RecurrenceFrequency.DAILY, 2, null, TODAY, null, 4));
+
+        ArgumentCaptor<List<TodoEntity>> instances = listCaptor();
+        verify(todoRepository).saveAll(instances.capture());
+        assertThat(instances.getValue()).extracting(TodoEntity::getOccurrenceDate)
+            .containsExactly(TODAY.plusDays(4));
+        assertThat(existing.getMaterializedThrough()).isEqualTo(TODAY.plusDays(4));
+    }
+
+    @Test
+    void setRecurrence_OtherUsersTodo_ThrowsNotFound() {
+        when(todoRepository.findByIdAndUserId(TEMPLATE_ID, 2L)).thenReturn(Optional.empty());
+        when(userContextService.getCurrentUserId()).thenReturn(2L);
+
+        assertThatThrownBy(() -> todoRecurrenceService.setRecurrence(TEMPLATE_ID,
+                new RecurrenceRequest(RecurrenceFrequency.DAILY, 1, null, TODAY, null, 30)))
+            .isInstanceOf(TodoNotFoundException.class);
+        verifyNoInteractions(todoRecurrenceRepository);
+    }
+
+    @Test
+    void materialize_ResumesAfterWatermark() {
+        stubInstanceInserts();
+        TodoRecurrenceEntity recurrence = recurrence(30, TODAY.plusDays(10));
+
+        int created = todoRecurrenceService.materialize(template(), recurrence, TODAY);
+
+        assertThat(created).isEqualTo(20);
+        ArgumentCaptor<List<TodoEntity>> instances = listCaptor();
+        verify(todoRepository).saveAll(instances.capture());
+        assertThat(instances.getValue().get(0).getOccurrenceDate()).isEqualTo(TODAY.plusDays(11));
+        assertThat(recurrence.getMaterializedThrough()).isEqualTo(TODAY.plusDays(30));
+        assertThat(recurrence.getNextRunOn()).isEqualTo(TODAY.plusDays(1));
+    }
+
+    @Test
+    void materialize_EndReached_StopsScheduling() {
+        stubInstanceInserts();
+        TodoRecurrenceEntity recurrence = recurrence(30, TODAY.minusDays(1));
+        recurrence.setEndsOn(TODAY.plusDays(3));
+
+        int created = todoRecurrenceService.materialize(template(), recurrence, TODAY);
+
+        assertThat(created).isEqualTo(4);
+        assertThat(recurrence.getMaterializedThrough()).isEqualTo(TODAY.plusDays(3));
+        assertThat(recurrence.getNextRunOn()).isNull();
+    }
+
+    @Test
+    void generateDue_ExtendsRulesInBatchesUntilShort() {
+        recurrenceProperties.setGenerateBatchSize(2);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        TodoRecurrenceEntity first = recurrence(1, TODAY);
+        TodoRecurrenceEntity second = recurrence(1, TODAY);
+        TodoRecurrenceEntity third = recurrence(1, TODAY);
+        when(todoRecurrenceRepository.lockDue(TODAY, 2))
+            .thenReturn(List.of(first, second))
+            .thenReturn(List.of(third));
+        when(todoRepository.findAllById(anyList())).thenReturn(List.of(template()));
+        stubInstanceInserts();
+
+        todoRecurrenceService.generateDue();
+
+        verify(todoRecurrenceRepository, times(2)).lockDue(eq(TODAY), anyInt());
+        verify(todoRecurrenceRepository, times(3)).save(any());
+        verify(todoRepository, times(3)).saveAll(anyList());
+        assertThat(third.getMaterializedThrough()).isEqualTo(TODAY.plusDays(1));
+        assertThat(third.getNextRunOn()).isEqualTo(TODAY.plusDays(1));
+    }
+
+    /**
+     * saveAll でIDを振り、変更連番は要求された個数を返す
+     */
+    private void stubInstanceInserts() {
+        AtomicLong ids = new AtomicLong(100);
+        lenient().when(todoRepository.nextChangeSeqs(anyInt()))
+            .thenAnswer(invocation -> LongStream.rangeClosed(1, invocation.<Integer>getArgument(0)).boxed().toList());
+        lenient().when(todoRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<TodoEntity> todos = invocation.getArgument(0);
+            todos.forEach(todo -> todo.setId(ids.incrementAndGet()));
+            return todos;
+        });
+    }
+
+    private static TodoEntity template() {
+        TodoEntity template = new TodoEntity(USER_ID, "Standup", null, TodoStatus.TODO, TodoPriority.MEDIUM, null);
+        template.setId(TEMPLATE_ID);
+        return template;
+    }
+
+    private static TodoRecurrenceEntity recurrence(int horizonDays, LocalDate materializedThrough) {
+        TodoRecurrenceEntity recurrence = new TodoRecurrenceEntity();
+        recurrence.setTodoId(TEMPLATE_ID);
+        recurrence.setUserId(USER_ID);
+        recurrence.setFrequency(RecurrenceFrequency.DAILY);
+        recurrence.setIntervalCount(1);
+        recurrence.setWeekdays(0);
+        recurrence.setStartsOn(TODAY.minusDays(7));
+        recurrence.setHorizonDays(horizonDays);
+        recurrence.setMaterializedThrough(materializedThrough);
+        recurrence.setNextRunOn(TODAY);
+        return recurrence;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ArgumentCaptor<List<T>> listCaptor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,184 @@
+package com.zametech.todoapp.application.service;
+
+import com.zametech.todoapp.common.config.ReminderProperties;
+import com.zametech.todoapp.common.config.ShardingProperties;
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.Todo;
+import com.zametech.todoapp.domain.model.TodoDue;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.infrastructure.reminder.TodoReminder;
+import com.zametech.todoapp.infrastructure.reminder.TodoReminderNotifier;
+import com.zametech.todoapp.infrastructure.sharding.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoReminderServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Tokyo");
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+    private static final LocalDate TOMORROW = TODAY.plusDays(1);
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private TodoReminderNotifier todoReminderNotifier;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final MutableClock clock = new MutableClock(TODAY.atTime(8, 0).atZone(ZONE).toInstant(), ZONE);
+
+    private TodoReminderService todoReminderService;
+
+    @BeforeEach
+    void setUp() {
+        ReminderProperties properties = new ReminderProperties();
+        properties.setSpread(Duration.ZERO);
+        properties.setLoadBatchSize(2);
+        todoReminderService = new TodoReminderService(todoRepository, todoReminderNotifier, properties,
+                new ShardRouter(new ShardingProperties()), meterRegistry, clock);
+    }
+
+    @Test
+    void loadAhead_PagesThroughHorizonAndSchedulesFutureReminders() {
+        when(todoRepository.findOpenDueAfter(TOMORROW.minusDays(1), Long.MAX_VALUE, TOMORROW.plusDays(2), 2))
+            .thenReturn(List.of(new TodoDue(1L, TOMORROW), new TodoDue(2L, TOMORROW)));
+        when(todoRepository.findOpenDueAfter(TOMORROW, 2L, TOMORROW.plusDays(2), 2))
+            .thenReturn(List.of(new TodoDue(3L, TOMORROW.plusDays(1))));
+
+        todoReminderService.loadAhead();
+
+        assertThat(todoReminderService.scheduledCount()).isEqualTo(3);
+        // 読み込み済みの期間は読み直さない
+        todoReminderService.loadAhead();
+        verify(todoRepository, times(2)).findOpenDueAfter(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void tick_DeliversOnlyTodosStillOpenWithSameDueDate() {
+        when(todoRepository.findOpenDueAfter(any(), any(), any(), anyInt())).thenReturn(List.of(
+            new TodoDue(1L, TOMORROW), new TodoDue(2L, TOMORROW)), List.of());
+        todoReminderService.loadAhead();
+        when(todoRepository.findAllById(any())).thenReturn(List.of(
+            entity(1L, TodoStatus.TODO, TOMORROW),
+            entity(2L, TodoStatus.DONE, TOMORROW)));
+
+        clock.set(TODAY.atTime(8, 59, 59).atZone(ZONE).toInstant());
+        todoReminderService.tick();
+        verifyNoInteractions(todoReminderNotifier);
+
+        clock.set(TODAY.atTime(9, 0).atZone(ZONE).toInstant());
+        todoReminderService.tick();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TodoReminder>> captor = ArgumentCaptor.forClass(List.class);
+        verify(todoReminderNotifier).notify(captor.capture());
+        assertThat(captor.getValue()).extracting(TodoReminder::todoId).containsExactly(1L);
+        assertThat(captor.getValue().get(0).remindAt()).isEqualTo(TODAY.atTime(9, 0).atZone(ZONE));
+        assertThat(meterRegistry.counter("app.reminders.delivered").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("app.reminders.skipped").count()).isEqualTo(1.0);
+        assertThat(todoReminderService.scheduledCount()).isZero();
+    }
+
+    @Test
+    void onTodoChanged_ReschedulesAndCancels() {
+        when(todoRepository.findOpenDueAfter(any(), any(), any(), anyInt())).thenReturn(List.of());
+        todoReminderService.loadAhead();
+
+        todoReminderService.onTodoChanged(new TodoChangedEvent(
+            TodoChangedEvent.Type.CREATED, 1L, 10L, null, todo(10L, TodoStatus.TODO, TOMORROW)));
+        // 読み込み済みの期間より先の期限は登録しない
+        todoReminderService.onTodoChanged(new TodoChangedEvent(
+            TodoChangedEvent.Type.CREATED, 1L, 11L, null, todo(11L, TodoStatus.TODO, TOMORROW.plusDays(5))));
+        assertThat(todoReminderService.scheduledCount()).isEqualTo(1);
+
+        Todo done = todo(10L, TodoStatus.DONE, TOMORROW);
+        todoReminderService.onTodoChanged(new TodoChangedEvent(
+            TodoChangedEvent.Type.UPDATED, 1L, 10L, todo(10L, TodoStatus.TODO, TOMORROW), done));
+        assertThat(todoReminderService.scheduledCount()).isZero();
+    }
+
+    @Test
+    void tick_NotifierFails_CountsFailure() {
+        when(todoRepository.findOpenDueAfter(any(), any(), any(), anyInt()))
+            .thenReturn(List.of(new TodoDue(1L, TOMORROW)));
+        todoReminderService.loadAhead();
+        when(todoRepository.findAllById(any())).thenReturn(List.of(entity(1L, TodoStatus.TODO, TOMORROW)));
+        doThrow(new IllegalStateException("notifier unavailable")).when(todoReminderNotifier).notify(any());
+
+        clock.set(TODAY.atTime(9, 0).atZone(ZONE).toInstant());
+        todoReminderService.tick();
+
+        assertThat(meterRegistry.counter("app.reminders.failed").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("app.reminders.delivered").count()).isZero();
+    }
+
+    private static TodoEntity entity(Long id, TodoStatus status, LocalDate dueDate) {
+        TodoEntity entity = new TodoEntity();
+        entity.setId(id);
+        entity.setUserId(1L);
+        entity.setTitle("Todo " + id);
+        entity.setStatus(status);
+        entity.setPriority(TodoPriority.MEDIUM);
+        entity.setDueDate(dueDate);
+        return entity;
+    }
+
+    private static Todo todo(Long id, TodoStatus status, LocalDate dueDate) {
+        ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+        return new Todo(id, "Todo " + id, null, status, TodoPriority.MEDIUM, dueDate, 1L, null, now, now, 0L);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+        private final ZoneId zone;
+
+        MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        void set(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
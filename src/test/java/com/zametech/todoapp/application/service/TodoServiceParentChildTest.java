@@ -4,7 +4,10 @@ import com.zametech.todoapp.common.exception.TodoNotFoundException;
 import com.zametech.todoapp.domain.model.TodoPriority;
 import com.zametech.todoapp.domain.model.TodoStatus;
 import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.domain.repository.TodoStatusEventRepository;
 import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.infrastructure.search.TitleSuggestionIndex;
+import com.zametech.todoapp.infrastructure.search.TodoTextIndex;
 import com.zametech.todoapp.presentation.dto.request.CreateTodoRequest;
 import com.zametech.todoapp.presentation.dto.request.UpdateTodoRequest;
 import com.zametech.todoapp.presentation.dto.response.TodoResponse;
@@ -14,7 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.access.AccessDeniedException;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.Arrays;
@@ -35,6 +38,18 @@ class TodoServiceParentChildTest {
     @Mock
     private UserContextService userContextService;
 
+    @Mock
+    private TodoTextIndex todoTextIndex;
+
+    @Mock
+    private TitleSuggestionIndex titleSuggestionIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TodoStatusEventRepository todoStatusEventRepository;
+
     @InjectMocks
     private TodoService todoService;
 
@@ -76,7 +91,7 @@ class TodoServiceParentChildTest {
         );
 
         when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
-        when(todoRepository.findById(PARENT_TODO_ID)).thenReturn(Optional.of(parentTodo));
+        when(todoRepository.findByIdAndUserId(PARENT_TODO_ID, USER_ID)).thenReturn(Optional.of(parentTodo));
         when(todoRepository.save(any(TodoEntity.class))).thenAnswer(invocation -> {
             TodoEntity saved = invocation.getArgument(0);
             saved.setId(CHILD_TODO_ID);
@@ -92,7 +107,7 @@ class TodoServiceParentChildTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.parentId()).isEqualTo(PARENT_TODO_ID);
-        verify(todoRepository).findById(PARENT_TODO_ID);
+        verify(todoRepository).findByIdAndUserId(PARENT_TODO_ID, USER_ID);
         verify(todoRepository).save(any(TodoEntity.class));
     }
 
@@ -108,7 +123,7 @@ class TodoServiceParentChildTest {
         );
 
         when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
-        when(todoRepository.findById(999L)).thenReturn(Optional.empty());
+        when(todoRepository.findByIdAndUserId(999L, USER_ID)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> todoService.createTodo(request))
@@ -116,7 +131,7 @@ class TodoServiceParentChildTest {
     }
 
     @Test
-    void createTodo_WithParentId_AccessDenied() {
+    void createTodo_WithOtherUsersParentId_NotFound() {
         // Given
         parentTodo.setUserId(OTHER_USER_ID);
         CreateTodoRequest request = new CreateTodoRequest(
@@ -128,12 +143,11 @@ class TodoServiceParentChildTest {
         );
 
         when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
-        when(todoRepository.findById(PARENT_TODO_ID)).thenReturn(Optional.of(parentTodo));
+        when(todoRepository.findByIdAndUserId(PARENT_TODO_ID, USER_ID)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> todoService.createTodo(request))
-                .isInstanceOf(AccessDeniedException.class)
-                .hasMessage("Access denied to parent TODO with id: " + PARENT_TODO_ID);
+                .isInstanceOf(TodoNotFoundException.class);
     }
 
     @Test
@@ -149,8 +163,8 @@ class TodoServiceParentChildTest {
         );
 
         when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
-        when(todoRepository.findById(CHILD_TODO_ID)).thenReturn(Optional.of(childTodo));
-        when(todoRepository.findById(PARENT_TODO_ID)).thenReturn(Optional.of(parentTodo));
+        when(todoRepository.findByIdAndUserId(CHILD_TODO_ID, USER_ID)).thenReturn(Optional.of(childTodo));
+        when(todoRepository.findByIdAndUserId(PARENT_TODO_ID, USER_ID)).thenReturn(Optional.of(parentTodo));
         when(todoRepository.save(any(TodoEntity.class))).thenReturn(childTodo);
 
         // When
@@ -158,7 +172,7 @@ class TodoServiceParentChildTest {
 
         // Then
         assertThat(result).isNotNull();
-        verify(todoRepository).findById(PARENT_TODO_ID);
+        verify(todoRepository).findByIdAndUserId(PARENT_TODO_ID, USER_ID);
         verify(todoRepository).save(any(TodoEntity.class));
     }
 
@@ -175,7 +189,7 @@ class TodoServiceParentChildTest {
         );
 
         when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
-        when(todoRepository.findById(CHILD_TODO_ID)).thenReturn(Optional.of(childTodo));
+        when(todoRepository.findByIdAndUserId(CHILD_TODO_ID, USER_ID)).thenReturn(Optional.of(childTodo));
 
         // When & Then
         assertThatThrownBy(() -> todoService.updateTodo(CHILD_TODO_ID, request))
@@ -201,8 +215,8 @@ class TodoServiceParentChildTest {
         List<TodoEntity> children = Arrays.asList(child1, child2);
 
         when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
-        when(todoRepository.findById(PARENT_TODO_ID)).thenReturn(Optional.of(parentTodo));
-        when(todoRepository.findByParentId(PARENT_TODO_ID)).thenReturn(children);
+        when(todoRepository.findByIdAndUserId(PARENT_TODO_ID, USER_ID)).thenReturn(Optional.of(parentTodo));
+        when(todoRepository.findByParentId(USER_ID, PARENT_TODO_ID)).thenReturn(children);
 
         // When
         List<TodoResponse> result = todoService.getChildTasks(PARENT_TODO_ID);
@@ -214,23 +228,23 @@ class TodoServiceParentChildTest {
     }
 
     @Test
-    void getChildTasks_AccessDenied() {
+    void getChildTasks_OtherUsersParent_NotFound() {
         // Given
         parentTodo.setUserId(OTHER_USER_ID);
 
         when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
-        when(todoRepository.findById(PARENT_TODO_ID)).thenReturn(Optional.of(parentTodo));
+        when(todoRepository.findByIdAndUserId(PARENT_TODO_ID, USER_ID)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> todoService.getChildTasks(PARENT_TODO_ID))
-                .isInstanceOf(AccessDeniedException.class)
-                .hasMessage("Access denied to TODO with id: " + PARENT_TODO_ID);
+                .isInstanceOf(TodoNotFoundException.class);
     }
 
     @Test
     void getChildTasks_ParentNotFound() {
         // Given
-        when(todoRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(todoRepository.findByIdAndUserId(999L, USER_ID)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> todoService.getChildTasks(999L))
@@ -0,0 +1,177 @@
+package com.zametech.todoapp.application.service;
+
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.Todo;
+import com.zametech.todoapp.domain.model.TodoCount;
+import com.zametech.todoapp.domain.model.TodoCounterDelta;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoCounterRepository;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoCounterEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.presentation.dto.response.TodoStatsResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoStatsServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private TodoCounterRepository todoCounterRepository;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private UserContextService userContextService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TodoStatsService todoStatsService;
+
+    @BeforeEach
+    void setUp() {
+        todoStatsService = new TodoStatsService(
+                todoCounterRepository, todoRepository, userContextService, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void getStats_ReadsCounterRowAndDueCounts() {
+        TodoCounterEntity counter = new TodoCounterEntity();
+        counter.setUserId(USER_ID);
+        counter.setStatusTodo(2);
+        counter.setStatusDone(1);
+        counter.setPriorityHigh(3);
+
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(todoCounterRepository.findByUserId(USER_ID)).thenReturn(Optional.of(counter));
+        when(todoRepository.countOpenDueBetween(eq(USER_ID), any(), eq(LocalDate.now()))).thenReturn(4L);
+        when(todoRepository.countOpenDueBetween(USER_ID, LocalDate.now(), LocalDate.now().plusDays(1))).thenReturn(1L);
+
+        TodoStatsResponse stats = todoStatsService.getStats();
+
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.byStatus()).containsEntry(TodoStatus.TODO, 2L).containsEntry(TodoStatus.DONE, 1L);
+        assertThat(stats.byPriority()).containsEntry(TodoPriority.HIGH, 3L);
+        assertThat(stats.overdue()).isEqualTo(4);
+        assertThat(stats.dueToday()).isEqualTo(1);
+    }
+
+    @Test
+    void onTodoChanged_StatusTransition_MovesOneCount() {
+        Todo before = todo(TodoStatus.TODO, TodoPriority.HIGH);
+        TodoEntity after = entity(TodoStatus.DONE, TodoPriority.HIGH);
+        when(todoCounterRepository.addDelta(eq(USER_ID), any())).thenReturn(true);
+
+        todoStatsService.onTodoChanged(TodoChangedEvent.updated(before, after));
+
+        ArgumentCaptor<TodoCounterDelta> delta = ArgumentCaptor.forClass(TodoCounterDelta.class);
+        verify(todoCounterRepository).addDelta(eq(USER_ID), delta.capture());
+        assertThat(delta.getValue().status(TodoStatus.TODO)).isEqualTo(-1);
+        assertThat(delta.getValue().status(TodoStatus.DONE)).isEqualTo(1);
+        assertThat(delta.getValue().priority(TodoPriority.HIGH)).isZero();
+    }
+
+    @Test
+    void onTodoChanged_NoCountedFieldChanged_OnlyBumpsCollectionVersion() {
+        Todo before = todo(TodoStatus.TODO, TodoPriority.LOW);
+        TodoEntity after = entity(TodoStatus.TODO, TodoPriority.LOW);
+        when(todoCounterRepository.addDelta(eq(USER_ID), any())).thenReturn(true);
+
+        todoStatsService.onTodoChanged(TodoChangedEvent.updated(before, after));
+
+        ArgumentCaptor<TodoCounterDelta> delta = ArgumentCaptor.forClass(TodoCounterDelta.class);
+        verify(todoCounterRepository).addDelta(eq(USER_ID), delta.capture());
+        assertThat(delta.getValue().isZero()).isTrue();
+        verify(todoCounterRepository, never()).save(any());
+    }
+
+    @Test
+    void onTodoChanged_FirstWrite_InitializesFromTodos() {
+        when(todoCounterRepository.addDelta(eq(USER_ID), any())).thenReturn(false);
+        when(todoCounterRepository.countTodosByUserIdBetween(USER_ID, USER_ID))
+                .thenReturn(List.of(new TodoCount(USER_ID, TodoStatus.TODO, TodoPriority.MEDIUM, 1)));
+        when(todoCounterRepository.insertIfAbsent(any())).thenReturn(true);
+
+        todoStatsService.onTodoChanged(TodoChangedEvent.created(entity(TodoStatus.TODO, TodoPriority.MEDIUM)));
+
+        ArgumentCaptor<TodoCounterEntity> inserted = ArgumentCaptor.forClass(TodoCounterEntity.class);
+        verify(todoCounterRepository).insertIfAbsent(inserted.capture());
+        assertThat(inserted.getValue().getStatusTodo()).isEqualTo(1);
+        assertThat(inserted.getValue().getPriorityMedium()).isEqualTo(1);
+        assertThat(inserted.getValue().getCollectionVersion()).isEqualTo(1);
+        verify(todoCounterRepository, times(1)).addDelta(eq(USER_ID), any());
+        verify(todoCounterRepository, never()).save(any());
+    }
+
+    @Test
+    void onTodoChanged_ConcurrentFirstWrite_AddsDeltaToTheWinnersRow() {
+        when(todoCounterRepository.addDelta(eq(USER_ID), any())).thenReturn(false).thenReturn(true);
+        when(todoCounterRepository.countTodosByUserIdBetween(USER_ID, USER_ID))
+                .thenReturn(List.of(new TodoCount(USER_ID, TodoStatus.TODO, TodoPriority.MEDIUM, 1)));
+        when(todoCounterRepository.insertIfAbsent(any())).thenReturn(false);
+
+        todoStatsService.onTodoChanged(TodoChangedEvent.created(entity(TodoStatus.TODO, TodoPriority.MEDIUM)));
+
+        ArgumentCaptor<TodoCounterDelta> delta = ArgumentCaptor.forClass(TodoCounterDelta.class);
+        verify(todoCounterRepository, times(2)).addDelta(eq(USER_ID), delta.capture());
+        assertThat(delta.getValue().status(TodoStatus.TODO)).isEqualTo(1);
+        verify(todoCounterRepository, never()).save(any());
+    }
+
+    @Test
+    void reconcileAll_CorrectsDriftedCountersOnly() {
+        TodoCounterEntity drifted = new TodoCounterEntity();
+        drifted.setUserId(1L);
+        drifted.setStatusTodo(5);
+        drifted.setPriorityLow(5);
+        TodoCounterEntity accurate = new TodoCounterEntity();
+        accurate.setUserId(2L);
+        accurate.setStatusDone(1);
+        accurate.setPriorityHigh(1);
+
+        when(todoCounterRepository.lockUserIdsAfter(0L, 500)).thenReturn(List.of(1L, 2L));
+        when(todoCounterRepository.lockUserIdsAfter(2L, 500)).thenReturn(List.of());
+        when(todoCounterRepository.countTodosByUserIdBetween(1L, 2L)).thenReturn(List.of(
+                new TodoCount(1L, TodoStatus.TODO, TodoPriority.LOW, 3),
+                new TodoCount(2L, TodoStatus.DONE, TodoPriority.HIGH, 1)));
+        when(todoCounterRepository.findAllByUserIds(List.of(1L, 2L))).thenReturn(List.of(drifted, accurate));
+
+        todoStatsService.reconcileAll();
+
+        ArgumentCaptor<TodoCounterEntity> saved = ArgumentCaptor.forClass(TodoCounterEntity.class);
+        verify(todoCounterRepository, times(1)).save(saved.capture());
+        assertThat(saved.getValue().getUserId()).isEqualTo(1L);
+        assertThat(saved.getValue().getStatusTodo()).isEqualTo(3);
+        assertThat(saved.getValue().getPriorityLow()).isEqualTo(3);
+    }
+
+    private static Todo todo(TodoStatus status, TodoPriority priority) {
+        return TodoChangedEvent.snapshot(entity(status, priority));
+    }
+
+    private static TodoEntity entity(TodoStatus status, TodoPriority priority) {
+        TodoEntity entity = new TodoEntity(USER_ID, "Task", null, status, priority, null);
+        entity.setId(10L);
+        return entity;
+    }
+}
@@ -0,0 +1,165 @@
+package com.zametech.todoapp.application.service;
+
+import com.zametech.todoapp.common.config.SyncProperties;
+import com.zametech.todoapp.common.exception.InvalidCursorException;
+import com.zametech.todoapp.common.exception.SyncTokenExpiredException;
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.Todo;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.domain.repository.TodoTombstoneRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoTombstoneEntity;
+import com.zametech.todoapp.presentation.dto.response.TodoChangesResponse;
+import com.zametech.todoapp.presentation.dto.response.TodoResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoSyncServiceTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private TodoTombstoneRepository todoTombstoneRepository;
+
+    @Mock
+    private UserContextService userContextService;
+
+    private TodoSyncService todoSyncService;
+
+    @BeforeEach
+    void setUp() {
+        todoSyncService = new TodoSyncService(
+                todoRepository, todoTombstoneRepository, userContextService, new SyncProperties());
+    }
+
+    @Test
+    void getChanges_MergesTodosAndTombstonesInChangeSeqOrder() {
+        ZonedDateTime old = ZonedDateTime.now().minusMinutes(1);
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(todoRepository.findChangedAfter(USER_ID, 0L, 101)).thenReturn(List.of(todo(1L, 3L, old), todo(2L, 5L, old)));
+        when(todoTombstoneRepository.findDeletedAfter(USER_ID, 0L, 101)).thenReturn(List.of(tombstone(7L, 4L, old)));
+
+        TodoChangesResponse changes = todoSyncService.getChanges(null, 100);
+
+        assertThat(changes.changed()).extracting(TodoResponse::id).containsExactly(1L, 2L);
+        assertThat(changes.deleted()).containsExactly(7L);
+        assertThat(changes.hasMore()).isFalse();
+
+        // 次回は最後に返した連番の後から読む
+        when(todoRepository.findChangedAfter(USER_ID, 5L, 101)).thenReturn(List.of());
+        when(todoTombstoneRepository.findDeletedAfter(USER_ID, 5L, 101)).thenReturn(List.of());
+
+        TodoChangesResponse next = todoSyncService.getChanges(changes.nextToken(), 100);
+
+        assertThat(next.changed()).isEmpty();
+        assertThat(next.deleted()).isEmpty();
+    }
+
+    @Test
+    void getChanges_ReturnsUnsettledChangesWithoutAdvancingToken() {
+        ZonedDateTime old = ZonedDateTime.now().minusMinutes(1);
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(todoRepository.findChangedAfter(USER_ID, 0L, 101))
+            .thenReturn(List.of(todo(1L, 3L, old), todo(2L, 5L, ZonedDateTime.now())));
+        when(todoTombstoneRepository.findDeletedAfter(USER_ID, 0L, 101)).thenReturn(List.of());
+
+        TodoChangesResponse changes = todoSyncService.getChanges(null, 100);
+
+        assertThat(changes.changed()).extracting(TodoResponse::id).containsExactly(1L, 2L);
+
+        when(todoRepository.findChangedAfter(USER_ID, 3L, 101)).thenReturn(List.of());
+        when(todoTombstoneRepository.findDeletedAfter(USER_ID, 3L, 101)).thenReturn(List.of());
+
+        todoSyncService.getChanges(changes.nextToken(), 100);
+
+        verify(todoRepository).findChangedAfter(USER_ID, 3L, 101);
+    }
+
+    @Test
+    void getChanges_StopsAtLimitAndReportsMore() {
+        ZonedDateTime old = ZonedDateTime.now().minusMinutes(1);
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        when(todoRepository.findChangedAfter(USER_ID, 0L, 3))
+            .thenReturn(List.of(todo(1L, 1L, old), todo(2L, 2L, old), todo(3L, 3L, old)));
+        when(todoTombstoneRepository.findDeletedAfter(USER_ID, 0L, 3)).thenReturn(List.of());
+
+        TodoChangesResponse changes = todoSyncService.getChanges(null, 2);
+
+        assertThat(changes.changed()).extracting(TodoResponse::id).containsExactly(1L, 2L);
+        assertThat(changes.hasMore()).isTrue();
+    }
+
+    @Test
+    void getChanges_TokenOlderThanRetention_ThrowsExpired() {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+        String expired = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("5:0".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> todoSyncService.getChanges(expired, 100))
+            .isInstanceOf(SyncTokenExpiredException.class);
+        verify(todoRepository, never()).findChangedAfter(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getChanges_MalformedToken_ThrowsInvalidCursor() {
+        when(userContextService.getCurrentUserId()).thenReturn(USER_ID);
+
+        assertThatThrownBy(() -> todoSyncService.getChanges("%%%", 100))
+            .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void onTodoChanged_Deleted_RecordsTombstone() {
+        Todo removed = new Todo(10L, "Removed", null, TodoStatus.TODO, TodoPriority.LOW, null, USER_ID, null,
+                null, null, 0L);
+
+        todoSyncService.onTodoChanged(TodoChangedEvent.deleted(removed));
+
+        verify(todoTombstoneRepository).record(10L, USER_ID);
+    }
+
+    @Test
+    void onTodoChanged_Created_DoesNotRecordTombstone() {
+        todoSyncService.onTodoChanged(TodoChangedEvent.created(todo(10L, 1L, ZonedDateTime.now())));
+
+        verify(todoTombstoneRepository, never()).record(eq(10L), anyLong());
+    }
+
+    private static TodoEntity todo(Long id, Long changeSeq, ZonedDateTime updatedAt) {
+        TodoEntity todo = new TodoEntity(USER_ID, "Todo " + id, null, TodoStatus.TODO, TodoPriority.MEDIUM, null);
+        todo.setId(id);
+        todo.setChangeSeq(changeSeq);
+        todo.setUpdatedAt(updatedAt);
+        return todo;
+    }
+
+    private static TodoTombstoneEntity tombstone(Long todoId, Long changeSeq, ZonedDateTime deletedAt) {
+        TodoTombstoneEntity tombstone = new TodoTombstoneEntity();
+        tombstone.setTodoId(todoId);
+        tombstone.setUserId(USER_ID);
+        tombstone.setChangeSeq(changeSeq);
+        tombstone.setDeletedAt(deletedAt);
+        return tombstone;
+    }
+}
@@ -2,7 +2,6 @@ package com.zametech.todoapp.application.service;
 
 import com.zametech.todoapp.common.exception.TodoNotFoundException;
 import com.zametech.todoapp.domain.model.User;
-import com.zametech.todoapp.domain.repository.TodoRepository;
 import com.zametech.todoapp.domain.repository.UserRepository;
 import com.zametech.todoapp.presentation.dto.request.ChangePasswordRequest;
 import com.zametech.todoapp.presentation.dto.request.UpdateUserRequest;
@@ -30,9 +29,6 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @Mock
-    private TodoRepository todoRepository;
-
     @Mock
     private PasswordEncoder passwordEncoder;
 
@@ -176,7 +172,6 @@ class UserServiceTest {
         userService.deleteUser(USER_ID);
 
         // Then
-        verify(todoRepository).deleteByUserId(USER_ID);
         verify(userRepository).deleteById(USER_ID);
     }
 
@@ -0,0 +1,63 @@
+package com.zametech.todoapp.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurrenceRuleTest {
+
+    /** 水曜日 */
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void occurrences_DailyWithInterval_AlignsToStartAndStopsAtEnd() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.DAILY, 3, null, START, LocalDate.of(2025, 1, 8));
+
+        assertThat(rule.occurrences(LocalDate.of(2025, 1, 5), LocalDate.of(2025, 1, 31)))
+            .containsExactly(LocalDate.of(2025, 1, 7));
+    }
+
+    @Test
+    void occurrences_EveryOtherWeekOnWeekdays_SkipsOffWeeksAndDaysBeforeStart() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.WEEKLY, 2,
+            Set.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY), START, null);
+
+        assertThat(rule.occurrences(START, LocalDate.of(2025, 1, 31))).containsExactly(
+            LocalDate.of(2025, 1, 2),
+            LocalDate.of(2025, 1, 13),
+            LocalDate.of(2025, 1, 16),
+            LocalDate.of(2025, 1, 27),
+            LocalDate.of(2025, 1, 30));
+        assertThat(rule.occurrences(LocalDate.of(2025, 1, 14), LocalDate.of(2025, 1, 27)))
+            .containsExactly(LocalDate.of(2025, 1, 16), LocalDate.of(2025, 1, 27));
+    }
+
+    @Test
+    void occurrences_Monthly_ClampsToLastDayOfShortMonths() {
+        LocalDate endOfMonth = LocalDate.of(2025, 1, 31);
+        RecurrenceRule monthly = new RecurrenceRule(RecurrenceFrequency.MONTHLY, 1, null, endOfMonth, null);
+        RecurrenceRule bimonthly = new RecurrenceRule(RecurrenceFrequency.MONTHLY, 2, null, endOfMonth, null);
+
+        assertThat(monthly.occurrences(START, LocalDate.of(2025, 4, 30))).containsExactly(
+            LocalDate.of(2025, 1, 31),
+            LocalDate.of(2025, 2, 28),
+            LocalDate.of(2025, 3, 31),
+            LocalDate.of(2025, 4, 30));
+        assertThat(bimonthly.occurrences(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 6, 30)))
+            .containsExactly(LocalDate.of(2025, 3, 31), LocalDate.of(2025, 5, 31));
+    }
+
+    @Test
+    void weekdayMask_RoundTrips() {
+        RecurrenceRule rule = new RecurrenceRule(RecurrenceFrequency.WEEKLY, 1,
+            Set.of(DayOfWeek.MONDAY, DayOfWeek.SUNDAY), START, null);
+
+        assertThat(rule.weekdayMask()).isEqualTo(0b1000001);
+        assertThat(RecurrenceRule.weekdaysOf(rule.weekdayMask()))
+            .containsExactlyInAnyOrder(DayOfWeek.MONDAY, DayOfWeek.SUNDAY);
+    }
+}
@@ -0,0 +1,101 @@
+package com.zametech.todoapp.infrastructure.logging;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AccessLogWriterTest {
+
+    @Test
+    void write_BufferFull_DropsAndCounts() throws Exception {
+        Logger output = mock(Logger.class);
+        when(output.isInfoEnabled()).thenReturn(true);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(output).info(anyString());
+        AccessLogWriter writer = new AccessLogWriter(2, output);
+
+        // 1件目の書き出しで止めている間に、バッファ（2件）を超えて追加する
+        writer.write(entry("/api/v1/todos/1"));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 2; i <= 5; i++) {
+            writer.write(entry("/api/v1/todos/" + i));
+        }
+
+        assertThat(writer.droppedCount()).isEqualTo(2);
+        release.countDown();
+        // 書き出しスレッドがバッファの残りを取り出し終えてから止める
+        await().atMost(Duration.ofSeconds(5)).until(() -> writer.pendingCount() == 0);
+        writer.shutdown();
+        verify(output, times(3)).info(anyString());
+    }
+
+    @Test
+    void write_OutputFails_CountsAndKeepsWriting() throws Exception {
+        Logger output = mock(Logger.class);
+        when(output.isInfoEnabled()).thenReturn(true);
+        doThrow(new IllegalStateException("disk full"))
+            .doNothing()
+            .when(output).info(anyString());
+        AccessLogWriter writer = new AccessLogWriter(16, output);
+
+        for (int i = 0; i < 3; i++) {
+            writer.write(entry("/api/v1/todos/" + i));
+        }
+        writer.shutdown();
+
+        verify(output, times(3)).info(anyString());
+        assertThat(writer.failedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shutdown_WritesPendingEntries() throws Exception {
+        Logger output = mock(Logger.class);
+        when(output.isInfoEnabled()).thenReturn(true);
+        AccessLogWriter writer = new AccessLogWriter(16, output);
+        for (int i = 0; i < 10; i++) {
+            writer.write(entry("/api/v1/todos/" + i));
+        }
+
+        writer.shutdown();
+
+        verify(output, times(10)).info(anyString());
+        assertThat(writer.droppedCount()).isZero();
+    }
+
+    @Test
+    void format_WritesOneJsonLineWithEscapedPath() {
+        AccessLogEntry entry = new AccessLogEntry(
+            0L, "GET", "/api/v1/todos/\"x\\", 404, 1_234_567L, 7L);
+
+        String line = AccessLogWriter.format(entry, new StringBuilder()).toString();
+
+        assertThat(line).isEqualTo("{\"ts\":\"1970-01-01T00:00:00Z\",\"method\":\"GET\","
+            + "\"path\":\"/api/v1/todos/\\\"x\\\\\",\"status\":404,\"durationMs\":1.234,\"userId\":7}");
+    }
+
+    @Test
+    void format_AnonymousRequest_WritesNullUserId() {
+        AccessLogEntry entry = new AccessLogEntry(0L, "POST", "/api/v1/auth/login", 200, 5_000L, null);
+
+        String line = AccessLogWriter.format(entry, new StringBuilder()).toString();
+
+        assertThat(line).endsWith("\"durationMs\":0.005,\"userId\":null}");
+    }
+
+    private static AccessLogEntry entry(String path) {
+        return new AccessLogEntry(System.currentTimeMillis(), "GET", path, 200, 1_000_000L, 1L);
+    }
+}
@@ -0,0 +1,56 @@
+package com.zametech.todoapp.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DebugSamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger serviceLogger = context.getLogger("com.zametech.todoapp.application.service.TodoService");
+
+    @Test
+    void decide_ZeroRate_DeniesOnlyApplicationDebug() {
+        DebugSamplingTurboFilter filter = filter(0.0);
+
+        assertThat(decide(filter, serviceLogger, Level.DEBUG)).isEqualTo(FilterReply.DENY);
+        assertThat(decide(filter, serviceLogger, Level.INFO)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(filter, serviceLogger, Level.TRACE)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(filter, context.getLogger("org.hibernate.SQL"), Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void decide_FullRate_PassesEverything() {
+        DebugSamplingTurboFilter filter = filter(1.0);
+
+        assertThat(decide(filter, serviceLogger, Level.DEBUG)).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void decide_PartialRate_PassesRoughlyThatShare() {
+        DebugSamplingTurboFilter filter = filter(0.25);
+
+        long passed = IntStream.range(0, 20_000)
+            .filter(i -> decide(filter, serviceLogger, Level.DEBUG) == FilterReply.NEUTRAL)
+            .count();
+
+        assertThat(passed).isBetween(4_000L, 6_000L);
+    }
+
+    private static DebugSamplingTurboFilter filter(double sampleRate) {
+        DebugSamplingTurboFilter filter = new DebugSamplingTurboFilter();
+        filter.setLoggerPrefix("com.zametech.todoapp");
+        filter.setSampleRate(sampleRate);
+        return filter;
+    }
+
+    private static FilterReply decide(DebugSamplingTurboFilter filter, Logger logger, Level level) {
+        return filter.decide(null, logger, level, "message", null, null);
+    }
+}
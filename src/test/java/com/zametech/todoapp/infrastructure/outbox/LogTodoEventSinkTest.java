@@ -0,0 +1,43 @@
+package com.zametech.todoapp.infrastructure.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoOutboxEntity;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class LogTodoEventSinkTest {
+
+    @Test
+    void publish_WritesOneJsonLinePerMessage() throws Exception {
+        Logger output = mock(Logger.class);
+        ZonedDateTime createdAt = ZonedDateTime.of(2025, 3, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+        TodoOutboxEntity created = new TodoOutboxEntity(1L, 10L, "created",
+            "{\"type\":\"created\",\"todoId\":10,\"todo\":{\"id\":10}}", createdAt);
+        created.setId(100L);
+        TodoOutboxEntity deleted = new TodoOutboxEntity(1L, 10L, "deleted",
+            "{\"type\":\"deleted\",\"todoId\":10,\"todo\":null}", createdAt);
+        deleted.setId(101L);
+
+        new LogTodoEventSink(output).publish(List.of(created, deleted));
+
+        ArgumentCaptor<String> lines = ArgumentCaptor.forClass(String.class);
+        verify(output, times(2)).info(lines.capture());
+        JsonNode first = new ObjectMapper().readTree(lines.getAllValues().get(0));
+        assertThat(first.get("id").asLong()).isEqualTo(100L);
+        assertThat(first.get("userId").asLong()).isEqualTo(1L);
+        assertThat(first.get("type").asText()).isEqualTo("created");
+        assertThat(first.get("createdAt").asText()).isEqualTo("2025-03-01T09:30Z");
+        assertThat(first.get("event").get("todo").get("id").asLong()).isEqualTo(10L);
+        assertThat(new ObjectMapper().readTree(lines.getAllValues().get(1)).get("event").get("todo").isNull())
+            .isTrue();
+    }
+}
@@ -0,0 +1,81 @@
+package com.zametech.todoapp.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FairShareSchedulerTest {
+
+    @Test
+    void acquire_AdmitsImmediatelyWhileCapacityRemains() throws Exception {
+        FairShareScheduler scheduler = new FairShareScheduler(2, 0.5, Duration.ofMillis(50));
+
+        assertThat(scheduler.acquire(1L)).isTrue();
+        assertThat(scheduler.acquire(1L)).isTrue();
+        assertThat(scheduler.inFlight()).isEqualTo(2);
+
+        // 満杯なら待ち時間を超えて拒否される
+        assertThat(scheduler.acquire(2L)).isFalse();
+
+        scheduler.release(1L);
+        assertThat(scheduler.acquire(2L)).isTrue();
+    }
+
+    @Test
+    void release_HandsSlotToLeastServedUserFirst() throws Exception {
+        FairShareScheduler scheduler = new FairShareScheduler(4, 1.0, Duration.ofSeconds(5));
+        for (int i = 0; i < 4; i++) {
+            assertThat(scheduler.acquire(1L)).isTrue();
+        }
+
+        CompletableFuture<Boolean> heavy = CompletableFuture.supplyAsync(() -> acquire(scheduler, 1L));
+        awaitQueued(heavy);
+        CompletableFuture<Boolean> light = CompletableFuture.supplyAsync(() -> acquire(scheduler, 2L));
+        awaitQueued(light);
+
+        // 先に並んだのはユーザー1だが、処理中の件数が少ないユーザー2に割り当てる
+        scheduler.release(1L);
+        assertThat(light.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(heavy).isNotDone();
+
+        scheduler.release(1L);
+        assertThat(heavy.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void acquire_CapsUserShareWhileOthersWait() throws Exception {
+        FairShareScheduler scheduler = new FairShareScheduler(4, 0.5, Duration.ofMillis(200));
+        for (int i = 0; i < 4; i++) {
+            assertThat(scheduler.acquire(1L)).isTrue();
+        }
+
+        // 処理待ちが発生している間、ユーザー1は同時に2件（4件の50%）を超えて割り当てられない
+        CompletableFuture<Boolean> heavy = CompletableFuture.supplyAsync(() -> acquire(scheduler, 1L));
+        awaitQueued(heavy);
+        scheduler.release(1L);
+        scheduler.release(1L);
+
+        assertThat(heavy.get(5, TimeUnit.SECONDS)).isFalse();
+        assertThat(scheduler.acquire(2L)).isTrue();
+        assertThat(scheduler.inFlight()).isEqualTo(3);
+    }
+
+    private static boolean acquire(FairShareScheduler scheduler, Long userId) {
+        try {
+            return scheduler.acquire(userId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitQueued(CompletableFuture<Boolean> waiter) throws InterruptedException {
+        // 待ち行列に入るまで少し待つ
+        Thread.sleep(50);
+        assertThat(waiter).isNotDone();
+    }
+}
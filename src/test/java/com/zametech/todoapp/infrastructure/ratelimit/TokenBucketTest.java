@@ -0,0 +1,56 @@
+package com.zametech.todoapp.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void tryAcquire_AllowsBurstThenReportsWaitUntilNextToken() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND / 10);
+
+        // 0.1秒で1トークン補充される
+        assertThat(bucket.tryAcquire(SECOND / 10)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 10)).isPositive();
+    }
+
+    @Test
+    void isFull_TrueOnceAllTokensAreRefilled() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.isFull(SECOND / 10)).isFalse();
+        assertThat(bucket.isFull(2 * SECOND / 10)).isTrue();
+    }
+
+    @Test
+    void tryAcquire_ConcurrentCallersNeverExceedBurst() {
+        TokenBucket bucket = new TokenBucket(1, 50, 0);
+        AtomicInteger acquired = new AtomicInteger();
+
+        CompletableFuture.allOf(IntStream.range(0, 8)
+            .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                for (int n = 0; n < 100; n++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            }))
+            .toArray(CompletableFuture[]::new)).join();
+
+        assertThat(acquired).hasValue(50);
+    }
+}
@@ -0,0 +1,117 @@
+package com.zametech.todoapp.infrastructure.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final Instant START = Instant.parse("2025-03-01T00:00:00Z");
+
+    @Test
+    void advance_FiresEachLevelAtItsDeadline() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(Duration.ofSeconds(1), START, 16);
+        // 1段目・段の境界・4段目を超える遅延
+        long[] delays = {1, 63, 64, 65, 4_095, 4_096, 262_143, 262_144, 20_000_000};
+        for (int i = 0; i < delays.length; i++) {
+            wheel.schedule(i, START.plusSeconds(delays[i]), i);
+        }
+
+        for (int i = 0; i < delays.length; i++) {
+            List<Integer> early = new ArrayList<>();
+            wheel.advance(START.plusSeconds(delays[i] - 1), (key, tag) -> early.add(tag));
+            assertThat(early).isEmpty();
+            List<Integer> fired = new ArrayList<>();
+            wheel.advance(START.plusSeconds(delays[i]), (key, tag) -> fired.add(tag));
+            assertThat(fired).containsExactly(i);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void schedule_SameKey_ReplacesAndCancelRemoves() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(Duration.ofSeconds(1), START, 16);
+        wheel.schedule(1, START.plusSeconds(10), 100);
+        wheel.schedule(1, START.plusSeconds(5_000), 200);
+        wheel.schedule(2, START.plusSeconds(10), 300);
+
+        assertThat(wheel.size()).isEqualTo(2);
+        assertThat(wheel.cancel(2)).isTrue();
+        assertThat(wheel.cancel(2)).isFalse();
+
+        Map<Long, Integer> fired = new HashMap<>();
+        wheel.advance(START.plusSeconds(4_999), fired::put);
+        assertThat(fired).isEmpty();
+        wheel.advance(START.plusSeconds(5_000), fired::put);
+        assertThat(fired).containsExactly(Map.entry(1L, 200));
+    }
+
+    @Test
+    void schedule_PastDeadline_FiresOnNextTick() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(Duration.ofSeconds(1), START, 16);
+        wheel.advance(START.plusSeconds(100), (key, tag) -> { });
+        wheel.schedule(1, START.plusSeconds(50), 0);
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advance(START.plusSeconds(101), (key, tag) -> fired.add(key));
+
+        assertThat(fired).containsExactly(1L);
+    }
+
+    @Test
+    void advance_ManyRandomTimers_FireNeitherEarlyNorLate() {
+        HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(Duration.ofMillis(100), START, 16);
+        Random random = new Random(42);
+        int count = 200_000;
+        long[] deadlines = new long[count];
+        for (int key = 0; key < count; key++) {
+            deadlines[key] = 1 + random.nextInt(3 * 24 * 36_000);
+            wheel.schedule(key, START.plusMillis(deadlines[key] * 100), key);
+        }
+        // 一部を取り消し、一部を別の期限で登録し直す（索引の削除と詰め直しを含む）
+        for (int key = 0; key < count; key += 7) {
+            wheel.cancel(key);
+            deadlines[key] = -1;
+        }
+        for (int key = 3; key < count; key += 11) {
+            if (deadlines[key] > 0) {
+                deadlines[key] = 1 + random.nextInt(36_000);
+                wheel.schedule(key, START.plusMillis(deadlines[key] * 100), key);
+            }
+        }
+
+        long[] firedAt = new long[count];
+        int[] fired = new int[1];
+        for (long tick = 0; tick <= 3 * 24 * 36_000; tick += 997) {
+            long now = tick;
+            wheel.advance(START.plusMillis(now * 100), (key, tag) -> {
+                firedAt[(int) key] = now;
+                fired[0]++;
+            });
+        }
+        wheel.advance(START.plusMillis(3L * 24 * 36_000 * 100 + 100), (key, tag) -> {
+            firedAt[(int) key] = 3L * 24 * 36_000 + 1;
+            fired[0]++;
+        });
+
+        int expected = 0;
+        for (int key = 0; key < count; key++) {
+            if (deadlines[key] < 0) {
+                assertThat(firedAt[key]).isZero();
+                continue;
+            }
+            expected++;
+            assertThat(firedAt[key]).isGreaterThanOrEqualTo(deadlines[key]).isLessThan(deadlines[key] + 997);
+        }
+        assertThat(fired[0]).isEqualTo(expected);
+        assertThat(wheel.size()).isZero();
+    }
+}
@@ -0,0 +1,101 @@
+package com.zametech.todoapp.infrastructure.replica;
+
+import com.zametech.todoapp.common.config.ReplicaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ResultSetMetaData metaData;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReplicaProperties replicaProperties = new ReplicaProperties();
+    private ReplicaLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        replicaProperties.setMaxLag(Duration.ofSeconds(2));
+        monitor = new ReplicaLagMonitor(replica, replicaProperties, new ReadYourWrites(Duration.ofSeconds(5)),
+            meterRegistry);
+    }
+
+    @Test
+    void check_LagWithinLimit_UsesReplicaAndReportsLag() throws SQLException {
+        assertThat(monitor.isHealthy()).isFalse();
+        stubLag(0.5);
+
+        monitor.check();
+
+        assertThat(monitor.isHealthy()).isTrue();
+        assertThat(meterRegistry.get("app.replica.lag").gauge().value()).isEqualTo(0.5);
+        assertThat(meterRegistry.get("app.replica.healthy").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void check_LagOverLimit_StopsUsingReplica() throws SQLException {
+        stubLag(0.5);
+        monitor.check();
+        stubLag(3.0);
+
+        monitor.check();
+
+        assertThat(monitor.isHealthy()).isFalse();
+        assertThat(meterRegistry.get("app.replica.lag").gauge().value()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("app.replica.healthy").gauge().value()).isZero();
+    }
+
+    @Test
+    void check_ReplicaUnreachable_StopsUsingReplica() throws SQLException {
+        stubLag(0.5);
+        monitor.check();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        monitor.check();
+
+        assertThat(monitor.isHealthy()).isFalse();
+        assertThat(meterRegistry.get("app.replica.check.failures").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.replica.lag").gauge().value()).isNaN();
+    }
+
+    private void stubLag(double seconds) throws SQLException {
+        lenient().when(replica.getConnection()).thenReturn(connection);
+        lenient().when(connection.createStatement()).thenReturn(statement);
+        lenient().when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        lenient().when(resultSet.next()).thenReturn(true, false);
+        lenient().when(resultSet.getMetaData()).thenReturn(metaData);
+        lenient().when(metaData.getColumnCount()).thenReturn(1);
+        lenient().when(resultSet.getDouble(1)).thenReturn(seconds);
+        lenient().when(resultSet.getObject(1, Double.class)).thenReturn(seconds);
+        lenient().when(resultSet.getObject(1)).thenReturn(seconds);
+    }
+}
@@ -0,0 +1,164 @@
+package com.zametech.todoapp.infrastructure.replica;
+
+import com.zametech.todoapp.common.config.ReplicaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaReadDataSourceTest {
+
+    private static final String USER = "test@example.com";
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource replica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection replicaConnection;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(5));
+    private ReplicaLagMonitor replicaLagMonitor;
+    private ReplicaReadDataSource readDataSource;
+
+    @BeforeEach
+    void setUp() {
+        replicaLagMonitor = spy(new ReplicaLagMonitor(replica, new ReplicaProperties(), readYourWrites, meterRegistry));
+        readDataSource = new ReplicaReadDataSource(replica, primary, readYourWrites, replicaLagMonitor, meterRegistry);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(USER, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void getConnection_HealthyReplica_ReadsFromReplica() throws SQLException {
+        doReturn(true).when(replicaLagMonitor).isHealthy();
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        assertThat(readDataSource.getConnection()).isSameAs(replicaConnection);
+        assertThat(reads("replica", "read_only")).isEqualTo(1);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_UnhealthyReplica_FallsBackToPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(readDataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(reads("primary", "replica_unhealthy")).isEqualTo(1);
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void getConnection_ReplicaUnreachable_FallsBackToPrimaryUntilNextCheck() throws SQLException {
+        doReturn(true).when(replicaLagMonitor).isHealthy();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(readDataSource.getConnection()).isSameAs(primaryConnection);
+        verify(replicaLagMonitor).markUnhealthy(any(SQLException.class));
+        assertThat(reads("primary", "replica_unhealthy")).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_AfterCommittedWrite_ReadsOwnWritesFromPrimary() throws SQLException {
+        doReturn(true).when(replicaLagMonitor).isHealthy();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        WriteTrackingDataSource writeDataSource = new WriteTrackingDataSource(primary, readYourWrites);
+
+        TransactionSynchronizationManager.initSynchronization();
+        writeDataSource.getConnection();
+        assertThat(readYourWrites.isSticky(USER)).isFalse();
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(readDataSource.getConnection()).isSameAs(primaryConnection);
+        assertThat(reads("primary", "recent_write")).isEqualTo(1);
+        verify(replica, never()).getConnection();
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken("other@example.com", null, List.of()));
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        assertThat(readDataSource.getConnection()).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void getConnection_ReadOnlyTransactionOnPrimary_IsNotAWrite() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        WriteTrackingDataSource writeDataSource = new WriteTrackingDataSource(primary, readYourWrites);
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        writeDataSource.getConnection();
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        assertThat(readYourWrites.isSticky(USER)).isFalse();
+    }
+
+    @Test
+    void getConnectionWithCredentials_HealthyReplica_ReadsFromReplica() throws SQLException {
+        doReturn(true).when(replicaLagMonitor).isHealthy();
+        when(replica.getConnection("reader", "secret")).thenReturn(replicaConnection);
+
+        assertThat(readDataSource.getConnection("reader", "secret")).isSameAs(replicaConnection);
+        assertThat(reads("replica", "read_only")).isEqualTo(1);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnectionWithCredentials_ReplicaUnreachable_FallsBackToPrimary() throws SQLException {
+        doReturn(true).when(replicaLagMonitor).isHealthy();
+        when(replica.getConnection("reader", "secret")).thenThrow(new SQLException("Connection refused"));
+        when(primary.getConnection("reader", "secret")).thenReturn(primaryConnection);
+
+        assertThat(readDataSource.getConnection("reader", "secret")).isSameAs(primaryConnection);
+        verify(replicaLagMonitor).markUnhealthy(any(SQLException.class));
+        assertThat(reads("primary", "replica_unhealthy")).isEqualTo(1);
+    }
+
+    @Test
+    void getConnectionWithCredentials_AfterWrite_ReadsFromPrimary() throws SQLException {
+        doReturn(true).when(replicaLagMonitor).isHealthy();
+        when(primary.getConnection("reader", "secret")).thenReturn(primaryConnection);
+        readYourWrites.recordWrite(USER);
+
+        assertThat(readDataSource.getConnection("reader", "secret")).isSameAs(primaryConnection);
+        assertThat(reads("primary", "recent_write")).isEqualTo(1);
+        verify(replica, never()).getConnection("reader", "secret");
+    }
+
+    private double reads(String target, String reason) {
+        return meterRegistry.get("app.replica.reads").tag("target", target).tag("reason", reason).counter().count();
+    }
+}
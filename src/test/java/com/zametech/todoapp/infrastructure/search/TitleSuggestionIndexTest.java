@@ -0,0 +1,132 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TitleSuggestionIndexTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long OTHER_USER_ID = 2L;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    private SearchProperties searchProperties;
+    private TitleSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        index = new TitleSuggestionIndex(todoRepository, searchProperties);
+    }
+
+    @Test
+    void suggest_MatchesTitleAndWordPrefixes() {
+        when(todoRepository.findAllByUserId(USER_ID)).thenReturn(List.of(
+            todo(1L, USER_ID, "週次レポート 提出"),
+            todo(2L, USER_ID, "週末の買い物"),
+            todo(3L, USER_ID, "Team meeting")));
+
+        assertThat(index.suggest(USER_ID, "週", 10)).containsExactly("週末の買い物", "週次レポート 提出");
+        assertThat(index.suggest(USER_ID, "提出", 10)).containsExactly("週次レポート 提出");
+        assertThat(index.suggest(USER_ID, "MEET", 10)).containsExactly("Team meeting");
+    }
+
+    @Test
+    void suggest_RanksRepeatedTitlesFirst() {
+        when(todoRepository.findAllByUserId(USER_ID)).thenReturn(List.of(
+            todo(1L, USER_ID, "ジムに行く"),
+            todo(2L, USER_ID, "ジムに行く"),
+            todo(3L, USER_ID, "ジャム作り")));
+
+        assertThat(index.suggest(USER_ID, "ジ", 1)).containsExactly("ジムに行く");
+    }
+
+    @Test
+    void suggest_LoadsOnlyOnFirstUse() {
+        when(todoRepository.findAllByUserId(USER_ID)).thenReturn(List.of(todo(1L, USER_ID, "牛乳")));
+
+        index.suggest(USER_ID, "牛", 10);
+        index.suggest(USER_ID, "牛", 10);
+
+        verify(todoRepository, times(1)).findAllByUserId(USER_ID);
+    }
+
+    @Test
+    void onTodoChanged_UpdatesLoadedUser() {
+        when(todoRepository.findAllByUserId(USER_ID)).thenReturn(List.of(todo(1L, USER_ID, "牛乳")));
+        index.suggest(USER_ID, "牛", 10);
+
+        index.onTodoChanged(TodoChangedEvent.created(todo(2L, USER_ID, "牛肉")));
+        TodoEntity removed = todo(1L, USER_ID, "牛乳");
+        index.onTodoChanged(TodoChangedEvent.deleted(TodoChangedEvent.snapshot(removed)));
+
+        assertThat(index.suggest(USER_ID, "牛", 10)).containsExactly("牛肉");
+    }
+
+    @Test
+    void onTodoChanged_RenamedTodo_ReplacesOldTitle() {
+        when(todoRepository.findAllByUserId(USER_ID)).thenReturn(List.of(
+            todo(1L, USER_ID, "牛乳"), todo(2L, USER_ID, "牛乳")));
+        index.suggest(USER_ID, "牛", 10);
+
+        index.onTodoChanged(TodoChangedEvent.updated(
+            TodoChangedEvent.snapshot(todo(2L, USER_ID, "牛乳")), todo(2L, USER_ID, "牛丼")));
+
+        assertThat(index.suggest(USER_ID, "牛", 10)).containsExactly("牛丼", "牛乳");
+        index.onTodoChanged(TodoChangedEvent.updated(
+            TodoChangedEvent.snapshot(todo(1L, USER_ID, "牛乳")), todo(1L, USER_ID, "パン")));
+        assertThat(index.suggest(USER_ID, "牛", 10)).containsExactly("牛丼");
+    }
+
+    @Test
+    void suggest_ChangeCommittedWhileLoading_IsApplied() {
+        when(todoRepository.findAllByUserId(USER_ID)).thenAnswer(invocation -> {
+            index.onTodoChanged(TodoChangedEvent.created(todo(2L, USER_ID, "牛肉")));
+            return List.of(todo(1L, USER_ID, "牛乳"));
+        });
+
+        assertThat(index.suggest(USER_ID, "牛", 10)).containsExactly("牛肉", "牛乳");
+    }
+
+    @Test
+    void onTodoChanged_IgnoresUnloadedUser() {
+        index.onTodoChanged(TodoChangedEvent.created(todo(1L, USER_ID, "牛乳")));
+
+        assertThat(index.totalBytes()).isZero();
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void suggest_EvictsLeastRecentlyUsedUserOverBudget() {
+        when(todoRepository.findAllByUserId(USER_ID)).thenReturn(List.of(todo(1L, USER_ID, "牛乳")));
+        when(todoRepository.findAllByUserId(OTHER_USER_ID)).thenReturn(List.of(todo(2L, OTHER_USER_ID, "パン")));
+        index.suggest(USER_ID, "牛", 10);
+        searchProperties.setSuggestMaxBytes(index.totalBytes());
+
+        index.suggest(OTHER_USER_ID, "パ", 10);
+        index.suggest(USER_ID, "牛", 10);
+
+        verify(todoRepository, times(2)).findAllByUserId(USER_ID);
+    }
+
+    private static TodoEntity todo(Long id, Long userId, String title) {
+        TodoEntity todo = new TodoEntity(userId, title, null, TodoStatus.TODO, TodoPriority.MEDIUM, null);
+        todo.setId(id);
+        return todo;
+    }
+}
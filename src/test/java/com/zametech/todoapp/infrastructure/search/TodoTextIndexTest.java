@@ -0,0 +1,74 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TodoTextIndexTest {
+
+    private static final Long USER_ID = 1L;
+    private static final Long OTHER_USER_ID = 2L;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    private SearchProperties searchProperties;
+    private TodoTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        searchProperties = new SearchProperties();
+        index = new TodoTextIndex(todoRepository, searchProperties);
+    }
+
+    @Test
+    void search_ChangeCommittedWhileBuilding_IsApplied() {
+        // 読み込みのクエリが返る前にコミットされた変更
+        when(todoRepository.findAllByUserId(USER_ID)).thenAnswer(invocation -> {
+            index.onTodoChanged(TodoChangedEvent.created(todo(2L, USER_ID, "牛肉を買う")));
+            return List.of(todo(1L, USER_ID, "牛乳を買う"));
+        });
+
+        assertThat(index.search(USER_ID, "牛", 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void onTodoChanged_IgnoresUnbuiltUser() {
+        index.onTodoChanged(TodoChangedEvent.created(todo(1L, USER_ID, "牛乳")));
+
+        assertThat(index.totalBytes()).isZero();
+        verifyNoInteractions(todoRepository);
+    }
+
+    @Test
+    void search_EvictsLeastRecentlyUsedUserOverBudget() {
+        when(todoRepository.findAllByUserId(USER_ID)).thenReturn(List.of(todo(1L, USER_ID, "牛乳")));
+        when(todoRepository.findAllByUserId(OTHER_USER_ID)).thenReturn(List.of(todo(2L, OTHER_USER_ID, "パン")));
+        index.search(USER_ID, "牛", 10);
+        searchProperties.setTextIndexMaxBytes(index.totalBytes());
+
+        index.search(OTHER_USER_ID, "パ", 10);
+        index.search(USER_ID, "牛", 10);
+
+        verify(todoRepository, times(2)).findAllByUserId(USER_ID);
+    }
+
+    private static TodoEntity todo(Long id, Long userId, String title) {
+        TodoEntity todo = new TodoEntity(userId, title, null, TodoStatus.TODO, TodoPriority.MEDIUM, null);
+        todo.setId(id);
+        return todo;
+    }
+}
@@ -0,0 +1,51 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * pg_trgm の similarity() 相当の計算
+ *
+ * <p>H2（テストプロファイル）にはpg_trgmがないため、テスト用マイグレーションで
+ * 同じ定義の関数として登録して使う（本番のコードからは参照しない）。
+ * 英数字以外で単語に区切り、各単語を前に空白2つ・後ろに空白1つで埋めてから
+ * 3文字組を取り出し、共通部分の割合（Jaccard係数）を返す。
+ */
+public final class TrigramSimilarity {
+
+    private TrigramSimilarity() {
+    }
+
+    public static double similarity(String left, String right) {
+        Set<String> a = trigrams(left);
+        Set<String> b = trigrams(right);
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        int shared = 0;
+        for (String trigram : a) {
+            if (b.contains(trigram)) {
+                shared++;
+            }
+        }
+        return (double) shared / (a.size() + b.size() - shared);
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> result = new HashSet<>();
+        if (text == null) {
+            return result;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                result.add(padded.substring(i, i + 3));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrigramSimilarityTest {
+
+    @Test
+    void similarity_IdenticalText_IsOne() {
+        assertThat(TrigramSimilarity.similarity("grocery", "Grocery")).isEqualTo(1.0);
+    }
+
+    @Test
+    void similarity_Typo_StaysAboveDefaultThreshold() {
+        assertThat(TrigramSimilarity.similarity("groceries", "grocreies")).isGreaterThan(0.3);
+    }
+
+    @Test
+    void similarity_MatchesPgTrgmDefinition() {
+        // SELECT similarity('word', 'two words') = 0.36363637 on PostgreSQL
+        assertThat(TrigramSimilarity.similarity("word", "two words")).isCloseTo(0.3636, within(0.001));
+    }
+
+    @Test
+    void similarity_UnrelatedOrEmpty_IsZero() {
+        assertThat(TrigramSimilarity.similarity("abc", "xyz")).isZero();
+        assertThat(TrigramSimilarity.similarity("", "xyz")).isZero();
+        assertThat(TrigramSimilarity.similarity(null, "xyz")).isZero();
+    }
+}
@@ -0,0 +1,88 @@
+package com.zametech.todoapp.infrastructure.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserTextIndexTest {
+
+    private UserTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserTextIndex();
+        index.put(1L, "牛乳を買う");
+        index.put(2L, "会議資料を作成する\n来週の定例会議用");
+        index.put(3L, "Buy milk");
+    }
+
+    @Test
+    void search_JapaneseSubstring_ReturnsMatches() {
+        assertThat(index.search("会議", 10)).containsExactly(2L);
+        assertThat(index.search("買う", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void search_SingleCharacter_UsesUnigram() {
+        assertThat(index.search("を", 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void search_MultipleTerms_RequiresAllTerms() {
+        assertThat(index.search("資料 定例", 10)).containsExactly(2L);
+        assertThat(index.search("資料 牛乳", 10)).isEmpty();
+    }
+
+    @Test
+    void search_BigramsPresentButNotContiguous_ReturnsNothing() {
+        // 「会議」「議資」は両方含むが「会議資料用」は部分文字列ではない
+        assertThat(index.search("会議資料用", 10)).isEmpty();
+    }
+
+    @Test
+    void search_NormalizesWidthAndCase() {
+        assertThat(index.search("ＭＩＬＫ", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void put_ExistingTodo_ReplacesText() {
+        index.put(1L, "パンを買う");
+
+        assertThat(index.search("牛乳", 10)).isEmpty();
+        assertThat(index.search("パン", 10)).containsExactly(1L);
+        assertThat(index.documentCount()).isEqualTo(3);
+    }
+
+    @Test
+    void remove_Todo_NoLongerMatches() {
+        index.remove(2L);
+
+        assertThat(index.search("会議", 10)).isEmpty();
+        assertThat(index.documentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void search_RespectsLimitNewestFirst() {
+        index.put(4L, "牛乳を注文");
+
+        assertThat(index.search("牛乳", 1)).containsExactly(4L);
+    }
+
+    @Test
+    void remove_MostDocuments_CompactsAndKeepsOrder() {
+        for (long id = 10; id < 110; id++) {
+            index.put(id, "牛乳 " + id);
+        }
+        long before = index.estimatedBytes();
+        for (long id = 10; id < 105; id++) {
+            index.remove(id);
+        }
+
+        assertThat(index.estimatedBytes()).isLessThan(before);
+        assertThat(index.documentCount()).isEqualTo(8);
+        assertThat(index.search("牛乳", 10)).containsExactly(109L, 108L, 107L, 106L, 105L, 1L);
+        index.put(110L, "牛乳 110");
+        assertThat(index.search("牛乳", 1)).containsExactly(110L);
+    }
+}
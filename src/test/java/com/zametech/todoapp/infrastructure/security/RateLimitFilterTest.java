@@ -0,0 +1,101 @@
+package com.zametech.todoapp.infrastructure.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zametech.todoapp.common.config.RateLimitProperties;
+import com.zametech.todoapp.infrastructure.ratelimit.FairShareScheduler;
+import com.zametech.todoapp.infrastructure.ratelimit.UserRateLimiter;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private RateLimitProperties properties;
+    private FairShareScheduler fairShareScheduler;
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setRequestsPerSecond(1);
+        properties.setBurst(2);
+        properties.setConcurrency(1);
+        properties.setQueueTimeout(Duration.ofMillis(20));
+        fairShareScheduler = new FairShareScheduler(properties);
+        rateLimitFilter = new RateLimitFilter(
+                new UserRateLimiter(properties), fairShareScheduler, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRejectUserOverBurstWithTooManyRequests() throws Exception {
+        authenticate(1L);
+
+        assertThat(filter().getStatus()).isEqualTo(200);
+        assertThat(filter().getStatus()).isEqualTo(200);
+        MockHttpServletResponse limited = filter();
+
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(limited.getContentAsString()).contains("\"code\":\"RATE_LIMITED\"");
+
+        // バケットはユーザーごと
+        authenticate(2L);
+        assertThat(filter().getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldNotLimitUnauthenticatedRequests() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(filter().getStatus()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void shouldReleaseSlotAfterRequestAndRejectWhenQueueTimesOut() throws Exception {
+        authenticate(1L);
+        MockHttpServletResponse busy = new MockHttpServletResponse();
+        FilterChain chain = (request, response) -> {
+            // 処理中に別のユーザーのリクエストが届く
+            authenticate(2L);
+            try {
+                rateLimitFilter.doFilter(new MockHttpServletRequest("GET", "/api/v1/todos"), busy, new MockFilterChain());
+            } finally {
+                authenticate(1L);
+            }
+        };
+
+        rateLimitFilter.doFilter(new MockHttpServletRequest("GET", "/api/v1/todos"), new MockHttpServletResponse(), chain);
+
+        assertThat(busy.getStatus()).isEqualTo(503);
+        assertThat(busy.getContentAsString()).contains("\"code\":\"SERVER_BUSY\"");
+        assertThat(fairShareScheduler.inFlight()).isZero();
+    }
+
+    private MockHttpServletResponse filter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(new MockHttpServletRequest("GET", "/api/v1/todos"), response, new MockFilterChain());
+        return response;
+    }
+
+    private static void authenticate(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId + "@example.com", "x", true);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.zametech.todoapp.infrastructure.sharding;
+
+import com.zametech.todoapp.common.config.ShardingProperties;
+import com.zametech.todoapp.common.exception.CrossShardOperationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardRouterTest {
+
+    @AfterEach
+    void tearDown() {
+        ShardContext.clear();
+    }
+
+    @Test
+    void shardFor_SequentialUserIds_SpreadAcrossShardsAndStayStable() {
+        ShardRouter router = new ShardRouter(properties(256, shard("a", "0-127"), shard("b", "128-255")));
+
+        Map<String, Long> counts = new HashMap<>();
+        LongStream.rangeClosed(1, 10_000).forEach(userId -> counts.merge(router.shardFor(userId), 1L, Long::sum));
+
+        assertThat(counts).containsOnlyKeys("a", "b");
+        assertThat(counts.get("a")).isBetween(4_500L, 5_500L);
+        assertThat(router.shardFor(42L)).isEqualTo(router.shardFor(42L));
+        assertThat(router.shardNames()).containsExactly("a", "b");
+    }
+
+    @Test
+    void shardFor_FollowsBucketAssignment() {
+        ShardRouter router = new ShardRouter(properties(4, shard("a", "0-1", "3"), shard("b", "2")));
+
+        LongStream.rangeClosed(1, 100).forEach(userId -> assertThat(router.shardFor(userId))
+            .isEqualTo(ShardRouter.bucketOf(userId, 4) == 2 ? "b" : "a"));
+    }
+
+    @Test
+    void constructor_UncoveredOrOverlappingBuckets_FailsFast() {
+        assertThatThrownBy(() -> new ShardRouter(properties(4, shard("a", "0-1"), shard("b", "3"))))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Bucket 2");
+        assertThatThrownBy(() -> new ShardRouter(properties(4, shard("a", "0-2"), shard("b", "2-3"))))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("both a and b");
+        assertThatThrownBy(() -> new ShardRouter(properties(4, shard("a", "0-4"))))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void checkLocal_OnlyAllowsTheBoundShardsUsers() {
+        ShardRouter router = new ShardRouter(properties(4, shard("a", "0-1"), shard("b", "2-3")));
+        Long userOnA = LongStream.rangeClosed(1, 100).filter(id -> router.shardFor(id).equals("a")).findFirst().orElseThrow();
+        Long userOnB = LongStream.rangeClosed(1, 100).filter(id -> router.shardFor(id).equals("b")).findFirst().orElseThrow();
+
+        assertThatThrownBy(() -> router.checkLocal(userOnA)).isInstanceOf(CrossShardOperationException.class);
+
+        ShardContext.bind("a", userOnA);
+        assertThatCode(() -> router.checkLocal(userOnA)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> router.checkLocal(userOnB)).isInstanceOf(CrossShardOperationException.class);
+        assertThatThrownBy(() -> ShardContext.bind("b", userOnB)).isInstanceOf(CrossShardOperationException.class);
+        assertThat(ShardContext.currentShard()).isEqualTo("a");
+    }
+
+    @Test
+    void checkLocal_Disabled_AllowsEverything() {
+        ShardRouter router = new ShardRouter(new ShardingProperties());
+
+        assertThat(router.isEnabled()).isFalse();
+        assertThatCode(() -> router.checkLocal(1L)).doesNotThrowAnyException();
+        assertThatCode(router::checkBound).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkBound_RequiresAShardForQueriesAcrossUsers() {
+        ShardRouter router = new ShardRouter(properties(4, shard("a", "0-1"), shard("b", "2-3")));
+
+        assertThatThrownBy(router::checkBound).isInstanceOf(CrossShardOperationException.class);
+
+        ShardContext.bind("b", null);
+        assertThatCode(router::checkBound).doesNotThrowAnyException();
+    }
+
+    private static ShardingProperties properties(int buckets, ShardingProperties.Shard... shards) {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        properties.setBuckets(buckets);
+        properties.setShards(List.of(shards));
+        return properties;
+    }
+
+    private static ShardingProperties.Shard shard(String name, String... buckets) {
+        ShardingProperties.Shard shard = new ShardingProperties.Shard();
+        shard.setName(name);
+        shard.setBuckets(List.of(buckets));
+        return shard;
+    }
+}
@@ -0,0 +1,167 @@
+package com.zametech.todoapp.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zametech.todoapp.common.config.AccessLogProperties;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.infrastructure.logging.AccessLogWriter;
+import com.zametech.todoapp.presentation.dto.request.CreateTodoRequest;
+import com.zametech.todoapp.presentation.dto.request.RegisterRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * アクセスログの有無によるスループットの比較（{@code BENCHMARK=true} で実行）
+ *
+ * <p>アクセスログの有効・無効を交互に切り替えて同じ読み取りリクエストを並列に流し、
+ * それぞれの中央値のスループットを標準出力にレポートとして出す。低下が3%未満であることを検証する。
+ */
+@SpringBootTest(properties = {
+    "app.rate-limit.enabled=false",
+    "app.access-log.file=target/benchmark-access.log",
+    "logging.level.com.zametech.todoapp=INFO",
+    "logging.level.org.springframework.web=INFO",
+    "logging.level.org.springframework.security=INFO"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+class AccessLogBenchmarkIntegrationTest {
+
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final int REQUESTS_PER_THREAD = 2_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 11;
+    private static final double MAX_OVERHEAD = 0.03;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccessLogProperties accessLogProperties;
+
+    @Autowired
+    private AccessLogWriter accessLogWriter;
+
+    @Test
+    void reportThroughputWithAndWithoutAccessLog() throws Exception {
+        String[] tokens = new String[THREADS];
+        long[] todoIds = new long[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            tokens[i] = register("bench" + i + "-" + System.nanoTime());
+            todoIds[i] = createTodo(tokens[i]);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                run(executor, tokens, todoIds, true);
+                run(executor, tokens, todoIds, false);
+            }
+            double[] enabled = new double[ROUNDS];
+            double[] disabled = new double[ROUNDS];
+            for (int i = 0; i < ROUNDS; i++) {
+                // 順序による偏りを避けるため、先に計測する側を交互にする
+                if (i % 2 == 0) {
+                    enabled[i] = run(executor, tokens, todoIds, true);
+                    disabled[i] = run(executor, tokens, todoIds, false);
+                } else {
+                    disabled[i] = run(executor, tokens, todoIds, false);
+                    enabled[i] = run(executor, tokens, todoIds, true);
+                }
+            }
+            double on = median(enabled);
+            double off = median(disabled);
+            double overhead = (off - on) / off;
+
+            System.out.printf("access log throughput (%d threads x %d requests, median of %d rounds)%n",
+                THREADS, REQUESTS_PER_THREAD, ROUNDS);
+            System.out.printf("  %-10s %,12.0f req/s%n", "disabled", off);
+            System.out.printf("  %-10s %,12.0f req/s%n", "enabled", on);
+            System.out.printf("  %-10s %12.2f %%%n", "overhead", overhead * 100);
+            System.out.printf("  %-10s %,12d%n", "dropped", accessLogWriter.droppedCount());
+
+            assertTrue(overhead < MAX_OVERHEAD, "access log overhead " + overhead);
+        } finally {
+            executor.shutdownNow();
+            accessLogProperties.setEnabled(true);
+        }
+    }
+
+    /**
+     * 1ラウンド分のリクエストを流し、スループット（req/s）を返す
+     */
+    private double run(ExecutorService executor, String[] tokens, long[] todoIds, boolean accessLog)
+            throws Exception {
+        accessLogProperties.setEnabled(accessLog);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            String token = tokens[t];
+            long todoId = todoIds[t];
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    mockMvc.perform(get("/api/v1/todos/{id}", todoId)
+                            .header("Authorization", "Bearer " + token))
+                        .andExpect(status().isOk());
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        return THREADS * REQUESTS_PER_THREAD / (elapsed / 1e9);
+    }
+
+    private String register(String name) throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setEmail(name + "@example.com");
+        request.setPassword("Password123!");
+        request.setUsername(name);
+        String response = mockMvc.perform(post("/api/v1/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("accessToken").asText();
+    }
+
+    private long createTodo(String token) throws Exception {
+        CreateTodoRequest request = new CreateTodoRequest("Benchmark", null, TodoPriority.MEDIUM, null, null);
+        String response = mockMvc.perform(post("/api/v1/todos")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
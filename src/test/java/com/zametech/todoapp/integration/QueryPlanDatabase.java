@@ -0,0 +1,315 @@
+package com.zametech.todoapp.integration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * 実行計画テスト用のPostgreSQL接続
+ *
+ * <p>{@code QUERY_PLAN_DB_URL}（と任意で {@code QUERY_PLAN_DB_USER} / {@code QUERY_PLAN_DB_PASSWORD}）で
+ * 指定したDBの専用スキーマに本番マイグレーションを流し、代表的なデータ量を投入する。
+ * H2では本番と同じ実行計画が得られないため、このテストは環境変数指定時のみ動く。
+ */
+final class QueryPlanDatabase implements AutoCloseable {
+
+    static final String URL_ENV = "QUERY_PLAN_DB_URL";
+
+    /**
+     * シードデータを投入するスキーマバージョン（status / priority が文字列のまま）。
+     * 以降のマイグレーションで既存データが変換されることも合わせて検証できる。
+     */
+    static final String SEED_VERSION = "9";
+
+    private static final String SCHEMA = "query_plan_test";
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final Connection connection;
+
+    private QueryPlanDatabase(String url, String user, String password) throws SQLException {
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.connection = DriverManager.getConnection(url, user, password);
+    }
+
+    /**
+     * 専用スキーマを空にして接続する
+     */
+    static QueryPlanDatabase clean() throws SQLException {
+        String url = System.getenv(URL_ENV);
+        String user = System.getenv().getOrDefault("QUERY_PLAN_DB_USER", "postgres");
+        String password = System.getenv().getOrDefault("QUERY_PLAN_DB_PASSWORD", "");
+
+        QueryPlanDatabase db = new QueryPlanDatabase(url, user, password);
+        db.flyway(MigrationVersion.LATEST).clean();
+        db.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+        db.execute("SET search_path TO " + SCHEMA + ", public");
+        return db;
+    }
+
+    /**
+     * 最新スキーマに移行し、データを投入した状態で返す
+     */
+    static QueryPlanDatabase migrateAndSeed(int users, int todosPerUser) throws SQLException {
+        QueryPlanDatabase db = clean();
+        db.migrate(SEED_VERSION);
+        db.seed(users, todosPerUser);
+        db.migrate(null);
+        db.seedTombstones(todosPerUser / 10);
+        db.seedIdempotencyKeys(todosPerUser / 10);
+        db.seedStatusEvents(todosPerUser / 10);
+        db.seedOutbox(todosPerUser / 10);
+        db.seedRecurrences(10);
+        db.seedArchive(todosPerUser);
+        db.analyze();
+        return db;
+    }
+
+    /**
+     * 指定バージョンまで移行する（null なら最新まで）
+     */
+    void migrate(String target) {
+        flyway(target == null ? MigrationVersion.LATEST : MigrationVersion.fromVersion(target)).migrate();
+    }
+
+    /**
+     * {@link #SEED_VERSION} 時点のスキーマにデータを投入する
+     */
+    void seed(int users, int todosPerUser) throws SQLException {
+        execute("""
+            INSERT INTO users (email, password, username)
+            SELECT 'user' || g || '@example.com', 'x', 'user' || g
+            FROM generate_series(1, %d) g
+            """.formatted(users));
+        execute("""
+            INSERT INTO todos (user_id, title, status, priority, due_date, created_at)
+            SELECT u.id,
+                   'task ' || u.id || '-' || g || ' ' || md5(g::text),
+                   (ARRAY['TODO', 'IN_PROGRESS', 'DONE'])[1 + g %% 3],
+                   (ARRAY['HIGH', 'MEDIUM', 'LOW'])[1 + (g / 3) %% 3],
+                   CASE WHEN g %% 4 = 0 THEN NULL ELSE DATE '2025-01-01' + (g %% 365) END,
+                   TIMESTAMPTZ '2025-01-01' + g * INTERVAL '1 minute'
+            FROM users u, generate_series(1, %d) g
+            """.formatted(todosPerUser));
+        execute("UPDATE todos SET parent_id = id - 1 WHERE id % 10 = 0");
+    }
+
+    /**
+     * 最新スキーマの墓標テーブルにユーザーごとに perUser 件投入する
+     */
+    void seedTombstones(int perUser) throws SQLException {
+        execute("""
+            INSERT INTO todo_tombstones (todo_id, user_id, change_seq, deleted_at)
+            SELECT 100000000 + u.id * %d + g, u.id, nextval('todo_change_seq'), now() - g * INTERVAL '1 hour'
+            FROM users u, generate_series(1, %d) g
+            """.formatted(perUser, perUser));
+    }
+
+    /**
+     * 最新スキーマのIdempotency-Keyテーブルにユーザーごとに perUser 件投入する（半数は期限切れ）
+     */
+    void seedIdempotencyKeys(int perUser) throws SQLException {
+        execute("""
+            INSERT INTO idempotency_keys (user_id, idem_key, request_hash, status_code, response_body, expires_at)
+            SELECT u.id, 'key-' || g, md5(g::text) || md5(u.id::text), 201, '{}',
+                   now() + (g - %d / 2) * INTERVAL '1 hour'
+            FROM users u, generate_series(1, %d) g
+            """.formatted(perUser, perUser));
+    }
+
+    /**
+     * 最新スキーマのステータス遷移イベントテーブルにユーザーごとに perUser 件投入する
+     */
+    void seedStatusEvents(int perUser) throws SQLException {
+        execute("""
+            INSERT INTO todo_status_events (id, user_id, todo_id, from_status, to_status, occurred_at)
+            SELECT nextval('todo_status_events_id_seq'), u.id, u.id * %d + g, g %% 3, (g + 1) %% 3,
+                   now() - g * INTERVAL '1 hour'
+            FROM users u, generate_series(1, %d) g
+            """.formatted(perUser, perUser));
+    }
+
+    void seedOutbox(int perUser) throws SQLException {
+        execute("""
+            INSERT INTO todo_outbox (id, user_id, todo_id, event_type, payload, created_at)
+            SELECT nextval('todo_outbox_id_seq'), u.id, u.id * %d + g, 'updated', '{}', now()
+            FROM users u, generate_series(1, %d) g
+            """.formatted(perUser, perUser));
+    }
+
+    /**
+     * 最新スキーマのTODOのうち every 件に1件を繰り返しのテンプレートにする（延長日は60日に分散）
+     */
+    void seedRecurrences(int every) throws SQLException {
+        execute("""
+            INSERT INTO todo_recurrences (todo_id, user_id, frequency, interval_count, weekdays, starts_on,
+                                          horizon_days, materialized_through, next_run_on)
+            SELECT id, user_id, 'DAILY', 1, 0, DATE '2025-01-01', 30,
+                   DATE '2025-01-30' + (id %% 60)::int, DATE '2025-01-01' + (id %% 60)::int
+            FROM todos WHERE id %% %d = 0
+            """.formatted(every));
+    }
+
+    /**
+     * 最新スキーマのアーカイブにユーザーごとに perUser 件投入する（完了日時は2024年の12か月のパーティションに分散）
+     */
+    void seedArchive(int perUser) throws SQLException {
+        execute("SELECT ensure_todos_archive_partitions(TIMESTAMPTZ '2024-01-01 00:00Z', TIMESTAMPTZ '2024-12-31 00:00Z')");
+        execute("""
+            INSERT INTO todos_archive (id, user_id, title, priority, created_at, completed_at, archived_at)
+            SELECT 200000000 + u.id * %d + g, u.id, 'archived ' || g, g %% 3,
+                   TIMESTAMPTZ '2023-12-01 00:00Z' + g * INTERVAL '1 hour',
+                   TIMESTAMPTZ '2024-01-01 00:00Z' + (g * 365 / %d) * INTERVAL '1 day', now()
+            FROM users u, generate_series(1, %d) g
+            """.formatted(perUser, perUser, perUser));
+    }
+
+    /**
+     * DONEのTODOの最終更新を作成日時に戻す（更新日時トリガーは一時的に外す）
+     */
+    void backdateCompleted() throws SQLException {
+        execute("ALTER TABLE todos DISABLE TRIGGER update_todos_updated_at");
+        execute("UPDATE todos SET updated_at = created_at WHERE status = 2");
+        execute("ALTER TABLE todos ENABLE TRIGGER update_todos_updated_at");
+    }
+
+    /**
+     * アーカイブジョブと同じ条件・手順（パーティション作成、複製、削除）で、
+     * cutoff より前に完了したTODOを1文でまとめて移す
+     *
+     * @return 移した件数
+     */
+    long archiveCompletedBefore(String cutoff) throws SQLException {
+        execute("""
+            SELECT ensure_todos_archive_partitions(min(updated_at), max(updated_at))
+            FROM todos WHERE status = 2 AND updated_at < TIMESTAMPTZ '%s'
+            """.formatted(cutoff));
+        long before = queryForLong("SELECT count(*) FROM todos");
+        execute("""
+            WITH moved AS (
+                DELETE FROM todos t WHERE t.status = 2 AND t.updated_at < TIMESTAMPTZ '%s'
+                AND NOT EXISTS (SELECT 1 FROM todos c WHERE c.user_id = t.user_id AND c.parent_id = t.id)
+                AND NOT EXISTS (SELECT 1 FROM todo_recurrences r WHERE r.todo_id = t.id)
+                RETURNING t.*
+            )
+            INSERT INTO todos_archive (id, user_id, title, description, priority, due_date, parent_id,
+                                       created_at, completed_at, archived_at)
+            SELECT id, user_id, title, description, priority, due_date, parent_id, created_at, updated_at, now()
+            FROM moved
+            """.formatted(cutoff));
+        return before - queryForLong("SELECT count(*) FROM todos");
+    }
+
+    void analyze() throws SQLException {
+        execute("ANALYZE");
+    }
+
+    /**
+     * 投入時の断片化を除いてサイズを比較できるようにインデックスを作り直す
+     */
+    void reindex(String table) throws SQLException {
+        execute("REINDEX TABLE " + table);
+    }
+
+    /**
+     * EXPLAIN (FORMAT JSON) の結果を返す
+     */
+    String explain(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    /**
+     * クエリを繰り返し実行し、実行時間の中央値（ミリ秒）を返す
+     */
+    double medianMillis(String sql, int runs) throws SQLException {
+        double[] samples = new double[runs];
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                try (ResultSet rs = statement.executeQuery(sql)) {
+                    while (rs.next()) {
+                        // 結果をすべて読み切る
+                    }
+                }
+                samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[runs / 2];
+    }
+
+    /**
+     * 更新系の文を繰り返し実行し、実行時間の中央値（ミリ秒、1文ごとにコミット）を返す
+     */
+    double medianUpdateMillis(String sql, int runs) throws SQLException {
+        double[] samples = new double[runs];
+        try (Statement statement = connection.createStatement()) {
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                statement.executeUpdate(sql);
+                samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[runs / 2];
+    }
+
+    /**
+     * インデックス・テーブルのサイズ（バイト）を返す（パーティション分割されている場合は全パーティションの合計）
+     */
+    long relationSize(String relation) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "SELECT COALESCE(sum(pg_relation_size(relid)), 0) "
+                     + "FROM pg_partition_tree('" + SCHEMA + "." + relation + "')")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    long firstUserId() throws SQLException {
+        return queryForLong("SELECT min(id) FROM users");
+    }
+
+    long queryForLong(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private Flyway flyway(MigrationVersion target) {
+        return Flyway.configure()
+            .dataSource(url, user, password)
+            .schemas(SCHEMA)
+            .locations("classpath:db/migration")
+            .target(target)
+            .cleanDisabled(false)
+            .load();
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        connection.close();
+    }
+}
@@ -0,0 +1,203 @@
+package com.zametech.todoapp.integration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 各JpaRepositoryの全クエリの実行計画回帰テスト（PostgreSQL必須）
+ *
+ * <p>各SQLはHibernateが生成する形に合わせて書いている。リポジトリにクエリを追加したらここにも追加すること。
+ * 逐次走査（Seq Scan）と明示的なソート（Sort）が計画に現れたら失敗する。
+ */
+@EnabledIfEnvironmentVariable(named = QueryPlanDatabase.URL_ENV, matches = "jdbc:postgresql:.*")
+class RepositoryQueryPlanIntegrationTest {
+
+    private static final Pattern PARTITION = Pattern.compile("\"Relation Name\": \"(todos_p\\d+)\"");
+
+    private static QueryPlanDatabase db;
+    private static long userId;
+    private static long parentId;
+    private static long todoId;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        db = QueryPlanDatabase.migrateAndSeed(2_000, 100);
+        userId = db.firstUserId();
+        parentId = db.queryForLong("SELECT min(parent_id) FROM todos");
+        todoId = db.queryForLong("SELECT max(id) FROM todos");
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        if (db != null) {
+            db.close();
+        }
+    }
+
+    /**
+     * 索引順でそのまま返せるクエリ
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+        // JpaRepository 標準メソッド（更新・削除は @PartitionKey で user_id を含む）
+        "SELECT * FROM todos WHERE id = :todo",
+        "UPDATE todos SET title = 'x', version = 1 WHERE id = :todo AND user_id = :user AND version = 0",
+        "DELETE FROM todos WHERE id = :todo AND user_id = :user AND version = 0",
+        "SELECT * FROM todos WHERE id IN (:todo, :parent)",
+        // findByIdAndUserId / findVersionByIdAndUserId
+        "SELECT * FROM todos WHERE id = :todo AND user_id = :user",
+        "SELECT id, user_id, version FROM todos WHERE id = :todo AND user_id = :user",
+        // findSubtree
+        "WITH RECURSIVE subtree(id) AS (SELECT id FROM todos WHERE user_id = :user AND id = :parent "
+            + "UNION ALL SELECT c.id FROM todos c JOIN subtree s ON c.parent_id = s.id WHERE c.user_id = :user) "
+            + "SELECT t.* FROM todos t JOIN subtree s ON t.id = s.id WHERE t.user_id = :user",
+        // findByUserIdOrderByCreatedAtDesc / deleteByUserId
+        "SELECT * FROM todos WHERE user_id = :user ORDER BY created_at DESC",
+        "SELECT * FROM todos WHERE user_id = :user",
+        // findByUserIdAndStatusOrderByCreatedAtDesc
+        "SELECT * FROM todos WHERE user_id = :user AND status = 1 ORDER BY created_at DESC",
+        // findByUserId(Pageable) : ホワイトリストの各ソートと件数クエリ
+        "SELECT * FROM todos WHERE user_id = :user ORDER BY created_at DESC, id DESC LIMIT 20 OFFSET 40",
+        "SELECT * FROM todos WHERE user_id = :user ORDER BY created_at ASC, id ASC LIMIT 20",
+        "SELECT * FROM todos WHERE user_id = :user ORDER BY due_date ASC, id ASC LIMIT 20",
+        "SELECT * FROM todos WHERE user_id = :user ORDER BY due_date DESC, id DESC LIMIT 20",
+        "SELECT * FROM todos WHERE user_id = :user ORDER BY priority ASC, id ASC LIMIT 20",
+        "SELECT * FROM todos WHERE user_id = :user ORDER BY priority DESC, id DESC LIMIT 20",
+        "SELECT count(id) FROM todos WHERE user_id = :user",
+        // findByUserIdAndParentIdOrderByCreatedAtDesc
+        "SELECT * FROM todos WHERE user_id = :user AND parent_id = :parent ORDER BY created_at DESC",
+        // findOpenDueAfterCursor / countOpenDueBetween
+        "SELECT * FROM todos WHERE user_id = :user AND status <> 2 "
+            + "AND (due_date, id) > (DATE '2025-03-01', 0) AND due_date < DATE '9999-12-31' "
+            + "ORDER BY due_date ASC, id ASC LIMIT 51",
+        "SELECT count(id) FROM todos WHERE user_id = :user AND status <> 2 "
+            + "AND due_date >= DATE '0001-01-01' AND due_date < DATE '2025-06-01'",
+        // findOpenDueAfter（全ユーザー、リマインダーの読み込み）
+        "SELECT id, due_date FROM todos WHERE status <> 2 "
+            + "AND (due_date, id) > (DATE '2025-03-01', 9223372036854775807) AND due_date < DATE '2025-03-04' "
+            + "ORDER BY due_date ASC, id ASC LIMIT 1000",
+        // findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc（todos / todo_tombstones）
+        "SELECT * FROM todos WHERE user_id = :user AND change_seq > 0 ORDER BY change_seq ASC LIMIT 101",
+        "SELECT * FROM todo_tombstones WHERE user_id = :user AND change_seq > 0 ORDER BY change_seq ASC LIMIT 101",
+        // TodoTombstoneJpaRepository.deleteByDeletedAtBefore
+        "DELETE FROM todo_tombstones WHERE deleted_at < now() - INTERVAL '30 days'",
+        // IdempotencyKeyJpaRepository
+        "SELECT * FROM idempotency_keys WHERE user_id = :user AND idem_key = 'key-1'",
+        "UPDATE idempotency_keys SET status_code = 201, response_body = '{}' "
+            + "WHERE user_id = :user AND idem_key = 'key-1'",
+        "DELETE FROM idempotency_keys WHERE user_id = :user AND idem_key = 'key-1' AND status_code IS NULL",
+        "DELETE FROM idempotency_keys WHERE user_id = :user AND idem_key = 'key-1' AND expires_at < now()",
+        "DELETE FROM idempotency_keys WHERE id IN ("
+            + "SELECT id FROM idempotency_keys WHERE expires_at < now() ORDER BY expires_at LIMIT 1000)",
+        // TodoStatusEventJpaRepository
+        "SELECT * FROM todo_status_events WHERE NOT rolled_up ORDER BY id LIMIT 1000 FOR UPDATE SKIP LOCKED",
+        "UPDATE todo_status_events SET rolled_up = TRUE WHERE id IN (1, 2, 3)",
+        // TodoDailyStatsJpaRepository
+        "UPDATE todo_daily_stats SET created_count = created_count + 1, completed_count = completed_count + 0, "
+            + "opened_count = opened_count + 1, closed_count = closed_count + 0 "
+            + "WHERE user_id = :user AND stat_date = DATE '2025-01-01'",
+        "INSERT INTO todo_daily_stats (user_id, stat_date, created_count, completed_count, opened_count, closed_count) "
+            + "VALUES (:user, DATE '2025-01-01', 1, 0, 1, 0) ON CONFLICT DO NOTHING",
+        "SELECT COALESCE(SUM(opened_count - closed_count), 0) FROM todo_daily_stats "
+            + "WHERE user_id = :user AND stat_date < DATE '2025-03-01'",
+        "SELECT * FROM todo_daily_stats WHERE user_id = :user "
+            + "AND stat_date BETWEEN DATE '2025-02-01' AND DATE '2025-03-02' ORDER BY stat_date ASC",
+        // TodoOutboxJpaRepository.lockNext / deleteAllInBatch
+        "SELECT * FROM todo_outbox ORDER BY id LIMIT 500 FOR UPDATE SKIP LOCKED",
+        "DELETE FROM todo_outbox WHERE id = 1 OR id = 2",
+        // TodoJpaRepository.findOccurrenceDates / TodoRecurrenceJpaRepository
+        "SELECT occurrence_date FROM todos WHERE user_id = :user AND template_id = :todo "
+            + "AND occurrence_date BETWEEN DATE '2025-03-01' AND DATE '2026-03-01'",
+        "SELECT * FROM todo_recurrences WHERE todo_id = :todo FOR UPDATE",
+        "SELECT * FROM todo_recurrences WHERE next_run_on <= DATE '2025-01-10' "
+            + "ORDER BY next_run_on, todo_id LIMIT 100 FOR UPDATE SKIP LOCKED",
+        // TodoJpaRepository.lockArchivable / deleteByUserIdInAndIdIn / TodoArchiveJpaRepository
+        "SELECT * FROM todos t WHERE t.status = 2 AND t.updated_at < now() - INTERVAL '90 days' "
+            + "AND NOT EXISTS (SELECT 1 FROM todos c WHERE c.user_id = t.user_id AND c.parent_id = t.id) "
+            + "AND NOT EXISTS (SELECT 1 FROM todo_recurrences r WHERE r.todo_id = t.id) "
+            + "ORDER BY t.updated_at, t.id LIMIT 500 FOR UPDATE SKIP LOCKED",
+        "DELETE FROM todos WHERE user_id IN (:user) AND id IN (:todo, :parent)",
+        "INSERT INTO todos_archive (id, user_id, title, description, priority, due_date, parent_id, "
+            + "created_at, completed_at, archived_at) "
+            + "SELECT id, user_id, title, description, priority, due_date, parent_id, created_at, updated_at, now() "
+            + "FROM todos WHERE user_id IN (:user) AND id IN (:todo, :parent)",
+        "SELECT * FROM todos_archive WHERE user_id = :user "
+            + "AND (completed_at, id) < (TIMESTAMPTZ '9999-12-31 00:00Z', 9223372036854775807) "
+            + "ORDER BY completed_at DESC, id DESC LIMIT 51",
+        // UserJpaRepository
+        "SELECT * FROM users WHERE id = :user",
+        "SELECT * FROM users WHERE email = 'user1@example.com'",
+        "SELECT id FROM users WHERE email = 'user1@example.com' LIMIT 1",
+        "SELECT * FROM users WHERE username = 'user1'",
+        "SELECT id FROM users WHERE username = 'user1' LIMIT 1"
+    })
+    void queryShouldUseIndexOrder(String sql) throws Exception {
+        String plan = explain(sql);
+
+        assertFalse(plan.contains("\"Seq Scan\""), () -> "Seq Scan in plan for: " + sql + "\n" + plan);
+        assertFalse(plan.contains("Sort\""), () -> "Explicit sort in plan for: " + sql + "\n" + plan);
+    }
+
+    /**
+     * 類似度順のクエリ（スコアで並べるため候補集合のソートは避けられない）
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+        // findByUserIdAndTitleSimilar
+        "SELECT * FROM todos WHERE user_id = :user AND title % 'task 12' "
+            + "ORDER BY similarity(title, 'task 12') DESC, id DESC LIMIT 20",
+        // findByUserIdAndTitleSimilarAbove
+        "SELECT * FROM todos WHERE user_id = :user AND similarity(title, 'task 12') >= 0.3 "
+            + "ORDER BY similarity(title, 'task 12') DESC, id DESC LIMIT 20"
+    })
+    void rankedQueryShouldNotSeqScan(String sql) throws Exception {
+        String plan = explain(sql);
+
+        assertFalse(plan.contains("\"Seq Scan\""), () -> "Seq Scan in plan for: " + sql + "\n" + plan);
+    }
+
+    /**
+     * ユーザー単位のクエリ（user_id のハッシュで1つのパーティションに絞られること）
+     */
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "SELECT * FROM todos WHERE user_id = :user ORDER BY created_at DESC, id DESC LIMIT 20 OFFSET 40",
+        "SELECT count(id) FROM todos WHERE user_id = :user",
+        "SELECT * FROM todos WHERE user_id = :user AND status = 1 ORDER BY created_at DESC",
+        "SELECT * FROM todos WHERE user_id = :user AND status <> 2 "
+            + "AND (due_date, id) > (DATE '2025-03-01', 0) AND due_date < DATE '9999-12-31' "
+            + "ORDER BY due_date ASC, id ASC LIMIT 51",
+        "SELECT * FROM todos WHERE user_id = :user AND change_seq > 0 ORDER BY change_seq ASC LIMIT 101",
+        "SELECT * FROM todos WHERE user_id = :user AND parent_id = :parent ORDER BY created_at DESC",
+        "UPDATE todos SET title = 'x', version = 1 WHERE id = :todo AND user_id = :user AND version = 0",
+        "DELETE FROM todos WHERE id = :todo AND user_id = :user AND version = 0"
+    })
+    void userScopedQueryShouldTouchOnePartition(String sql) throws Exception {
+        String plan = explain(sql);
+        Set<String> partitions = new HashSet<>();
+        Matcher matcher = PARTITION.matcher(plan);
+        while (matcher.find()) {
+            partitions.add(matcher.group(1));
+        }
+
+        assertEquals(1, partitions.size(), () -> "Partitions " + partitions + " in plan for: " + sql + "\n" + plan);
+    }
+
+    private static String explain(String sql) throws Exception {
+        return db.explain(sql
+            .replace(":user", Long.toString(userId))
+            .replace(":parent", Long.toString(parentId))
+            .replace(":todo", Long.toString(todoId)));
+    }
+}
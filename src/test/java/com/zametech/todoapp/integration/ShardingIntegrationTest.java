@@ -0,0 +1,277 @@
+package com.zametech.todoapp.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zametech.todoapp.application.service.TodoReminderService;
+import com.zametech.todoapp.common.config.ReminderProperties;
+import com.zametech.todoapp.common.exception.CrossShardOperationException;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.infrastructure.reminder.TodoReminder;
+import com.zametech.todoapp.infrastructure.reminder.TodoReminderNotifier;
+import com.zametech.todoapp.infrastructure.sharding.ShardContext;
+import com.zametech.todoapp.infrastructure.sharding.ShardRouter;
+import com.zametech.todoapp.infrastructure.sharding.ShardRoutingDataSource;
+import com.zametech.todoapp.infrastructure.sharding.ShardUserReplicator;
+import com.zametech.todoapp.presentation.dto.request.CreateTodoRequest;
+import com.zametech.todoapp.presentation.dto.request.RegisterRequest;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * ユーザーIDによるシャーディングの統合テスト（ディレクトリと2台のシャードをそれぞれインメモリのH2で動かす）
+ *
+ * <p>テストのトランザクションはディレクトリの接続に固定されてしまうため、このテストはトランザクションを張らない。
+ * ユーザーは毎回別のメールアドレスで登録する。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "sharded"})
+class ShardingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Autowired
+    private HikariDataSource directoryDataSource;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ShardUserReplicator shardUserReplicator;
+
+    @Autowired
+    private TodoReminderService todoReminderService;
+
+    @Autowired
+    private ReminderProperties reminderProperties;
+
+    @MockBean
+    private TodoReminderNotifier todoReminderNotifier;
+
+    @Test
+    void shouldKeepEachUsersTodosOnTheirShard() throws Exception {
+        Map<String, RegisteredUser> users = registerOneUserPerShard();
+
+        for (Map.Entry<String, RegisteredUser> entry : users.entrySet()) {
+            RegisteredUser user = entry.getValue();
+            mockMvc.perform(post("/api/v1/todos")
+                    .header("Authorization", "Bearer " + user.token())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(
+                        new CreateTodoRequest("On " + entry.getKey(), null, TodoPriority.MEDIUM, null, null))))
+                .andExpect(status().isCreated());
+
+            mockMvc.perform(get("/api/v1/todos")
+                    .header("Authorization", "Bearer " + user.token()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].title").value("On " + entry.getKey()));
+        }
+
+        for (Map.Entry<String, RegisteredUser> entry : users.entrySet()) {
+            Long userId = entry.getValue().id();
+            for (String shard : shardRouter.shardNames()) {
+                int expected = shard.equals(entry.getKey()) ? 1 : 0;
+                assertThat(countTodos(shardRoutingDataSource.shardDataSource(shard), userId)).isEqualTo(expected);
+                assertThat(countUsers(shardRoutingDataSource.shardDataSource(shard), userId)).isEqualTo(expected);
+            }
+            assertThat(countTodos(directoryDataSource, userId)).isZero();
+            assertThat(countUsers(directoryDataSource, userId)).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldRejectCrossShardRepositoryCalls() throws Exception {
+        Map<String, RegisteredUser> users = registerOneUserPerShard();
+        Long userOnA = users.get("shard-a").id();
+        Long userOnB = users.get("shard-b").id();
+
+        ShardContext.bind("shard-a", userOnA);
+        try {
+            assertThat(todoRepository.findAllByUserId(userOnA)).isEmpty();
+            assertThatThrownBy(() -> todoRepository.findAllByUserId(userOnB))
+                .isInstanceOf(CrossShardOperationException.class);
+            assertThatThrownBy(() -> ShardContext.bind("shard-b", userOnB))
+                .isInstanceOf(CrossShardOperationException.class);
+        } finally {
+            ShardContext.clear();
+        }
+
+        // 振り分けていなければディレクトリに落とさず断る
+        assertThatThrownBy(() -> todoRepository.findAllByUserId(userOnA))
+            .isInstanceOf(CrossShardOperationException.class);
+    }
+
+    @Test
+    void shouldDeleteUserAndTheirTodosFromTheirShard() throws Exception {
+        RegisteredUser user = registerOneUserPerShard().get("shard-b");
+        mockMvc.perform(post("/api/v1/todos")
+                .header("Authorization", "Bearer " + user.token())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new CreateTodoRequest("Doomed", null, TodoPriority.LOW, null, null))))
+            .andExpect(status().isCreated());
+
+        mockMvc.perform(delete("/api/v1/users/{id}", user.id())
+                .header("Authorization", "Bearer " + user.token()))
+            .andExpect(status().isNoContent());
+
+        DataSource shard = shardRoutingDataSource.shardDataSource("shard-b");
+        assertThat(countUsers(shard, user.id())).isZero();
+        assertThat(countTodos(shard, user.id())).isZero();
+        assertThat(countUsers(directoryDataSource, user.id())).isZero();
+    }
+
+    @Test
+    void shouldBackfillUsersRegisteredBeforeShardingToTheirShard() {
+        // シャーディングを有効にする前に登録された（ディレクトリにしか居ない）ユーザー
+        Long userId = 1_000_000L + new Random().nextInt(1_000_000);
+        JdbcTemplate directory = new JdbcTemplate(directoryDataSource);
+        directory.update("INSERT INTO users (id, email, password, username, enabled, created_at, updated_at) "
+            + "VALUES (?, ?, 'x', ?, TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+            userId, "legacy-" + userId + "@example.com", "legacy" + userId);
+        DataSource shard = shardRoutingDataSource.shardDataSource(shardRouter.shardFor(userId));
+        // シャードにだけ残った行があっても（件数が揃っていても）、居ないユーザーは写す
+        Long orphanId = userId + 1;
+        DataSource orphanShard = shardRoutingDataSource.shardDataSource(shardRouter.shardFor(orphanId));
+        new JdbcTemplate(orphanShard).update("INSERT INTO users (id, email, password, username, enabled, created_at, "
+            + "updated_at) VALUES (?, ?, 'x', ?, TRUE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+            orphanId, "orphan-" + orphanId + "@example.com", "orphan" + orphanId);
+        try {
+            shardUserReplicator.backfill();
+
+            assertThat(countUsers(shard, userId)).isEqualTo(1);
+
+            // ディレクトリにTODOが残っていれば、シャードに移せないため起動させない
+            directory.update("INSERT INTO todos (user_id, title) VALUES (?, 'Left behind')", userId);
+            assertThatThrownBy(() -> shardUserReplicator.backfill())
+                .isInstanceOf(IllegalStateException.class);
+        } finally {
+            directory.update("DELETE FROM todos WHERE user_id = ?", userId);
+            directory.update("DELETE FROM users WHERE id = ?", userId);
+            new JdbcTemplate(shard).update("DELETE FROM users WHERE id = ?", userId);
+            new JdbcTemplate(orphanShard).update("DELETE FROM users WHERE id = ?", orphanId);
+        }
+    }
+
+    @Test
+    void shouldLoadAndSendRemindersFromEachShard() throws Exception {
+        Map<String, RegisteredUser> users = registerOneUserPerShard();
+        Set<Long> sent = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> {
+            List<TodoReminder> reminders = invocation.getArgument(0);
+            reminders.forEach(reminder -> sent.add(reminder.todoId()));
+            return null;
+        }).when(todoReminderNotifier).notify(anyList());
+
+        // 数秒後に送る時刻になるよう、送る時刻と期限日を今に合わせる
+        LocalTime time = reminderProperties.getTime();
+        Duration spread = reminderProperties.getSpread();
+        ZonedDateTime remindAt = ZonedDateTime.now().plusSeconds(3);
+        LocalDate dueDate = remindAt.toLocalDate().plusDays(reminderProperties.getDaysBefore());
+        reminderProperties.setTime(remindAt.toLocalTime());
+        reminderProperties.setSpread(Duration.ZERO);
+        try {
+            Map<Long, String> todoShards = new HashMap<>();
+            for (Map.Entry<String, RegisteredUser> entry : users.entrySet()) {
+                String response = mockMvc.perform(post("/api/v1/todos")
+                        .header("Authorization", "Bearer " + entry.getValue().token())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                            new CreateTodoRequest("Due on " + entry.getKey(), null, TodoPriority.HIGH, dueDate, null))))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+                todoShards.put(objectMapper.readTree(response).get("id").asLong(), entry.getKey());
+            }
+
+            todoReminderService.loadAhead();
+
+            await().atMost(Duration.ofSeconds(15)).pollInterval(Duration.ofMillis(200)).untilAsserted(() -> {
+                todoReminderService.tick();
+                assertThat(sent).containsAll(todoShards.keySet());
+            });
+        } finally {
+            reminderProperties.setTime(time);
+            reminderProperties.setSpread(spread);
+        }
+    }
+
+    /**
+     * 各シャードに1人ずつ割り当たるまでユーザーを登録する
+     */
+    private Map<String, RegisteredUser> registerOneUserPerShard() throws Exception {
+        Map<String, RegisteredUser> users = new LinkedHashMap<>();
+        for (int attempt = 0; attempt < 64 && users.size() < shardRouter.shardNames().size(); attempt++) {
+            String suffix = UUID.randomUUID().toString().substring(0, 8);
+            RegisterRequest request = new RegisterRequest();
+            request.setEmail("shard-" + suffix + "@example.com");
+            request.setPassword("Password123!");
+            request.setUsername("user" + suffix);
+
+            String response = mockMvc.perform(post("/api/v1/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+            JsonNode body = objectMapper.readTree(response);
+            RegisteredUser user = new RegisteredUser(body.get("user").get("id").asLong(), body.get("accessToken").asText());
+            users.putIfAbsent(shardRouter.shardFor(user.id()), user);
+        }
+        assertThat(users).containsOnlyKeys(shardRouter.shardNames());
+        return users;
+    }
+
+    private static int countTodos(DataSource dataSource, Long userId) {
+        return new JdbcTemplate(dataSource).queryForObject(
+            "SELECT COUNT(*) FROM todos WHERE user_id = ?", Integer.class, userId);
+    }
+
+    private static int countUsers(DataSource dataSource, Long userId) {
+        return new JdbcTemplate(dataSource).queryForObject(
+            "SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, userId);
+    }
+
+    private record RegisteredUser(Long id, String token) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.zametech.todoapp.integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 完了済みTODOのアーカイブ（V20）前後の todos のインデックスサイズと一覧クエリ時間の比較（PostgreSQL必須）
+ *
+ * <p>結果は標準出力にレポートとして出す。計測値は環境依存のため、
+ * 検証するのは完了済みTODOが移ること、移した後の一覧がインデックスから返ることだけ。
+ */
+@EnabledIfEnvironmentVariable(named = QueryPlanDatabase.URL_ENV, matches = "jdbc:postgresql:.*")
+class TodoArchiveBenchmarkIntegrationTest {
+
+    private static final int USERS = 20;
+    private static final int TODOS_PER_USER = 50_000;
+    private static final int RUNS = 31;
+
+    /** シードの作成日時（2025年1〜2月）より後 */
+    private static final String CUTOFF = "2025-06-01 00:00Z";
+
+    private static final String[] INDEXES = {
+        "todos_pkey",
+        "idx_todos_user_created",
+        "idx_todos_user_status_created"
+    };
+
+    private static final String[] QUERIES = {
+        "SELECT * FROM todos WHERE user_id = %d ORDER BY created_at DESC, id DESC LIMIT 20 OFFSET 200",
+        "SELECT * FROM todos WHERE user_id = %d AND status = 0 ORDER BY created_at DESC LIMIT 20 OFFSET 200",
+        "SELECT count(id) FROM todos WHERE user_id = %d"
+    };
+
+    @Test
+    void reportHotTableBeforeAndAfterArchiving() throws Exception {
+        try (QueryPlanDatabase db = QueryPlanDatabase.clean()) {
+            db.migrate(QueryPlanDatabase.SEED_VERSION);
+            db.seed(USERS, TODOS_PER_USER);
+            db.migrate(null);
+            db.backdateCompleted();
+            db.reindex("todos");
+            db.analyze();
+            long userId = db.firstUserId();
+
+            long[] sizesBefore = sizes(db);
+            double[] timesBefore = times(db, userId);
+
+            long archived = db.archiveCompletedBefore(CUTOFF);
+            db.reindex("todos");
+            db.analyze();
+
+            long[] sizesAfter = sizes(db);
+            double[] timesAfter = times(db, userId);
+
+            StringBuilder report = new StringBuilder("archiving completed todos (")
+                .append(archived).append(" of ").append(USERS * TODOS_PER_USER).append(" rows moved)\n");
+            for (int i = 0; i < INDEXES.length; i++) {
+                report.append(String.format("  %-32s %,12d -> %,12d bytes%n", INDEXES[i], sizesBefore[i], sizesAfter[i]));
+            }
+            for (int i = 0; i < QUERIES.length; i++) {
+                report.append(String.format("  %-90s %8.2f -> %8.2f ms (median of %d)%n",
+                    QUERIES[i].formatted(userId), timesBefore[i], timesAfter[i], RUNS));
+            }
+            System.out.print(report);
+
+            assertTrue(archived > 0, report::toString);
+            for (String query : QUERIES) {
+                String plan = db.explain(query.formatted(userId));
+                assertFalse(plan.contains("\"Seq Scan\""), plan);
+            }
+        }
+    }
+
+    private static long[] sizes(QueryPlanDatabase db) throws Exception {
+        long[] sizes = new long[INDEXES.length];
+        for (int i = 0; i < INDEXES.length; i++) {
+            sizes[i] = db.relationSize(INDEXES[i]);
+        }
+        return sizes;
+    }
+
+    private static double[] times(QueryPlanDatabase db, long userId) throws Exception {
+        double[] times = new double[QUERIES.length];
+        for (int i = 0; i < QUERIES.length; i++) {
+            times[i] = db.medianMillis(QUERIES[i].formatted(userId), RUNS);
+        }
+        return times;
+    }
+}
@@ -0,0 +1,73 @@
+package com.zametech.todoapp.integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * status / priority の smallint 化（V10）前後のインデックスサイズと優先度ソート時間の比較（PostgreSQL必須）
+ *
+ * <p>結果は標準出力にレポートとして出す。計測値は環境依存のため、
+ * 検証するのは移行後の優先度ソートがソート処理なしでインデックスから返ることだけ。
+ */
+@EnabledIfEnvironmentVariable(named = QueryPlanDatabase.URL_ENV, matches = "jdbc:postgresql:.*")
+class TodoEncodingBenchmarkIntegrationTest {
+
+    private static final int USERS = 20;
+    private static final int TODOS_PER_USER = 50_000;
+    private static final int RUNS = 31;
+
+    private static final String[] INDEXES = {
+        "idx_todos_user_status_created",
+        "idx_todos_user_priority_created",
+        "idx_todos_user_open_due"
+    };
+
+    /** V10より前は HIGH > MEDIUM > LOW の順にするためCASE式が必要 */
+    private static final String PRIORITY_SORT_BEFORE = "SELECT * FROM todos WHERE user_id = %d "
+        + "ORDER BY CASE priority WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 ELSE 3 END, id LIMIT 20";
+
+    private static final String PRIORITY_SORT_AFTER = "SELECT * FROM todos WHERE user_id = %d "
+        + "ORDER BY priority, id LIMIT 20";
+
+    @Test
+    void reportIndexSizeAndPrioritySortLatency() throws Exception {
+        try (QueryPlanDatabase db = QueryPlanDatabase.clean()) {
+            db.migrate(QueryPlanDatabase.SEED_VERSION);
+            db.seed(USERS, TODOS_PER_USER);
+            db.reindex("todos");
+            db.analyze();
+            long userId = db.firstUserId();
+
+            long[] sizesBefore = sizes(db);
+            double sortBefore = db.medianMillis(PRIORITY_SORT_BEFORE.formatted(userId), RUNS);
+
+            db.migrate(null);
+            db.analyze();
+
+            long[] sizesAfter = sizes(db);
+            double sortAfter = db.medianMillis(PRIORITY_SORT_AFTER.formatted(userId), RUNS);
+
+            StringBuilder report = new StringBuilder("status/priority encoding (")
+                .append(USERS * TODOS_PER_USER).append(" rows)\n");
+            for (int i = 0; i < INDEXES.length; i++) {
+                report.append(String.format("  %-32s %,12d -> %,12d bytes%n", INDEXES[i], sizesBefore[i], sizesAfter[i]));
+            }
+            report.append(String.format("  %-32s %12.2f -> %12.2f ms (median of %d)%n",
+                "priority sort (LIMIT 20)", sortBefore, sortAfter, RUNS));
+            System.out.print(report);
+
+            String plan = db.explain(PRIORITY_SORT_AFTER.formatted(userId));
+            assertFalse(plan.contains("\"Node Type\": \"Sort\""), plan);
+        }
+    }
+
+    private static long[] sizes(QueryPlanDatabase db) throws Exception {
+        long[] sizes = new long[INDEXES.length];
+        for (int i = 0; i < INDEXES.length; i++) {
+            sizes[i] = db.relationSize(INDEXES[i]);
+        }
+        return sizes;
+    }
+}
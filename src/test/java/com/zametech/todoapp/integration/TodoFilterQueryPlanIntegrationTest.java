@@ -0,0 +1,55 @@
+package com.zametech.todoapp.integration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * TODO一覧の絞り込みクエリがインデックスで処理されることの検証（PostgreSQL必須）
+ *
+ * <p>SQLは TodoSpecifications が生成する形に合わせている。
+ */
+@EnabledIfEnvironmentVariable(named = QueryPlanDatabase.URL_ENV, matches = "jdbc:postgresql:.*")
+class TodoFilterQueryPlanIntegrationTest {
+
+    private static final String SELECT = "SELECT * FROM todos WHERE user_id = :user";
+    private static final String ORDER = " ORDER BY created_at DESC LIMIT 20";
+
+    private static QueryPlanDatabase db;
+    private static long userId;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        db = QueryPlanDatabase.migrateAndSeed(1_000, 200);
+        userId = db.firstUserId();
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        if (db != null) {
+            db.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        SELECT + ORDER,
+        SELECT + " AND status IN (0, 1)" + ORDER,
+        SELECT + " AND priority IN (1)" + ORDER,
+        SELECT + " AND due_date >= DATE '2025-03-01' AND due_date < DATE '2025-04-01'" + ORDER,
+        SELECT + " AND parent_id IS NULL" + ORDER,
+        SELECT + " ORDER BY priority ASC, id ASC LIMIT 20",
+        SELECT + " AND status IN (0) AND priority IN (1) AND parent_id IS NULL" + ORDER,
+        SELECT + " AND title ILIKE '%abc%' ESCAPE '\\'" + ORDER,
+        "SELECT count(*) FROM todos WHERE user_id = :user AND status IN (2)"
+    })
+    void filterQueryShouldNotSeqScan(String sql) throws Exception {
+        String plan = db.explain(sql.replace(":user", Long.toString(userId)));
+
+        assertFalse(plan.contains("\"Seq Scan\""), () -> "Seq Scan in plan for: " + sql + "\n" + plan);
+    }
+}
@@ -1,9 +1,18 @@
 package com.zametech.todoapp.integration;
 
+import com.zametech.todoapp.domain.model.RecurrenceFrequency;
 import com.zametech.todoapp.domain.model.TodoPriority;
 import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.domain.repository.TodoArchiveRepository;
+import com.zametech.todoapp.domain.repository.TodoRepository;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoOutboxEntity;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoStatusEventEntity;
+import com.zametech.todoapp.infrastructure.persistence.repository.TodoOutboxJpaRepository;
+import com.zametech.todoapp.infrastructure.persistence.repository.TodoStatusEventJpaRepository;
 import com.zametech.todoapp.presentation.dto.request.CreateTodoRequest;
 import com.zametech.todoapp.presentation.dto.request.LoginRequest;
+import com.zametech.todoapp.presentation.dto.request.RecurrenceRequest;
 import com.zametech.todoapp.presentation.dto.request.RegisterRequest;
 import com.zametech.todoapp.presentation.dto.request.UpdateTodoRequest;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,7 +29,11 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,6 +53,18 @@ class TodoIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TodoStatusEventJpaRepository todoStatusEventJpaRepository;
+
+    @Autowired
+    private TodoOutboxJpaRepository todoOutboxJpaRepository;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoArchiveRepository todoArchiveRepository;
+
     private String authToken;
     private String anotherUserToken;
 
@@ -169,6 +194,560 @@ class TodoIntegrationTest {
                 .andExpect(jsonPath("$.content[0].title").value("User2 Todo"));
     }
 
+    @Test
+    void shouldRejectUnsupportedSort() throws Exception {
+        mockMvc.perform(get("/api/v1/todos")
+                .param("sort", "description,asc")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_SORT"));
+
+        mockMvc.perform(get("/api/v1/todos")
+                .param("sort", "dueDate,asc")
+                .param("sort", "createdAt,desc")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldSortTodosByDueDate() throws Exception {
+        for (int days : new int[] {3, 1, 2}) {
+            CreateTodoRequest request = new CreateTodoRequest(
+                "Due in " + days,
+                null,
+                TodoPriority.MEDIUM,
+                LocalDate.now().plusDays(days),
+                null
+            );
+            mockMvc.perform(post("/api/v1/todos")
+                    .header("Authorization", "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/v1/todos")
+                .param("sort", "dueDate,asc")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Due in 1"))
+                .andExpect(jsonPath("$.content[1].title").value("Due in 2"))
+                .andExpect(jsonPath("$.content[2].title").value("Due in 3"));
+    }
+
+    @Test
+    void shouldSortTodosByPriorityRank() throws Exception {
+        for (TodoPriority priority : new TodoPriority[] {TodoPriority.LOW, TodoPriority.HIGH, TodoPriority.MEDIUM}) {
+            CreateTodoRequest request = new CreateTodoRequest(
+                priority.name() + " task",
+                null,
+                priority,
+                null,
+                null
+            );
+            mockMvc.perform(post("/api/v1/todos")
+                    .header("Authorization", "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(get("/api/v1/todos")
+                .param("sort", "priority,asc")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].priority").value("HIGH"))
+                .andExpect(jsonPath("$.content[1].priority").value("MEDIUM"))
+                .andExpect(jsonPath("$.content[2].priority").value("LOW"));
+    }
+
+    @Test
+    void shouldAnswerConditionalGetsWithNotModifiedUntilTodoChanges() throws Exception {
+        CreateTodoRequest createRequest = new CreateTodoRequest(
+            "Polled Todo",
+            null,
+            TodoPriority.MEDIUM,
+            null,
+            null
+        );
+        MvcResult created = mockMvc.perform(post("/api/v1/todos")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        long todoId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+
+        String listEtag = mockMvc.perform(get("/api/v1/todos")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        String todoEtag = mockMvc.perform(get("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/todos")
+                .header("Authorization", "Bearer " + authToken)
+                .header("If-None-Match", listEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + authToken)
+                .header("If-None-Match", todoEtag))
+                .andExpect(status().isNotModified());
+
+        // Another user's list has its own version
+        mockMvc.perform(get("/api/v1/todos")
+                .header("Authorization", "Bearer " + anotherUserToken)
+                .header("If-None-Match", listEtag))
+                .andExpect(status().isOk());
+
+        // A title-only edit changes neither status nor priority but still invalidates both ETags
+        UpdateTodoRequest updateRequest = new UpdateTodoRequest(
+            "Renamed Todo",
+            null,
+            TodoStatus.TODO,
+            TodoPriority.MEDIUM,
+            null,
+            null
+        );
+        mockMvc.perform(put("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/todos")
+                .header("Authorization", "Bearer " + authToken)
+                .header("If-None-Match", listEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Renamed Todo"));
+        mockMvc.perform(get("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + authToken)
+                .header("If-None-Match", todoEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRejectWritesWithStaleIfMatch() throws Exception {
+        CreateTodoRequest createRequest = new CreateTodoRequest(
+            "Shared Todo",
+            null,
+            TodoPriority.MEDIUM,
+            null,
+            null
+        );
+        MvcResult created = mockMvc.perform(post("/api/v1/todos")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.version").value(0))
+                .andReturn();
+        long todoId = objectMapper.readTree(created.getResponse().getContentAsString()).get("id").asLong();
+        String originalEtag = created.getResponse().getHeader("ETag");
+
+        UpdateTodoRequest firstEdit = new UpdateTodoRequest(
+            "Edited on phone", null, TodoStatus.IN_PROGRESS, TodoPriority.MEDIUM, null, null);
+        String updatedEtag = mockMvc.perform(put("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + authToken)
+                .header("If-Match", originalEtag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(firstEdit)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // The laptop still holds the original ETag
+        UpdateTodoRequest staleEdit = new UpdateTodoRequest(
+            "Edited on laptop", null, TodoStatus.TODO, TodoPriority.MEDIUM, null, null);
+        mockMvc.perform(put("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + authToken)
+                .header("If-Match", originalEtag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(staleEdit)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.code").value("PRECONDITION_FAILED"));
+        mockMvc.perform(delete("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + authToken)
+                .header("If-Match", originalEtag))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Edited on phone"));
+
+        mockMvc.perform(delete("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + authToken)
+                .header("If-Match", updatedEtag))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void shouldSyncChangesSinceTokenIncludingCascadedDeletions() throws Exception {
+        long parentId = createTodo(authToken, "Parent", null);
+        long childId = createTodo(authToken, "Child", parentId);
+        long otherId = createTodo(authToken, "Other", null);
+        createTodo(anotherUserToken, "Not mine", null);
+
+        MvcResult initial = mockMvc.perform(get("/api/v1/todos/changes")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed.length()").value(3))
+                .andExpect(jsonPath("$.changed[0].id").value(parentId))
+                .andExpect(jsonPath("$.deleted.length()").value(0))
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn();
+        String token = objectMapper.readTree(initial.getResponse().getContentAsString()).get("nextToken").asText();
+
+        UpdateTodoRequest edit = new UpdateTodoRequest(
+            "Other edited", null, TodoStatus.DONE, TodoPriority.MEDIUM, null, null);
+        mockMvc.perform(put("/api/v1/todos/" + otherId)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(edit)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/todos/" + parentId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+
+        MvcResult delta = mockMvc.perform(get("/api/v1/todos/changes")
+                .header("Authorization", "Bearer " + authToken)
+                .param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed.length()").value(1))
+                .andExpect(jsonPath("$.changed[0].title").value("Other edited"))
+                .andExpect(jsonPath("$.deleted.length()").value(2))
+                .andExpect(jsonPath("$.deleted[0]").value(parentId))
+                .andExpect(jsonPath("$.deleted[1]").value(childId))
+                .andReturn();
+        String nextToken = objectMapper.readTree(delta.getResponse().getContentAsString()).get("nextToken").asText();
+
+        mockMvc.perform(get("/api/v1/todos/changes")
+                .header("Authorization", "Bearer " + authToken)
+                .param("since", nextToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changed.length()").value(0))
+                .andExpect(jsonPath("$.deleted.length()").value(0));
+
+        mockMvc.perform(get("/api/v1/todos/changes")
+                .header("Authorization", "Bearer " + authToken)
+                .param("since", "not-a-token"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_CURSOR"));
+    }
+
+    @Test
+    void shouldOpenEventStreamOnlyForAuthenticatedUser() throws Exception {
+        mockMvc.perform(get("/api/v1/todos/events")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/api/v1/todos/events")
+                .header("Authorization", "Bearer " + authToken)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void shouldExecuteBatchWithRefsAndReportPerOperationResults() throws Exception {
+        long othersTodoId = createTodo(anotherUserToken, "Not mine", null);
+        String batch = """
+            {"operations": [
+              {"op": "CREATE", "ref": "p", "body": {"title": "Parent"}},
+              {"op": "CREATE", "ref": "c", "body": {"title": "Child", "parentId": "$p"}},
+              {"op": "UPDATE", "id": "$p", "body": {"title": "Parent edited", "status": "IN_PROGRESS", "priority": "HIGH"}}
+            ]}
+            """;
+
+        MvcResult result = mockMvc.perform(post("/api/v1/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atomic").value(true))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[1].status").value(201))
+                .andExpect(jsonPath("$.results[2].status").value(200))
+                .andExpect(jsonPath("$.results[2].todo.title").value("Parent edited"))
+                .andReturn();
+        long parentId = objectMapper.readTree(result.getResponse().getContentAsString())
+            .at("/results/0/todo/id").asLong();
+
+        mockMvc.perform(get("/api/v1/todos/" + parentId + "/children")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Child"));
+
+        String partial = """
+            {"atomic": false, "operations": [
+              {"op": "DELETE", "id": "%d"},
+              {"op": "CREATE", "body": {"title": ""}},
+              {"op": "CREATE", "body": {"title": "Still created"}}
+            ]}
+            """.formatted(othersTodoId);
+
+        mockMvc.perform(post("/api/v1/batch")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(partial))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value(404))
+                .andExpect(jsonPath("$.results[0].error.code").value("TODO_NOT_FOUND"))
+                .andExpect(jsonPath("$.results[1].status").value(400))
+                .andExpect(jsonPath("$.results[1].error.code").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.results[2].status").value(201));
+
+        mockMvc.perform(post("/api/v1/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(partial))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldCreateTodoOnlyOnceForRepeatedIdempotencyKey() throws Exception {
+        CreateTodoRequest request = new CreateTodoRequest("Buy milk", null, TodoPriority.MEDIUM, null, null);
+        String body = objectMapper.writeValueAsString(request);
+
+        MvcResult first = mockMvc.perform(post("/api/v1/todos")
+                .header("Authorization", "Bearer " + authToken)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn();
+        long todoId = objectMapper.readTree(first.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(post("/api/v1/todos")
+                .header("Authorization", "Bearer " + authToken)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(todoId));
+
+        // 同じキーを別の内容に使い回すことはできない
+        mockMvc.perform(post("/api/v1/todos")
+                .header("Authorization", "Bearer " + authToken)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new CreateTodoRequest("Buy bread", null, TodoPriority.MEDIUM, null, null))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.code").value("IDEMPOTENCY_KEY_MISMATCH"));
+
+        // キーはユーザーごと
+        mockMvc.perform(post("/api/v1/todos")
+                .header("Authorization", "Bearer " + anotherUserToken)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+        mockMvc.perform(get("/api/v1/todos")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+    }
+
+    @Test
+    void shouldRecordStatusTransitionsAndServeBurndown() throws Exception {
+        long parentId = createTodo(authToken, "Sprint", null);
+        long childId = createTodo(authToken, "Story", parentId);
+        mockMvc.perform(put("/api/v1/todos/" + childId)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateTodoRequest(
+                    "Story", null, TodoStatus.DONE, TodoPriority.MEDIUM, null, parentId))))
+                .andExpect(status().isOk());
+        // ステータスが変わらない更新は記録しない
+        mockMvc.perform(put("/api/v1/todos/" + parentId)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateTodoRequest(
+                    "Sprint 1", null, TodoStatus.TODO, TodoPriority.MEDIUM, null, null))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/todos/" + parentId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+
+        List<String> transitions = todoStatusEventJpaRepository.findAll().stream()
+            .filter(event -> event.getTodoId() == parentId || event.getTodoId() == childId)
+            .sorted(Comparator.comparing(TodoStatusEventEntity::getId))
+            .map(event -> event.getTodoId() + ":" + event.getFromStatus() + "->" + event.getToStatus())
+            .toList();
+        assertThat(transitions).containsExactly(
+            parentId + ":null->TODO",
+            childId + ":null->TODO",
+            childId + ":TODO->DONE",
+            parentId + ":TODO->null",
+            childId + ":DONE->null");
+
+        LocalDate today = LocalDate.now();
+        mockMvc.perform(get("/api/v1/todos/analytics/burndown")
+                .header("Authorization", "Bearer " + authToken)
+                .param("from", today.minusDays(6).toString())
+                .param("to", today.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value(today.minusDays(6).toString()))
+                .andExpect(jsonPath("$.days.length()").value(7))
+                .andExpect(jsonPath("$.days[6].date").value(today.toString()));
+
+        mockMvc.perform(get("/api/v1/todos/analytics/burndown")
+                .header("Authorization", "Bearer " + authToken)
+                .param("from", today.toString())
+                .param("to", today.minusDays(1).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_DATE_RANGE"));
+    }
+
+    @Test
+    void shouldWriteOutboxEventsWithTodoChanges() throws Exception {
+        long todoId = createTodo(authToken, "Outbox", null);
+        mockMvc.perform(put("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateTodoRequest(
+                    "Outbox", null, TodoStatus.DONE, TodoPriority.MEDIUM, null, null))))
+                .andExpect(status().isOk());
+        // 失敗した変更は書かない
+        mockMvc.perform(put("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + authToken)
+                .header("If-Match", "\"todo-" + todoId + "-0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateTodoRequest(
+                    "Stale", null, TodoStatus.TODO, TodoPriority.MEDIUM, null, null))))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+
+        List<TodoOutboxEntity> messages = todoOutboxJpaRepository.lockNext(100).stream()
+            .filter(message -> message.getTodoId() == todoId)
+            .toList();
+        assertThat(messages).extracting(TodoOutboxEntity::getEventType)
+            .containsExactly("created", "updated", "deleted");
+        assertThat(objectMapper.readTree(messages.get(1).getPayload()).get("todo").get("status").asText())
+            .isEqualTo("DONE");
+        assertThat(messages.get(2).getPayload()).contains("\"todo\":null");
+    }
+
+    @Test
+    void shouldMaterializeRecurringInstancesIdempotently() throws Exception {
+        long templateId = createTodo(authToken, "Standup", null);
+        LocalDate today = LocalDate.now();
+        String rule = objectMapper.writeValueAsString(
+            new RecurrenceRequest(RecurrenceFrequency.DAILY, 1, null, today, null, 6));
+
+        mockMvc.perform(put("/api/v1/todos/" + templateId + "/recurrence")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(rule))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.frequency").value("DAILY"))
+                .andExpect(jsonPath("$.materializedThrough").value(today.plusDays(6).toString()));
+        // 同じルールを設定し直しても、作成済みの日のインスタンスは作らない
+        mockMvc.perform(put("/api/v1/todos/" + templateId + "/recurrence")
+                .header("Authorization", "Bearer " + authToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(rule))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/todos")
+                .header("Authorization", "Bearer " + authToken)
+                .param("size", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(8))
+                .andExpect(jsonPath("$.content[?(@.title == 'Standup' && @.dueDate == '%s')]",
+                    today.plusDays(6).toString()).exists());
+        mockMvc.perform(put("/api/v1/todos/" + templateId + "/recurrence")
+                .header("Authorization", "Bearer " + anotherUserToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(rule))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(delete("/api/v1/todos/" + templateId + "/recurrence")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/todos/" + templateId + "/recurrence")
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("RECURRENCE_NOT_FOUND"));
+    }
+
+    @Test
+    void shouldArchiveCompletedLeavesAndListThemWithCursor() throws Exception {
+        long parentId = createTodo(authToken, "Release", null);
+        long childId = createTodo(authToken, "Changelog", parentId);
+        createTodo(authToken, "Still open", null);
+        for (long id : List.of(parentId, childId)) {
+            mockMvc.perform(put("/api/v1/todos/" + id)
+                    .header("Authorization", "Bearer " + authToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new UpdateTodoRequest(
+                        id == parentId ? "Release" : "Changelog", null, TodoStatus.DONE, TodoPriority.MEDIUM, null,
+                        id == parentId ? null : parentId))))
+                    .andExpect(status().isOk());
+        }
+        ZonedDateTime cutoff = ZonedDateTime.now().plusMinutes(1);
+
+        // 子タスクのある親は、子が移るまで対象にならない
+        for (long expected : List.of(childId, parentId)) {
+            List<TodoEntity> archivable = todoRepository.lockArchivable(cutoff, 10);
+            List<Long> ids = archivable.stream().map(TodoEntity::getId).toList();
+            assertThat(ids).containsExactly(expected);
+            List<Long> userIds = archivable.stream().map(TodoEntity::getUserId).toList();
+            assertThat(todoArchiveRepository.copyFromTodos(userIds, ids, ZonedDateTime.now())).isEqualTo(1);
+            assertThat(todoRepository.deleteAllById(userIds, ids)).isEqualTo(1);
+        }
+
+        mockMvc.perform(get("/api/v1/todos/" + childId)
+                .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNotFound());
+        MvcResult firstPage = mockMvc.perform(get("/api/v1/todos/archive")
+                .header("Authorization", "Bearer " + authToken)
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn();
+        String cursor = objectMapper.readTree(firstPage.getResponse().getContentAsString()).get("nextCursor").asText();
+        mockMvc.perform(get("/api/v1/todos/archive")
+                .header("Authorization", "Bearer " + authToken)
+                .param("cursor", cursor)
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        mockMvc.perform(get("/api/v1/todos/archive")
+                .header("Authorization", "Bearer " + anotherUserToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+        mockMvc.perform(get("/api/v1/todos/archive")
+                .header("Authorization", "Bearer " + authToken)
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_CURSOR"));
+    }
+
+    private long createTodo(String token, String title, Long parentId) throws Exception {
+        CreateTodoRequest request = new CreateTodoRequest(title, null, TodoPriority.MEDIUM, null, parentId);
+        MvcResult result = mockMvc.perform(post("/api/v1/todos")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong();
+    }
+
     @Test
     void shouldPreventAccessToOtherUsersTodo() throws Exception {
         // Create todo for first user
@@ -190,13 +769,19 @@ class TodoIntegrationTest {
         String response = result.getResponse().getContentAsString();
         Long todoId = objectMapper.readTree(response).get("id").asLong();
 
-        // Second user should get 403 when accessing first user's todo
+        // Second user should get 404 when accessing first user's todo
         mockMvc.perform(get("/api/v1/todos/" + todoId)
                 .header("Authorization", "Bearer " + anotherUserToken))
                 .andDo(print())
-                .andExpect(status().isForbidden());
+                .andExpect(status().isNotFound());
 
-        // Second user should get 403 when updating first user's todo
+        // Conditional GET must not reveal the todo either
+        mockMvc.perform(get("/api/v1/todos/" + todoId)
+                .header("Authorization", "Bearer " + anotherUserToken)
+                .header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotFound());
+
+        // Second user should get 404 when updating first user's todo
         UpdateTodoRequest updateRequest = new UpdateTodoRequest(
             "Hacked Title",
             "Hacked Description",
@@ -210,12 +795,12 @@ class TodoIntegrationTest {
                 .header("Authorization", "Bearer " + anotherUserToken)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updateRequest)))
-                .andExpect(status().isForbidden());
+                .andExpect(status().isNotFound());
 
-        // Second user should get 403 when deleting first user's todo
+        // Second user should get 404 when deleting first user's todo
         mockMvc.perform(delete("/api/v1/todos/" + todoId)
                 .header("Authorization", "Bearer " + anotherUserToken))
-                .andExpect(status().isForbidden());
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -0,0 +1,84 @@
+package com.zametech.todoapp.integration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * todos の user_id によるハッシュパーティション化（V21）前後のユーザー単位の一覧・挿入時間の比較（PostgreSQL必須）
+ *
+ * <p>結果は標準出力にレポートとして出す。計測値は環境依存のため、
+ * 検証するのは移行で行が失われないこと、移行後のユーザー単位の一覧が1つのパーティションの
+ * インデックスから返ることだけ。
+ */
+@EnabledIfEnvironmentVariable(named = QueryPlanDatabase.URL_ENV, matches = "jdbc:postgresql:.*")
+class TodoPartitionBenchmarkIntegrationTest {
+
+    private static final int USERS = 5_000;
+    private static final int TODOS_PER_USER = 1_000;
+    private static final int RUNS = 31;
+
+    /** パーティション化の直前のバージョン */
+    private static final String BEFORE_VERSION = "20";
+
+    private static final String[] QUERIES = {
+        "SELECT * FROM todos WHERE user_id = %d ORDER BY created_at DESC, id DESC LIMIT 20 OFFSET 200",
+        "SELECT * FROM todos WHERE user_id = %d AND status = 1 ORDER BY created_at DESC, id DESC LIMIT 20",
+        "SELECT * FROM todos WHERE user_id = %d AND change_seq > 0 ORDER BY change_seq ASC LIMIT 101",
+        "SELECT count(id) FROM todos WHERE user_id = %d"
+    };
+
+    private static final String INSERT = "INSERT INTO todos (user_id, title, status, priority) "
+        + "VALUES (%d, 'benchmark', 0, 2)";
+
+    @Test
+    void reportUserScopedLatencyBeforeAndAfterPartitioning() throws Exception {
+        try (QueryPlanDatabase db = QueryPlanDatabase.clean()) {
+            db.migrate(QueryPlanDatabase.SEED_VERSION);
+            db.seed(USERS, TODOS_PER_USER);
+            db.migrate(BEFORE_VERSION);
+            db.reindex("todos");
+            db.analyze();
+            long userId = db.firstUserId();
+            long rowsBefore = db.queryForLong("SELECT count(*) FROM todos");
+
+            double[] before = times(db, userId);
+
+            db.migrate(null);
+            db.analyze();
+            long rowsAfter = db.queryForLong("SELECT count(*) FROM todos");
+
+            double[] after = times(db, userId);
+
+            StringBuilder report = new StringBuilder("hash partitioning todos by user_id (")
+                .append(rowsAfter).append(" rows, 16 partitions)\n");
+            for (int i = 0; i < QUERIES.length; i++) {
+                report.append(String.format("  %-90s %8.3f -> %8.3f ms (median of %d)%n",
+                    QUERIES[i].formatted(userId), before[i], after[i], RUNS));
+            }
+            report.append(String.format("  %-90s %8.3f -> %8.3f ms (median of %d)%n",
+                "single-row insert", before[QUERIES.length], after[QUERIES.length], RUNS));
+            System.out.print(report);
+
+            // 移行前の計測で挿入した分を含め、すべての行が移っている
+            assertEquals(rowsBefore + RUNS, rowsAfter, report::toString);
+            String plan = db.explain(QUERIES[0].formatted(userId));
+            assertFalse(plan.contains("\"Seq Scan\""), plan);
+            assertFalse(plan.contains("\"Append\""), plan);
+        }
+    }
+
+    /**
+     * 各一覧クエリと1件挿入の実行時間の中央値（最後の要素が挿入）
+     */
+    private static double[] times(QueryPlanDatabase db, long userId) throws Exception {
+        double[] times = new double[QUERIES.length + 1];
+        for (int i = 0; i < QUERIES.length; i++) {
+            times[i] = db.medianMillis(QUERIES[i].formatted(userId), RUNS);
+        }
+        times[QUERIES.length] = db.medianUpdateMillis(INSERT.formatted(userId), RUNS);
+        return times;
+    }
+}
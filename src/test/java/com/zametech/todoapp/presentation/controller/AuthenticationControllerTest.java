@@ -153,4 +153,29 @@ class AuthenticationControllerTest {
                 .andExpect(jsonPath("$.email").value("test@example.com"))
                 .andExpect(jsonPath("$.username").value("testuser"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnNotModifiedWhenCurrentUserUnchanged() throws Exception {
+        User currentUser = new User();
+        currentUser.setId(1L);
+        currentUser.setEmail("test@example.com");
+        currentUser.setUsername("testuser");
+        currentUser.setCreatedAt(LocalDateTime.now());
+        currentUser.setUpdatedAt(LocalDateTime.now());
+        
+        when(userContextService.getCurrentUser()).thenReturn(currentUser);
+        
+        String etag = mockMvc.perform(get("/api/v1/auth/me"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        
+        mockMvc.perform(get("/api/v1/auth/me").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        
+        currentUser.setUpdatedAt(currentUser.getUpdatedAt().plusSeconds(1));
+        mockMvc.perform(get("/api/v1/auth/me").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,79 @@
+package com.zametech.todoapp.presentation.stream;
+
+import com.zametech.todoapp.domain.event.TodoChangedEvent;
+import com.zametech.todoapp.domain.model.TodoPriority;
+import com.zametech.todoapp.domain.model.TodoStatus;
+import com.zametech.todoapp.infrastructure.persistence.entity.TodoEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TodoEventStreamTest {
+
+    /** 送信タスクを実行しない（クライアントが読まない状態） */
+    private static final Executor STUCK = task -> { };
+
+    @Test
+    void onTodoChanged_BufferFull_EvictsSubscriber() {
+        TodoEventStream stream = new TodoEventStream(properties(2), STUCK);
+        stream.subscribe(1L);
+
+        stream.onTodoChanged(TodoChangedEvent.created(todo(1L, 10L)));
+        assertThat(stream.connectionCount(1L)).isEqualTo(1);
+
+        stream.onTodoChanged(TodoChangedEvent.created(todo(1L, 11L)));
+        assertThat(stream.connectionCount(1L)).isZero();
+    }
+
+    @Test
+    void onTodoChanged_OtherUsersEvents_AreNotBuffered() {
+        TodoEventStream stream = new TodoEventStream(properties(2), STUCK);
+        stream.subscribe(1L);
+
+        for (long id = 1; id <= 5; id++) {
+            stream.onTodoChanged(TodoChangedEvent.created(todo(2L, id)));
+        }
+
+        assertThat(stream.connectionCount(1L)).isEqualTo(1);
+    }
+
+    @Test
+    void onTodoChanged_DrainingSubscriber_StaysConnected() {
+        TodoEventStream stream = new TodoEventStream(properties(2), Runnable::run);
+        stream.subscribe(1L);
+        stream.subscribe(1L);
+
+        for (long id = 1; id <= 5; id++) {
+            stream.onTodoChanged(TodoChangedEvent.created(todo(1L, id)));
+        }
+
+        assertThat(stream.connectionCount(1L)).isEqualTo(2);
+    }
+
+    @Test
+    void heartbeat_StuckSubscriber_IsEvictedWhenBufferFills() {
+        TodoEventStream stream = new TodoEventStream(properties(2), STUCK);
+        stream.subscribe(1L);
+
+        stream.heartbeat();
+        assertThat(stream.connectionCount(1L)).isEqualTo(1);
+
+        stream.heartbeat();
+        assertThat(stream.connectionCount(1L)).isZero();
+    }
+
+    private static EventStreamProperties properties(int bufferSize) {
+        EventStreamProperties properties = new EventStreamProperties();
+        properties.setBufferSize(bufferSize);
+        return properties;
+    }
+
+    private static TodoEntity todo(Long userId, Long id) {
+        TodoEntity todo = new TodoEntity(userId, "Todo " + id, null, TodoStatus.TODO, TodoPriority.MEDIUM, null);
+        todo.setId(id);
+        todo.setVersion(0L);
+        return todo;
+    }
+}
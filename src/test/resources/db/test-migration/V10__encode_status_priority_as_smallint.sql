@@ -0,0 +1,17 @@
+-- H2 mirror of the smallint encoding. The table is empty when test migrations run,
+-- so the column types are changed in place without converting existing values.
+--   status:   0=TODO, 1=IN_PROGRESS, 2=DONE
+--   priority: 1=HIGH, 2=MEDIUM, 3=LOW
+ALTER TABLE todos ALTER COLUMN status DROP DEFAULT;
+ALTER TABLE todos ALTER COLUMN priority DROP DEFAULT;
+
+ALTER TABLE todos ALTER COLUMN status SET DATA TYPE SMALLINT;
+ALTER TABLE todos ALTER COLUMN priority SET DATA TYPE SMALLINT;
+
+ALTER TABLE todos ALTER COLUMN status SET DEFAULT 0;
+ALTER TABLE todos ALTER COLUMN priority SET DEFAULT 2;
+
+ALTER TABLE todos ADD CONSTRAINT chk_status CHECK (status IN (0, 1, 2));
+ALTER TABLE todos ADD CONSTRAINT chk_priority CHECK (priority IN (1, 2, 3));
+
+CREATE INDEX idx_todos_user_priority_id ON todos (user_id, priority, id);
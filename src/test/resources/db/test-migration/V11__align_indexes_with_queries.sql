@@ -0,0 +1,8 @@
+CREATE INDEX idx_todos_parent_created ON todos (parent_id, created_at DESC, id DESC);
+-- H2 backs fk_todo_parent with idx_todos_parent_id and refuses to drop it
+
+DROP INDEX IF EXISTS idx_todos_status;
+DROP INDEX IF EXISTS idx_todos_due_date;
+
+DROP INDEX IF EXISTS idx_users_email;
+DROP INDEX IF EXISTS idx_users_enabled;
@@ -0,0 +1,2 @@
+-- Per-user todo collection version, bumped with every todo change (ETag for list responses)
+ALTER TABLE todo_counters ADD COLUMN collection_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- Optimistic locking version for todos (JPA @Version; also the ETag / If-Match value)
+ALTER TABLE todos ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
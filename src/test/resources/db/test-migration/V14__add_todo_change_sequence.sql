@@ -0,0 +1,20 @@
+-- Monotonic change sequence for delta sync (GET /api/v1/todos/changes)
+CREATE SEQUENCE todo_change_seq;
+
+ALTER TABLE todos ADD COLUMN change_seq BIGINT DEFAULT NEXT VALUE FOR todo_change_seq NOT NULL;
+
+CREATE INDEX idx_todos_user_change_seq ON todos(user_id, change_seq);
+
+-- Tombstones for deleted todos (including children removed by ON DELETE CASCADE)
+CREATE TABLE todo_tombstones (
+    todo_id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+ALTER TABLE todo_tombstones ADD CONSTRAINT fk_todo_tombstones_user_id
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_todo_tombstones_user_change_seq ON todo_tombstones(user_id, change_seq);
+CREATE INDEX idx_todo_tombstones_deleted_at ON todo_tombstones(deleted_at);
@@ -0,0 +1,32 @@
+-- Append-only log of todo status transitions (from_status NULL = created, to_status NULL = deleted)
+CREATE SEQUENCE todo_status_events_id_seq INCREMENT BY 50;
+
+CREATE TABLE todo_status_events (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    todo_id BIGINT NOT NULL,
+    from_status SMALLINT CHECK (from_status BETWEEN 0 AND 2),
+    to_status SMALLINT CHECK (to_status BETWEEN 0 AND 2),
+    occurred_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    rolled_up BOOLEAN NOT NULL DEFAULT FALSE
+);
+
+ALTER TABLE todo_status_events ADD CONSTRAINT fk_todo_status_events_user_id
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+-- H2 has no partial indexes
+CREATE INDEX idx_todo_status_events_pending ON todo_status_events(rolled_up, id);
+
+-- Per-user daily aggregates rolled up from todo_status_events (burndown)
+CREATE TABLE todo_daily_stats (
+    user_id BIGINT NOT NULL,
+    stat_date DATE NOT NULL,
+    created_count INTEGER NOT NULL DEFAULT 0,
+    completed_count INTEGER NOT NULL DEFAULT 0,
+    opened_count INTEGER NOT NULL DEFAULT 0,
+    closed_count INTEGER NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, stat_date)
+);
+
+ALTER TABLE todo_daily_stats ADD CONSTRAINT fk_todo_daily_stats_user_id
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
@@ -0,0 +1,2 @@
+-- Reminder loader pages through open todos of all users in (due_date, id) order (H2 has no partial index)
+CREATE INDEX idx_todos_due_date ON todos (due_date, id);
@@ -0,0 +1,22 @@
+-- Cold storage for completed todos moved out of the hot table by the archiver.
+-- H2 has no declarative partitioning: a plain table with the same columns (partition management is disabled in tests)
+CREATE TABLE todos_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    priority SMALLINT NOT NULL,
+    due_date DATE,
+    parent_id BIGINT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    completed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    archived_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id, completed_at)
+);
+
+ALTER TABLE todos_archive ADD CONSTRAINT fk_todos_archive_user_id
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
+
+CREATE INDEX idx_todos_archive_user_completed ON todos_archive (user_id, completed_at DESC, id DESC);
+
+CREATE INDEX idx_todos_done_updated ON todos (updated_at, id);
@@ -0,0 +1,5 @@
+-- Hash partitioning of todos by user_id (PostgreSQL only).
+-- H2 has no declarative partitioning and no ON DELETE SET NULL (column) for composite keys, so the table
+-- and its single-column foreign keys stay as they are; only the unique key that gained user_id is mirrored.
+DROP INDEX uq_todos_template_occurrence;
+CREATE UNIQUE INDEX uq_todos_template_occurrence ON todos (template_id, occurrence_date, user_id);
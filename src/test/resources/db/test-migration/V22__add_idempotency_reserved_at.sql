@@ -0,0 +1,5 @@
+-- When the pending reservation was taken. A pending key whose reservation is older than the
+-- lease may be taken over by a retry (the first request died before storing its response).
+ALTER TABLE idempotency_keys ADD COLUMN reserved_at TIMESTAMP WITH TIME ZONE;
+UPDATE idempotency_keys SET reserved_at = created_at;
+ALTER TABLE idempotency_keys ALTER COLUMN reserved_at SET NOT NULL;
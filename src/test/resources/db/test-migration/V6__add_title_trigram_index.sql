@@ -0,0 +1,2 @@
+-- H2 has no pg_trgm; expose a Java implementation of similarity() instead
+CREATE ALIAS IF NOT EXISTS similarity FOR 'com.zametech.todoapp.infrastructure.search.TrigramSimilarity.similarity';
@@ -0,0 +1,2 @@
+-- H2 does not support partial indexes; index all rows instead
+CREATE INDEX idx_todos_user_open_due ON todos (user_id, due_date, id);
@@ -0,0 +1,12 @@
+CREATE TABLE todo_counters (
+    user_id BIGINT PRIMARY KEY,
+    status_todo INTEGER NOT NULL DEFAULT 0,
+    status_in_progress INTEGER NOT NULL DEFAULT 0,
+    status_done INTEGER NOT NULL DEFAULT 0,
+    priority_high INTEGER NOT NULL DEFAULT 0,
+    priority_medium INTEGER NOT NULL DEFAULT 0,
+    priority_low INTEGER NOT NULL DEFAULT 0
+);
+
+ALTER TABLE todo_counters ADD CONSTRAINT fk_todo_counters_user_id
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE;
@@ -0,0 +1,8 @@
+-- H2 does not support partial indexes; the root index covers all rows instead.
+-- idx_todos_user_id / idx_todos_user_status are kept here because H2 may have
+-- attached them to the user_id foreign key, which makes them undroppable.
+CREATE INDEX idx_todos_user_created ON todos (user_id, created_at DESC, id DESC);
+CREATE INDEX idx_todos_user_status_created ON todos (user_id, status, created_at DESC, id DESC);
+CREATE INDEX idx_todos_user_priority_created ON todos (user_id, priority, created_at DESC, id DESC);
+CREATE INDEX idx_todos_user_due ON todos (user_id, due_date, id);
+CREATE INDEX idx_todos_user_root_created ON todos (user_id, created_at DESC, id DESC);